@@ -0,0 +1,26 @@
+package com.beautycenter.management.application.analytics;
+
+/**
+ * Dimensions an analytics report can be grouped by.
+ */
+public enum AnalyticsGroupBy {
+    DAY,
+    EMPLOYEE,
+    SERVICE;
+    
+    /**
+     * Parse a dimension name case-insensitively.
+     *
+     * @param value the dimension name
+     * @return the dimension
+     * @throws IllegalArgumentException if the dimension is not supported
+     */
+    public static AnalyticsGroupBy fromString(String value) {
+        for (AnalyticsGroupBy groupBy : values()) {
+            if (groupBy.name().equalsIgnoreCase(value)) {
+                return groupBy;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported grouping: " + value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.beautycenter.management.application.analytics;
+
+import com.beautycenter.management.application.dto.AnalyticsRowDto;
+import com.beautycenter.management.application.dto.UtilizationDto;
+import com.beautycenter.management.domain.model.AppointmentTotals;
+import com.beautycenter.management.domain.repository.AppointmentRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Revenue and utilization analytics answered from daily rollups.
+ * <p>
+ * Appointments are aggregated per company, employee, service and day in a rollup table that
+ * a database trigger keeps current in the same transaction as every appointment change, so all
+ * nodes answer from the same totals and no node keeps appointments in memory. A report sums
+ * the rollup rows of one company and period. A scheduled rebuild recomputes the tracked period
+ * with a single aggregation in the database, correcting any drift and dropping days older than
+ * the retention period; only one node rebuilds at a time.
+ * </p>
+ */
+@Component
+public class AppointmentAnalytics {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentAnalytics.class);
+    
+    private final AppointmentRollupRepository rollupRepository;
+    private final long retentionDays;
+    private final long futureDays;
+    private final long availableMinutesPerDay;
+    
+    public AppointmentAnalytics(AppointmentRollupRepository rollupRepository,
+                                @Value("${app.analytics.retention-days:730}") long retentionDays,
+                                @Value("${app.analytics.future-days:90}") long futureDays,
+                                @Value("${app.analytics.available-minutes-per-day:480}") long availableMinutesPerDay) {
+        this.rollupRepository = rollupRepository;
+        this.retentionDays = retentionDays;
+        this.futureDays = futureDays;
+        this.availableMinutesPerDay = availableMinutesPerDay;
+    }
+    
+    /**
+     * Aggregate the appointments of a company in [from, to] by the given dimension.
+     *
+     * @param companyId the company ID
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param groupBy the dimension to group by
+     * @return one row per group with at least one appointment
+     */
+    public List<AnalyticsRowDto> summarize(UUID companyId, LocalDate from, LocalDate to, AnalyticsGroupBy groupBy) {
+        List<AppointmentTotals> totals = switch (groupBy) {
+            case DAY -> rollupRepository.totalsByDay(companyId, from, to);
+            case EMPLOYEE -> rollupRepository.totalsByEmployee(companyId, from, to);
+            case SERVICE -> rollupRepository.totalsByService(companyId, from, to);
+        };
+        
+        List<AnalyticsRowDto> rows = new ArrayList<>(totals.size());
+        for (AppointmentTotals group : totals) {
+            rows.add(AnalyticsRowDto.builder()
+                    .key(key(groupBy, group))
+                    .appointments(group.getAppointments())
+                    .completed(group.getCompleted())
+                    .cancelled(group.getCancelled())
+                    .noShows(group.getNoShows())
+                    .revenue(group.getRevenue())
+                    .bookedMinutes(group.getBookedMinutes())
+                    .build());
+        }
+        return rows;
+    }
+    
+    /**
+     * Chair utilization of each employee of a company in [from, to].
+     *
+     * @param companyId the company ID
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return the utilization of every employee with booked time in the period
+     */
+    public List<UtilizationDto> utilization(UUID companyId, LocalDate from, LocalDate to) {
+        long available = (ChronoUnit.DAYS.between(from, to) + 1) * availableMinutesPerDay;
+        List<UtilizationDto> result = new ArrayList<>();
+        for (AppointmentTotals employee : rollupRepository.totalsByEmployee(companyId, from, to)) {
+            if (employee.getEmployeeId() == null || employee.getBookedMinutes() <= 0) {
+                continue;
+            }
+            result.add(UtilizationDto.builder()
+                    .employeeId(employee.getEmployeeId())
+                    .bookedMinutes(employee.getBookedMinutes())
+                    .availableMinutes(available)
+                    .utilization(available > 0 ? (double) employee.getBookedMinutes() / available : 0)
+                    .build());
+        }
+        return result;
+    }
+    
+    /**
+     * Recompute the rollups of the tracked period from the appointments.
+     *
+     * @return true if the rollups were rebuilt, false if a rebuild was already running on any node
+     */
+    @Scheduled(cron = "${app.analytics.rebuild-cron:0 30 3 * * *}")
+    public boolean rebuild() {
+        LocalDate today = LocalDate.now();
+        long started = System.currentTimeMillis();
+        OptionalInt rows = rollupRepository.rebuild(today.minusDays(retentionDays), today.plusDays(futureDays + 1));
+        if (rows.isEmpty()) {
+            logger.info("Skipping analytics rebuild, another rebuild is running");
+            return false;
+        }
+        logger.info("Rebuilt {} analytics rollup rows in {} ms", rows.getAsInt(), System.currentTimeMillis() - started);
+        return true;
+    }
+    
+    private static String key(AnalyticsGroupBy groupBy, AppointmentTotals group) {
+        return switch (groupBy) {
+            case DAY -> group.getDay().toString();
+            case EMPLOYEE -> String.valueOf(group.getEmployeeId());
+            case SERVICE -> String.valueOf(group.getServiceId());
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.beautycenter.management.application.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings.
+ * <p>
+ * Answers "definitely absent" or "possibly present" using a fixed bit array sized for an
+ * expected number of entries and false positive rate. Bit positions are derived from two
+ * 64-bit hashes of the value (double hashing), so a lookup costs one pass over the string
+ * plus {@code k} bit reads. Bits are set with compare-and-set, so concurrent adds need no lock.
+ * Entries cannot be removed; rebuild the filter to drop them.
+ * </p>
+ */
+public class BloomFilter {
+    
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final AtomicLong insertions = new AtomicLong();
+    
+    /**
+     * Create a filter.
+     *
+     * @param expectedEntries the number of entries the filter is sized for
+     * @param falsePositiveRate the target false positive rate at that size, between 0 and 1
+     */
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected entries must be positive and the rate between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (optimalBits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedEntries * Math.log(2)));
+    }
+    
+    /**
+     * Add a value.
+     *
+     * @param value the value
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            do {
+                word = words.get(index);
+                if ((word & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, word, word | mask));
+        }
+        insertions.incrementAndGet();
+    }
+    
+    /**
+     * Check for a value.
+     *
+     * @param value the value
+     * @return false if the value was never added, true if it may have been
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Number of values added, counting duplicates.
+     *
+     * @return the insertion count
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+    
+    /**
+     * Size of the bit array.
+     *
+     * @return the number of bits
+     */
+    public long bitSize() {
+        return bits;
+    }
+    
+    /**
+     * FNV-1a over the UTF-16 code units, finished with a 64-bit mix.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
\ No newline at end of file
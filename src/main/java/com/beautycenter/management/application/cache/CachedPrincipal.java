@@ -0,0 +1,22 @@
+package com.beautycenter.management.application.cache;
+
+import com.beautycenter.management.domain.model.Role;
+
+import java.util.Set;
+
+/**
+ * What request authentication needs to know about a user, without the password hash.
+ * Immutable, so the heap cache can hand out the instance it holds.
+ *
+ * @param userId the user ID
+ * @param username the username
+ * @param active whether the user may sign in
+ * @param roles the roles
+ * @param companyId the company of the user, or null
+ */
+public record CachedPrincipal(Long userId, String username, boolean active, Set<Role> roles, Long companyId) {
+    
+    public CachedPrincipal {
+        roles = Set.copyOf(roles);
+    }
+}
\ No newline at end of file
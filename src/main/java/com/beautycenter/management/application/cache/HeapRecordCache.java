@@ -0,0 +1,67 @@
+package com.beautycenter.management.application.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * On-heap {@link RecordCache} bounded by entry count, evicting the least recently used record.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class HeapRecordCache<K, V> implements RecordCache<K, V> {
+    
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    public HeapRecordCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > HeapRecordCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    @Override
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+    
+    @Override
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+    
+    @Override
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+    
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+    
+    @Override
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), -1, -1, hits, misses, evictions);
+    }
+}
\ No newline at end of file
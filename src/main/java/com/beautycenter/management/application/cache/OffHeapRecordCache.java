@@ -0,0 +1,393 @@
+package com.beautycenter.management.application.cache;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.application.codec.RecordCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link RecordCache} that keeps encoded records in direct memory.
+ * <p>
+ * The cache is split into segments, each guarded by its own lock and owning a fixed
+ * direct buffer of {@code maxBytes / segments}. Records are appended to the buffer as
+ * {@code [key length][value length][key][value]}; the index is a set of primitive arrays
+ * using open addressing, so a cached record costs no Java objects at all. When a segment
+ * runs out of room, records are evicted with the CLOCK algorithm (an approximation of LRU
+ * using one reference bit per record) and the survivors are compacted to the start of
+ * the buffer.
+ * </p>
+ * <p>
+ * Keys and values are encoded outside the lock; values are decoded under it, so every
+ * {@link #get(Object)} returns a fresh instance.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class OffHeapRecordCache<K, V> implements RecordCache<K, V> {
+    
+    private static final int HEADER_BYTES = 8;
+    private static final int EMPTY = -1;
+    
+    private final RecordCodec<K> keyCodec;
+    private final RecordCodec<V> valueCodec;
+    private final Segment<V>[] segments;
+    private final long capacityBytes;
+    
+    /**
+     * Create an off-heap cache. Direct memory for the full capacity is reserved up front.
+     *
+     * @param keyCodec the key codec
+     * @param valueCodec the value codec
+     * @param maxBytes the total capacity in bytes
+     * @param segments the number of segments; rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public OffHeapRecordCache(RecordCodec<K> keyCodec, RecordCodec<V> valueCodec, long maxBytes, int segments) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("Number of segments must be positive: " + segments);
+        }
+        int count = Math.max(Integer.highestOneBit(segments - 1) << 1, 1);
+        long segmentBytes = maxBytes / count;
+        if (segmentBytes < 1024 || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size out of range: " + segmentBytes + " bytes");
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.segments = (Segment<V>[]) new Segment<?>[count];
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment<>(valueCodec, (int) segmentBytes);
+        }
+        this.capacityBytes = segmentBytes * count;
+    }
+    
+    @Override
+    public V get(K key) {
+        byte[] keyBytes = encode(keyCodec, key);
+        long hash = hash(keyBytes);
+        return segmentFor(hash).get(keyBytes, hash);
+    }
+    
+    @Override
+    public void put(K key, V value) {
+        byte[] keyBytes = encode(keyCodec, key);
+        long hash = hash(keyBytes);
+        segmentFor(hash).put(keyBytes, hash, encode(valueCodec, value));
+    }
+    
+    @Override
+    public void remove(K key) {
+        byte[] keyBytes = encode(keyCodec, key);
+        long hash = hash(keyBytes);
+        segmentFor(hash).remove(keyBytes, hash);
+    }
+    
+    @Override
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+    
+    @Override
+    public Stats stats() {
+        long entries = 0;
+        long used = 0;
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        for (Segment<V> segment : segments) {
+            segment.lock.lock();
+            try {
+                entries += segment.count;
+                used += segment.liveBytes;
+                hits += segment.hits;
+                misses += segment.misses;
+                evictions += segment.evictions;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new Stats(entries, used, capacityBytes, hits, misses, evictions);
+    }
+    
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> 40) & (segments.length - 1)];
+    }
+    
+    private static <T> byte[] encode(RecordCodec<T> codec, T value) {
+        BinaryWriter writer = new BinaryWriter();
+        codec.encode(value, writer);
+        return writer.toByteArray();
+    }
+    
+    /**
+     * FNV-1a over the key bytes, finished with a 64-bit mix so both the segment (high
+     * bits) and the slot (low bits) are well distributed.
+     */
+    private static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+    
+    private static final class Segment<V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final RecordCodec<V> valueCodec;
+        private final ByteBuffer arena;
+        private final int capacity;
+        private final int reserve;
+        
+        private long[] hashes;
+        private int[] offsets;
+        private byte[] referenced;
+        private int mask;
+        private int count;
+        private int clockHand;
+        
+        private int writePosition;
+        private long liveBytes;
+        private long hits;
+        private long misses;
+        private long evictions;
+        
+        private Segment(RecordCodec<V> valueCodec, int capacity) {
+            this.valueCodec = valueCodec;
+            this.arena = ByteBuffer.allocateDirect(capacity);
+            this.capacity = capacity;
+            this.reserve = capacity / 16;
+            initIndex(16);
+        }
+        
+        private V get(byte[] key, long hash) {
+            lock.lock();
+            try {
+                int slot = find(key, hash);
+                if (slot == EMPTY) {
+                    misses++;
+                    return null;
+                }
+                hits++;
+                referenced[slot] = 1;
+                int offset = offsets[slot];
+                return valueCodec.decode(new BinaryReader(arena, offset + HEADER_BYTES + key.length));
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private void put(byte[] key, long hash, byte[] value) {
+            int size = HEADER_BYTES + key.length + value.length;
+            lock.lock();
+            try {
+                int existing = find(key, hash);
+                if (existing != EMPTY) {
+                    release(existing);
+                }
+                if (size > capacity) {
+                    return;
+                }
+                makeRoom(size);
+                
+                int offset = writePosition;
+                arena.putInt(offset, key.length);
+                arena.putInt(offset + 4, value.length);
+                arena.put(offset + HEADER_BYTES, key);
+                arena.put(offset + HEADER_BYTES + key.length, value);
+                writePosition += size;
+                liveBytes += size;
+                
+                if ((count + 1) * 4L > offsets.length * 3L) {
+                    resize();
+                }
+                insert(hash, offset);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private void remove(byte[] key, long hash) {
+            lock.lock();
+            try {
+                int slot = find(key, hash);
+                if (slot != EMPTY) {
+                    release(slot);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private void clear() {
+            lock.lock();
+            try {
+                initIndex(16);
+                writePosition = 0;
+                liveBytes = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        /**
+         * Ensure {@code size} bytes can be appended. Evicts with CLOCK until the live data
+         * leaves the requested size plus a small reserve free, so a full segment is not
+         * compacted on every insert, then compacts if the tail is still too short.
+         */
+        private void makeRoom(int size) {
+            if (writePosition + size <= capacity) {
+                return;
+            }
+            long target = capacity - Math.min((long) size + reserve, capacity);
+            while (liveBytes > target && count > 0) {
+                int slot = clockHand & mask;
+                if (offsets[slot] == EMPTY) {
+                    clockHand++;
+                } else if (referenced[slot] != 0) {
+                    referenced[slot] = 0;
+                    clockHand++;
+                } else {
+                    // Deletion may shift the next entry into this slot, so the hand stays put
+                    release(slot);
+                    evictions++;
+                }
+            }
+            compact();
+        }
+        
+        /**
+         * Slide every live entry to the start of the arena, in offset order so an entry
+         * never overwrites one that has not been moved yet.
+         */
+        private void compact() {
+            long[] order = new long[count];
+            int n = 0;
+            for (int slot = 0; slot < offsets.length; slot++) {
+                if (offsets[slot] != EMPTY) {
+                    order[n++] = ((long) offsets[slot] << 32) | slot;
+                }
+            }
+            Arrays.sort(order);
+            
+            byte[] scratch = new byte[256];
+            int destination = 0;
+            for (long packed : order) {
+                int offset = (int) (packed >>> 32);
+                int slot = (int) packed;
+                int size = entrySize(offset);
+                if (offset != destination) {
+                    if (scratch.length < size) {
+                        scratch = new byte[size];
+                    }
+                    arena.get(offset, scratch, 0, size);
+                    arena.put(destination, scratch, 0, size);
+                    offsets[slot] = destination;
+                }
+                destination += size;
+            }
+            writePosition = destination;
+        }
+        
+        private int entrySize(int offset) {
+            return HEADER_BYTES + arena.getInt(offset) + arena.getInt(offset + 4);
+        }
+        
+        private void release(int slot) {
+            liveBytes -= entrySize(offsets[slot]);
+            delete(slot);
+        }
+        
+        private int find(byte[] key, long hash) {
+            for (int slot = (int) hash & mask; offsets[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && keyEquals(offsets[slot], key)) {
+                    return slot;
+                }
+            }
+            return EMPTY;
+        }
+        
+        private boolean keyEquals(int offset, byte[] key) {
+            if (arena.getInt(offset) != key.length) {
+                return false;
+            }
+            int start = offset + HEADER_BYTES;
+            for (int i = 0; i < key.length; i++) {
+                if (arena.get(start + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private int insert(long hash, int offset) {
+            int slot = (int) hash & mask;
+            while (offsets[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            offsets[slot] = offset;
+            referenced[slot] = 0;
+            count++;
+            return slot;
+        }
+        
+        /**
+         * Backward-shift deletion: pull later entries of the probe run into the hole so
+         * lookups never need tombstones.
+         */
+        private void delete(int slot) {
+            int hole = slot;
+            int next = hole;
+            while (true) {
+                next = (next + 1) & mask;
+                if (offsets[next] == EMPTY) {
+                    break;
+                }
+                int home = (int) hashes[next] & mask;
+                boolean movable = hole <= next
+                        ? home <= hole || home > next
+                        : home <= hole && home > next;
+                if (movable) {
+                    hashes[hole] = hashes[next];
+                    offsets[hole] = offsets[next];
+                    referenced[hole] = referenced[next];
+                    hole = next;
+                }
+            }
+            offsets[hole] = EMPTY;
+            referenced[hole] = 0;
+            count--;
+        }
+        
+        private void resize() {
+            long[] oldHashes = hashes;
+            int[] oldOffsets = offsets;
+            byte[] oldReferenced = referenced;
+            initIndex(oldOffsets.length * 2);
+            for (int i = 0; i < oldOffsets.length; i++) {
+                if (oldOffsets[i] != EMPTY) {
+                    referenced[insert(oldHashes[i], oldOffsets[i])] = oldReferenced[i];
+                }
+            }
+        }
+        
+        private void initIndex(int size) {
+            hashes = new long[size];
+            offsets = new int[size];
+            referenced = new byte[size];
+            Arrays.fill(offsets, EMPTY);
+            mask = size - 1;
+            count = 0;
+            clockHand = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.beautycenter.management.application.cache;
+
+import com.beautycenter.management.application.cache.codec.KeyCodecs;
+import com.beautycenter.management.application.cache.codec.PrincipalCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Principals of authenticated requests by username, so a request with a valid token does not
+ * query the users table. The backend, heap or off-heap, is chosen by {@code app.cache.backend}.
+ * <p>
+ * Every user write evicts the old and the new username when it happens and again once the
+ * transaction completes; the committed eviction is reported to the listeners, which pass it on
+ * to the other nodes. A lookup that started before an eviction does not cache what it read.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+    
+    /**
+     * Name of the record cache holding principals by username.
+     */
+    public static final String CACHE_NAME = "principals";
+    
+    /**
+     * Receives every username evicted on this node after the write committed.
+     */
+    @FunctionalInterface
+    public interface EvictListener {
+        
+        /**
+         * Called after a user write committed.
+         *
+         * @param username the evicted username
+         */
+        void evicted(String username);
+    }
+    
+    private final RecordCache<String, CachedPrincipal> cache;
+    private final List<EvictListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public PrincipalCache(RecordCacheFactory cacheFactory) {
+        this.cache = cacheFactory.create(CACHE_NAME, KeyCodecs.STRING_KEY, new PrincipalCodec());
+    }
+    
+    /**
+     * Get a cached principal.
+     *
+     * @param username the username
+     * @return the principal, or null if not cached
+     */
+    public CachedPrincipal get(String username) {
+        return cache.get(username);
+    }
+    
+    /**
+     * Stamp to take before reading a principal from the database and pass to {@link #put}.
+     *
+     * @return the current stamp
+     */
+    public long stamp() {
+        return evictions.get();
+    }
+    
+    /**
+     * Cache a principal read from the database, unless a user was evicted since the read started.
+     *
+     * @param principal the principal
+     * @param stamp the stamp taken before the read
+     */
+    public void put(CachedPrincipal principal, long stamp) {
+        cache.put(principal.username(), principal);
+        // Checked after the put, so an eviction racing with it either sees the entry or is seen here
+        if (evictions.get() != stamp) {
+            cache.remove(principal.username());
+        }
+    }
+    
+    /**
+     * Evict the usernames of a user that is being written, now and once the transaction completes.
+     *
+     * @param usernames the usernames before and after the write; nulls are ignored
+     */
+    public void evict(String... usernames) {
+        for (String username : usernames) {
+            if (username == null) {
+                continue;
+            }
+            evictLocal(username);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        evictLocal(username);
+                        if (status == STATUS_COMMITTED) {
+                            notifyListeners(username);
+                        }
+                    }
+                });
+            } else {
+                notifyListeners(username);
+            }
+        }
+    }
+    
+    /**
+     * Evict a username written on another node.
+     *
+     * @param username the username
+     */
+    public void applyRemoteEvict(String username) {
+        evictLocal(username);
+    }
+    
+    /**
+     * Drop every cached principal, for example when evictions may have been missed.
+     */
+    public void clear() {
+        evictions.incrementAndGet();
+        cache.clear();
+    }
+    
+    /**
+     * Register a listener for usernames evicted on this node.
+     *
+     * @param listener the listener
+     */
+    public void addListener(EvictListener listener) {
+        listeners.add(listener);
+    }
+    
+    private void evictLocal(String username) {
+        evictions.incrementAndGet();
+        cache.remove(username);
+    }
+    
+    private void notifyListeners(String username) {
+        for (EvictListener listener : listeners) {
+            try {
+                listener.evicted(username);
+            } catch (RuntimeException e) {
+                log.warn("Principal eviction listener failed: {}", e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.beautycenter.management.application.cache;
+
+/**
+ * A bounded key-value cache for immutable records.
+ * <p>
+ * Implementations either keep the records on the heap or store them encoded outside the
+ * heap. The heap backend hands every caller the instance it holds, so values must be
+ * immutable, such as Java records with immutable components; callers must not rely on
+ * getting back the instance they put in.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface RecordCache<K, V> {
+    
+    /**
+     * Get a cached record.
+     *
+     * @param key the key
+     * @return the record, or null if it is not cached
+     */
+    V get(K key);
+    
+    /**
+     * Cache a record, replacing any record with the same key.
+     * Records larger than the cache are not cached.
+     *
+     * @param key the key
+     * @param value the record
+     */
+    void put(K key, V value);
+    
+    /**
+     * Remove a record.
+     *
+     * @param key the key
+     */
+    void remove(K key);
+    
+    /**
+     * Remove all records.
+     */
+    void clear();
+    
+    /**
+     * Current statistics.
+     *
+     * @return the statistics
+     */
+    Stats stats();
+    
+    /**
+     * Point-in-time statistics of a cache.
+     *
+     * @param entries the number of cached records
+     * @param usedBytes the bytes occupied by records, or -1 if not measured
+     * @param capacityBytes the byte limit, or -1 if the cache is bounded by entry count
+     * @param hits the number of lookups that found a record
+     * @param misses the number of lookups that did not
+     * @param evictions the number of records dropped to make room
+     */
+    record Stats(long entries, long usedBytes, long capacityBytes, long hits, long misses, long evictions) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.beautycenter.management.application.cache;
+
+import com.beautycenter.management.application.codec.RecordCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates the application's record caches with the configured backend.
+ * <p>
+ * With {@code app.cache.backend=offheap} every cache gets its own direct memory arena and
+ * the arenas together may not exceed {@code app.cache.offheap.max-total-bytes}; creating a
+ * cache beyond that budget fails instead of silently growing the process. With
+ * {@code heap} the caches are plain LRU maps bounded by entry count.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RecordCacheFactory {
+    
+    private final boolean offHeap;
+    private final long maxTotalBytes;
+    private final long defaultBytesPerCache;
+    private final int segments;
+    private final int defaultHeapEntries;
+    private final Map<String, RecordCache<?, ?>> caches = new LinkedHashMap<>();
+    private long reservedBytes;
+    
+    public RecordCacheFactory(
+            @Value("${app.cache.backend:heap}") String backend,
+            @Value("${app.cache.offheap.max-total-bytes:268435456}") long maxTotalBytes,
+            @Value("${app.cache.offheap.max-bytes-per-cache:33554432}") long defaultBytesPerCache,
+            @Value("${app.cache.offheap.segments:16}") int segments,
+            @Value("${app.cache.heap.max-entries:10000}") int defaultHeapEntries) {
+        if (!"heap".equalsIgnoreCase(backend) && !"offheap".equalsIgnoreCase(backend)) {
+            throw new IllegalArgumentException("Unknown cache backend: " + backend);
+        }
+        this.offHeap = "offheap".equalsIgnoreCase(backend);
+        this.maxTotalBytes = maxTotalBytes;
+        this.defaultBytesPerCache = defaultBytesPerCache;
+        this.segments = segments;
+        this.defaultHeapEntries = defaultHeapEntries;
+    }
+    
+    /**
+     * Create a cache with the default size.
+     *
+     * @param name the cache name, unique per application
+     * @param keyCodec the key codec, used by the off-heap backend
+     * @param valueCodec the value codec, used by the off-heap backend
+     * @return the cache
+     */
+    public <K, V> RecordCache<K, V> create(String name, RecordCodec<K> keyCodec, RecordCodec<V> valueCodec) {
+        return create(name, keyCodec, valueCodec, defaultBytesPerCache, defaultHeapEntries);
+    }
+    
+    /**
+     * Create a cache.
+     *
+     * @param name the cache name, unique per application
+     * @param keyCodec the key codec, used by the off-heap backend
+     * @param valueCodec the value codec, used by the off-heap backend
+     * @param maxBytes the capacity in bytes when off-heap
+     * @param maxEntries the capacity in entries when on the heap
+     * @return the cache
+     * @throws IllegalStateException if the off-heap budget would be exceeded
+     */
+    public synchronized <K, V> RecordCache<K, V> create(String name, RecordCodec<K> keyCodec, RecordCodec<V> valueCodec,
+                                                        long maxBytes, int maxEntries) {
+        if (caches.containsKey(name)) {
+            throw new IllegalArgumentException("Cache already exists: " + name);
+        }
+        RecordCache<K, V> cache;
+        if (offHeap) {
+            if (reservedBytes + maxBytes > maxTotalBytes) {
+                throw new IllegalStateException(String.format(
+                        "Cache %s needs %d bytes but only %d of %d off-heap bytes are left",
+                        name, maxBytes, maxTotalBytes - reservedBytes, maxTotalBytes));
+            }
+            cache = new OffHeapRecordCache<>(keyCodec, valueCodec, maxBytes, segments);
+            reservedBytes += maxBytes;
+            log.info("Created off-heap cache {} with {} bytes ({} of {} reserved)", name, maxBytes,
+                    reservedBytes, maxTotalBytes);
+        } else {
+            cache = new HeapRecordCache<>(maxEntries);
+        }
+        caches.put(name, cache);
+        return cache;
+    }
+    
+    /**
+     * Statistics of every cache created so far.
+     *
+     * @return the statistics by cache name
+     */
+    public synchronized Map<String, RecordCache.Stats> stats() {
+        Map<String, RecordCache.Stats> stats = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+    
+    /**
+     * Direct memory reserved by the off-heap caches.
+     *
+     * @return the reserved bytes
+     */
+    public synchronized long reservedBytes() {
+        return reservedBytes;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package com.beautycenter.management.application.cache;
+
+import com.beautycenter.management.domain.event.user.UserCreatedEvent;
+import com.beautycenter.management.domain.event.user.UserDeletedEvent;
+import com.beautycenter.management.domain.event.user.UserUpdatedEvent;
+import com.beautycenter.management.domain.model.User;
+import com.beautycenter.management.domain.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter over the normalized usernames and emails of all users.
+ * <p>
+ * Availability checks ask the filter first: a negative answer means no user has that
+ * username or email, and the database is not touched. A positive answer may be false
+ * and must be confirmed with a query. Until the filter has been built every answer is
+ * positive, so checks fall through to the database.
+ * </p>
+ * <p>
+ * New identities are added as users are created or renamed, including those reported by
+ * other nodes through {@link #applyRemoteAdd(String)}. Deleted and replaced identities
+ * cannot be removed from a Bloom filter; they only cause extra queries, and the filter is
+ * rebuilt periodically, or earlier once they make up a noticeable share of its entries.
+ * </p>
+ */
+@Slf4j
+@Component
+public class UserIdentityFilter {
+    
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+    
+    /**
+     * Receives every identity key added on this node.
+     */
+    @FunctionalInterface
+    public interface AddListener {
+        
+        /**
+         * Called after a key was added.
+         *
+         * @param key the prefixed, normalized identity key
+         */
+        void added(String key);
+    }
+    
+    private final UserRepository userRepository;
+    private final long minCapacity;
+    private final double falsePositiveRate;
+    private final double staleRatio;
+    private final List<AddListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong stale = new AtomicLong();
+    /**
+     * Guards reading the current/next pair against the swap; the scan itself runs outside it.
+     */
+    private final Object swapLock = new Object();
+    private volatile BloomFilter current;
+    private volatile BloomFilter next;
+    
+    public UserIdentityFilter(UserRepository userRepository,
+                              @Value("${app.users.identity-filter.capacity:100000}") long minCapacity,
+                              @Value("${app.users.identity-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                              @Value("${app.users.identity-filter.stale-ratio:0.1}") double staleRatio) {
+        this.userRepository = userRepository;
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.staleRatio = staleRatio;
+    }
+    
+    /**
+     * Check if a username may be taken.
+     *
+     * @param username the username
+     * @return false if no user has the username, true if one may have it
+     */
+    public boolean mightContainUsername(String username) {
+        return mightContain(usernameKey(username));
+    }
+    
+    /**
+     * Check if an email may be taken.
+     *
+     * @param email the email
+     * @return false if no user has the email, true if one may have it
+     */
+    public boolean mightContainEmail(String email) {
+        return mightContain(emailKey(email));
+    }
+    
+    /**
+     * Record the identity of a user that was created or changed.
+     *
+     * @param user the user
+     */
+    public void add(User user) {
+        add(usernameKey(user.getUsername()), true);
+        add(emailKey(user.getEmail()), true);
+    }
+    
+    /**
+     * Record an identity key added on another node.
+     *
+     * @param key the prefixed, normalized identity key
+     */
+    public void applyRemoteAdd(String key) {
+        add(key, false);
+    }
+    
+    /**
+     * Register a listener for identities added on this node.
+     *
+     * @param listener the listener
+     */
+    public void addListener(AddListener listener) {
+        listeners.add(listener);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        add(event.getUser());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        // The previous username or email, if changed, stays in the filter
+        stale.addAndGet(2);
+        add(event.getUser());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        stale.addAndGet(2);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+    
+    /**
+     * Rebuild when stale entries have piled up.
+     */
+    @Scheduled(fixedDelayString = "${app.users.identity-filter.check-interval-ms:300000}")
+    public void rebuildIfStale() {
+        BloomFilter filter = current;
+        if (filter != null && stale.get() > filter.insertions() * staleRatio) {
+            rebuild();
+        }
+    }
+    
+    /**
+     * Build a new filter from the database and swap it in.
+     * Identities added while the scan runs go to both filters, so none are lost. Adds and the
+     * swap share a lock, so an add lands either in both filters or in the rebuilt one alone.
+     */
+    @Scheduled(cron = "${app.users.identity-filter.rebuild-cron:0 15 3 * * *}")
+    public synchronized void rebuild() {
+        BloomFilter previous = current;
+        long expected = Math.max(minCapacity, previous != null ? previous.insertions() * 2 : 0);
+        BloomFilter rebuilt = new BloomFilter(expected, falsePositiveRate);
+        long startStale = stale.get();
+        synchronized (swapLock) {
+            next = rebuilt;
+        }
+        try {
+            userRepository.forEachIdentity((username, email) -> {
+                putKey(rebuilt, usernameKey(username));
+                putKey(rebuilt, emailKey(email));
+            });
+            synchronized (swapLock) {
+                current = rebuilt;
+                next = null;
+            }
+            stale.addAndGet(-startStale);
+            log.info("Built user identity filter with {} entries in {} bits", rebuilt.insertions(), rebuilt.bitSize());
+        } catch (RuntimeException e) {
+            log.warn("Failed to build user identity filter: {}", e.getMessage());
+            synchronized (swapLock) {
+                next = null;
+            }
+        }
+    }
+    
+    private boolean mightContain(String key) {
+        BloomFilter filter = current;
+        return filter == null || key == null || filter.mightContain(key);
+    }
+    
+    private void add(String key, boolean notify) {
+        if (key == null) {
+            return;
+        }
+        synchronized (swapLock) {
+            putKey(current, key);
+            putKey(next, key);
+        }
+        if (notify) {
+            for (AddListener listener : listeners) {
+                try {
+                    listener.added(key);
+                } catch (RuntimeException e) {
+                    log.warn("User identity listener failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private static void putKey(BloomFilter filter, String key) {
+        if (filter != null && key != null) {
+            filter.put(key);
+        }
+    }
+    
+    private static String usernameKey(String username) {
+        return normalize(USERNAME_PREFIX, username);
+    }
+    
+    private static String emailKey(String email) {
+        return normalize(EMAIL_PREFIX, email);
+    }
+    
+    /**
+     * Lower-cased so the filter answers for every spelling; the confirming query stays exact.
+     */
+    private static String normalize(String prefix, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return prefix + value.trim().toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.beautycenter.management.application.cache.codec;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.application.codec.RecordCodec;
+import com.beautycenter.management.domain.model.Employee;
+
+/**
+ * Binary codec for {@link Employee}. Fields are written in declaration order.
+ */
+public class EmployeeCodec implements RecordCodec<Employee> {
+    
+    @Override
+    public void encode(Employee value, BinaryWriter out) {
+        out.writeNullableUuid(value.getId());
+        out.writeNullableString(value.getFirstName());
+        out.writeNullableString(value.getLastName());
+        out.writeNullableString(value.getEmail());
+        out.writeNullableString(value.getPhoneNumber());
+        out.writeNullableString(value.getRole());
+        out.writeNullableUuid(value.getCompanyId());
+        out.writeNullableDateTime(value.getCreatedAt());
+        out.writeNullableDateTime(value.getUpdatedAt());
+    }
+    
+    @Override
+    public Employee decode(BinaryReader in) {
+        return Employee.builder()
+                .id(in.readNullableUuid())
+                .firstName(in.readNullableString())
+                .lastName(in.readNullableString())
+                .email(in.readNullableString())
+                .phoneNumber(in.readNullableString())
+                .role(in.readNullableString())
+                .companyId(in.readNullableUuid())
+                .createdAt(in.readNullableDateTime())
+                .updatedAt(in.readNullableDateTime())
+                .build();
+    }
+}
\ No newline at end of file
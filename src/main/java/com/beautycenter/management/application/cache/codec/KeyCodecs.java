@@ -0,0 +1,54 @@
+package com.beautycenter.management.application.cache.codec;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.application.codec.RecordCodec;
+
+import java.util.UUID;
+
+/**
+ * Codecs for the identifier types used as cache keys.
+ */
+public final class KeyCodecs {
+    
+    public static final RecordCodec<UUID> UUID_KEY = new RecordCodec<>() {
+        @Override
+        public void encode(UUID value, BinaryWriter out) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+        
+        @Override
+        public UUID decode(BinaryReader in) {
+            long most = in.readLong();
+            return new UUID(most, in.readLong());
+        }
+    };
+    
+    public static final RecordCodec<Long> LONG_KEY = new RecordCodec<>() {
+        @Override
+        public void encode(Long value, BinaryWriter out) {
+            out.writeSignedVarLong(value);
+        }
+        
+        @Override
+        public Long decode(BinaryReader in) {
+            return in.readSignedVarLong();
+        }
+    };
+    
+    public static final RecordCodec<String> STRING_KEY = new RecordCodec<>() {
+        @Override
+        public void encode(String value, BinaryWriter out) {
+            out.writeNullableString(value);
+        }
+        
+        @Override
+        public String decode(BinaryReader in) {
+            return in.readNullableString();
+        }
+    };
+    
+    private KeyCodecs() {
+    }
+}
\ No newline at end of file
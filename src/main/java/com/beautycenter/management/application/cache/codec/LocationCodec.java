@@ -0,0 +1,52 @@
+package com.beautycenter.management.application.cache.codec;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.application.codec.RecordCodec;
+import com.beautycenter.management.domain.model.Location;
+
+/**
+ * Binary codec for {@link Location}. Fields are written in declaration order.
+ */
+public class LocationCodec implements RecordCodec<Location> {
+    
+    @Override
+    public void encode(Location value, BinaryWriter out) {
+        out.writeNullableLong(value.getId());
+        out.writeNullableString(value.getName());
+        out.writeNullableString(value.getAddress());
+        out.writeNullableString(value.getCity());
+        out.writeNullableString(value.getState());
+        out.writeNullableString(value.getZipCode());
+        out.writeNullableString(value.getCountry());
+        out.writeNullableString(value.getPhoneNumber());
+        out.writeNullableString(value.getEmail());
+        out.writeNullableDouble(value.getLatitude());
+        out.writeNullableDouble(value.getLongitude());
+        out.writeBoolean(value.isActive());
+        out.writeNullableLong(value.getCompanyId());
+        out.writeNullableDateTime(value.getCreatedAt());
+        out.writeNullableDateTime(value.getUpdatedAt());
+    }
+    
+    @Override
+    public Location decode(BinaryReader in) {
+        return Location.builder()
+                .id(in.readNullableLong())
+                .name(in.readNullableString())
+                .address(in.readNullableString())
+                .city(in.readNullableString())
+                .state(in.readNullableString())
+                .zipCode(in.readNullableString())
+                .country(in.readNullableString())
+                .phoneNumber(in.readNullableString())
+                .email(in.readNullableString())
+                .latitude(in.readNullableDouble())
+                .longitude(in.readNullableDouble())
+                .active(in.readBoolean())
+                .companyId(in.readNullableLong())
+                .createdAt(in.readNullableDateTime())
+                .updatedAt(in.readNullableDateTime())
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.beautycenter.management.application.cache.codec;
+
+import com.beautycenter.management.application.cache.CachedPrincipal;
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.application.codec.RecordCodec;
+import com.beautycenter.management.domain.model.Role;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Binary codec for {@link CachedPrincipal}. Roles are written as a count followed by their ordinals.
+ */
+public class PrincipalCodec implements RecordCodec<CachedPrincipal> {
+    
+    private static final Role[] ROLES = Role.values();
+    
+    @Override
+    public void encode(CachedPrincipal value, BinaryWriter out) {
+        out.writeNullableLong(value.userId());
+        out.writeNullableString(value.username());
+        out.writeBoolean(value.active());
+        out.writeVarLong(value.roles().size());
+        for (Role role : value.roles()) {
+            out.writeVarLong(role.ordinal());
+        }
+        out.writeNullableLong(value.companyId());
+    }
+    
+    @Override
+    public CachedPrincipal decode(BinaryReader in) {
+        Long userId = in.readNullableLong();
+        String username = in.readNullableString();
+        boolean active = in.readBoolean();
+        int count = (int) in.readVarLong();
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (int i = 0; i < count; i++) {
+            roles.add(ROLES[(int) in.readVarLong()]);
+        }
+        return new CachedPrincipal(userId, username, active, roles, in.readNullableLong());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.beautycenter.management.application.cache.codec;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.application.codec.RecordCodec;
+import com.beautycenter.management.domain.model.Service;
+
+/**
+ * Binary codec for {@link Service}. Fields are written in declaration order.
+ */
+public class ServiceCodec implements RecordCodec<Service> {
+    
+    @Override
+    public void encode(Service value, BinaryWriter out) {
+        out.writeNullableUuid(value.getId());
+        out.writeNullableString(value.getName());
+        out.writeNullableString(value.getDescription());
+        out.writeNullableDuration(value.getDuration());
+        out.writeNullableDecimal(value.getPrice());
+        out.writeNullableUuid(value.getCompanyId());
+        out.writeNullableString(value.getCategory());
+        out.writeBoolean(value.isActive());
+        out.writeNullableDateTime(value.getCreatedAt());
+        out.writeNullableDateTime(value.getUpdatedAt());
+    }
+    
+    @Override
+    public Service decode(BinaryReader in) {
+        return Service.builder()
+                .id(in.readNullableUuid())
+                .name(in.readNullableString())
+                .description(in.readNullableString())
+                .duration(in.readNullableDuration())
+                .price(in.readNullableDecimal())
+                .companyId(in.readNullableUuid())
+                .category(in.readNullableString())
+                .active(in.readBoolean())
+                .createdAt(in.readNullableDateTime())
+                .updatedAt(in.readNullableDateTime())
+                .build();
+    }
+}
\ No newline at end of file
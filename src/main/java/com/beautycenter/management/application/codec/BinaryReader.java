@@ -0,0 +1,171 @@
+package com.beautycenter.management.application.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Reads values written by {@link BinaryWriter} from a byte buffer.
+ * Reads use absolute positions, so the buffer's own position is never changed.
+ */
+public class BinaryReader {
+    
+    private final ByteBuffer buffer;
+    private int position;
+    
+    public BinaryReader(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+    
+    public BinaryReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes), 0);
+    }
+    
+    public int readByte() {
+        return buffer.get(position++);
+    }
+    
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+    
+    public int readInt() {
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+    
+    public long readLong() {
+        long value = buffer.getLong(position);
+        position += 8;
+        return value;
+    }
+    
+    public long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalStateException("Malformed variable-length value");
+            }
+        }
+    }
+    
+    public long readSignedVarLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+    
+    public Long readNullableLong() {
+        return readByte() == 0 ? null : readSignedVarLong();
+    }
+    
+    public Double readNullableDouble() {
+        return readByte() == 0 ? null : Double.longBitsToDouble(readLong());
+    }
+    
+    public String readNullableString() {
+        int length = (int) readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        return new String(readBytes(length - 1), StandardCharsets.UTF_8);
+    }
+    
+    public UUID readUuid() {
+        long most = readLong();
+        return new UUID(most, readLong());
+    }
+    
+    public UUID readNullableUuid() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long most = readLong();
+        long least = readLong();
+        return new UUID(most, least);
+    }
+    
+    public BigDecimal readNullableDecimal() {
+        int length = (int) readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int scale = (int) readSignedVarLong();
+        return new BigDecimal(new BigInteger(readBytes(length - 1)), scale);
+    }
+    
+    public LocalDateTime readNullableDateTime() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long seconds = readSignedVarLong();
+        int nanos = (int) readVarLong();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+    
+    public LocalDateTime readEpochMillis() {
+        long millis = readLong();
+        if (millis == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+    
+    public <E extends Enum<E>> E readNullableEnum(E[] constants) {
+        int value = (int) readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        if (value > constants.length) {
+            throw new IllegalStateException("Unknown enum ordinal " + (value - 1));
+        }
+        return constants[value - 1];
+    }
+    
+    public Duration readNullableDuration() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long seconds = readSignedVarLong();
+        return Duration.ofSeconds(seconds, readVarLong());
+    }
+    
+    public byte[] readBytes(int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        position += length;
+        return bytes;
+    }
+    
+    /**
+     * Move the read position.
+     *
+     * @param position the new position
+     */
+    public void seek(int position) {
+        this.position = position;
+    }
+    
+    /**
+     * Current read position in the buffer.
+     *
+     * @return the position
+     */
+    public int position() {
+        return position;
+    }
+}
\ No newline at end of file
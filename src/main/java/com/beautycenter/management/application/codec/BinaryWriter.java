@@ -0,0 +1,227 @@
+package com.beautycenter.management.application.codec;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Appends values to a growable byte array in a compact form.
+ * <p>
+ * Integers are written as variable-length (zig-zag for signed values), so small numbers
+ * take one byte. Every {@code writeNullable*} method encodes null without a separate field
+ * where the format allows, for example strings store their length plus one and 0 for null.
+ * </p>
+ */
+public class BinaryWriter {
+    
+    private byte[] buffer;
+    private int size;
+    
+    public BinaryWriter() {
+        this(64);
+    }
+    
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+    
+    public void writeByte(int value) {
+        ensure(1);
+        buffer[size++] = (byte) value;
+    }
+    
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+    
+    public void writeInt(int value) {
+        ensure(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+    
+    /**
+     * Overwrite four bytes written earlier, for example a length prefix reserved with {@link #writeInt(int)}.
+     *
+     * @param position the position of the value
+     * @param value the value
+     */
+    public void setInt(int position, int value) {
+        if (position < 0 || position + 4 > size) {
+            throw new IndexOutOfBoundsException("Position " + position + " outside of " + size + " bytes");
+        }
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+    
+    public void writeLong(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+    
+    /**
+     * Write an unsigned value in 7-bit groups, least significant first.
+     */
+    public void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+    
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+    
+    public void writeNullableLong(Long value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedVarLong(value);
+    }
+    
+    public void writeNullableDouble(Double value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+    
+    public void writeNullableString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        writeBytes(bytes);
+    }
+    
+    /**
+     * Write a non-null UUID as two fixed-width longs.
+     */
+    public void writeUuid(UUID value) {
+        writeLong(value.getMostSignificantBits());
+        writeLong(value.getLeastSignificantBits());
+    }
+    
+    public void writeNullableUuid(UUID value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeLong(value.getMostSignificantBits());
+        writeLong(value.getLeastSignificantBits());
+    }
+    
+    public void writeNullableDecimal(BigDecimal value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        writeVarLong(unscaled.length + 1L);
+        writeSignedVarLong(value.scale());
+        writeBytes(unscaled);
+    }
+    
+    /**
+     * Write a date-time as UTC epoch seconds and nanoseconds, without a zone.
+     */
+    public void writeNullableDateTime(LocalDateTime value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedVarLong(value.toEpochSecond(ZoneOffset.UTC));
+        writeVarLong(value.getNano());
+    }
+    
+    /**
+     * Write a date-time as fixed-width UTC epoch milliseconds, dropping sub-millisecond precision.
+     * Null is written as {@link Long#MIN_VALUE}.
+     */
+    public void writeEpochMillis(LocalDateTime value) {
+        writeLong(value == null ? Long.MIN_VALUE : value.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+    
+    /**
+     * Write a nullable enum constant as its ordinal plus one, 0 meaning null.
+     * Constants must only ever be appended to the enum for this to stay readable.
+     */
+    public void writeNullableEnum(Enum<?> value) {
+        writeVarLong(value == null ? 0 : value.ordinal() + 1L);
+    }
+    
+    public void writeNullableDuration(Duration value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedVarLong(value.getSeconds());
+        writeVarLong(value.getNano());
+    }
+    
+    public void writeBytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+    
+    /**
+     * Number of bytes written.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * The underlying array; only the first {@link #size()} bytes are valid.
+     *
+     * @return the buffer
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+    
+    /**
+     * Discard everything written so the writer can be reused.
+     */
+    public void reset() {
+        size = 0;
+    }
+    
+    /**
+     * Copy of the bytes written.
+     *
+     * @return the bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+    
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.beautycenter.management.application.codec;
+
+/**
+ * Converts records to and from a compact binary form.
+ *
+ * @param <T> the record type
+ */
+public interface RecordCodec<T> {
+    
+    /**
+     * Encode a record.
+     *
+     * @param value the record, never null
+     * @param out the writer to append to
+     */
+    void encode(T value, BinaryWriter out);
+    
+    /**
+     * Decode a record written by {@link #encode(Object, BinaryWriter)}.
+     *
+     * @param in the reader positioned at the start of the record
+     * @return the record
+     */
+    T decode(BinaryReader in);
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.beautycenter.management.application.concurrency;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks that keys are hashed onto.
+ * Requests for the same key always contend on the same lock, while unrelated keys
+ * are spread over the stripes so they rarely block each other.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * Create a striped lock.
+     *
+     * @param stripes the minimum number of stripes; rounded up to a power of two
+     */
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of stripes must be positive: " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        size = Math.max(size, 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Get the lock guarding the given key.
+     *
+     * @param key the key
+     * @return the lock for the key's stripe
+     */
+    public Lock get(Object key) {
+        return stripes[index(key)];
+    }
+
+    /**
+     * Lock the stripe for the given key until the current transaction completes.
+     * Holding the lock through commit guarantees the next request for the same key
+     * sees our write. Outside a transaction the lock is released by the caller
+     * through the returned handle.
+     *
+     * @param key the key
+     * @return a handle that releases the lock when closed, unless it is bound to a transaction
+     */
+    public Handle lockForTransaction(Object key) {
+        return lockStripeForTransaction(index(key));
+    }
+
+    /**
+     * Lock the stripes of two keys until the current transaction completes.
+     * Stripes are always taken in index order, so two callers locking the same pair of
+     * stripes in opposite key order cannot deadlock.
+     *
+     * @param key the first key
+     * @param otherKey the second key
+     * @return a handle that releases both locks when closed, unless they are bound to a transaction
+     */
+    public Handle lockForTransaction(Object key, Object otherKey) {
+        int first = index(key);
+        int second = index(otherKey);
+        if (first == second) {
+            return lockStripeForTransaction(first);
+        }
+        Handle lower = lockStripeForTransaction(Math.min(first, second));
+        Handle higher;
+        try {
+            higher = lockStripeForTransaction(Math.max(first, second));
+        } catch (RuntimeException e) {
+            lower.close();
+            throw e;
+        }
+        return () -> {
+            higher.close();
+            lower.close();
+        };
+    }
+
+    private int index(Object key) {
+        int hash = key != null ? key.hashCode() : 0;
+        hash ^= (hash >>> 16);
+        return hash & mask;
+    }
+
+    private Handle lockStripeForTransaction(int index) {
+        Lock lock = stripes[index];
+        lock.lock();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return lock::unlock;
+        }
+
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+        return () -> { };
+    }
+
+    /**
+     * Number of stripes.
+     *
+     * @return the stripe count
+     */
+    public int size() {
+        return stripes.length;
+    }
+
+    /**
+     * Releases a lock acquired through {@link #lockForTransaction(Object)}.
+     */
+    @FunctionalInterface
+    public interface Handle extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.beautycenter.management.application.config;
+
+import com.beautycenter.management.application.concurrency.StripedLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for appointment booking
+ */
+@Configuration
+public class AppointmentConfiguration {
+    
+    /**
+     * Locks that serialize bookings per employee.
+     * Contending requests for the same employee queue here instead of
+     * failing on the database exclusion constraint.
+     * 
+     * @param stripes the number of lock stripes
+     * @return the striped lock
+     */
+    @Bean
+    public StripedLock appointmentBookingLocks(@Value("${app.appointments.booking-lock-stripes:64}") int stripes) {
+        return new StripedLock(stripes);
+    }
+}
\ No newline at end of file
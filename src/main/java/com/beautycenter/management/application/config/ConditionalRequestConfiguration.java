@@ -0,0 +1,27 @@
+package com.beautycenter.management.application.config;
+
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for conditional GET support
+ */
+@Configuration
+public class ConditionalRequestConfiguration {
+    
+    /**
+     * Registry of the entity tags served by the REST controllers.
+     * 
+     * @param tombstoneMillis how long after a write read tags are not remembered
+     * @param maxEntityTags the maximum number of remembered entity tags
+     * @return the registry
+     */
+    @Bean
+    public ResourceVersionRegistry resourceVersionRegistry(
+            @Value("${app.etag.tombstone-ms:10000}") long tombstoneMillis,
+            @Value("${app.etag.max-entity-tags:100000}") int maxEntityTags) {
+        return new ResourceVersionRegistry(tombstoneMillis, maxEntityTags);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.beautycenter.management.application.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for time-based background jobs
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
\ No newline at end of file
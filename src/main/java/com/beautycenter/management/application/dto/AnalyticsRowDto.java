@@ -0,0 +1,35 @@
+package com.beautycenter.management.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object (DTO) for one group of an appointment analytics report.
+ * The key is the day (ISO date), employee ID or service ID the row is grouped by.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsRowDto {
+    
+    private String key;
+    private long appointments;
+    private long completed;
+    private long cancelled;
+    private long noShows;
+    
+    /**
+     * Revenue of completed appointments.
+     */
+    private BigDecimal revenue;
+    
+    /**
+     * Minutes booked by appointments that were not cancelled or missed.
+     */
+    private long bookedMinutes;
+}
\ No newline at end of file
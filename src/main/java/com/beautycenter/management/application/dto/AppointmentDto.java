@@ -41,6 +41,12 @@ public class AppointmentDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
+    /**
+     * Version of the appointment as last read by the client.
+     * Must be sent back on update so concurrent modifications are detected.
+     */
+    private Long version;
+    
     /**
      * Gets the duration of the appointment in minutes.
      *
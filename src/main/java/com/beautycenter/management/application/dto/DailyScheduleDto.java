@@ -0,0 +1,60 @@
+package com.beautycenter.management.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object (DTO) for the day view of a company's staff calendar.
+ * Appointments are grouped by employee and sorted by start time.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyScheduleDto {
+    
+    private UUID companyId;
+    private LocalDate date;
+    private long version;
+    
+    @Builder.Default
+    private List<EmployeeSchedule> employees = new ArrayList<>();
+    
+    /**
+     * Appointments of a single employee.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EmployeeSchedule {
+        
+        private UUID employeeId;
+        
+        @Builder.Default
+        private List<Slot> slots = new ArrayList<>();
+    }
+    
+    /**
+     * A single booked slot.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Slot {
+        
+        private UUID appointmentId;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private String status;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.beautycenter.management.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object (DTO) for the chair utilization of an employee over a period.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationDto {
+    
+    private UUID employeeId;
+    private long bookedMinutes;
+    private long availableMinutes;
+    
+    /**
+     * Booked minutes divided by available minutes.
+     */
+    private double utilization;
+}
\ No newline at end of file
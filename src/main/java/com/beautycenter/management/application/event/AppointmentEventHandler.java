@@ -1,28 +1,48 @@
 package com.beautycenter.management.application.event;
 
-import com.beautycenter.management.domain.event.AppointmentCreatedEvent;
-import com.beautycenter.management.domain.event.AppointmentStatusChangedEvent;
+import com.beautycenter.management.domain.event.DomainEvent;
+import com.beautycenter.management.domain.event.DurableEventConsumer;
+import com.beautycenter.management.domain.event.appointment.AppointmentCreatedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusBatchChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusChangedEvent;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
 /**
- * Event handler for appointment-related events
+ * Event handler for appointment-related events.
+ * Events arrive through the event journal, so a notification may be sent again after a crash.
  */
 @Component
-public class AppointmentEventHandler {
+public class AppointmentEventHandler implements DurableEventConsumer {
     
     private static final Logger logger = LoggerFactory.getLogger(AppointmentEventHandler.class);
     
+    @Override
+    public String getConsumerName() {
+        return "appointment-notifications";
+    }
+    
+    @Override
+    public void handle(DomainEvent event) {
+        if (event instanceof AppointmentCreatedEvent created) {
+            handleAppointmentCreated(created);
+        } else if (event instanceof AppointmentStatusChangedEvent statusChanged) {
+            handleAppointmentStatusChanged(statusChanged);
+        } else if (event instanceof AppointmentStatusBatchChangedEvent batchChanged) {
+            handleAppointmentStatusBatchChanged(batchChanged);
+        }
+    }
+    
     /**
      * Handle appointment creation events
      * 
      * @param event the created event
      */
-    @EventListener
-    @Async
     public void handleAppointmentCreated(AppointmentCreatedEvent event) {
         logger.info("Handling appointment creation: Appointment ID={}, Company ID={}",
                 event.getAppointmentId(), event.getCompanyId());
@@ -36,22 +56,39 @@ public class AppointmentEventHandler {
      * 
      * @param event the status changed event
      */
-    @EventListener
-    @Async
     public void handleAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
         logger.info("Handling appointment status change: Appointment ID={}, Old status={}, New status={}",
                 event.getAppointmentId(), event.getOldStatus(), event.getNewStatus());
         
+        notifyStatusChange(event.getAppointmentId(), event.getNewStatus());
+    }
+    
+    /**
+     * Handle set-based status transitions, such as end-of-day no-shows
+     * or bulk confirmations.
+     * 
+     * @param event the batch status changed event
+     */
+    public void handleAppointmentStatusBatchChanged(AppointmentStatusBatchChangedEvent event) {
+        logger.info("Handling batch appointment status change: Company ID={}, Old status={}, New status={}, Count={}",
+                event.getCompanyId(), event.getOldStatus(), event.getNewStatus(), event.size());
+        
+        for (AppointmentStatusChange change : event.getChanges()) {
+            notifyStatusChange(change.getAppointmentId(), change.getNewStatus());
+        }
+    }
+    
+    private void notifyStatusChange(UUID appointmentId, AppointmentStatus newStatus) {
         // Implement notification logic here
-        switch (event.getNewStatus()) {
+        switch (newStatus) {
             case CONFIRMED:
-                sendConfirmationNotification(event);
+                sendConfirmationNotification(appointmentId);
                 break;
             case CANCELLED:
-                sendCancellationNotification(event);
+                sendCancellationNotification(appointmentId);
                 break;
             case COMPLETED:
-                sendCompletionNotification(event);
+                sendCompletionNotification(appointmentId);
                 break;
             default:
                 // No specific action for other statuses
@@ -59,18 +96,18 @@ public class AppointmentEventHandler {
         }
     }
     
-    private void sendConfirmationNotification(AppointmentStatusChangedEvent event) {
+    private void sendConfirmationNotification(UUID appointmentId) {
         // Implementation for sending confirmation notifications
-        logger.info("Sending confirmation notification for appointment: {}", event.getAppointmentId());
+        logger.info("Sending confirmation notification for appointment: {}", appointmentId);
     }
     
-    private void sendCancellationNotification(AppointmentStatusChangedEvent event) {
+    private void sendCancellationNotification(UUID appointmentId) {
         // Implementation for sending cancellation notifications
-        logger.info("Sending cancellation notification for appointment: {}", event.getAppointmentId());
+        logger.info("Sending cancellation notification for appointment: {}", appointmentId);
     }
     
-    private void sendCompletionNotification(AppointmentStatusChangedEvent event) {
+    private void sendCompletionNotification(UUID appointmentId) {
         // Implementation for sending completion notifications
-        logger.info("Sending completion notification for appointment: {}", event.getAppointmentId());
+        logger.info("Sending completion notification for appointment: {}", appointmentId);
     }
 }
\ No newline at end of file
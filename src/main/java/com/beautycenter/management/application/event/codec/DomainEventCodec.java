@@ -0,0 +1,175 @@
+package com.beautycenter.management.application.event.codec;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.domain.event.DomainEvent;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary codec for domain events, used for the event log and for messages between nodes.
+ * <p>
+ * Each event is a self-delimiting frame:
+ * {@code [int frame length][varint type id][byte version][16-byte event ID][8-byte epoch millis][payload]}.
+ * The event type is written as a small interned id instead of its name, UUIDs are written as
+ * two fixed-width longs and timestamps as milliseconds. Frames are decoded straight from the
+ * buffer they were read into, and {@link #readHeader(ByteBuffer, int)} lets callers inspect or
+ * skip an event without decoding its payload.
+ * </p>
+ */
+@Component
+public class DomainEventCodec {
+    
+    private static final int MAX_VERSION = 0xFF;
+    
+    private final Map<Class<?>, EventSerializer<?>> byClass = new HashMap<>();
+    private final Map<Integer, EventSerializer<?>> byTypeId = new HashMap<>();
+    private final Map<String, EventSerializer<?>> byEventType = new HashMap<>();
+    
+    public DomainEventCodec() {
+        this(DomainEventSerializers.all());
+    }
+    
+    public DomainEventCodec(Collection<EventSerializer<?>> serializers) {
+        for (EventSerializer<?> serializer : serializers) {
+            if (serializer.version() < 1 || serializer.version() > MAX_VERSION) {
+                throw new IllegalArgumentException("Version out of range for " + serializer.eventType());
+            }
+            if (byTypeId.putIfAbsent(serializer.typeId(), serializer) != null) {
+                throw new IllegalArgumentException("Duplicate event type id " + serializer.typeId());
+            }
+            byClass.put(serializer.eventClass(), serializer);
+            byEventType.put(serializer.eventType(), serializer);
+        }
+    }
+    
+    /**
+     * Check if events of the given class can be encoded.
+     *
+     * @param eventClass the event class
+     * @return true if a serializer is registered, false otherwise
+     */
+    public boolean supports(Class<?> eventClass) {
+        return byClass.containsKey(eventClass);
+    }
+    
+    /**
+     * Encode an event into a new array.
+     *
+     * @param event the event
+     * @return the frame
+     */
+    public byte[] encode(DomainEvent event) {
+        BinaryWriter writer = new BinaryWriter(128);
+        encode(event, writer);
+        return writer.toByteArray();
+    }
+    
+    /**
+     * Append an encoded event to a writer, so several frames can share one buffer.
+     *
+     * @param event the event
+     * @param out the writer
+     * @throws IllegalArgumentException if the event class has no serializer
+     */
+    @SuppressWarnings("unchecked")
+    public void encode(DomainEvent event, BinaryWriter out) {
+        EventSerializer<DomainEvent> serializer = (EventSerializer<DomainEvent>) byClass.get(event.getClass());
+        if (serializer == null) {
+            throw new IllegalArgumentException("No serializer for event " + event.getClass().getName());
+        }
+        int start = out.size();
+        out.writeInt(0);
+        out.writeVarLong(serializer.typeId());
+        out.writeByte(serializer.version());
+        out.writeUuid(event.getEventId());
+        out.writeEpochMillis(event.getTimestamp());
+        serializer.write(event, out);
+        out.setInt(start, out.size() - start);
+    }
+    
+    /**
+     * Read the header of the frame at the given position.
+     *
+     * @param buffer the buffer
+     * @param offset the position of the frame
+     * @return the header
+     */
+    public EventHeader readHeader(ByteBuffer buffer, int offset) {
+        BinaryReader in = new BinaryReader(buffer, offset);
+        int frameLength = in.readInt();
+        if (frameLength <= 0 || offset + frameLength > buffer.limit()) {
+            throw new IllegalStateException("Corrupt event frame at " + offset + ": length " + frameLength);
+        }
+        int typeId = (int) in.readVarLong();
+        int version = in.readByte() & 0xFF;
+        return new EventHeader(frameLength, typeId, version, in.readUuid(), in.readEpochMillis(), in.position());
+    }
+    
+    /**
+     * Decode the frame at the given position.
+     *
+     * @param buffer the buffer
+     * @param offset the position of the frame
+     * @return the event
+     * @throws IllegalStateException if the type is unknown or written by a newer version
+     */
+    public DomainEvent decode(ByteBuffer buffer, int offset) {
+        EventHeader header = readHeader(buffer, offset);
+        EventSerializer<?> serializer = byTypeId.get(header.typeId());
+        if (serializer == null) {
+            throw new IllegalStateException("Unknown event type id " + header.typeId());
+        }
+        if (header.version() > serializer.version()) {
+            throw new IllegalStateException(String.format("Event %s has version %d, newest known is %d",
+                    serializer.eventType(), header.version(), serializer.version()));
+        }
+        return serializer.read(header, new BinaryReader(buffer, header.payloadOffset()));
+    }
+    
+    /**
+     * Decode a frame held in an array.
+     *
+     * @param frame the frame
+     * @return the event
+     */
+    public DomainEvent decode(byte[] frame) {
+        return decode(ByteBuffer.wrap(frame), 0);
+    }
+    
+    /**
+     * Event type name of a type id, for example to filter frames by their header.
+     *
+     * @param typeId the type id
+     * @return the event type, or null if unknown
+     */
+    public String eventType(int typeId) {
+        EventSerializer<?> serializer = byTypeId.get(typeId);
+        return serializer != null ? serializer.eventType() : null;
+    }
+    
+    /**
+     * Type id of an event type name.
+     *
+     * @param eventType the event type
+     * @return the type id, or -1 if unknown
+     */
+    public int typeId(String eventType) {
+        EventSerializer<?> serializer = byEventType.get(eventType);
+        return serializer != null ? serializer.typeId() : -1;
+    }
+    
+    /**
+     * Registered serializers.
+     *
+     * @return the serializers
+     */
+    public List<EventSerializer<?>> serializers() {
+        return List.copyOf(byTypeId.values());
+    }
+}
\ No newline at end of file
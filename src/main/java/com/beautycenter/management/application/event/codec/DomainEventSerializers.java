@@ -0,0 +1,277 @@
+package com.beautycenter.management.application.event.codec;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.domain.event.DomainEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentCreatedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentDeletedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusBatchChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentUpdatedEvent;
+import com.beautycenter.management.domain.event.user.UserActivatedEvent;
+import com.beautycenter.management.domain.event.user.UserCreatedEvent;
+import com.beautycenter.management.domain.event.user.UserDeactivatedEvent;
+import com.beautycenter.management.domain.event.user.UserDeletedEvent;
+import com.beautycenter.management.domain.event.user.UserUpdatedEvent;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
+import com.beautycenter.management.domain.model.Role;
+import com.beautycenter.management.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Serializers for the domain events of this application.
+ * <p>
+ * Type ids are grouped by aggregate: 1-15 for appointments, 16-31 for users. They are part
+ * of the stored format, so existing ids must never change.
+ * </p>
+ */
+public final class DomainEventSerializers {
+    
+    private static final AppointmentStatus[] STATUSES = AppointmentStatus.values();
+    
+    private DomainEventSerializers() {
+    }
+    
+    /**
+     * All serializers.
+     *
+     * @return the serializers
+     */
+    public static List<EventSerializer<?>> all() {
+        return List.of(
+                of(1, "appointment.created", AppointmentCreatedEvent.class, 1,
+                        DomainEventSerializers::writeCreated, DomainEventSerializers::readCreated),
+                of(2, "appointment.updated", AppointmentUpdatedEvent.class, 1,
+                        DomainEventSerializers::writeUpdated, DomainEventSerializers::readUpdated),
+                of(3, "appointment.deleted", AppointmentDeletedEvent.class, 1,
+                        (event, out) -> out.writeNullableUuid(event.getAppointmentId()),
+                        (header, in) -> new AppointmentDeletedEvent(header.eventId(), header.timestamp(),
+                                in.readNullableUuid())),
+                of(4, "appointment.status-changed", AppointmentStatusChangedEvent.class, 1,
+                        DomainEventSerializers::writeStatusChanged, DomainEventSerializers::readStatusChanged),
+                of(5, "appointment.status-changed.batch", AppointmentStatusBatchChangedEvent.class, 1,
+                        DomainEventSerializers::writeBatch, DomainEventSerializers::readBatch),
+                of(16, "user.created", UserCreatedEvent.class, 1,
+                        (event, out) -> writeUser(event.getUser(), out),
+                        (header, in) -> new UserCreatedEvent(header.eventId(), header.timestamp(), readUser(in))),
+                of(17, "user.updated", UserUpdatedEvent.class, 1,
+                        (event, out) -> writeUser(event.getUser(), out),
+                        (header, in) -> new UserUpdatedEvent(header.eventId(), header.timestamp(), readUser(in))),
+                of(18, "user.activated", UserActivatedEvent.class, 1,
+                        (event, out) -> writeUser(event.getUser(), out),
+                        (header, in) -> new UserActivatedEvent(header.eventId(), header.timestamp(), readUser(in))),
+                of(19, "user.deactivated", UserDeactivatedEvent.class, 1,
+                        (event, out) -> writeUser(event.getUser(), out),
+                        (header, in) -> new UserDeactivatedEvent(header.eventId(), header.timestamp(), readUser(in))),
+                of(20, "user.deleted", UserDeletedEvent.class, 1,
+                        (event, out) -> writeUser(event.getUser(), out),
+                        (header, in) -> new UserDeletedEvent(header.eventId(), header.timestamp(), readUser(in))));
+    }
+    
+    /**
+     * Create a serializer from a writer and a reader function.
+     *
+     * @param typeId the stable type id
+     * @param eventType the event type name
+     * @param eventClass the event class
+     * @param version the current payload version
+     * @param writer writes the payload
+     * @param reader reads the payload
+     * @return the serializer
+     */
+    public static <E extends DomainEvent> EventSerializer<E> of(int typeId, String eventType, Class<E> eventClass,
+                                                                int version, BiConsumer<E, BinaryWriter> writer,
+                                                                PayloadReader<E> reader) {
+        return new EventSerializer<>() {
+            @Override
+            public int typeId() {
+                return typeId;
+            }
+            
+            @Override
+            public String eventType() {
+                return eventType;
+            }
+            
+            @Override
+            public Class<E> eventClass() {
+                return eventClass;
+            }
+            
+            @Override
+            public int version() {
+                return version;
+            }
+            
+            @Override
+            public void write(E event, BinaryWriter out) {
+                writer.accept(event, out);
+            }
+            
+            @Override
+            public E read(EventHeader header, BinaryReader in) {
+                return reader.read(header, in);
+            }
+        };
+    }
+    
+    /**
+     * Reads a payload given its header.
+     *
+     * @param <E> the event class
+     */
+    @FunctionalInterface
+    public interface PayloadReader<E> {
+        
+        E read(EventHeader header, BinaryReader in);
+    }
+    
+    private static void writeCreated(AppointmentCreatedEvent event, BinaryWriter out) {
+        out.writeNullableUuid(event.getAppointmentId());
+        out.writeNullableUuid(event.getCompanyId());
+        out.writeNullableUuid(event.getCustomerId());
+        out.writeNullableUuid(event.getEmployeeId());
+        out.writeNullableUuid(event.getServiceId());
+        out.writeEpochMillis(event.getStartTime());
+        out.writeEpochMillis(event.getEndTime());
+        out.writeNullableEnum(event.getStatus());
+        out.writeNullableDecimal(event.getTotalPrice());
+    }
+    
+    private static AppointmentCreatedEvent readCreated(EventHeader header, BinaryReader in) {
+        return new AppointmentCreatedEvent(header.eventId(), header.timestamp(),
+                in.readNullableUuid(), in.readNullableUuid(), in.readNullableUuid(), in.readNullableUuid(),
+                in.readNullableUuid(), in.readEpochMillis(), in.readEpochMillis(), in.readNullableEnum(STATUSES),
+                in.readNullableDecimal());
+    }
+    
+    private static void writeUpdated(AppointmentUpdatedEvent event, BinaryWriter out) {
+        out.writeNullableUuid(event.getAppointmentId());
+        out.writeNullableUuid(event.getCompanyId());
+        out.writeNullableUuid(event.getEmployeeId());
+        out.writeNullableUuid(event.getServiceId());
+        out.writeEpochMillis(event.getStartTime());
+        out.writeEpochMillis(event.getEndTime());
+        out.writeNullableEnum(event.getStatus());
+        out.writeNullableDecimal(event.getTotalPrice());
+    }
+    
+    private static AppointmentUpdatedEvent readUpdated(EventHeader header, BinaryReader in) {
+        return new AppointmentUpdatedEvent(header.eventId(), header.timestamp(),
+                in.readNullableUuid(), in.readNullableUuid(), in.readNullableUuid(), in.readNullableUuid(),
+                in.readEpochMillis(), in.readEpochMillis(), in.readNullableEnum(STATUSES), in.readNullableDecimal());
+    }
+    
+    private static void writeStatusChanged(AppointmentStatusChangedEvent event, BinaryWriter out) {
+        out.writeNullableUuid(event.getAppointmentId());
+        out.writeNullableUuid(event.getCompanyId());
+        out.writeNullableUuid(event.getEmployeeId());
+        out.writeEpochMillis(event.getStartTime());
+        out.writeEpochMillis(event.getEndTime());
+        out.writeNullableEnum(event.getOldStatus());
+        out.writeNullableEnum(event.getNewStatus());
+    }
+    
+    private static AppointmentStatusChangedEvent readStatusChanged(EventHeader header, BinaryReader in) {
+        return new AppointmentStatusChangedEvent(header.eventId(), header.timestamp(),
+                in.readNullableUuid(), in.readNullableUuid(), in.readNullableUuid(),
+                in.readEpochMillis(), in.readEpochMillis(),
+                in.readNullableEnum(STATUSES), in.readNullableEnum(STATUSES));
+    }
+    
+    /**
+     * Company and statuses are shared by every change in a batch, so they are written once.
+     */
+    private static void writeBatch(AppointmentStatusBatchChangedEvent event, BinaryWriter out) {
+        out.writeNullableUuid(event.getCompanyId());
+        out.writeNullableEnum(event.getOldStatus());
+        out.writeNullableEnum(event.getNewStatus());
+        out.writeVarLong(event.size());
+        for (AppointmentStatusChange change : event.getChanges()) {
+            out.writeNullableUuid(change.getAppointmentId());
+            out.writeNullableUuid(change.getEmployeeId());
+            out.writeEpochMillis(change.getStartTime());
+            out.writeEpochMillis(change.getEndTime());
+        }
+    }
+    
+    private static AppointmentStatusBatchChangedEvent readBatch(EventHeader header, BinaryReader in) {
+        UUID companyId = in.readNullableUuid();
+        AppointmentStatus oldStatus = in.readNullableEnum(STATUSES);
+        AppointmentStatus newStatus = in.readNullableEnum(STATUSES);
+        int size = (int) in.readVarLong();
+        List<AppointmentStatusChange> changes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UUID appointmentId = in.readNullableUuid();
+            UUID employeeId = in.readNullableUuid();
+            LocalDateTime startTime = in.readEpochMillis();
+            LocalDateTime endTime = in.readEpochMillis();
+            changes.add(AppointmentStatusChange.builder()
+                    .appointmentId(appointmentId)
+                    .companyId(companyId)
+                    .employeeId(employeeId)
+                    .startTime(startTime)
+                    .endTime(endTime)
+                    .oldStatus(oldStatus)
+                    .newStatus(newStatus)
+                    .build());
+        }
+        return new AppointmentStatusBatchChangedEvent(header.eventId(), header.timestamp(), companyId, oldStatus,
+                newStatus, changes);
+    }
+    
+    /**
+     * The password hash is deliberately left out; events leave the process and must not carry it.
+     * Roles are written as a bit set of their ordinals.
+     */
+    private static void writeUser(User user, BinaryWriter out) {
+        out.writeNullableLong(user.getId());
+        out.writeNullableString(user.getUsername());
+        out.writeNullableString(user.getEmail());
+        out.writeNullableString(user.getFirstName());
+        out.writeNullableString(user.getLastName());
+        out.writeNullableString(user.getPhoneNumber());
+        long roles = 0;
+        if (user.getRoles() != null) {
+            for (Role role : user.getRoles()) {
+                roles |= 1L << role.ordinal();
+            }
+        }
+        out.writeVarLong(roles);
+        out.writeBoolean(user.isActive());
+        out.writeEpochMillis(user.getCreatedAt());
+        out.writeEpochMillis(user.getUpdatedAt());
+        out.writeNullableLong(user.getCompanyId());
+    }
+    
+    private static User readUser(BinaryReader in) {
+        User user = new User();
+        user.setId(in.readNullableLong());
+        user.setUsername(in.readNullableString());
+        user.setEmail(in.readNullableString());
+        user.setFirstName(in.readNullableString());
+        user.setLastName(in.readNullableString());
+        user.setPhoneNumber(in.readNullableString());
+        long bits = in.readVarLong();
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : Role.values()) {
+            if ((bits & (1L << role.ordinal())) != 0) {
+                roles.add(role);
+            }
+        }
+        user.setRoles(roles);
+        user.setActive(in.readBoolean());
+        user.setCreatedAt(in.readEpochMillis());
+        user.setUpdatedAt(in.readEpochMillis());
+        user.setCompanyId(in.readNullableLong());
+        return user;
+    }
+}
\ No newline at end of file
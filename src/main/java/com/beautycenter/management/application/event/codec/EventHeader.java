@@ -0,0 +1,18 @@
+package com.beautycenter.management.application.event.codec;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fixed part of an encoded event, readable without decoding the payload.
+ *
+ * @param frameLength the length of the whole frame in bytes, including the header
+ * @param typeId the event type id
+ * @param version the payload version
+ * @param eventId the event ID
+ * @param timestamp the event timestamp, to the millisecond
+ * @param payloadOffset the position of the payload in the buffer
+ */
+public record EventHeader(int frameLength, int typeId, int version, UUID eventId, LocalDateTime timestamp,
+                          int payloadOffset) {
+}
\ No newline at end of file
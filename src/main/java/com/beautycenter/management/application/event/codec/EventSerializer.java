@@ -0,0 +1,64 @@
+package com.beautycenter.management.application.event.codec;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import com.beautycenter.management.domain.event.DomainEvent;
+
+/**
+ * Writes and reads the payload of one event type.
+ * <p>
+ * The type id is written instead of the event type name and must never be reused for
+ * another type. Bump the version whenever the payload layout changes and keep reading
+ * the older versions, since events written by an older release may still be in a log
+ * or in flight from another node.
+ * </p>
+ *
+ * @param <E> the event class
+ */
+public interface EventSerializer<E extends DomainEvent> {
+    
+    /**
+     * Stable numeric id of the event type.
+     *
+     * @return the type id
+     */
+    int typeId();
+    
+    /**
+     * The event type name, as returned by {@link DomainEvent#getEventType()}.
+     *
+     * @return the event type
+     */
+    String eventType();
+    
+    /**
+     * The event class handled by this serializer.
+     *
+     * @return the event class
+     */
+    Class<E> eventClass();
+    
+    /**
+     * Current payload version, written with every event.
+     *
+     * @return the version
+     */
+    int version();
+    
+    /**
+     * Write the payload; the header with ID and timestamp is written by the codec.
+     *
+     * @param event the event
+     * @param out the writer
+     */
+    void write(E event, BinaryWriter out);
+    
+    /**
+     * Read a payload.
+     *
+     * @param header the header of the event, including the payload version
+     * @param in the reader positioned at the payload
+     * @return the event
+     */
+    E read(EventHeader header, BinaryReader in);
+}
\ No newline at end of file
@@ -40,6 +40,9 @@ public class AppointmentDtoMapper {
                 .totalPrice(appointment.getTotalPrice())
                 .companyId(appointment.getCompanyId())
                 .additionalServiceIds(appointment.getAdditionalServiceIds())
+                .createdAt(appointment.getCreatedAt())
+                .updatedAt(appointment.getUpdatedAt())
+                .version(appointment.getVersion())
                 .build();
     }
     
@@ -82,6 +85,7 @@ public class AppointmentDtoMapper {
                 .totalPrice(dto.getTotalPrice())
                 .companyId(dto.getCompanyId())
                 .additionalServiceIds(dto.getAdditionalServiceIds())
+                .version(dto.getVersion())
                 .build();
     }
     
@@ -0,0 +1,366 @@
+package com.beautycenter.management.application.schedule;
+
+import com.beautycenter.management.application.dto.DailyScheduleDto;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the appointments of one company on one day, grouped by employee.
+ * <p>
+ * Each employee column keeps its appointments sorted by start time in parallel primitive
+ * arrays (seconds since the start of the day) next to the appointment ids, so a full day
+ * of a location stays small and can be served without touching the database. Changes
+ * produce a new snapshot that shares every column that was not affected; the version
+ * identifies the snapshot and is used as its entity tag.
+ * </p>
+ */
+public final class DailySchedule {
+    
+    private final UUID companyId;
+    private final LocalDate date;
+    private final long version;
+    private final Map<UUID, EmployeeColumn> columns;
+    
+    private volatile DailyScheduleDto dto;
+    
+    DailySchedule(UUID companyId, LocalDate date, long version, Map<UUID, EmployeeColumn> columns) {
+        this.companyId = companyId;
+        this.date = date;
+        this.version = version;
+        this.columns = Collections.unmodifiableMap(columns);
+    }
+    
+    /**
+     * Create an empty schedule.
+     *
+     * @param companyId the company ID
+     * @param date the day
+     * @param version the version of the snapshot
+     * @return the empty schedule
+     */
+    static DailySchedule empty(UUID companyId, LocalDate date, long version) {
+        return new DailySchedule(companyId, date, version, new LinkedHashMap<>());
+    }
+    
+    public UUID getCompanyId() {
+        return companyId;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    /**
+     * Strong entity tag of this snapshot.
+     *
+     * @return the quoted entity tag
+     */
+    public String getETag() {
+        return "\"" + Long.toHexString(version) + "\"";
+    }
+    
+    public Collection<EmployeeColumn> getColumns() {
+        return columns.values();
+    }
+    
+    /**
+     * Get the column of an employee.
+     *
+     * @param employeeId the employee ID, or null for unassigned appointments
+     * @return the column, or null if the employee has no appointments on this day
+     */
+    public EmployeeColumn getColumn(UUID employeeId) {
+        return columns.get(employeeId);
+    }
+    
+    /**
+     * Check if the schedule contains an appointment.
+     *
+     * @param appointmentId the appointment ID
+     * @return true if present, false otherwise
+     */
+    public boolean contains(UUID appointmentId) {
+        return findColumn(appointmentId) != null;
+    }
+    
+    /**
+     * Insert an appointment, or move it if it is already part of this schedule.
+     *
+     * @return the new snapshot
+     */
+    DailySchedule withAppointment(UUID appointmentId, UUID employeeId, LocalDateTime startTime,
+                                  LocalDateTime endTime, AppointmentStatus status, long newVersion) {
+        Map<UUID, EmployeeColumn> updated = withoutAppointmentColumns(appointmentId);
+        EmployeeColumn column = updated.get(employeeId);
+        if (column == null) {
+            column = EmployeeColumn.empty(employeeId);
+        }
+        updated.put(employeeId, column.with(appointmentId, secondsOfDay(startTime), secondsOfDay(endTime), status));
+        return new DailySchedule(companyId, date, newVersion, updated);
+    }
+    
+    /**
+     * Remove an appointment.
+     *
+     * @return the new snapshot, or this snapshot if the appointment is not part of it
+     */
+    DailySchedule withoutAppointment(UUID appointmentId, long newVersion) {
+        if (findColumn(appointmentId) == null) {
+            return this;
+        }
+        return new DailySchedule(companyId, date, newVersion, withoutAppointmentColumns(appointmentId));
+    }
+    
+    /**
+     * Change the status of an appointment.
+     *
+     * @return the new snapshot, or this snapshot if nothing changed
+     */
+    DailySchedule withStatus(UUID appointmentId, AppointmentStatus status, long newVersion) {
+        EmployeeColumn column = findColumn(appointmentId);
+        if (column == null) {
+            return this;
+        }
+        int index = column.indexOf(appointmentId);
+        if (column.statuses[index] == status) {
+            return this;
+        }
+        Map<UUID, EmployeeColumn> updated = new LinkedHashMap<>(columns);
+        updated.put(column.employeeId, column.withStatusAt(index, status));
+        return new DailySchedule(companyId, date, newVersion, updated);
+    }
+    
+    /**
+     * Check if another snapshot holds exactly the same appointments, ignoring versions.
+     *
+     * @param other the other snapshot
+     * @return true if both snapshots have the same content
+     */
+    boolean hasSameAppointments(DailySchedule other) {
+        if (columns.size() != other.columns.size()) {
+            return false;
+        }
+        for (EmployeeColumn column : columns.values()) {
+            EmployeeColumn otherColumn = other.columns.get(column.employeeId);
+            if (otherColumn == null || !column.hasSameAppointments(otherColumn)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Convert the snapshot to its transfer representation. The result is built once per snapshot.
+     *
+     * @return the DTO
+     */
+    public DailyScheduleDto toDto() {
+        DailyScheduleDto result = dto;
+        if (result == null) {
+            List<DailyScheduleDto.EmployeeSchedule> employees = new ArrayList<>(columns.size());
+            for (EmployeeColumn column : columns.values()) {
+                List<DailyScheduleDto.Slot> slots = new ArrayList<>(column.size());
+                for (int i = 0; i < column.size(); i++) {
+                    slots.add(DailyScheduleDto.Slot.builder()
+                            .appointmentId(column.appointmentIds[i])
+                            .startTime(date.atStartOfDay().plusSeconds(column.startSeconds[i]))
+                            .endTime(date.atStartOfDay().plusSeconds(column.endSeconds[i]))
+                            .status(column.statuses[i] != null ? column.statuses[i].name() : null)
+                            .build());
+                }
+                employees.add(DailyScheduleDto.EmployeeSchedule.builder()
+                        .employeeId(column.employeeId)
+                        .slots(slots)
+                        .build());
+            }
+            result = DailyScheduleDto.builder()
+                    .companyId(companyId)
+                    .date(date)
+                    .version(version)
+                    .employees(employees)
+                    .build();
+            dto = result;
+        }
+        return result;
+    }
+    
+    private EmployeeColumn findColumn(UUID appointmentId) {
+        for (EmployeeColumn column : columns.values()) {
+            if (column.indexOf(appointmentId) >= 0) {
+                return column;
+            }
+        }
+        return null;
+    }
+    
+    private Map<UUID, EmployeeColumn> withoutAppointmentColumns(UUID appointmentId) {
+        Map<UUID, EmployeeColumn> updated = new LinkedHashMap<>(columns);
+        EmployeeColumn column = findColumn(appointmentId);
+        if (column != null) {
+            EmployeeColumn remaining = column.without(column.indexOf(appointmentId));
+            if (remaining.size() == 0) {
+                updated.remove(column.employeeId);
+            } else {
+                updated.put(column.employeeId, remaining);
+            }
+        }
+        return updated;
+    }
+    
+    private int secondsOfDay(LocalDateTime time) {
+        return (int) Duration.between(date.atStartOfDay(), time).getSeconds();
+    }
+    
+    /**
+     * Appointments of a single employee, sorted by start time.
+     */
+    public static final class EmployeeColumn {
+        
+        private final UUID employeeId;
+        private final int[] startSeconds;
+        private final int[] endSeconds;
+        private final UUID[] appointmentIds;
+        private final AppointmentStatus[] statuses;
+        
+        private EmployeeColumn(UUID employeeId, int[] startSeconds, int[] endSeconds,
+                               UUID[] appointmentIds, AppointmentStatus[] statuses) {
+            this.employeeId = employeeId;
+            this.startSeconds = startSeconds;
+            this.endSeconds = endSeconds;
+            this.appointmentIds = appointmentIds;
+            this.statuses = statuses;
+        }
+        
+        private static EmployeeColumn empty(UUID employeeId) {
+            return new EmployeeColumn(employeeId, new int[0], new int[0], new UUID[0], new AppointmentStatus[0]);
+        }
+        
+        public UUID getEmployeeId() {
+            return employeeId;
+        }
+        
+        public int size() {
+            return appointmentIds.length;
+        }
+        
+        public UUID getAppointmentId(int index) {
+            return appointmentIds[index];
+        }
+        
+        public int getStartSecond(int index) {
+            return startSeconds[index];
+        }
+        
+        public int getEndSecond(int index) {
+            return endSeconds[index];
+        }
+        
+        public AppointmentStatus getStatus(int index) {
+            return statuses[index];
+        }
+        
+        /**
+         * Index of the first appointment that starts at or after the given second of the day.
+         *
+         * @param secondOfDay the second of the day
+         * @return the insertion index
+         */
+        public int firstStartingAtOrAfter(int secondOfDay) {
+            int low = 0;
+            int high = startSeconds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (startSeconds[mid] < secondOfDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        private boolean hasSameAppointments(EmployeeColumn other) {
+            return Arrays.equals(startSeconds, other.startSeconds)
+                    && Arrays.equals(endSeconds, other.endSeconds)
+                    && Arrays.equals(appointmentIds, other.appointmentIds)
+                    && Arrays.equals(statuses, other.statuses);
+        }
+        
+        private int indexOf(UUID appointmentId) {
+            for (int i = 0; i < appointmentIds.length; i++) {
+                if (Objects.equals(appointmentIds[i], appointmentId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        private EmployeeColumn with(UUID appointmentId, int start, int end, AppointmentStatus status) {
+            int index = firstStartingAtOrAfter(start);
+            int size = size();
+            int[] starts = new int[size + 1];
+            int[] ends = new int[size + 1];
+            UUID[] ids = new UUID[size + 1];
+            AppointmentStatus[] newStatuses = new AppointmentStatus[size + 1];
+            
+            System.arraycopy(startSeconds, 0, starts, 0, index);
+            System.arraycopy(endSeconds, 0, ends, 0, index);
+            System.arraycopy(appointmentIds, 0, ids, 0, index);
+            System.arraycopy(statuses, 0, newStatuses, 0, index);
+            
+            starts[index] = start;
+            ends[index] = end;
+            ids[index] = appointmentId;
+            newStatuses[index] = status;
+            
+            System.arraycopy(startSeconds, index, starts, index + 1, size - index);
+            System.arraycopy(endSeconds, index, ends, index + 1, size - index);
+            System.arraycopy(appointmentIds, index, ids, index + 1, size - index);
+            System.arraycopy(statuses, index, newStatuses, index + 1, size - index);
+            
+            return new EmployeeColumn(employeeId, starts, ends, ids, newStatuses);
+        }
+        
+        private EmployeeColumn without(int index) {
+            int size = size();
+            int[] starts = new int[size - 1];
+            int[] ends = new int[size - 1];
+            UUID[] ids = new UUID[size - 1];
+            AppointmentStatus[] newStatuses = new AppointmentStatus[size - 1];
+            
+            System.arraycopy(startSeconds, 0, starts, 0, index);
+            System.arraycopy(endSeconds, 0, ends, 0, index);
+            System.arraycopy(appointmentIds, 0, ids, 0, index);
+            System.arraycopy(statuses, 0, newStatuses, 0, index);
+            
+            System.arraycopy(startSeconds, index + 1, starts, index, size - index - 1);
+            System.arraycopy(endSeconds, index + 1, ends, index, size - index - 1);
+            System.arraycopy(appointmentIds, index + 1, ids, index, size - index - 1);
+            System.arraycopy(statuses, index + 1, newStatuses, index, size - index - 1);
+            
+            return new EmployeeColumn(employeeId, starts, ends, ids, newStatuses);
+        }
+        
+        private EmployeeColumn withStatusAt(int index, AppointmentStatus status) {
+            AppointmentStatus[] newStatuses = Arrays.copyOf(statuses, statuses.length);
+            newStatuses[index] = status;
+            return new EmployeeColumn(employeeId, startSeconds, endSeconds, appointmentIds, newStatuses);
+        }
+    }
+}
\ No newline at end of file
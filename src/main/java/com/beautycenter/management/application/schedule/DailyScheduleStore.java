@@ -0,0 +1,313 @@
+package com.beautycenter.management.application.schedule;
+
+import com.beautycenter.management.application.concurrency.StripedLock;
+import com.beautycenter.management.domain.event.appointment.AppointmentCreatedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentDeletedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusBatchChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentUpdatedEvent;
+import com.beautycenter.management.domain.model.Appointment;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
+import com.beautycenter.management.domain.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * In-memory store of materialized {@link DailySchedule} views per company and day.
+ * <p>
+ * A view is loaded once with a company-scoped range query and then kept current from
+ * appointment events, so repeated refreshes of the same day view are served from memory.
+ * Loads run under a lock striped by company and day rather than inside the map, so the
+ * query never blocks other views. Events take the same lock, so an event committed while
+ * a load is running is applied to the loaded view instead of being dropped; events are
+ * idempotent, so applying one the load already saw is harmless. Views are reloaded after
+ * the configured time to live to bound the effect of events that were missed or applied
+ * out of order. A reload that finds the same appointments keeps the previous snapshot and
+ * its version, so entity tags only change when the schedule does. The least recently used
+ * views are dropped once the store is full.
+ * </p>
+ */
+@Component
+public class DailyScheduleStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DailyScheduleStore.class);
+    
+    private final AppointmentRepository appointmentRepository;
+    private final int maxViews;
+    private final long ttlMillis;
+    private final Map<Key, Entry> views = new ConcurrentHashMap<>();
+    private final Map<UUID, Key> locations = new ConcurrentHashMap<>();
+    private final StripedLock viewLocks = new StripedLock(64);
+    
+    /**
+     * Source of snapshot versions. Seeded with the start time so entity tags handed out
+     * before a restart are not mistaken for current ones.
+     */
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() << 16);
+    
+    public DailyScheduleStore(AppointmentRepository appointmentRepository,
+                              @Value("${app.schedule.max-views:1000}") int maxViews,
+                              @Value("${app.schedule.view-ttl-seconds:300}") long ttlSeconds) {
+        this.appointmentRepository = appointmentRepository;
+        this.maxViews = Math.max(maxViews, 1);
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+    }
+    
+    /**
+     * Get the schedule of a company for a day, loading it if it is not materialized yet.
+     *
+     * @param companyId the company ID
+     * @param date the day
+     * @return the current snapshot
+     */
+    public DailySchedule get(UUID companyId, LocalDate date) {
+        Key key = new Key(companyId, date);
+        long now = System.currentTimeMillis();
+        
+        Entry entry = views.get(key);
+        if (entry == null || now - entry.loadedAt > ttlMillis) {
+            Lock lock = viewLocks.get(key);
+            lock.lock();
+            try {
+                // Another request may have loaded the view while this one waited
+                entry = views.get(key);
+                if (entry == null || now - entry.loadedAt > ttlMillis) {
+                    entry = load(key, entry);
+                    views.put(key, entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+            evictIfFull();
+        }
+        entry.lastAccess = now;
+        return entry.schedule;
+    }
+    
+    /**
+     * Drop the view of a company for a day, so it is loaded again on the next request.
+     * Used when the day was changed on another node.
+     *
+     * @param companyId the company ID
+     * @param date the day
+     */
+    public void evict(UUID companyId, LocalDate date) {
+        Key key = new Key(companyId, date);
+        Lock lock = viewLocks.get(key);
+        lock.lock();
+        try {
+            Entry entry = views.remove(key);
+            if (entry != null) {
+                forget(key, entry.schedule);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Drop the view holding an appointment, if any.
+     *
+     * @param appointmentId the appointment ID
+     */
+    public void evictAppointment(UUID appointmentId) {
+        Key key = locations.get(appointmentId);
+        if (key != null) {
+            evict(key.companyId(), key.date());
+        }
+    }
+    
+    /**
+     * Drop every view.
+     */
+    public void clear() {
+        views.clear();
+        locations.clear();
+    }
+    
+    /**
+     * Number of materialized views.
+     *
+     * @return the view count
+     */
+    public int size() {
+        return views.size();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentCreated(AppointmentCreatedEvent event) {
+        place(event.getAppointmentId(), event.getCompanyId(), event.getEmployeeId(),
+                event.getStartTime(), event.getEndTime(), event.getStatus());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentUpdated(AppointmentUpdatedEvent event) {
+        place(event.getAppointmentId(), event.getCompanyId(), event.getEmployeeId(),
+                event.getStartTime(), event.getEndTime(), event.getStatus());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+        changeStatus(event.getAppointmentId(), event.getNewStatus());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentStatusBatchChanged(AppointmentStatusBatchChangedEvent event) {
+        for (AppointmentStatusChange change : event.getChanges()) {
+            changeStatus(change.getAppointmentId(), change.getNewStatus());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentDeleted(AppointmentDeletedEvent event) {
+        remove(event.getAppointmentId());
+    }
+    
+    private Entry load(Key key, Entry previous) {
+        if (previous != null) {
+            forget(key, previous.schedule);
+        }
+        
+        List<Appointment> appointments = appointmentRepository.findByCompanyIdAndStartTimeBetween(
+                key.companyId(), key.date().atStartOfDay(), key.date().atTime(23, 59, 59, 999_999_999));
+        
+        DailySchedule schedule = DailySchedule.empty(key.companyId(), key.date(), versions.incrementAndGet());
+        for (Appointment appointment : appointments) {
+            schedule = schedule.withAppointment(appointment.getId(),
+                    appointment.getEmployee() != null ? appointment.getEmployee().getId() : null,
+                    appointment.getStartTime(), appointment.getEndTime(), appointment.getStatus(),
+                    schedule.getVersion());
+            locations.put(appointment.getId(), key);
+        }
+        if (previous != null && previous.schedule.hasSameAppointments(schedule)) {
+            // Nothing changed, so keep the snapshot and the entity tag clients already hold
+            schedule = previous.schedule;
+        }
+        logger.debug("Materialized schedule of company {} for {} with {} appointments",
+                key.companyId(), key.date(), appointments.size());
+        return new Entry(schedule);
+    }
+    
+    private void place(UUID appointmentId, UUID companyId, UUID employeeId,
+                       LocalDateTime startTime, LocalDateTime endTime, AppointmentStatus status) {
+        if (companyId == null || startTime == null || endTime == null) {
+            remove(appointmentId);
+            return;
+        }
+        Key target = new Key(companyId, startTime.toLocalDate());
+        
+        Key current = locations.get(appointmentId);
+        if (current != null && !current.equals(target)) {
+            remove(appointmentId);
+        }
+        
+        Lock lock = viewLocks.get(target);
+        lock.lock();
+        try {
+            views.computeIfPresent(target, (k, entry) -> {
+                locations.put(appointmentId, k);
+                return entry.with(entry.schedule.withAppointment(appointmentId, employeeId, startTime, endTime, status,
+                        versions.incrementAndGet()));
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void changeStatus(UUID appointmentId, AppointmentStatus status) {
+        Key key = locations.get(appointmentId);
+        if (key == null) {
+            return;
+        }
+        Lock lock = viewLocks.get(key);
+        lock.lock();
+        try {
+            views.computeIfPresent(key, (k, entry) ->
+                    entry.with(entry.schedule.withStatus(appointmentId, status, versions.incrementAndGet())));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void remove(UUID appointmentId) {
+        Key key = locations.remove(appointmentId);
+        if (key == null) {
+            return;
+        }
+        Lock lock = viewLocks.get(key);
+        lock.lock();
+        try {
+            views.computeIfPresent(key, (k, entry) ->
+                    entry.with(entry.schedule.withoutAppointment(appointmentId, versions.incrementAndGet())));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void evictIfFull() {
+        while (views.size() > maxViews) {
+            Map.Entry<Key, Entry> eldest = null;
+            for (Map.Entry<Key, Entry> candidate : views.entrySet()) {
+                if (eldest == null || candidate.getValue().lastAccess < eldest.getValue().lastAccess) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            if (views.remove(eldest.getKey(), eldest.getValue())) {
+                forget(eldest.getKey(), eldest.getValue().schedule);
+            }
+        }
+    }
+    
+    private void forget(Key key, DailySchedule schedule) {
+        for (DailySchedule.EmployeeColumn column : schedule.getColumns()) {
+            for (int i = 0; i < column.size(); i++) {
+                locations.remove(column.getAppointmentId(i), key);
+            }
+        }
+    }
+    
+    private record Key(UUID companyId, LocalDate date) {
+    }
+    
+    private static final class Entry {
+        private final DailySchedule schedule;
+        private final long loadedAt;
+        private volatile long lastAccess;
+        
+        private Entry(DailySchedule schedule) {
+            this(schedule, System.currentTimeMillis());
+        }
+        
+        private Entry(DailySchedule schedule, long loadedAt) {
+            this.schedule = schedule;
+            this.loadedAt = loadedAt;
+            this.lastAccess = System.currentTimeMillis();
+        }
+        
+        private Entry with(DailySchedule updated) {
+            if (updated == schedule) {
+                return this;
+            }
+            Entry entry = new Entry(updated, loadedAt);
+            entry.lastAccess = lastAccess;
+            return entry;
+        }
+    }
+}
\ No newline at end of file
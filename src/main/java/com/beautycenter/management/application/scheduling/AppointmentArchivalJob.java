@@ -0,0 +1,65 @@
+package com.beautycenter.management.application.scheduling;
+
+import com.beautycenter.management.application.service.AppointmentServiceImpl;
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.ArchiveReport;
+import com.beautycenter.management.domain.service.AppointmentArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Periodically archives finished appointments older than the configured number of months,
+ * so the live appointments table only holds recent and upcoming bookings.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class AppointmentArchivalJob {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentArchivalJob.class);
+    
+    private final AppointmentArchiveService archiveService;
+    private final ResourceVersionRegistry resourceVersions;
+    private final int months;
+    private final Set<AppointmentStatus> statuses;
+    
+    public AppointmentArchivalJob(AppointmentArchiveService archiveService,
+                                  ResourceVersionRegistry resourceVersions,
+                                  @Value("${app.archive.months:24}") int months,
+                                  @Value("${app.archive.statuses:COMPLETED,CANCELLED}") List<AppointmentStatus> statuses) {
+        this.archiveService = archiveService;
+        this.resourceVersions = resourceVersions;
+        this.months = Math.max(months, 1);
+        this.statuses = statuses.isEmpty() ? EnumSet.noneOf(AppointmentStatus.class) : EnumSet.copyOf(statuses);
+    }
+    
+    /**
+     * Archive the appointments that are older than the retention period.
+     */
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void run() {
+        LocalDate cutoff = LocalDate.now().minusMonths(months).withDayOfMonth(1);
+        try {
+            ArchiveReport report = archiveService.archiveBefore(cutoff, statuses);
+            if (report.getArchived() > 0) {
+                // Archived rows disappear from every collection of every company
+                resourceVersions.changed(AppointmentServiceImpl.RESOURCE, null, null);
+            }
+            logger.info("Archived {} appointments before {} into {} files, dropped {} partitions in {} ms",
+                    report.getArchived(), cutoff, report.getFiles().size(),
+                    report.getDroppedPartitions(), report.getDurationMillis());
+        } catch (IOException e) {
+            logger.error("Failed to archive appointments before {}", cutoff, e);
+        }
+    }
+}
\ No newline at end of file
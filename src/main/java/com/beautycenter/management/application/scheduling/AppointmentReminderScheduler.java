@@ -0,0 +1,293 @@
+package com.beautycenter.management.application.scheduling;
+
+import com.beautycenter.management.domain.event.appointment.AppointmentCreatedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentDeletedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusBatchChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentUpdatedEvent;
+import com.beautycenter.management.domain.model.Appointment;
+import com.beautycenter.management.domain.model.AppointmentReminder;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
+import com.beautycenter.management.domain.repository.AppointmentRepository;
+import com.beautycenter.management.domain.service.ReminderNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Holds reminders for appointments starting within the configured horizon in a
+ * hierarchical timing wheel.
+ * <p>
+ * The wheel is filled incrementally: every tick only the next slice of time that entered
+ * the horizon is loaded with {@code findByStartTimeBetween}, so the appointments table is
+ * never scanned as a whole. Appointments created or changed inside the loaded range are
+ * applied from domain events. Due reminders are handed to the {@link ReminderNotifier} in batches.
+ * </p>
+ * <p>
+ * Loading a slice and applying an event hold the same lock, so an event either sees the
+ * range it falls into as loaded or is followed by the load that picks the appointment up.
+ * Every node keeps its own wheel; a due reminder is first claimed in the appointments table
+ * and only the node that claimed it sends it, so each reminder goes out at most once.
+ * If sending fails, the claim is released and the reminder is put back into the wheel to be
+ * retried after the configured delay, until the appointment starts.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class AppointmentReminderScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentReminderScheduler.class);
+    
+    private final AppointmentRepository appointmentRepository;
+    private final ReminderNotifier reminderNotifier;
+    private final Clock clock;
+    private final Duration horizon;
+    private final Duration lead;
+    private final Duration loadWindow;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final HierarchicalTimingWheel<UUID, AppointmentReminder> wheel;
+    
+    /**
+     * End of the start-time range that has been loaded into the wheel (exclusive).
+     */
+    private volatile LocalDateTime loadedUntil;
+    
+    public AppointmentReminderScheduler(AppointmentRepository appointmentRepository,
+                                        ReminderNotifier reminderNotifier,
+                                        @Value("${app.reminders.horizon-hours:24}") long horizonHours,
+                                        @Value("${app.reminders.lead-minutes:120}") long leadMinutes,
+                                        @Value("${app.reminders.tick-ms:60000}") long tickMs,
+                                        @Value("${app.reminders.wheel-size:60}") int wheelSize,
+                                        @Value("${app.reminders.load-window-minutes:15}") long loadWindowMinutes,
+                                        @Value("${app.reminders.batch-size:100}") int batchSize,
+                                        @Value("${app.reminders.retry-delay-ms:60000}") long retryDelayMs) {
+        this.appointmentRepository = appointmentRepository;
+        this.reminderNotifier = reminderNotifier;
+        this.clock = Clock.systemDefaultZone();
+        this.horizon = Duration.ofHours(horizonHours);
+        this.lead = Duration.ofMinutes(leadMinutes);
+        this.loadWindow = Duration.ofMinutes(loadWindowMinutes);
+        this.batchSize = Math.max(batchSize, 1);
+        this.retryDelay = Duration.ofMillis(Math.max(retryDelayMs, 1));
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, clock.millis());
+    }
+    
+    /**
+     * Load the next slice of the horizon and dispatch the reminders that became due.
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.tick-ms:60000}", initialDelayString = "${app.reminders.tick-ms:60000}")
+    @Transactional(readOnly = true)
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        loadUpTo(now, now.plus(horizon));
+        dispatch(wheel.advanceTo(clock.millis()));
+    }
+    
+    /**
+     * Add a reminder for a new appointment if it starts inside the range already loaded.
+     * Appointments further out are picked up when their window is loaded.
+     *
+     * @param event the created event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentCreated(AppointmentCreatedEvent event) {
+        LocalDateTime until = loadedUntil;
+        if (until == null || event.getStartTime() == null || !event.getStartTime().isBefore(until)) {
+            return;
+        }
+        if (isRemindable(event.getStatus())) {
+            schedule(AppointmentReminder.builder()
+                    .appointmentId(event.getAppointmentId())
+                    .companyId(event.getCompanyId())
+                    .customerId(event.getCustomerId())
+                    .employeeId(event.getEmployeeId())
+                    .serviceId(event.getServiceId())
+                    .startTime(event.getStartTime())
+                    .remindAt(event.getStartTime().minus(lead))
+                    .build());
+        }
+    }
+    
+    /**
+     * Move the reminder of a rescheduled appointment, or drop it if the new time is outside the loaded range.
+     *
+     * @param event the updated event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentUpdated(AppointmentUpdatedEvent event) {
+        wheel.cancel(event.getAppointmentId());
+        LocalDateTime until = loadedUntil;
+        if (until == null || event.getStartTime() == null || !event.getStartTime().isBefore(until)
+                || !isRemindable(event.getStatus())) {
+            return;
+        }
+        appointmentRepository.findById(event.getAppointmentId())
+                .filter(appointment -> isRemindable(appointment.getStatus()))
+                .map(this::toReminder)
+                .ifPresent(this::schedule);
+    }
+    
+    /**
+     * Drop the reminder of a deleted appointment.
+     *
+     * @param event the deleted event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentDeleted(AppointmentDeletedEvent event) {
+        wheel.cancel(event.getAppointmentId());
+    }
+    
+    /**
+     * Drop the reminder of an appointment that will no longer take place as booked.
+     *
+     * @param event the status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+        if (!isRemindable(event.getNewStatus())) {
+            wheel.cancel(event.getAppointmentId());
+        }
+    }
+    
+    /**
+     * Drop the reminders of appointments moved together by a bulk transition.
+     *
+     * @param event the batch status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentStatusBatchChanged(AppointmentStatusBatchChangedEvent event) {
+        if (isRemindable(event.getNewStatus())) {
+            return;
+        }
+        for (AppointmentStatusChange change : event.getChanges()) {
+            wheel.cancel(change.getAppointmentId());
+        }
+    }
+    
+    /**
+     * Number of reminders currently held in the wheel.
+     *
+     * @return the pending reminder count
+     */
+    public int pendingReminders() {
+        return wheel.size();
+    }
+    
+    private synchronized void loadUpTo(LocalDateTime now, LocalDateTime target) {
+        boolean initialLoad = loadedUntil == null;
+        LocalDateTime from = initialLoad ? now : loadedUntil;
+        
+        while (from.isBefore(target)) {
+            LocalDateTime to = from.plus(loadWindow);
+            if (to.isAfter(target)) {
+                to = target;
+            }
+            
+            // The repository range is inclusive, so skip appointments starting exactly at the upper bound
+            List<Appointment> appointments = appointmentRepository.findByStartTimeBetween(from, to);
+            for (Appointment appointment : appointments) {
+                if (!appointment.getStartTime().isBefore(to) || !isRemindable(appointment.getStatus())) {
+                    continue;
+                }
+                AppointmentReminder reminder = toReminder(appointment);
+                // On start-up, reminders whose time has already passed were either sent before or are stale
+                if (initialLoad && reminder.getRemindAt().isBefore(now)) {
+                    continue;
+                }
+                schedule(reminder);
+            }
+            
+            from = to;
+            loadedUntil = to;
+        }
+    }
+    
+    private void schedule(AppointmentReminder reminder) {
+        long remindAtMs = reminder.getRemindAt().atZone(clock.getZone()).toInstant().toEpochMilli();
+        wheel.schedule(reminder.getAppointmentId(), remindAtMs, reminder);
+    }
+    
+    private void dispatch(List<AppointmentReminder> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        logger.debug("Dispatching {} appointment reminders", due.size());
+        
+        for (int i = 0; i < due.size(); i += batchSize) {
+            List<AppointmentReminder> batch = due.subList(i, Math.min(i + batchSize, due.size()));
+            Set<UUID> claimed;
+            try {
+                claimed = appointmentRepository.claimReminders(batch);
+            } catch (Exception e) {
+                // The claim runs in its own transaction, so nothing was claimed
+                logger.error("Failed to claim {} appointment reminders: {}", batch.size(), e.getMessage(), e);
+                retryLater(batch);
+                continue;
+            }
+            if (claimed.isEmpty()) {
+                continue;
+            }
+            List<AppointmentReminder> owned = batch.stream()
+                    .filter(reminder -> claimed.contains(reminder.getAppointmentId()))
+                    .toList();
+            try {
+                reminderNotifier.sendReminders(owned);
+            } catch (Exception e) {
+                logger.error("Failed to send {} appointment reminders: {}", owned.size(), e.getMessage(), e);
+                release(owned);
+            }
+        }
+    }
+    
+    private void release(List<AppointmentReminder> reminders) {
+        try {
+            appointmentRepository.releaseReminders(reminders);
+        } catch (Exception e) {
+            // Left claimed, no node will send them again
+            logger.error("Failed to release {} undelivered appointment reminders: {}",
+                    reminders.size(), e.getMessage(), e);
+            return;
+        }
+        retryLater(reminders);
+    }
+    
+    private void retryLater(List<AppointmentReminder> reminders) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        long retryAtMs = clock.millis() + retryDelay.toMillis();
+        for (AppointmentReminder reminder : reminders) {
+            if (reminder.getStartTime().isAfter(now)) {
+                wheel.schedule(reminder.getAppointmentId(), retryAtMs, reminder);
+            }
+        }
+    }
+    
+    private AppointmentReminder toReminder(Appointment appointment) {
+        return AppointmentReminder.builder()
+                .appointmentId(appointment.getId())
+                .companyId(appointment.getCompanyId())
+                .customerId(appointment.getCustomer() != null ? appointment.getCustomer().getId() : null)
+                .employeeId(appointment.getEmployee() != null ? appointment.getEmployee().getId() : null)
+                .serviceId(appointment.getService() != null ? appointment.getService().getId() : null)
+                .startTime(appointment.getStartTime())
+                .remindAt(appointment.getStartTime().minus(lead))
+                .build();
+    }
+    
+    private boolean isRemindable(AppointmentStatus status) {
+        return status == AppointmentStatus.REQUESTED || status == AppointmentStatus.CONFIRMED;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,236 @@
+package com.beautycenter.management.application.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel holding keyed timers.
+ * <p>
+ * The lowest level has {@code wheelSize} buckets of {@code tickMs} each. Timers that are
+ * further away than one revolution go to an overflow level whose tick is the full interval
+ * of the level below, created on demand. As the clock advances, due buckets of the upper
+ * levels are cascaded down until the timer finally expires at the lowest level. Scheduling,
+ * rescheduling and cancelling are O(1); advancing costs O(levels) per tick plus the expired timers.
+ * </p>
+ * <p>
+ * Timers are keyed, so scheduling an existing key replaces the previous timer. Cancelled
+ * timers are dropped lazily when their bucket is drained.
+ * </p>
+ *
+ * @param <K> the timer key type
+ * @param <T> the payload type
+ */
+public class HierarchicalTimingWheel<K, T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Level root;
+    private final Map<K, Timer<K, T>> timers = new HashMap<>();
+    private final List<Timer<K, T>> overdue = new ArrayList<>();
+
+    /**
+     * Create a timing wheel.
+     *
+     * @param tickMs the resolution of the lowest level in milliseconds
+     * @param wheelSize the number of buckets per level
+     * @param startMs the current time in epoch milliseconds
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size greater than one");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs);
+    }
+
+    /**
+     * Schedule a timer, replacing any existing timer with the same key.
+     * A timer that is already due is returned by the next call to {@link #advanceTo(long)}.
+     *
+     * @param key the timer key
+     * @param expirationMs the expiration time in epoch milliseconds
+     * @param payload the payload returned when the timer expires
+     */
+    public synchronized void schedule(K key, long expirationMs, T payload) {
+        cancel(key);
+        Timer<K, T> timer = new Timer<>(key, expirationMs, payload);
+        timers.put(key, timer);
+        if (!root.add(timer)) {
+            overdue.add(timer);
+        }
+    }
+
+    /**
+     * Cancel the timer with the given key.
+     *
+     * @param key the timer key
+     * @return true if a pending timer was cancelled, false otherwise
+     */
+    public synchronized boolean cancel(K key) {
+        Timer<K, T> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Check if a timer with the given key is pending.
+     *
+     * @param key the timer key
+     * @return true if pending, false otherwise
+     */
+    public synchronized boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    /**
+     * Advance the clock and collect every timer that expired on the way.
+     *
+     * @param timeMs the current time in epoch milliseconds
+     * @return the payloads of the expired timers, in expiration order per tick
+     */
+    public synchronized List<T> advanceTo(long timeMs) {
+        List<T> expired = new ArrayList<>();
+        for (Timer<K, T> timer : overdue) {
+            expire(timer, expired);
+        }
+        overdue.clear();
+
+        while (timeMs >= root.currentTime + tickMs) {
+            tick(root.currentTime + tickMs, expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Number of pending timers.
+     *
+     * @return the pending timer count
+     */
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Current time of the wheel, rounded down to the tick.
+     *
+     * @return the current time in epoch milliseconds
+     */
+    public synchronized long currentTime() {
+        return root.currentTime;
+    }
+
+    private void tick(long timeMs, List<T> expired) {
+        // Move every level's clock first so cascaded timers are placed against the new time
+        List<List<Timer<K, T>>> due = new ArrayList<>();
+        for (Level level = root; level != null; level = level.overflow) {
+            List<Timer<K, T>> drained = level.advance(timeMs);
+            if (drained != null) {
+                due.add(drained);
+            }
+        }
+
+        // Cascade from the highest level down; anything that no longer fits has expired
+        for (int i = due.size() - 1; i >= 0; i--) {
+            for (Timer<K, T> timer : due.get(i)) {
+                if (!timer.cancelled && !root.add(timer)) {
+                    expire(timer, expired);
+                }
+            }
+        }
+    }
+
+    private void expire(Timer<K, T> timer, List<T> expired) {
+        if (timer.cancelled) {
+            return;
+        }
+        timers.remove(timer.key);
+        timer.cancelled = true;
+        expired.add(timer.payload);
+    }
+
+    /**
+     * Create an array of buckets. Java cannot create generic arrays, so a wildcard array is cast;
+     * the array never escapes a level and only ever holds lists of timers.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> List<E>[] newBuckets(int size) {
+        return (List<E>[]) new List<?>[size];
+    }
+
+    private static final class Timer<K, T> {
+        private final K key;
+        private final long expirationMs;
+        private final T payload;
+        private boolean cancelled;
+
+        private Timer(K key, long expirationMs, T payload) {
+            this.key = key;
+            this.expirationMs = expirationMs;
+            this.payload = payload;
+        }
+    }
+
+    private final class Level {
+        private final long levelTickMs;
+        private final long interval;
+        private final List<Timer<K, T>>[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        private Level(long levelTickMs, long startMs) {
+            this.levelTickMs = levelTickMs;
+            this.interval = levelTickMs * wheelSize;
+            this.buckets = newBuckets(wheelSize);
+            this.currentTime = startMs - (startMs % levelTickMs);
+        }
+
+        /**
+         * Place a timer in this level or an overflow level.
+         *
+         * @return false if the timer is already due
+         */
+        private boolean add(Timer<K, T> timer) {
+            if (timer.expirationMs < currentTime + levelTickMs) {
+                return false;
+            }
+            if (timer.expirationMs < currentTime + interval) {
+                long virtualId = timer.expirationMs / levelTickMs;
+                int index = (int) (virtualId % wheelSize);
+                List<Timer<K, T>> bucket = buckets[index];
+                if (bucket == null) {
+                    bucket = new ArrayList<>();
+                    buckets[index] = bucket;
+                }
+                bucket.add(timer);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(timer);
+        }
+
+        /**
+         * Move this level's clock to the given time.
+         *
+         * @return the timers of the bucket that became due, or null if the clock did not cross a tick
+         */
+        private List<Timer<K, T>> advance(long timeMs) {
+            long aligned = timeMs - (timeMs % levelTickMs);
+            if (aligned <= currentTime) {
+                return null;
+            }
+            currentTime = aligned;
+            int index = (int) ((aligned / levelTickMs) % wheelSize);
+            List<Timer<K, T>> bucket = buckets[index];
+            buckets[index] = null;
+            return bucket;
+        }
+    }
+}
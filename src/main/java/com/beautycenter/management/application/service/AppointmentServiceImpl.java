@@ -1,21 +1,35 @@
 package com.beautycenter.management.application.service;
 
+import com.beautycenter.management.application.concurrency.StripedLock;
 import com.beautycenter.management.application.dto.AppointmentDto;
 import com.beautycenter.management.application.mapper.AppointmentDtoMapper;
+import com.beautycenter.management.application.schedule.DailySchedule;
+import com.beautycenter.management.application.schedule.DailyScheduleStore;
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
 import com.beautycenter.management.domain.event.DomainEventPublisher;
 import com.beautycenter.management.domain.event.appointment.AppointmentCreatedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentDeletedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusBatchChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentUpdatedEvent;
 import com.beautycenter.management.domain.model.Appointment;
 import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
 import com.beautycenter.management.domain.model.Company;
 import com.beautycenter.management.domain.model.Customer;
 import com.beautycenter.management.domain.model.Employee;
 import com.beautycenter.management.domain.model.Service;
 import com.beautycenter.management.domain.repository.AppointmentRepository;
 import com.beautycenter.management.domain.service.AppointmentService;
+import com.beautycenter.management.domain.service.exception.AppointmentConflictException;
+import com.beautycenter.management.domain.service.exception.ConcurrentUpdateException;
+import com.beautycenter.management.domain.service.exception.InvalidAppointmentTimeException;
+import com.beautycenter.management.domain.service.exception.VersionRequiredException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -33,9 +47,17 @@ import java.util.stream.Collectors;
 @Transactional
 public class AppointmentServiceImpl implements AppointmentService {
 
+    /**
+     * Resource name under which appointment entity tags are registered.
+     */
+    public static final String RESOURCE = "appointments";
+
     private final AppointmentRepository appointmentRepository;
     private final DomainEventPublisher eventPublisher;
     private final AppointmentDtoMapper appointmentDtoMapper;
+    private final StripedLock appointmentBookingLocks;
+    private final DailyScheduleStore dailyScheduleStore;
+    private final ResourceVersionRegistry resourceVersions;
 
     /**
      * Creates an appointment from a DTO.
@@ -71,6 +93,30 @@ public class AppointmentServiceImpl implements AppointmentService {
         return findById(id).map(appointmentDtoMapper::toDto);
     }
     
+    /**
+     * Finds the appointments starting on a date and returns them as DTOs.
+     * 
+     * @param date the date
+     * @return list of appointment DTOs
+     */
+    public List<AppointmentDto> findAppointmentsByDateAsDto(LocalDate date) {
+        return findAppointmentsByDate(date).stream()
+                .map(appointmentDtoMapper::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Gets the materialized staff calendar of a company for a day.
+     * 
+     * @param companyId the company ID
+     * @param date the day
+     * @return the current schedule snapshot
+     */
+    @Transactional(readOnly = true)
+    public DailySchedule getDailySchedule(UUID companyId, LocalDate date) {
+        return dailyScheduleStore.get(companyId, date);
+    }
+    
     /**
      * Updates an appointment from a DTO.
      * 
@@ -93,22 +139,30 @@ public class AppointmentServiceImpl implements AppointmentService {
         if (appointment.getStatus() == null) {
             appointment.setStatus(AppointmentStatus.REQUESTED);
         }
+        validateTimes(appointment);
         
-        // Validate time slot availability
-        if (!isTimeSlotAvailable(
-                appointment.getCompanyId() != null ? new Company(appointment.getCompanyId(), null, null, null, null, null, null, null, null, null, null, null, false, null, null) : null, 
-                appointment.getEmployee(), 
-                appointment.getStartTime(), 
-                appointment.getEndTime())) {
-            throw new IllegalStateException("The selected time slot is not available");
+        // Serialize bookings for the same employee until this transaction commits,
+        // so the availability check below cannot race with a concurrent insert.
+        // The database exclusion constraint remains the final guard across nodes.
+        UUID employeeId = appointment.getEmployee() != null ? appointment.getEmployee().getId() : null;
+        try (StripedLock.Handle ignored = appointmentBookingLocks.lockForTransaction(employeeId)) {
+            // Validate time slot availability
+            if (!isTimeSlotAvailable(
+                    appointment.getCompanyId() != null ? new Company(appointment.getCompanyId(), null, null, null, null, null, null, null, null, null, null, null, false, null, null) : null, 
+                    appointment.getEmployee(), 
+                    appointment.getStartTime(), 
+                    appointment.getEndTime())) {
+                throw new AppointmentConflictException("The selected time slot is not available");
+            }
+            
+            Appointment savedAppointment = appointmentRepository.save(appointment);
+            resourceVersions.changed(RESOURCE, savedAppointment.getCompanyId(), savedAppointment.getId());
+            
+            // Publish appointment created event
+            eventPublisher.publish(new AppointmentCreatedEvent(savedAppointment));
+            
+            return savedAppointment;
         }
-        
-        Appointment savedAppointment = appointmentRepository.save(appointment);
-        
-        // Publish appointment created event
-        eventPublisher.publish(new AppointmentCreatedEvent(savedAppointment));
-        
-        return savedAppointment;
     }
 
     @Override
@@ -169,17 +223,82 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     @Override
     public Appointment updateAppointment(Appointment appointment) {
-        // Ensure the appointment exists
-        if (!appointmentRepository.existsById(appointment.getId())) {
-            throw new IllegalArgumentException("Appointment not found with ID: " + appointment.getId());
+        // Updates must say which version they are based on, otherwise they would silently overwrite
+        if (appointment.getVersion() == null) {
+            throw new VersionRequiredException("Appointment version is required for update: " + appointment.getId());
+        }
+        validateTimes(appointment);
+        Appointment existing = appointmentRepository.findById(appointment.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointment.getId()));
+        if (!appointment.getVersion().equals(existing.getVersion())) {
+            throw concurrentUpdate(appointment.getId());
         }
         
-        return appointmentRepository.save(appointment);
+        // The appointment may move to another employee, so serialize bookings of both the
+        // employee it leaves and the one it moves to, like a new booking
+        UUID previousEmployeeId = existing.getEmployee() != null ? existing.getEmployee().getId() : null;
+        UUID employeeId = appointment.getEmployee() != null ? appointment.getEmployee().getId() : null;
+        try (StripedLock.Handle ignored = appointmentBookingLocks.lockForTransaction(previousEmployeeId, employeeId)) {
+            if (occupiesSlot(appointment) && hasOverlap(appointment)) {
+                throw new AppointmentConflictException("The selected time slot is not available");
+            }
+            
+            Appointment updatedAppointment = appointmentRepository.save(appointment);
+            resourceVersions.changed(RESOURCE, null, updatedAppointment.getId());
+            
+            eventPublisher.publish(new AppointmentUpdatedEvent(updatedAppointment));
+            
+            return updatedAppointment;
+        }
+    }
+    
+    /**
+     * Reject appointments that do not end after they start or run longer than
+     * {@link Appointment#MAX_DURATION}, which the overlap check relies on.
+     *
+     * @param appointment the appointment
+     */
+    private static void validateTimes(Appointment appointment) {
+        LocalDateTime start = appointment.getStartTime();
+        LocalDateTime end = appointment.getEndTime();
+        if (start == null || end == null) {
+            return;
+        }
+        if (!end.isAfter(start)) {
+            throw new InvalidAppointmentTimeException("Appointment must end after it starts");
+        }
+        if (Duration.between(start, end).compareTo(Appointment.MAX_DURATION) > 0) {
+            throw new InvalidAppointmentTimeException(
+                    "Appointment may not be longer than " + Appointment.MAX_DURATION.toHours() + " hours");
+        }
+    }
+    
+    private static boolean occupiesSlot(Appointment appointment) {
+        return appointment.getStatus() != AppointmentStatus.CANCELLED && appointment.getStatus() != AppointmentStatus.NO_SHOW;
+    }
+    
+    /**
+     * Check if an appointment overlaps another appointment of its employee.
+     *
+     * @param appointment the appointment, which is not counted against itself
+     * @return true if the slot is taken
+     */
+    private boolean hasOverlap(Appointment appointment) {
+        if (appointment.getEmployee() == null || appointment.getStartTime() == null || appointment.getEndTime() == null) {
+            return false;
+        }
+        return appointmentRepository.findOverlappingAppointments(appointment.getCompanyId(),
+                        appointment.getEmployee().getId(), appointment.getStartTime(), appointment.getEndTime())
+                .stream()
+                .anyMatch(other -> !other.getId().equals(appointment.getId()));
     }
 
     @Override
     public void deleteAppointment(UUID id) {
         appointmentRepository.deleteById(id);
+        resourceVersions.changed(RESOURCE, null, id);
+        
+        eventPublisher.publish(new AppointmentDeletedEvent(id));
     }
 
     @Override
@@ -187,8 +306,11 @@ public class AppointmentServiceImpl implements AppointmentService {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + id));
         
-        appointment.cancel();
-        return appointmentRepository.save(appointment);
+        AppointmentStatus previousStatus = appointment.getStatus();
+        if (!appointment.cancel()) {
+            return appointment;
+        }
+        return applyStatusChange(appointment, previousStatus);
     }
 
     @Override
@@ -196,8 +318,11 @@ public class AppointmentServiceImpl implements AppointmentService {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + id));
         
-        appointment.completeAppointment();
-        return appointmentRepository.save(appointment);
+        AppointmentStatus previousStatus = appointment.getStatus();
+        if (!appointment.completeAppointment()) {
+            return appointment;
+        }
+        return applyStatusChange(appointment, previousStatus);
     }
 
     @Override
@@ -205,8 +330,16 @@ public class AppointmentServiceImpl implements AppointmentService {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
         
-        appointment.addService(service.getId());
-        return appointmentRepository.save(appointment);
+        if (!appointment.addService(service.getId())) {
+            return appointment;
+        }
+        if (!appointmentRepository.addAdditionalService(appointmentId, appointment.getStartTime(),
+                appointment.getVersion(), service.getId())) {
+            throw concurrentUpdate(appointmentId);
+        }
+        appointment.setVersion(appointment.getVersion() + 1);
+        resourceVersions.changed(RESOURCE, appointment.getCompanyId(), appointmentId);
+        return appointment;
     }
 
     @Override
@@ -214,8 +347,79 @@ public class AppointmentServiceImpl implements AppointmentService {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
         
-        appointment.removeService(service.getId());
-        return appointmentRepository.save(appointment);
+        if (!appointment.removeService(service.getId())) {
+            return appointment;
+        }
+        if (!appointmentRepository.removeAdditionalService(appointmentId, appointment.getStartTime(),
+                appointment.getVersion(), service.getId())) {
+            throw concurrentUpdate(appointmentId);
+        }
+        appointment.setVersion(appointment.getVersion() + 1);
+        resourceVersions.changed(RESOURCE, appointment.getCompanyId(), appointmentId);
+        return appointment;
+    }
+
+    /**
+     * Persists a status transition that the domain model has already accepted.
+     * Only the status column is written, guarded by the version that was read.
+     *
+     * @param appointment the appointment in its new status
+     * @param previousStatus the status before the transition
+     * @return the updated appointment
+     */
+    private Appointment applyStatusChange(Appointment appointment, AppointmentStatus previousStatus) {
+        if (!appointmentRepository.updateStatus(appointment.getId(), appointment.getStartTime(),
+                appointment.getVersion(), appointment.getStatus())) {
+            throw concurrentUpdate(appointment.getId());
+        }
+        appointment.setVersion(appointment.getVersion() + 1);
+        resourceVersions.changed(RESOURCE, appointment.getCompanyId(), appointment.getId());
+        
+        eventPublisher.publish(new AppointmentStatusChangedEvent(appointment, previousStatus));
+        
+        return appointment;
+    }
+
+    @Override
+    public List<AppointmentStatusChange> transitionStatus(UUID companyId, AppointmentStatus fromStatus, AppointmentStatus toStatus,
+                                                          LocalDateTime windowStart, LocalDateTime windowEnd) {
+        if (companyId == null || fromStatus == null || toStatus == null || windowStart == null || windowEnd == null) {
+            throw new IllegalArgumentException("Company, statuses and time window are required");
+        }
+        if (!fromStatus.canTransitionTo(toStatus)) {
+            throw new IllegalArgumentException("Transition from " + fromStatus + " to " + toStatus + " is not allowed");
+        }
+        
+        List<AppointmentStatusChange> changes = appointmentRepository.transitionStatus(
+                companyId, fromStatus, toStatus, windowStart, windowEnd);
+        
+        for (AppointmentStatusChange change : changes) {
+            resourceVersions.changed(RESOURCE, companyId, change.getAppointmentId());
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publish(new AppointmentStatusBatchChangedEvent(companyId, fromStatus, toStatus, changes));
+        }
+        
+        return changes;
+    }
+
+    @Override
+    public List<AppointmentStatusChange> markNoShows(UUID companyId, LocalDate date) {
+        // Never touch appointments that have not started yet
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowEnd = endOfDay.isBefore(now) ? endOfDay : now;
+        return transitionStatus(companyId, AppointmentStatus.CONFIRMED, AppointmentStatus.NO_SHOW,
+                date.atStartOfDay(), windowEnd);
+    }
+
+    @Override
+    public List<AppointmentStatusChange> confirmRequested(UUID companyId, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        return transitionStatus(companyId, AppointmentStatus.REQUESTED, AppointmentStatus.CONFIRMED, windowStart, windowEnd);
+    }
+
+    private ConcurrentUpdateException concurrentUpdate(UUID id) {
+        return new ConcurrentUpdateException("Appointment was modified concurrently: " + id);
     }
 
     @Override
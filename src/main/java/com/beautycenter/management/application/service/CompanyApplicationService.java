@@ -1,5 +1,6 @@
 package com.beautycenter.management.application.service;
 
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
 import com.beautycenter.management.domain.model.Company;
 import com.beautycenter.management.domain.service.CompanyService;
 import org.springframework.stereotype.Service;
@@ -17,15 +18,23 @@ import java.util.UUID;
 @Transactional
 public class CompanyApplicationService {
     
+    /**
+     * Resource name under which company entity tags are registered.
+     */
+    public static final String RESOURCE = "companies";
+    
     private final CompanyService companyService;
+    private final ResourceVersionRegistry resourceVersions;
     
     /**
      * Constructor with dependencies
      * 
      * @param companyService the company service
+     * @param resourceVersions the registry of entity tags
      */
-    public CompanyApplicationService(CompanyService companyService) {
+    public CompanyApplicationService(CompanyService companyService, ResourceVersionRegistry resourceVersions) {
         this.companyService = companyService;
+        this.resourceVersions = resourceVersions;
     }
     
     /**
@@ -35,7 +44,9 @@ public class CompanyApplicationService {
      * @return the created company
      */
     public Company createCompany(Company company) {
-        return companyService.createCompany(company);
+        Company created = companyService.createCompany(company);
+        resourceVersions.changed(RESOURCE, ResourceVersionRegistry.ALL_TENANTS, created.getId());
+        return created;
     }
     
     /**
@@ -57,7 +68,9 @@ public class CompanyApplicationService {
      * @return the updated company
      */
     public Company updateCompany(UUID id, Company company) {
-        return companyService.updateCompany(id, company);
+        Company updated = companyService.updateCompany(id, company);
+        resourceVersions.changed(RESOURCE, ResourceVersionRegistry.ALL_TENANTS, id);
+        return updated;
     }
     
     /**
@@ -77,6 +90,7 @@ public class CompanyApplicationService {
      */
     public void deleteCompany(UUID id) {
         companyService.deleteCompany(id);
+        resourceVersions.changed(RESOURCE, ResourceVersionRegistry.ALL_TENANTS, id);
     }
     
     /**
@@ -107,7 +121,9 @@ public class CompanyApplicationService {
      * @return the deactivated company
      */
     public Company deactivateCompany(UUID id) {
-        return companyService.deactivateCompany(id);
+        Company deactivated = companyService.deactivateCompany(id);
+        resourceVersions.changed(RESOURCE, ResourceVersionRegistry.ALL_TENANTS, id);
+        return deactivated;
     }
     
     /**
@@ -117,6 +133,8 @@ public class CompanyApplicationService {
      * @return the activated company
      */
     public Company activateCompany(UUID id) {
-        return companyService.activateCompany(id);
+        Company activated = companyService.activateCompany(id);
+        resourceVersions.changed(RESOURCE, ResourceVersionRegistry.ALL_TENANTS, id);
+        return activated;
     }
 }
\ No newline at end of file
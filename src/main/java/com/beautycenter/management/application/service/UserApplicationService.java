@@ -27,6 +27,12 @@ public class UserApplicationService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserApplicationService.class);
     
+    /**
+     * Resource name under which user entity tags are registered.
+     * Writes are recorded by the user repository adapter.
+     */
+    public static final String RESOURCE = "users";
+    
     private final UserService userService;
     private final UserMapper userMapper;
     
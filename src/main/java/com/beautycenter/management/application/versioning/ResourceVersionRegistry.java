@@ -0,0 +1,257 @@
+package com.beautycenter.management.application.versioning;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the entity tags used for conditional GET requests.
+ * <p>
+ * Collections are tagged with a change counter per resource and tenant, bumped on every
+ * write. Single entities are tagged with their version column or last update time; the tag
+ * of the last representation served is remembered so a matching {@code If-None-Match}
+ * can be answered without loading the entity again. Writes made inside a transaction are
+ * only applied after commit, so a tag can never be handed out for data that is not yet visible.
+ * </p>
+ * <p>
+ * A write leaves a tombstone for the entity. While it is fresh, tags computed by reads are
+ * not remembered, because such a read may have loaded the entity before the write committed.
+ * </p>
+ * <p>
+ * Committed writes are reported to the registered {@link ChangeListener}s so they can be
+ * forwarded to other nodes, which apply them with {@link #applyRemoteChange(String, Object, Object)}.
+ * </p>
+ */
+public class ResourceVersionRegistry {
+    
+    /**
+     * Tenant key used for collections that span all tenants.
+     */
+    public static final Object ALL_TENANTS = "*";
+    
+    /**
+     * Counters start from the boot time so tags handed out before a restart never match again.
+     */
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() << 16);
+    
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final Map<CollectionKey, Long> collectionVersions = new ConcurrentHashMap<>();
+    private final Map<EntityKey, EntityTag> entityTags = new ConcurrentHashMap<>();
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final long tombstoneMillis;
+    private final int maxEntityTags;
+    
+    /**
+     * Create a registry.
+     *
+     * @param tombstoneMillis how long after a write tags computed by reads are not remembered
+     * @param maxEntityTags the number of remembered entity tags after which they are all dropped
+     */
+    public ResourceVersionRegistry(long tombstoneMillis, int maxEntityTags) {
+        this.tombstoneMillis = tombstoneMillis;
+        this.maxEntityTags = maxEntityTags;
+    }
+    
+    /**
+     * Current tag of a collection. Callers must take the tag before loading the collection.
+     *
+     * @param resource the resource name
+     * @param tenant the tenant the collection is scoped to, or {@link #ALL_TENANTS}
+     * @return the quoted entity tag
+     */
+    public String collectionTag(String resource, Object tenant) {
+        long generation = generations.computeIfAbsent(resource, r -> sequence.incrementAndGet());
+        long version = collectionVersions.computeIfAbsent(new CollectionKey(resource, tenant), k -> sequence.incrementAndGet());
+        return quote(Long.toHexString(generation) + "." + Long.toHexString(version));
+    }
+    
+    /**
+     * The tag last served for an entity, if it is still known to be current.
+     *
+     * @param resource the resource name
+     * @param id the entity ID
+     * @return the quoted entity tag, or null if unknown
+     */
+    public String knownEntityTag(String resource, Object id) {
+        EntityTag entry = entityTags.get(new EntityKey(resource, id));
+        return entry != null ? entry.tag() : null;
+    }
+    
+    /**
+     * Compute and remember the tag of an entity from its version.
+     *
+     * @param resource the resource name
+     * @param id the entity ID
+     * @param version the entity version
+     * @return the quoted entity tag
+     */
+    public String entityTag(String resource, Object id, Long version) {
+        return remember(resource, id, quote("v" + Long.toHexString(version != null ? version : 0L)));
+    }
+    
+    /**
+     * Compute and remember the tag of an entity from its last update time.
+     *
+     * @param resource the resource name
+     * @param id the entity ID
+     * @param updatedAt the last update time of the entity
+     * @return the quoted entity tag
+     */
+    public String entityTag(String resource, Object id, LocalDateTime updatedAt) {
+        long nanos = updatedAt != null
+                ? updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + updatedAt.getNano()
+                : 0L;
+        return remember(resource, id, quote("t" + Long.toHexString(nanos)));
+    }
+    
+    /**
+     * Record a write.
+     *
+     * @param resource the resource name
+     * @param tenant the tenant the entity belongs to, or null if unknown; when unknown
+     *               every collection of the resource becomes stale
+     * @param id the entity ID, or null if only collections changed
+     */
+    public void changed(String resource, Object tenant, Object id) {
+        afterCommit(() -> {
+            apply(resource, tenant, id);
+            for (ChangeListener listener : changeListeners) {
+                listener.changed(resource, tenant, id);
+            }
+        });
+    }
+    
+    /**
+     * Record a write that was committed on another node. Listeners are not notified.
+     *
+     * @param resource the resource name
+     * @param tenant the tenant the entity belongs to, or null if unknown
+     * @param id the entity ID, or null if only collections changed
+     */
+    public void applyRemoteChange(String resource, Object tenant, Object id) {
+        apply(resource, tenant, id);
+    }
+    
+    /**
+     * Make every tag handed out so far stale, for example after missing changes from other nodes.
+     */
+    public void invalidateAll() {
+        generations.replaceAll((resource, generation) -> sequence.incrementAndGet());
+        entityTags.clear();
+    }
+    
+    /**
+     * Register a listener for committed local writes.
+     *
+     * @param listener the listener
+     */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+    
+    /**
+     * Check an {@code If-None-Match} header against a tag. Weak comparison is used,
+     * as required for {@code If-None-Match}.
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @param eTag the current quoted tag
+     * @return true if the client's representation is current
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void apply(String resource, Object tenant, Object id) {
+        if (id != null) {
+            entityTags.put(new EntityKey(resource, id), EntityTag.tombstone());
+        }
+        if (tenant != null) {
+            collectionVersions.put(new CollectionKey(resource, tenant), sequence.incrementAndGet());
+            collectionVersions.put(new CollectionKey(resource, ALL_TENANTS), sequence.incrementAndGet());
+        } else {
+            generations.put(resource, sequence.incrementAndGet());
+        }
+    }
+    
+    private String remember(String resource, Object id, String tag) {
+        long now = System.currentTimeMillis();
+        if (entityTags.size() >= maxEntityTags) {
+            // Forgetting a tag only costs one load on the next request
+            entityTags.clear();
+        }
+        entityTags.compute(new EntityKey(resource, id), (key, existing) ->
+                existing != null && existing.tag() == null && now - existing.writtenAt() < tombstoneMillis
+                        ? existing
+                        : new EntityTag(tag, 0L));
+        return tag;
+    }
+    
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * Receives the writes recorded by {@link #changed(String, Object, Object)} once they are committed.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        
+        void changed(String resource, Object tenant, Object id);
+    }
+    
+    private record CollectionKey(String resource, Object tenant) {
+        private CollectionKey {
+            Objects.requireNonNull(resource);
+            Objects.requireNonNull(tenant);
+        }
+    }
+    
+    private record EntityKey(String resource, Object id) {
+        private EntityKey {
+            Objects.requireNonNull(resource);
+            Objects.requireNonNull(id);
+        }
+    }
+    
+    private record EntityTag(String tag, long writtenAt) {
+        private static EntityTag tombstone() {
+            return new EntityTag(null, System.currentTimeMillis());
+        }
+    }
+}
\ No newline at end of file
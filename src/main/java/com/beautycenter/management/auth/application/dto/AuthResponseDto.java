@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.Set;
 
 /**
@@ -19,6 +20,8 @@ public class AuthResponseDto {
     
     private String token;
     private String type;
+    private String refreshToken;
+    private Instant expiresAt;
     private Long id;
     private String username;
     private String email;
@@ -0,0 +1,20 @@
+package com.beautycenter.management.auth.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for refresh and logout requests.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshRequestDto {
+    
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
\ No newline at end of file
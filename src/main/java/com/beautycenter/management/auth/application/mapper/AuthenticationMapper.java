@@ -58,10 +58,31 @@ public class AuthenticationMapper {
         return AuthResponseDto.builder()
                 .token(token.getTokenValue())
                 .type(token.getTokenType())
+                .refreshToken(token.getRefreshToken())
+                .expiresAt(token.getExpiryDate())
                 .id(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
                 .roles(user.getRoles())
                 .build();
     }
+
+    /**
+     * Convert an AuthToken to AuthResponseDto, using the user fields carried by the token.
+     *
+     * @param token the authentication token
+     * @return authentication response DTO
+     */
+    public AuthResponseDto toAuthResponseDto(AuthToken token) {
+        return AuthResponseDto.builder()
+                .token(token.getTokenValue())
+                .type(token.getTokenType())
+                .refreshToken(token.getRefreshToken())
+                .expiresAt(token.getExpiryDate())
+                .id(token.getUserId())
+                .username(token.getUsername())
+                .email(token.getEmail())
+                .roles(token.getRoles())
+                .build();
+    }
 }
\ No newline at end of file
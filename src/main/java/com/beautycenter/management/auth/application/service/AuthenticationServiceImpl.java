@@ -2,11 +2,17 @@ package com.beautycenter.management.auth.application.service;
 
 import com.beautycenter.management.auth.domain.model.AuthToken;
 import com.beautycenter.management.auth.domain.model.Credentials;
+import com.beautycenter.management.auth.domain.model.RefreshToken;
 import com.beautycenter.management.auth.domain.service.AuthenticationService;
+import com.beautycenter.management.auth.domain.service.RefreshTokenService;
+import com.beautycenter.management.auth.domain.service.TokenRevocationService;
 import com.beautycenter.management.auth.infrastructure.security.JwtTokenProvider;
 import com.beautycenter.management.domain.model.User;
 import com.beautycenter.management.domain.repository.UserRepository;
+import com.beautycenter.management.infrastructure.security.PasswordHashingBusyException;
 import lombok.AllArgsConstructor;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -15,6 +21,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -29,19 +36,25 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final JwtTokenProvider tokenProvider;
+    private final LoginAttemptGuard loginAttemptGuard;
+    private final TokenRevocationService revocationService;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * {@inheritDoc}
+     * Locked-out usernames and addresses are refused before the user is loaded or the password hashed.
      */
     @Override
     public Optional<User> authenticate(Credentials credentials) {
-        try {
-            // Validate credentials
-            if (!credentials.isValid()) {
-                log.warn("Invalid authentication credentials provided");
-                return Optional.empty();
-            }
+        // Validate credentials
+        if (!credentials.isValid()) {
+            log.warn("Invalid authentication credentials provided");
+            return Optional.empty();
+        }
+
+        loginAttemptGuard.checkAllowed(credentials.getUsername(), credentials.getRemoteAddress());
 
+        try {
             // Attempt authentication
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(credentials.getUsername(), credentials.getPassword())
@@ -49,12 +62,17 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
             // Set authentication in security context
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            loginAttemptGuard.recordSuccess(credentials.getUsername());
 
             // Find and return the user
             return userRepository.findByUsername(credentials.getUsername());
         } catch (BadCredentialsException e) {
             log.warn("Failed authentication attempt for username: {}", credentials.getUsername());
+            loginAttemptGuard.recordFailure(credentials.getUsername(), credentials.getRemoteAddress());
             return Optional.empty();
+        } catch (PasswordHashingBusyException e) {
+            // Not a failed attempt; the caller should retry later
+            throw e;
         } catch (Exception e) {
             log.error("Authentication error: ", e);
             return Optional.empty();
@@ -66,7 +84,36 @@ public class AuthenticationServiceImpl implements AuthenticationService {
      */
     @Override
     public AuthToken generateToken(User user) {
-        return tokenProvider.generateToken(user);
+        return withRefreshToken(tokenProvider.generateToken(user), refreshTokenService.issue(user.getUsername()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The user is reloaded, so a deactivated user cannot keep refreshing.
+     */
+    @Override
+    public Optional<AuthToken> refresh(String refreshToken) {
+        Optional<RefreshToken> rotated = refreshTokenService.rotate(refreshToken);
+        if (rotated.isEmpty()) {
+            return Optional.empty();
+        }
+        RefreshToken next = rotated.get();
+
+        Optional<User> user = userRepository.findByUsername(next.getUsername()).filter(User::isActive);
+        if (user.isEmpty()) {
+            log.warn("Refusing refresh for missing or inactive username: {}", next.getUsername());
+            refreshTokenService.revoke(next.getTokenValue());
+            return Optional.empty();
+        }
+        return Optional.of(withRefreshToken(tokenProvider.generateToken(user.get()), next));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean logout(String refreshToken) {
+        return refreshTokenService.revoke(refreshToken);
     }
 
     /**
@@ -92,4 +139,37 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     public Long getUserIdFromToken(String token) {
         return tokenProvider.getUserIdFromToken(token);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean revokeToken(String token) {
+        try {
+            Claims claims = tokenProvider.getClaims(token);
+            if (claims.getId() == null) {
+                return false;
+            }
+            revocationService.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Cannot revoke invalid token: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void revokeUserTokens(String username) {
+        refreshTokenService.revokeAll(username);
+        revocationService.revokeUserTokens(username, Instant.now());
+    }
+
+    private static AuthToken withRefreshToken(AuthToken token, RefreshToken refreshToken) {
+        token.setRefreshToken(refreshToken.getTokenValue());
+        token.setRefreshExpiryDate(refreshToken.getExpiryDate());
+        return token;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.beautycenter.management.auth.application.service;
+
+import com.beautycenter.management.auth.domain.service.exception.LoginLockedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+/**
+ * In-memory guard against password guessing, kept in front of any database or BCrypt work.
+ * <p>
+ * Failed logins are counted per username and per client address in a sliding window,
+ * estimated from the counts of the current and the previous window so each key costs a few
+ * fields. Once a key reaches its limit it is locked out; every further lockout of the same
+ * key doubles the duration up to a maximum. The level is forgotten after a quiet period.
+ * </p>
+ * <p>
+ * Memory is bounded: keys live in a fixed number of segments, each an LRU map with a fixed
+ * capacity, so a flood of distinct usernames only pushes out the least recently seen ones.
+ * Locked entries are never pushed out, as that would lift their lockout; a segment full of
+ * them stops tracking new keys until a lockout ends.
+ * </p>
+ * <p>
+ * The address limit relies on the client address resolved through the trusted proxies
+ * ({@code server.tomcat.remoteip.internal-proxies}); if those are not configured every client
+ * appears as the load balancer, so the limit can be switched off with
+ * {@code app.auth.login-guard.address.enabled}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class LoginAttemptGuard {
+    
+    private static final int SEGMENTS = 16;
+    
+    private final Segment[] usernames = new Segment[SEGMENTS];
+    private final Segment[] addresses = new Segment[SEGMENTS];
+    private final int maxUsernameFailures;
+    private final int maxAddressFailures;
+    private final boolean addressEnabled;
+    private final long windowMillis;
+    private final long baseLockoutMillis;
+    private final long maxLockoutMillis;
+    private final long resetAfterMillis;
+    
+    public LoginAttemptGuard(@Value("${app.auth.login-guard.username.max-failures:5}") int maxUsernameFailures,
+                             @Value("${app.auth.login-guard.address.max-failures:50}") int maxAddressFailures,
+                             @Value("${app.auth.login-guard.address.enabled:true}") boolean addressEnabled,
+                             @Value("${app.auth.login-guard.window-seconds:300}") long windowSeconds,
+                             @Value("${app.auth.login-guard.base-lockout-seconds:30}") long baseLockoutSeconds,
+                             @Value("${app.auth.login-guard.max-lockout-seconds:3600}") long maxLockoutSeconds,
+                             @Value("${app.auth.login-guard.reset-after-minutes:1440}") long resetAfterMinutes,
+                             @Value("${app.auth.login-guard.max-entries:100000}") int maxEntries) {
+        this.maxUsernameFailures = maxUsernameFailures;
+        this.maxAddressFailures = maxAddressFailures;
+        this.addressEnabled = addressEnabled;
+        this.windowMillis = windowSeconds * 1000;
+        this.baseLockoutMillis = baseLockoutSeconds * 1000;
+        this.maxLockoutMillis = maxLockoutSeconds * 1000;
+        this.resetAfterMillis = resetAfterMinutes * 60_000;
+        int perSegment = Math.max(16, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            usernames[i] = new Segment(perSegment);
+            addresses[i] = new Segment(perSegment);
+        }
+    }
+    
+    /**
+     * Refuse the attempt if the username or the client address is locked out.
+     *
+     * @param username the username
+     * @param address the client address, or null if unknown
+     * @throws LoginLockedException if either is locked out
+     */
+    public void checkAllowed(String username, String address) {
+        long now = System.currentTimeMillis();
+        long remaining = Math.max(lockedFor(usernames, normalize(username), now),
+                lockedFor(addresses, addressKey(address), now));
+        if (remaining > 0) {
+            throw new LoginLockedException("Too many failed login attempts", (remaining + 999) / 1000);
+        }
+    }
+    
+    /**
+     * Record a failed attempt.
+     *
+     * @param username the username
+     * @param address the client address, or null if unknown
+     */
+    public void recordFailure(String username, String address) {
+        long now = System.currentTimeMillis();
+        if (fail(usernames, normalize(username), maxUsernameFailures, now)) {
+            log.warn("Locking out username {} after repeated failed logins", username);
+        }
+        if (fail(addresses, addressKey(address), maxAddressFailures, now)) {
+            log.warn("Locking out address {} after repeated failed logins", address);
+        }
+    }
+    
+    /**
+     * Record a successful login, which clears the username's failures.
+     * The address keeps its count, as one valid account does not vouch for the rest of its attempts.
+     *
+     * @param username the username
+     */
+    public void recordSuccess(String username) {
+        String key = normalize(username);
+        if (key != null) {
+            segment(usernames, key).remove(key);
+        }
+    }
+    
+    /**
+     * Drop entries that are neither locked nor seen within the reset period.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.login-guard.purge-interval-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < SEGMENTS; i++) {
+            usernames[i].purge(now, resetAfterMillis);
+            addresses[i].purge(now, resetAfterMillis);
+        }
+    }
+    
+    private long lockedFor(Segment[] segments, String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        return segment(segments, key).lockedFor(key, now);
+    }
+    
+    private boolean fail(Segment[] segments, String key, int limit, long now) {
+        if (key == null) {
+            return false;
+        }
+        return segment(segments, key).fail(key, limit, now);
+    }
+    
+    private static Segment segment(Segment[] segments, String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENTS - 1)];
+    }
+    
+    private String addressKey(String address) {
+        return addressEnabled ? address : null;
+    }
+    
+    private static String normalize(String username) {
+        return username == null || username.isBlank() ? null : username.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static final class Attempts {
+        private long windowStart;
+        private int current;
+        private int previous;
+        private int lockouts;
+        private long lockedUntil;
+        private long lastSeen;
+    }
+    
+    private final class Segment {
+        private final LinkedHashMap<String, Attempts> entries;
+        private final int capacity;
+        
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(capacity, 0.75f, true);
+            this.capacity = capacity;
+        }
+        
+        private synchronized long lockedFor(String key, long now) {
+            Attempts attempts = entries.get(key);
+            return attempts == null ? 0 : Math.max(0, attempts.lockedUntil - now);
+        }
+        
+        /**
+         * @return true if this failure started a lockout
+         */
+        private synchronized boolean fail(String key, int limit, long now) {
+            Attempts attempts = entries.get(key);
+            if (attempts == null) {
+                if (entries.size() >= capacity && !evictUnlocked(now)) {
+                    log.warn("Login guard segment is full of locked entries, not tracking a new key");
+                    return false;
+                }
+                attempts = new Attempts();
+                entries.put(key, attempts);
+            }
+            if (attempts.lastSeen != 0 && now - attempts.lastSeen > resetAfterMillis) {
+                attempts.lockouts = 0;
+            }
+            attempts.lastSeen = now;
+            
+            // Roll the window forward; after more than one idle window both counts are stale
+            long elapsed = now - attempts.windowStart;
+            if (elapsed >= windowMillis) {
+                attempts.previous = elapsed < 2 * windowMillis ? attempts.current : 0;
+                attempts.current = 0;
+                attempts.windowStart = now - (elapsed % windowMillis);
+                elapsed = now - attempts.windowStart;
+            }
+            attempts.current++;
+            
+            double overlap = 1.0 - (double) elapsed / windowMillis;
+            double estimate = attempts.previous * overlap + attempts.current;
+            if (estimate < limit) {
+                return false;
+            }
+            
+            attempts.lockouts++;
+            long duration = baseLockoutMillis << Math.min(attempts.lockouts - 1, 30);
+            attempts.lockedUntil = now + Math.min(duration, maxLockoutMillis);
+            attempts.current = 0;
+            attempts.previous = 0;
+            return true;
+        }
+        
+        /**
+         * Drop the least recently seen entry that is not locked out.
+         *
+         * @return false if every entry is locked
+         */
+        private boolean evictUnlocked(long now) {
+            Iterator<Attempts> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().lockedUntil <= now) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private synchronized void remove(String key) {
+            entries.remove(key);
+        }
+        
+        private synchronized void purge(long now, long resetAfter) {
+            Iterator<Attempts> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Attempts attempts = iterator.next();
+                if (attempts.lockedUntil <= now && now - attempts.lastSeen > resetAfter) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.beautycenter.management.auth.application.service;
 
+import com.beautycenter.management.application.cache.UserIdentityFilter;
 import com.beautycenter.management.auth.domain.model.RegistrationRequest;
 import com.beautycenter.management.auth.domain.service.RegistrationService;
 import com.beautycenter.management.domain.model.Role;
@@ -25,6 +26,7 @@ public class RegistrationServiceImpl implements RegistrationService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityFilter identityFilter;
 
     /**
      * {@inheritDoc}
@@ -73,6 +75,7 @@ public class RegistrationServiceImpl implements RegistrationService {
 
         // Save user
         User savedUser = userRepository.save(user);
+        identityFilter.add(savedUser);
         log.info("Successfully registered user with ID: {}", savedUser.getId());
         
         return savedUser;
@@ -80,17 +83,19 @@ public class RegistrationServiceImpl implements RegistrationService {
 
     /**
      * {@inheritDoc}
+     * Only usernames the identity filter may contain are looked up in the database.
      */
     @Override
     public boolean usernameExists(String username) {
-        return userRepository.findByUsername(username).isPresent();
+        return identityFilter.mightContainUsername(username) && userRepository.existsByUsername(username);
     }
 
     /**
      * {@inheritDoc}
+     * Only emails the identity filter may contain are looked up in the database.
      */
     @Override
     public boolean emailExists(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        return identityFilter.mightContainEmail(email) && userRepository.existsByEmail(email);
     }
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ public class AuthToken {
     private String email;
     private Set<Role> roles;
     private Instant expiryDate;
+    private String refreshToken;
+    private Instant refreshExpiryDate;
     
     /**
      * Check if token is expired.
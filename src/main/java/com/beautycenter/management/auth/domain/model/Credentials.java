@@ -16,6 +16,7 @@ public class Credentials {
     
     private String username;
     private String password;
+    private String remoteAddress;
     
     /**
      * Validates that the credentials are not empty.
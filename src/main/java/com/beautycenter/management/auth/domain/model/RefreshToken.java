@@ -0,0 +1,24 @@
+package com.beautycenter.management.auth.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Domain model representing a refresh token handed to a client.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+    
+    private String tokenValue;
+    private UUID familyId;
+    private String username;
+    private Instant expiryDate;
+}
\ No newline at end of file
@@ -16,17 +16,35 @@ public interface AuthenticationService {
      *
      * @param credentials user credentials
      * @return Optional containing the user if authentication successful, empty otherwise
+     * @throws com.beautycenter.management.auth.domain.service.exception.LoginLockedException
+     *         if the username or client address is locked out after repeated failures
      */
     Optional<User> authenticate(Credentials credentials);
     
     /**
-     * Generate an authentication token for a user.
+     * Generate an access token and the first refresh token of a new login.
      *
      * @param user the authenticated user
      * @return the authentication token
      */
     AuthToken generateToken(User user);
     
+    /**
+     * Exchange a refresh token for a new access token and the next refresh token.
+     *
+     * @param refreshToken the refresh token
+     * @return the new tokens, or empty if the refresh token is not valid or the user is no longer active
+     */
+    Optional<AuthToken> refresh(String refreshToken);
+    
+    /**
+     * Log out by revoking the refresh token and the rest of its family.
+     *
+     * @param refreshToken the refresh token
+     * @return true if the refresh token was recognized, false otherwise
+     */
+    boolean logout(String refreshToken);
+    
     /**
      * Validate a token.
      *
@@ -50,4 +68,19 @@ public interface AuthenticationService {
      * @return the user ID
      */
     Long getUserIdFromToken(String token);
+    
+    /**
+     * Revoke a token so it is rejected for the rest of its lifetime.
+     *
+     * @param token the token to revoke
+     * @return true if the token was valid and is now revoked, false otherwise
+     */
+    boolean revokeToken(String token);
+    
+    /**
+     * Sign a user out everywhere by revoking every access and refresh token issued to them so far.
+     *
+     * @param username the username
+     */
+    void revokeUserTokens(String username);
 }
\ No newline at end of file
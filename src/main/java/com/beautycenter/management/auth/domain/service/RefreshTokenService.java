@@ -0,0 +1,43 @@
+package com.beautycenter.management.auth.domain.service;
+
+import com.beautycenter.management.auth.domain.model.RefreshToken;
+
+import java.util.Optional;
+
+/**
+ * Domain service interface for rotating refresh tokens.
+ */
+public interface RefreshTokenService {
+    
+    /**
+     * Issue the first refresh token of a new login.
+     *
+     * @param username the username
+     * @return the refresh token
+     */
+    RefreshToken issue(String username);
+    
+    /**
+     * Exchange a refresh token for the next one of its family.
+     * A token that was already used revokes its whole family.
+     *
+     * @param tokenValue the presented refresh token
+     * @return the next refresh token, or empty if the presented one is invalid, expired, used or revoked
+     */
+    Optional<RefreshToken> rotate(String tokenValue);
+    
+    /**
+     * Revoke the family of a refresh token.
+     *
+     * @param tokenValue the presented refresh token
+     * @return true if the token was recognized and its family revoked, false otherwise
+     */
+    boolean revoke(String tokenValue);
+    
+    /**
+     * Revoke every refresh token of a user.
+     *
+     * @param username the username
+     */
+    void revokeAll(String username);
+}
\ No newline at end of file
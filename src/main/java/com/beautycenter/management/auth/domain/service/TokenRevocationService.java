@@ -0,0 +1,36 @@
+package com.beautycenter.management.auth.domain.service;
+
+import java.time.Instant;
+
+/**
+ * Domain service interface for revoking issued tokens before they expire.
+ */
+public interface TokenRevocationService {
+    
+    /**
+     * Revoke a single token.
+     *
+     * @param tokenId the token ID ({@code jti})
+     * @param expiresAt the token expiry; the revocation is forgotten after it
+     */
+    void revokeToken(String tokenId, Instant expiresAt);
+    
+    /**
+     * Revoke every token of a user issued up to the given time.
+     *
+     * @param username the username
+     * @param notBefore tokens issued at or before this time are rejected
+     */
+    void revokeUserTokens(String username, Instant notBefore);
+    
+    /**
+     * Check if a token has been revoked.
+     *
+     * @param tokenId the token ID ({@code jti}), or null
+     * @param username the token subject
+     * @param issuedAt the token issue time
+     * @param expiresAt the token expiry
+     * @return true if revoked, false otherwise
+     */
+    boolean isRevoked(String tokenId, String username, Instant issuedAt, Instant expiresAt);
+}
\ No newline at end of file
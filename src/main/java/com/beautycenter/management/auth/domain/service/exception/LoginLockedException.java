@@ -0,0 +1,23 @@
+package com.beautycenter.management.auth.domain.service.exception;
+
+/**
+ * Exception thrown when a login is refused because of too many recent failed attempts.
+ */
+public class LoginLockedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public LoginLockedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    /**
+     * Get the time until the lockout ends.
+     *
+     * @return the remaining lockout in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
\ No newline at end of file
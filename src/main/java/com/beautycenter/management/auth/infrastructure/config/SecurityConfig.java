@@ -3,7 +3,10 @@ package com.beautycenter.management.auth.infrastructure.config;
 import com.beautycenter.management.auth.infrastructure.security.JwtAuthenticationEntryPoint;
 import com.beautycenter.management.auth.infrastructure.security.JwtAuthenticationFilter;
 import com.beautycenter.management.auth.infrastructure.security.JwtUserDetailsService;
+import com.beautycenter.management.auth.infrastructure.security.PublicRoutes;
+import com.beautycenter.management.infrastructure.ratelimit.RateLimitFilter;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,7 +17,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -28,6 +30,7 @@ import java.util.List;
 /**
  * Security configuration for the application.
  * This class configures Spring Security with JWT authentication.
+ * It is the only security filter chain; public routes come from {@link PublicRoutes}.
  */
 @Configuration
 @EnableWebSecurity
@@ -38,6 +41,9 @@ public class SecurityConfig {
     private final JwtUserDetailsService userDetailsService;
     private final JwtAuthenticationEntryPoint unauthorizedHandler;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PublicRoutes publicRoutes;
+    private final RateLimitFilter rateLimitFilter;
+    private final PasswordEncoder passwordEncoder;
 
     /**
      * Configure security filter chain.
@@ -54,10 +60,7 @@ public class SecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> 
-                auth.requestMatchers("/api/auth/**").permitAll()
-                    .requestMatchers("/api/public/**").permitAll()
-                    .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                    .requestMatchers("/actuator/**").permitAll()
+                auth.requestMatchers(publicRoutes.getMatcher()).permitAll()
                     .anyRequest().authenticated()
             );
         
@@ -65,9 +68,38 @@ public class SecurityConfig {
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         
+        // Rate limit once the caller is known, before any controller work
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
+        
         return http.build();
     }
 
+    /**
+     * Keep the JWT filter out of the servlet filter chain so each request is authenticated only once.
+     *
+     * @param filter the JWT authentication filter
+     * @return the disabled registration
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Keep the rate limit filter out of the servlet filter chain; it runs inside the security chain only.
+     *
+     * @param filter the rate limit filter
+     * @return the disabled registration
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Authentication provider bean.
      *
@@ -78,7 +110,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         
         return authProvider;
     }
@@ -95,16 +128,6 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    /**
-     * Password encoder bean.
-     *
-     * @return the password encoder
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     /**
      * CORS configuration source bean.
      *
@@ -0,0 +1,197 @@
+package com.beautycenter.management.auth.infrastructure.security;
+
+import com.beautycenter.management.auth.domain.model.RefreshToken;
+import com.beautycenter.management.auth.domain.service.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens stored in the database, rotated on every use.
+ * <p>
+ * A token is {@code <id>.<secret>}: the ID locates the row and only a SHA-256 hash of the
+ * random secret is stored. Rotating marks the token used with a guarded update and issues the
+ * next token of the same family. If a used token is presented again, or two requests race to
+ * use the same token, the token has leaked and every token of the family is revoked, which
+ * signs out both the attacker and the legitimate client.
+ * </p>
+ */
+@Service
+@Slf4j
+public class JdbcRefreshTokenService implements RefreshTokenService {
+    
+    private static final int SECRET_BYTES = 32;
+    
+    private static final String INSERT_SQL = "INSERT INTO refresh_tokens "
+            + "(id, family_id, username, token_hash, created_at, expires_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT family_id, username, token_hash, expires_at, used_at, revoked_at "
+            + "FROM refresh_tokens WHERE id = ?";
+    private static final String MARK_USED_SQL = "UPDATE refresh_tokens SET used_at = ? "
+            + "WHERE id = ? AND used_at IS NULL AND revoked_at IS NULL";
+    private static final String REVOKE_FAMILY_SQL = "UPDATE refresh_tokens SET revoked_at = ? "
+            + "WHERE family_id = ? AND revoked_at IS NULL";
+    private static final String REVOKE_USER_SQL = "UPDATE refresh_tokens SET revoked_at = ? "
+            + "WHERE username = ? AND revoked_at IS NULL";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final long expirationMs;
+    private final SecureRandom random = new SecureRandom();
+    
+    public JdbcRefreshTokenService(JdbcTemplate jdbcTemplate,
+                                   @Value("${jwt.refresh-expiration.ms:1209600000}") long expirationMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expirationMs = expirationMs;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RefreshToken issue(String username) {
+        return insert(UUID.randomUUID(), username);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public Optional<RefreshToken> rotate(String tokenValue) {
+        Optional<StoredToken> stored = find(tokenValue);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        StoredToken token = stored.get();
+        Instant now = Instant.now();
+        if (token.revokedAt() != null || !token.expiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+        if (token.usedAt() != null
+                || jdbcTemplate.update(MARK_USED_SQL, Timestamp.from(now), token.id()) == 0) {
+            log.warn("Refresh token reuse detected for username {}; revoking token family {}",
+                    token.username(), token.familyId());
+            jdbcTemplate.update(REVOKE_FAMILY_SQL, Timestamp.from(now), token.familyId());
+            return Optional.empty();
+        }
+        return Optional.of(insert(token.familyId(), token.username()));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean revoke(String tokenValue) {
+        Optional<StoredToken> stored = find(tokenValue);
+        stored.ifPresent(token -> jdbcTemplate.update(REVOKE_FAMILY_SQL, Timestamp.from(Instant.now()), token.familyId()));
+        return stored.isPresent();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void revokeAll(String username) {
+        int revoked = jdbcTemplate.update(REVOKE_USER_SQL, Timestamp.from(Instant.now()), username);
+        log.info("Revoked {} refresh tokens of username {}", revoked, username);
+    }
+    
+    /**
+     * Delete tokens past their expiry; used and revoked ones are kept until then for reuse detection.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.refresh-tokens.purge-interval-ms:3600000}")
+    public void purge() {
+        int deleted = jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expires_at <= ?", Timestamp.from(Instant.now()));
+        if (deleted > 0) {
+            log.debug("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+    
+    private RefreshToken insert(UUID familyId, String username) {
+        UUID id = UUID.randomUUID();
+        byte[] secret = new byte[SECRET_BYTES];
+        random.nextBytes(secret);
+        String encodedSecret = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusMillis(expirationMs);
+        
+        jdbcTemplate.update(INSERT_SQL, id, familyId, username, hash(encodedSecret),
+                Timestamp.from(now), Timestamp.from(expiresAt));
+        
+        return RefreshToken.builder()
+                .tokenValue(id + "." + encodedSecret)
+                .familyId(familyId)
+                .username(username)
+                .expiryDate(expiresAt)
+                .build();
+    }
+    
+    /**
+     * Look up a presented token and check its secret.
+     *
+     * @return the stored token, or empty if the token is malformed, unknown or has the wrong secret
+     */
+    private Optional<StoredToken> find(String tokenValue) {
+        if (tokenValue == null) {
+            return Optional.empty();
+        }
+        int separator = tokenValue.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        UUID id;
+        try {
+            id = UUID.fromString(tokenValue.substring(0, separator));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        List<StoredToken> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new StoredToken(
+                id,
+                rs.getObject("family_id", UUID.class),
+                rs.getString("username"),
+                rs.getString("token_hash"),
+                rs.getTimestamp("expires_at").toInstant(),
+                toInstant(rs.getTimestamp("used_at")),
+                toInstant(rs.getTimestamp("revoked_at"))), id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        StoredToken token = rows.get(0);
+        byte[] presented = hash(tokenValue.substring(separator + 1)).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(presented, token.hash().getBytes(StandardCharsets.US_ASCII))) {
+            return Optional.empty();
+        }
+        return Optional.of(token);
+    }
+    
+    private static String hash(String secret) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(secret.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+    
+    private record StoredToken(UUID id, UUID familyId, String username, String hash,
+                               Instant expiresAt, Instant usedAt, Instant revokedAt) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.beautycenter.management.auth.infrastructure.security;
+
+import com.beautycenter.management.auth.domain.service.TokenRevocationService;
+import com.beautycenter.management.infrastructure.event.invalidation.Invalidation;
+import com.beautycenter.management.infrastructure.event.invalidation.InvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token revocation backed by in-memory structures, persisted in the database and shared over the invalidation bus.
+ * <p>
+ * Revoked token IDs live in a {@link RevokedTokenSet} bucketed by expiry, and forced sign-outs as a
+ * per-user cutoff time; both are checked on every authenticated request without touching the database.
+ * Each revocation is written to the database so it survives a restart, and broadcast so the other
+ * nodes apply it as well. Entries are dropped once every token they could match has expired.
+ * </p>
+ * <p>
+ * The bus is best effort, so every node also polls both tables for rows changed since its last
+ * pass. The pass reaches back a margin further than the previous one to cover clock differences
+ * between nodes; re-reading a row is harmless, as applying it again changes nothing.
+ * </p>
+ */
+@Service
+@Slf4j
+public class JdbcTokenRevocationService implements TokenRevocationService {
+    
+    /**
+     * Entity type of a revoked token ID; the version carries the token expiry in epoch seconds.
+     */
+    public static final String REVOKED_TOKENS = "revoked-tokens";
+    
+    /**
+     * Entity type of a user's sign-out cutoff; the version carries the cutoff in epoch seconds.
+     */
+    public static final String USER_TOKEN_CUTOFFS = "user-token-cutoffs";
+    
+    private static final String INSERT_TOKEN_SQL =
+            "INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (?, ?, ?) ON CONFLICT (jti) DO NOTHING";
+    private static final String UPSERT_CUTOFF_SQL =
+            "INSERT INTO user_token_cutoffs (username, not_before, expires_at, updated_at) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (username) DO UPDATE SET not_before = GREATEST(user_token_cutoffs.not_before, EXCLUDED.not_before), "
+            + "expires_at = GREATEST(user_token_cutoffs.expires_at, EXCLUDED.expires_at), updated_at = EXCLUDED.updated_at";
+    private static final String CHANGED_TOKENS_SQL =
+            "SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at > ? AND expires_at > ?";
+    private static final String CHANGED_CUTOFFS_SQL =
+            "SELECT username, not_before FROM user_token_cutoffs WHERE updated_at > ? AND expires_at > ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final InvalidationBus bus;
+    private final long maxTokenLifetimeSeconds;
+    private final long reconcileMarginMs;
+    private final RevokedTokenSet revokedTokens;
+    private final ConcurrentHashMap<String, Long> userCutoffs = new ConcurrentHashMap<>();
+    
+    /**
+     * Start of the last load or reconciliation pass; null until the first load.
+     */
+    private volatile Instant reconciledAt;
+    
+    public JdbcTokenRevocationService(JdbcTemplate jdbcTemplate, InvalidationBus bus,
+                                      @Value("${jwt.expiration.ms}") long jwtExpirationMs,
+                                      @Value("${app.auth.revocation.bucket-seconds:3600}") long bucketSeconds,
+                                      @Value("${app.auth.revocation.reconcile-margin-ms:60000}") long reconcileMarginMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bus = bus;
+        this.maxTokenLifetimeSeconds = Math.max(1, jwtExpirationMs / 1000);
+        this.reconcileMarginMs = reconcileMarginMs;
+        this.revokedTokens = new RevokedTokenSet(bucketSeconds);
+        
+        bus.subscribe(REVOKED_TOKENS, invalidation -> {
+            if (invalidation.id() instanceof UUID tokenId) {
+                revokedTokens.add(tokenId, invalidation.version());
+            }
+        });
+        bus.subscribe(USER_TOKEN_CUTOFFS, invalidation -> {
+            if (invalidation.id() instanceof String username) {
+                userCutoffs.merge(username, invalidation.version(), Math::max);
+            }
+        });
+        bus.onGap(this::load);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        UUID id = parseTokenId(tokenId);
+        if (id == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_TOKEN_SQL, id, Timestamp.from(expiresAt), Timestamp.from(Instant.now()));
+        revokedTokens.add(id, expiresAt.getEpochSecond());
+        bus.publish(new Invalidation(REVOKED_TOKENS, null, id, expiresAt.getEpochSecond()));
+        log.info("Revoked token {}", id);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void revokeUserTokens(String username, Instant notBefore) {
+        long cutoff = notBefore.getEpochSecond();
+        Instant expiresAt = Instant.ofEpochSecond(cutoff + maxTokenLifetimeSeconds);
+        jdbcTemplate.update(UPSERT_CUTOFF_SQL, username, Timestamp.from(Instant.ofEpochSecond(cutoff)),
+                Timestamp.from(expiresAt), Timestamp.from(Instant.now()));
+        userCutoffs.merge(username, cutoff, Math::max);
+        bus.publish(new Invalidation(USER_TOKEN_CUTOFFS, null, username, cutoff));
+        log.info("Revoked tokens of user {} issued up to {}", username, notBefore);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * Token issue times have second precision, so a cutoff also rejects tokens issued later in the same second.
+     */
+    @Override
+    public boolean isRevoked(String tokenId, String username, Instant issuedAt, Instant expiresAt) {
+        if (username != null && issuedAt != null) {
+            Long cutoff = userCutoffs.get(username);
+            if (cutoff != null && issuedAt.getEpochSecond() <= cutoff) {
+                return true;
+            }
+        }
+        if (tokenId == null || expiresAt == null) {
+            return false;
+        }
+        UUID id = parseTokenId(tokenId);
+        return id != null && revokedTokens.contains(id, expiresAt.getEpochSecond());
+    }
+    
+    /**
+     * Load the revocations that are still in force.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Instant started = Instant.now();
+        Timestamp now = Timestamp.from(started);
+        revokedTokens.clear();
+        jdbcTemplate.query("SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > ?",
+                (RowCallbackHandler) rs -> revokedTokens.add(rs.getObject("jti", UUID.class),
+                        rs.getTimestamp("expires_at").toInstant().getEpochSecond()), now);
+        userCutoffs.clear();
+        jdbcTemplate.query("SELECT username, not_before FROM user_token_cutoffs WHERE expires_at > ?",
+                (RowCallbackHandler) rs -> userCutoffs.merge(rs.getString("username"),
+                        rs.getTimestamp("not_before").toInstant().getEpochSecond(), Math::max), now);
+        reconciledAt = started;
+        log.info("Loaded {} revoked tokens and {} user sign-out cutoffs", revokedTokens.size(), userCutoffs.size());
+    }
+    
+    /**
+     * Apply revocations written by other nodes whose broadcast may have been lost.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation.reconcile-interval-ms:5000}")
+    public synchronized void reconcile() {
+        Instant since = reconciledAt;
+        if (since == null) {
+            return;
+        }
+        Instant started = Instant.now();
+        Timestamp from = Timestamp.from(since.minusMillis(reconcileMarginMs));
+        Timestamp now = Timestamp.from(started);
+        jdbcTemplate.query(CHANGED_TOKENS_SQL,
+                (RowCallbackHandler) rs -> revokedTokens.add(rs.getObject("jti", UUID.class),
+                        rs.getTimestamp("expires_at").toInstant().getEpochSecond()), from, now);
+        jdbcTemplate.query(CHANGED_CUTOFFS_SQL,
+                (RowCallbackHandler) rs -> userCutoffs.merge(rs.getString("username"),
+                        rs.getTimestamp("not_before").toInstant().getEpochSecond(), Math::max), from, now);
+        reconciledAt = started;
+    }
+    
+    /**
+     * Forget revocations whose tokens have all expired.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation.purge-interval-ms:600000}")
+    public void purge() {
+        long now = Instant.now().getEpochSecond();
+        int dropped = revokedTokens.expire(now);
+        userCutoffs.values().removeIf(cutoff -> cutoff + maxTokenLifetimeSeconds < now);
+        
+        Timestamp threshold = Timestamp.from(Instant.ofEpochSecond(now));
+        jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?", threshold);
+        jdbcTemplate.update("DELETE FROM user_token_cutoffs WHERE expires_at <= ?", threshold);
+        if (dropped > 0) {
+            log.debug("Dropped {} expired token revocations", dropped);
+        }
+    }
+    
+    private static UUID parseTokenId(String tokenId) {
+        if (tokenId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(tokenId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
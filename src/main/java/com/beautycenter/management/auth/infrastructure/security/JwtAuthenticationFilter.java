@@ -1,6 +1,6 @@
 package com.beautycenter.management.auth.infrastructure.security;
 
-import com.beautycenter.management.auth.domain.service.AuthenticationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,18 +16,28 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filter for JWT-based authentication.
  * This filter extracts and validates JWT tokens from incoming requests.
+ * Public routes are skipped without looking at the token. Otherwise the token is parsed
+ * once and the user loaded once; the resulting principal is kept in the security context
+ * for the rest of the request, where later filters and controllers pick it up.
  */
 @Component
 @AllArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
-    private final AuthenticationService authenticationService;
+    private final JwtTokenProvider tokenProvider;
     private final JwtUserDetailsService userDetailsService;
+    private final PublicRoutes publicRoutes;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicRoutes.matches(request);
+    }
     
     /**
      * Filter for JWT-based authentication.
@@ -45,22 +55,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract JWT token
             String jwt = parseJwt(request);
             
-            // Validate token and set authentication
-            if (jwt != null && authenticationService.validateToken(jwt)) {
-                String username = authenticationService.getUsernameFromToken(jwt);
-                
+            // Validate token once and set authentication
+            Optional<Claims> claims = jwt != null ? tokenProvider.parseValidToken(jwt) : Optional.empty();
+            if (claims.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
                 // Load user details
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                
-                // Set details
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UserDetails userDetails = userDetailsService.loadPrincipal(claims.get().getSubject());
                 
-                // Set authentication in context
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (userDetails.isEnabled()) {
+                    // Create authentication token
+                    UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    
+                    // Set details
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    // Set authentication in context
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
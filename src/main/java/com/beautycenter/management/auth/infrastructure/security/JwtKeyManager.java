@@ -0,0 +1,340 @@
+package com.beautycenter.management.auth.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manages the keys that sign and verify tokens, identified by the {@code kid} header.
+ * <p>
+ * Keys live in the database so every node signs with the same key and can verify tokens
+ * signed by the others. The newest key signs; a new one is added every rotation interval by
+ * whichever node notices first, and older keys are kept for verification until the tokens
+ * they signed have expired. Nodes add keys under a transaction-scoped advisory lock and only
+ * if no other node added one within the interval, so a rotation produces a single key. The
+ * parsed keys are cached in memory by {@code kid}; an unknown {@code kid} triggers a reload,
+ * limited to one per second across all requests, so a key rotated in on another node is
+ * picked up without a restart.
+ * </p>
+ * <p>
+ * With ES256 the public keys are published as a JWKS so other services can verify tokens
+ * on their own. HMAC algorithms are supported for single-service setups; their keys are
+ * never published. Private keys and HMAC secrets are stored encrypted with AES-GCM under a
+ * key derived from {@code jwt.secret}. Tokens without a {@code kid}, issued before key
+ * rotation was introduced, are rejected unless {@code app.jwt.signing.accept-legacy} is
+ * enabled for the transition, in which case they are verified with {@code jwt.secret} itself.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JwtKeyManager extends SigningKeyResolverAdapter {
+    
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final long MIN_RELOAD_INTERVAL_MS = 1000;
+    
+    private static final String SELECT_SQL = "SELECT kid, algorithm, private_key, public_key, created_at "
+            + "FROM jwt_signing_keys WHERE expires_at > ? ORDER BY created_at";
+    private static final String INSERT_SQL = "INSERT INTO jwt_signing_keys "
+            + "(kid, algorithm, private_key, public_key, created_at, expires_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('jwt_signing_keys'))";
+    private static final String RECENT_SQL = "SELECT EXISTS (SELECT 1 FROM jwt_signing_keys "
+            + "WHERE algorithm = ? AND created_at > ? AND expires_at > ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SignatureAlgorithm algorithm;
+    private final Duration rotationInterval;
+    private final Duration retention;
+    private final SecretKeySpec storageKey;
+    private final Key legacyKey;
+    private final SecureRandom random = new SecureRandom();
+    private volatile KeySet keySet = new KeySet(null, Map.of());
+    private final AtomicLong lastReload = new AtomicLong();
+    
+    public JwtKeyManager(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${jwt.secret}") String jwtSecret,
+                         @Value("${jwt.expiration.ms}") long accessTokenLifetimeMs,
+                         @Value("${app.jwt.signing.algorithm:ES256}") String algorithm,
+                         @Value("${app.jwt.signing.rotation-hours:24}") long rotationHours,
+                         @Value("${app.jwt.signing.accept-legacy:false}") boolean acceptLegacy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        if (this.algorithm != SignatureAlgorithm.ES256 && !this.algorithm.isHmac()) {
+            throw new IllegalArgumentException("Unsupported token signing algorithm: " + algorithm);
+        }
+        this.rotationInterval = Duration.ofHours(rotationHours);
+        // A key signs for one interval, then verifies until the last token it signed has expired
+        this.retention = rotationInterval.plusMillis(accessTokenLifetimeMs).plusMinutes(5);
+        this.storageKey = new SecretKeySpec(sha256(jwtSecret), "AES");
+        this.legacyKey = acceptLegacy ? Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)) : null;
+        reload();
+    }
+    
+    /**
+     * Get the key that signs new tokens.
+     *
+     * @return the current signing key
+     */
+    public SigningKey currentKey() {
+        SigningKey current = keySet.current();
+        if (current == null) {
+            throw new IllegalStateException("No token signing key available");
+        }
+        return current;
+    }
+    
+    /**
+     * Resolve the verification key of a token from its {@code kid} header.
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacyKey == null) {
+                throw new SignatureException("Token has no key ID");
+            }
+            return legacyKey;
+        }
+        SigningKey key = keySet.keys().get(kid);
+        if (key == null) {
+            key = reloadFor(kid);
+        }
+        if (key == null) {
+            throw new SignatureException("Unknown token key ID: " + kid);
+        }
+        if (!key.algorithm().getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("Token algorithm does not match key " + kid);
+        }
+        return key.verificationKey();
+    }
+    
+    /**
+     * Public keys as a JSON Web Key Set; empty for HMAC keys, which must not be shared.
+     *
+     * @return the key set
+     */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (SigningKey key : keySet.keys().values()) {
+            if (key.verificationKey() instanceof ECPublicKey publicKey) {
+                Map<String, Object> jwk = new LinkedHashMap<>();
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-256");
+                jwk.put("use", "sig");
+                jwk.put("alg", key.algorithm().getValue());
+                jwk.put("kid", key.kid());
+                jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+                jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+                keys.add(jwk);
+            }
+        }
+        return Map.of("keys", keys);
+    }
+    
+    /**
+     * Look up a key that is not loaded yet. Only the request that claims the reload slot
+     * reloads; the others wait for that reload instead of queueing their own.
+     */
+    private SigningKey reloadFor(String kid) {
+        long last = lastReload.get();
+        long now = System.currentTimeMillis();
+        if (now - last >= MIN_RELOAD_INTERVAL_MS && lastReload.compareAndSet(last, now)) {
+            reload();
+        } else {
+            awaitReload();
+        }
+        return keySet.keys().get(kid);
+    }
+    
+    /**
+     * Returns once a reload in progress has finished, since reloads hold the same monitor.
+     */
+    private synchronized void awaitReload() {
+    }
+    
+    /**
+     * Reload the keys and add a new one when the newest is due for rotation.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.signing.refresh-interval-ms:60000}")
+    public synchronized void reload() {
+        lastReload.set(System.currentTimeMillis());
+        Instant now = Instant.now();
+        KeySet loaded = load(now);
+        SigningKey current = loaded.current();
+        if (current == null || current.algorithm() != algorithm
+                || current.createdAt().plus(rotationInterval).isBefore(now)) {
+            generate(now);
+            loaded = load(now);
+        }
+        if (keySet.current() == null || !keySet.current().kid().equals(loaded.current().kid())) {
+            log.info("Signing tokens with key {} ({})", loaded.current().kid(), loaded.current().algorithm());
+        }
+        keySet = loaded;
+    }
+    
+    private KeySet load(Instant now) {
+        Map<String, SigningKey> keys = new HashMap<>();
+        List<SigningKey> ordered = new ArrayList<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            String kid = rs.getString("kid");
+            try {
+                SigningKey key = decode(kid, SignatureAlgorithm.forName(rs.getString("algorithm")),
+                        rs.getBytes("private_key"), rs.getBytes("public_key"), rs.getTimestamp("created_at").toInstant());
+                keys.put(kid, key);
+                ordered.add(key);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                log.error("Skipping unreadable token signing key {}: {}", kid, e.getMessage());
+            }
+        }, Timestamp.from(now));
+        return new KeySet(ordered.isEmpty() ? null : ordered.get(ordered.size() - 1), Collections.unmodifiableMap(keys));
+    }
+    
+    /**
+     * Add a key unless another node added one within the rotation interval. The check and
+     * the insert run under a lock held until commit, so nodes rotating at once add one key.
+     */
+    private void generate(Instant now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject(LOCK_SQL, Object.class);
+            Boolean recent = jdbcTemplate.queryForObject(RECENT_SQL, Boolean.class, algorithm.getValue(),
+                    Timestamp.from(now.minus(rotationInterval)), Timestamp.from(now));
+            if (!Boolean.TRUE.equals(recent)) {
+                insert(now);
+            }
+        });
+    }
+    
+    private void insert(Instant now) {
+        String kid = UUID.randomUUID().toString();
+        byte[] privateKey;
+        byte[] publicKey = null;
+        if (algorithm.isHmac()) {
+            privateKey = Keys.secretKeyFor(algorithm).getEncoded();
+        } else {
+            try {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"), random);
+                KeyPair pair = generator.generateKeyPair();
+                privateKey = pair.getPrivate().getEncoded();
+                publicKey = pair.getPublic().getEncoded();
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot generate token signing key", e);
+            }
+        }
+        jdbcTemplate.update(INSERT_SQL, kid, algorithm.getValue(), encrypt(privateKey), publicKey,
+                Timestamp.from(now), Timestamp.from(now.plus(retention)));
+        log.info("Generated token signing key {} ({})", kid, algorithm);
+    }
+    
+    private SigningKey decode(String kid, SignatureAlgorithm keyAlgorithm, byte[] encryptedPrivateKey,
+                              byte[] publicKey, Instant createdAt) throws GeneralSecurityException {
+        byte[] privateKey = decrypt(encryptedPrivateKey);
+        if (keyAlgorithm.isHmac()) {
+            Key secret = new SecretKeySpec(privateKey, keyAlgorithm.getJcaName());
+            return new SigningKey(kid, keyAlgorithm, secret, secret, createdAt);
+        }
+        KeyFactory factory = KeyFactory.getInstance("EC");
+        Key signing = factory.generatePrivate(new PKCS8EncodedKeySpec(privateKey));
+        PublicKey verification = factory.generatePublic(new X509EncodedKeySpec(publicKey));
+        return new SigningKey(kid, keyAlgorithm, signing, verification, createdAt);
+    }
+    
+    private byte[] encrypt(byte[] plain) {
+        try {
+            byte[] iv = new byte[GCM_IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, storageKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain);
+            return ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt token signing key", e);
+        }
+    }
+    
+    private byte[] decrypt(byte[] stored) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, storageKey, new GCMParameterSpec(GCM_TAG_BITS, stored, 0, GCM_IV_BYTES));
+        return cipher.doFinal(stored, GCM_IV_BYTES, stored.length - GCM_IV_BYTES);
+    }
+    
+    /**
+     * Unsigned big-endian coordinate, padded to the 32 bytes of P-256, base64url-encoded.
+     */
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, padded, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+    
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * A signing key with its parsed verification key.
+     *
+     * @param kid the key ID
+     * @param algorithm the signature algorithm
+     * @param signingKey the private key or HMAC secret
+     * @param verificationKey the public key or HMAC secret
+     * @param createdAt when the key was created
+     */
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey,
+                             Instant createdAt) {
+    }
+    
+    private record KeySet(SigningKey current, Map<String, SigningKey> keys) {
+    }
+}
\ No newline at end of file
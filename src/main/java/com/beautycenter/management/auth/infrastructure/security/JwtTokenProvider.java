@@ -1,40 +1,50 @@
 package com.beautycenter.management.auth.infrastructure.security;
 
 import com.beautycenter.management.auth.domain.model.AuthToken;
-import com.beautycenter.management.domain.model.Role;
+import com.beautycenter.management.auth.domain.service.TokenRevocationService;
 import com.beautycenter.management.domain.model.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
-import java.util.Set;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Component for JWT token generation and validation.
- * This infrastructure component encapsulates the JWT token handling logic.
+ * This infrastructure component encapsulates the JWT token handling logic;
+ * keys come from the {@link JwtKeyManager}.
  */
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final TokenRevocationService revocationService;
+    private final JwtKeyManager keyManager;
+    private final JwtParser parser;
+    private final int jwtExpirationMs;
 
-    @Value("${jwt.expiration.ms}")
-    private int jwtExpirationMs;
+    public JwtTokenProvider(TokenRevocationService revocationService, JwtKeyManager keyManager,
+                            @Value("${jwt.expiration.ms}") int jwtExpirationMs) {
+        this.revocationService = revocationService;
+        this.keyManager = keyManager;
+        this.jwtExpirationMs = jwtExpirationMs;
+        // Parsers are immutable; keys are looked up per token by kid
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyManager)
+                .build();
+    }
 
     /**
-     * Generate JWT token for a user.
+     * Generate a short-lived access token for a user.
+     * The token only carries the subject, the user ID, a random ID and its validity, so it stays
+     * small; roles are read from the user on each request. The ID ({@code jti}) lets logout revoke
+     * this one token for the rest of its lifetime.
      *
      * @param user the user
      * @return AuthToken containing the JWT
@@ -45,15 +55,16 @@ public class JwtTokenProvider {
         Instant now = Instant.now();
         Instant expiryDate = now.plus(jwtExpirationMs, ChronoUnit.MILLIS);
         
-        // Generate JWT token
+        // Generate JWT token, signed with the current key
+        JwtKeyManager.SigningKey key = keyManager.currentKey();
         String jwtToken = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
                 .setSubject(user.getUsername())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiryDate))
                 .claim("userId", user.getId())
-                .claim("roles", user.getRoles().stream().map(Role::name).collect(Collectors.toList()))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
                 .setId(UUID.randomUUID().toString())
+                .signWith(key.signingKey(), key.algorithm())
                 .compact();
         
         // Create AuthToken
@@ -69,18 +80,30 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Validate JWT token.
+     * Validate JWT token, including that it has not been revoked.
      *
      * @param token the JWT token
      * @return true if valid, false otherwise
      */
     public boolean validateToken(String token) {
+        return parseValidToken(token).isPresent();
+    }
+
+    /**
+     * Parse a JWT token and check that it is valid and not revoked.
+     *
+     * @param token the JWT token
+     * @return the token claims, or empty if the token is not valid
+     */
+    public Optional<Claims> parseValidToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            Claims claims = getClaims(token);
+            if (revocationService.isRevoked(claims.getId(), claims.getSubject(),
+                    toInstant(claims.getIssuedAt()), toInstant(claims.getExpiration()))) {
+                log.warn("JWT token has been revoked for subject: {}", claims.getSubject());
+                return Optional.empty();
+            }
+            return Optional.of(claims);
         } catch (SignatureException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -94,62 +117,41 @@ public class JwtTokenProvider {
         } catch (Exception e) {
             log.error("JWT validation error: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     /**
-     * Extract username from JWT token.
+     * Parse and verify a JWT token.
      *
      * @param token the JWT token
-     * @return username
+     * @return the token claims
+     * @throws JwtException if the token is invalid or expired
      */
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody()
-            .getSubject();
+    public Claims getClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
-     * Extract user ID from JWT token.
+     * Extract username from JWT token.
      *
      * @param token the JWT token
-     * @return user ID
+     * @return username
      */
-    public Long getUserIdFromToken(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody()
-            .get("userId", Long.class);
+    public String getUsernameFromToken(String token) {
+        return getClaims(token).getSubject();
     }
 
     /**
-     * Extract roles from JWT token.
+     * Extract user ID from JWT token.
      *
      * @param token the JWT token
-     * @return set of roles
+     * @return user ID
      */
-    @SuppressWarnings("unchecked")
-    public Set<Role> getRolesFromToken(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody()
-            .get("roles", Set.class);
+    public Long getUserIdFromToken(String token) {
+        return getClaims(token).get("userId", Long.class);
     }
 
-    /**
-     * Get signing key for JWT.
-     *
-     * @return signing key
-     */
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 }
\ No newline at end of file
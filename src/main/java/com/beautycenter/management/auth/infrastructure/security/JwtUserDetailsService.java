@@ -1,5 +1,8 @@
 package com.beautycenter.management.auth.infrastructure.security;
 
+import com.beautycenter.management.application.cache.CachedPrincipal;
+import com.beautycenter.management.application.cache.PrincipalCache;
+import com.beautycenter.management.domain.model.Role;
 import com.beautycenter.management.domain.model.User;
 import com.beautycenter.management.domain.repository.UserRepository;
 import lombok.AllArgsConstructor;
@@ -7,24 +10,30 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Custom UserDetailsService implementation for JWT authentication.
- * This service loads user-specific data for authentication.
+ * This service loads user-specific data for authentication and stores re-encoded
+ * password hashes when the encoder asks for an upgrade after a successful login.
+ * Requests authenticated by token read the principal through the {@link PrincipalCache},
+ * which holds no password hash.
  */
 @Service
 @AllArgsConstructor
 @Slf4j
-public class JwtUserDetailsService implements UserDetailsService {
+public class JwtUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     /**
      * Load user by username for authentication.
@@ -45,20 +54,67 @@ public class JwtUserDetailsService implements UserDetailsService {
 
         log.debug("Found user with username: {}", username);
 
-        // Map user roles to Spring Security authorities
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.name()))
-                .collect(Collectors.toList());
-
         // Create UserDetails object
-        return new org.springframework.security.core.userdetails.User(
+        return toUserDetails(user, user.getPassword());
+    }
+
+    /**
+     * Load the principal of a request authenticated by token, from the cache if possible.
+     * The returned details carry no password.
+     *
+     * @param username the username from the token
+     * @return the user details
+     * @throws UsernameNotFoundException if the user is not found
+     */
+    @Transactional
+    public UserDetails loadPrincipal(String username) throws UsernameNotFoundException {
+        CachedPrincipal principal = principalCache.get(username);
+        if (principal == null) {
+            long stamp = principalCache.stamp();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+            principal = new CachedPrincipal(user.getId(), user.getUsername(), user.isActive(), user.getRoles(),
+                    user.getCompanyId());
+            principalCache.put(principal, stamp);
+        }
+        return new TenantUserDetails(principal.username(), "", principal.active(),
+                toAuthorities(principal.roles()), principal.companyId());
+    }
+
+    /**
+     * Store a password hash re-encoded with the current work factor.
+     *
+     * @param userDetails the authenticated user
+     * @param newPassword the new password hash
+     * @return the user details with the new hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        log.info("Upgraded password hash for username: {}", user.getUsername());
+
+        return toUserDetails(user, newPassword);
+    }
+
+    private UserDetails toUserDetails(User user, String password) {
+        return new TenantUserDetails(
                 user.getUsername(),
-                user.getPassword(),
+                password,
                 user.isActive(),
-                true, // accountNonExpired
-                true, // credentialsNonExpired
-                true, // accountNonLocked
-                authorities
+                toAuthorities(user.getRoles()),
+                user.getCompanyId()
         );
     }
+
+    private static List<GrantedAuthority> toAuthorities(Set<Role> roles) {
+        // Map user roles to Spring Security authorities
+        return roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.name()))
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.beautycenter.management.auth.infrastructure.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes that are open to everyone, configured with {@code app.security.public-paths}.
+ * The same matcher permits them in the security chain and lets the JWT filter skip them,
+ * so the two can never disagree.
+ */
+@Component
+public class PublicRoutes {
+    
+    private final List<String> paths;
+    private final RequestMatcher matcher;
+    
+    public PublicRoutes(@Value("${app.security.public-paths}") String[] paths) {
+        this.paths = Arrays.stream(paths).map(String::trim).filter(path -> !path.isEmpty()).toList();
+        this.matcher = new OrRequestMatcher(this.paths.stream()
+                .map(AntPathRequestMatcher::antMatcher)
+                .map(RequestMatcher.class::cast)
+                .toList());
+    }
+    
+    /**
+     * Check if a request targets a public route.
+     *
+     * @param request the request
+     * @return true if public, false otherwise
+     */
+    public boolean matches(HttpServletRequest request) {
+        return matcher.matches(request);
+    }
+    
+    public RequestMatcher getMatcher() {
+        return matcher;
+    }
+    
+    public List<String> getPaths() {
+        return paths;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.beautycenter.management.auth.infrastructure.security;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Compact set of revoked token IDs, bucketed by token expiry.
+ * <p>
+ * Each bucket covers {@code bucketSeconds} of expiry times and stores its IDs as pairs of
+ * longs in an open-addressing table, 16 bytes per ID with no per-entry objects. A token's own
+ * expiry selects the only bucket it can be in, so a lookup is one map access plus a short
+ * probe. Once a bucket's window has passed, every token it could match has expired and the
+ * whole bucket is dropped at once.
+ * </p>
+ */
+public class RevokedTokenSet {
+    
+    private final long bucketSeconds;
+    private final ConcurrentHashMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    
+    /**
+     * Create a set.
+     *
+     * @param bucketSeconds the width of an expiry bucket in seconds
+     */
+    public RevokedTokenSet(long bucketSeconds) {
+        if (bucketSeconds <= 0) {
+            throw new IllegalArgumentException("Bucket width must be positive: " + bucketSeconds);
+        }
+        this.bucketSeconds = bucketSeconds;
+    }
+    
+    /**
+     * Add a token ID.
+     *
+     * @param tokenId the token ID
+     * @param expiresAtEpochSecond the token expiry in epoch seconds
+     */
+    public void add(UUID tokenId, long expiresAtEpochSecond) {
+        buckets.computeIfAbsent(Math.floorDiv(expiresAtEpochSecond, bucketSeconds), index -> new Bucket())
+                .add(tokenId.getMostSignificantBits(), tokenId.getLeastSignificantBits());
+    }
+    
+    /**
+     * Check for a token ID.
+     *
+     * @param tokenId the token ID
+     * @param expiresAtEpochSecond the token expiry in epoch seconds
+     * @return true if the ID was added with the same expiry bucket
+     */
+    public boolean contains(UUID tokenId, long expiresAtEpochSecond) {
+        Bucket bucket = buckets.get(Math.floorDiv(expiresAtEpochSecond, bucketSeconds));
+        return bucket != null && bucket.contains(tokenId.getMostSignificantBits(), tokenId.getLeastSignificantBits());
+    }
+    
+    /**
+     * Drop the buckets whose tokens have all expired.
+     *
+     * @param nowEpochSecond the current time in epoch seconds
+     * @return the number of IDs dropped
+     */
+    public int expire(long nowEpochSecond) {
+        long current = Math.floorDiv(nowEpochSecond, bucketSeconds);
+        int dropped = 0;
+        for (Long index : buckets.keySet()) {
+            if (index < current) {
+                Bucket bucket = buckets.remove(index);
+                if (bucket != null) {
+                    dropped += bucket.size();
+                }
+            }
+        }
+        return dropped;
+    }
+    
+    /**
+     * Number of IDs held.
+     *
+     * @return the ID count
+     */
+    public int size() {
+        int size = 0;
+        for (Bucket bucket : buckets.values()) {
+            size += bucket.size();
+        }
+        return size;
+    }
+    
+    public void clear() {
+        buckets.clear();
+    }
+    
+    /**
+     * Open-addressing set of 128-bit IDs; the all-zero ID marks an empty slot.
+     * Lookups are optimistic reads, validated and retried under the read lock only if a write raced them.
+     */
+    private static final class Bucket {
+        private final StampedLock lock = new StampedLock();
+        private long[] slots = new long[2 * 16];
+        private int size;
+        
+        private void add(long high, long low) {
+            if (high == 0 && low == 0) {
+                return;
+            }
+            long stamp = lock.writeLock();
+            try {
+                if ((size + 1) * 2 > slots.length / 2) {
+                    resize();
+                }
+                if (insert(slots, high, low)) {
+                    size++;
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        
+        private boolean contains(long high, long low) {
+            long stamp = lock.tryOptimisticRead();
+            boolean found = find(slots, high, low);
+            if (lock.validate(stamp)) {
+                return found;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(slots, high, low);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        
+        private void resize() {
+            long[] resized = new long[slots.length * 2];
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] != 0 || slots[i + 1] != 0) {
+                    insert(resized, slots[i], slots[i + 1]);
+                }
+            }
+            slots = resized;
+        }
+        
+        private static boolean insert(long[] table, long high, long low) {
+            int mask = table.length / 2 - 1;
+            for (int slot = slot(high, low, mask); ; slot = (slot + 1) & mask) {
+                int i = slot * 2;
+                if (table[i] == 0 && table[i + 1] == 0) {
+                    table[i] = high;
+                    table[i + 1] = low;
+                    return true;
+                }
+                if (table[i] == high && table[i + 1] == low) {
+                    return false;
+                }
+            }
+        }
+        
+        private static boolean find(long[] table, long high, long low) {
+            int mask = table.length / 2 - 1;
+            for (int slot = slot(high, low, mask), probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+                int i = slot * 2;
+                if (table[i] == 0 && table[i + 1] == 0) {
+                    return false;
+                }
+                if (table[i] == high && table[i + 1] == low) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static int slot(long high, long low, int mask) {
+            long hash = high * 0x9E3779B97F4A7C15L ^ low;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.beautycenter.management.auth.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated user that also carries the company the user belongs to,
+ * so per-tenant decisions do not need another lookup.
+ */
+public class TenantUserDetails extends User {
+    
+    private final Long companyId;
+    
+    public TenantUserDetails(String username, String password, boolean enabled,
+                             Collection<? extends GrantedAuthority> authorities, Long companyId) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.companyId = companyId;
+    }
+    
+    /**
+     * Get the company of the user.
+     *
+     * @return the company ID, or null if the user belongs to no company
+     */
+    public Long getCompanyId() {
+        return companyId;
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.beautycenter.management.auth.interfaces.rest;
 
 import com.beautycenter.management.auth.application.dto.AuthResponseDto;
 import com.beautycenter.management.auth.application.dto.LoginRequestDto;
+import com.beautycenter.management.auth.application.dto.RefreshRequestDto;
 import com.beautycenter.management.auth.application.dto.RegisterRequestDto;
 import com.beautycenter.management.auth.application.mapper.AuthenticationMapper;
 import com.beautycenter.management.auth.domain.model.AuthToken;
@@ -9,12 +10,17 @@ import com.beautycenter.management.auth.domain.model.Credentials;
 import com.beautycenter.management.auth.domain.model.RegistrationRequest;
 import com.beautycenter.management.auth.domain.service.AuthenticationService;
 import com.beautycenter.management.auth.domain.service.RegistrationService;
+import com.beautycenter.management.auth.domain.service.exception.LoginLockedException;
 import com.beautycenter.management.domain.model.User;
+import com.beautycenter.management.infrastructure.security.PasswordHashingBusyException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -38,15 +44,19 @@ public class AuthController {
      * Login endpoint.
      *
      * @param loginRequest the login request
+     * @param request the HTTP request, for the client address
      * @return authentication response with token
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto loginRequest) {
+    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto loginRequest,
+                                                 HttpServletRequest request) {
         log.info("Processing login request for username: {}", loginRequest.getUsername());
         
         try {
             // Map to domain model
             Credentials credentials = mapper.toCredentials(loginRequest);
+            // Tomcat resolves the client behind trusted proxies from X-Forwarded-For
+            credentials.setRemoteAddress(request.getRemoteAddr());
             
             // Authenticate user
             Optional<User> userOpt = authenticationService.authenticate(credentials);
@@ -66,6 +76,14 @@ public class AuthController {
             AuthResponseDto response = mapper.toAuthResponseDto(token, user);
             
             return ResponseEntity.ok(response);
+        } catch (LoginLockedException e) {
+            log.warn("Login locked out for username: {}", loginRequest.getUsername());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .build();
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Login rejected, password hashing is saturated: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry");
         } catch (Exception e) {
             log.error("Login error: ", e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Login failed");
@@ -100,6 +118,9 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             log.warn("Registration failed: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Registration rejected, password hashing is saturated: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry");
         } catch (Exception e) {
             log.error("Registration error: ", e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Registration failed");
@@ -144,4 +165,49 @@ public class AuthController {
         boolean isValid = authenticationService.validateToken(token);
         return ResponseEntity.ok(isValid);
     }
+
+    /**
+     * Refresh endpoint; exchanges a refresh token for a new token pair.
+     *
+     * @param refreshRequest the refresh request
+     * @return authentication response with the new tokens
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDto> refresh(@Valid @RequestBody RefreshRequestDto refreshRequest) {
+        return authenticationService.refresh(refreshRequest.getRefreshToken())
+                .map(token -> ResponseEntity.ok(mapper.toAuthResponseDto(token)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    /**
+     * Logout endpoint; revokes the refresh token and the bearer token of the request, which is
+     * rejected from then on rather than staying valid until it expires.
+     *
+     * @param refreshRequest the refresh token to revoke
+     * @param authorization the Authorization header
+     * @return no content if anything was revoked, bad request otherwise
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshRequestDto refreshRequest,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        boolean revoked = authenticationService.logout(refreshRequest.getRefreshToken());
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            revoked |= authenticationService.revokeToken(authorization.substring(7));
+        }
+        return revoked ? ResponseEntity.noContent().build() : ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * Sign a user out of every session.
+     *
+     * @param username the username
+     * @return no content
+     */
+    @PostMapping("/users/{username}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeUserTokens(@PathVariable String username) {
+        log.info("Revoking all tokens of username: {}", username);
+        authenticationService.revokeUserTokens(username);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
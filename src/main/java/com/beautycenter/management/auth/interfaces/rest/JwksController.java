@@ -0,0 +1,35 @@
+package com.beautycenter.management.auth.interfaces.rest;
+
+import com.beautycenter.management.auth.infrastructure.security.JwtKeyManager;
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST controller publishing the public keys that verify our tokens.
+ * Other services fetch this key set once and verify tokens locally by {@code kid}.
+ */
+@RestController
+@AllArgsConstructor
+public class JwksController {
+
+    private final JwtKeyManager keyManager;
+
+    /**
+     * JSON Web Key Set endpoint.
+     *
+     * @return the public verification keys
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        // Short enough that a rotated-in key is seen well before it starts signing most tokens
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(keyManager.jwks());
+    }
+}
\ No newline at end of file
@@ -14,8 +14,20 @@ public abstract class AbstractDomainEvent implements DomainEvent {
     private final String eventType;
     
     protected AbstractDomainEvent(String eventType) {
-        this.eventId = UUID.randomUUID();
-        this.timestamp = LocalDateTime.now();
+        this(eventType, UUID.randomUUID(), LocalDateTime.now());
+    }
+    
+    /**
+     * Recreate an event that happened earlier, for example one read back from storage
+     * or received from another node.
+     *
+     * @param eventType the event type
+     * @param eventId the original event ID
+     * @param timestamp the original event timestamp
+     */
+    protected AbstractDomainEvent(String eventType, UUID eventId, LocalDateTime timestamp) {
+        this.eventId = eventId;
+        this.timestamp = timestamp;
         this.eventType = eventType;
     }
     
@@ -0,0 +1,27 @@
+package com.beautycenter.management.domain.event;
+
+/**
+ * A consumer that receives domain events from the event journal instead of directly
+ * from the publisher.
+ * <p>
+ * The journal keeps a cursor per consumer and only moves it once {@link #handle(DomainEvent)}
+ * returns, so events survive a restart and are delivered at least once. Implementations must
+ * therefore tolerate seeing the same event again, for example after a crash or a replay.
+ * </p>
+ */
+public interface DurableEventConsumer {
+    
+    /**
+     * Stable name of the consumer; its cursor is stored under this name.
+     *
+     * @return the consumer name
+     */
+    String getConsumerName();
+    
+    /**
+     * Handle an event. Throwing makes the journal retry the event.
+     *
+     * @param event the event
+     */
+    void handle(DomainEvent event);
+}
\ No newline at end of file
@@ -4,7 +4,7 @@ import com.beautycenter.management.domain.event.AbstractDomainEvent;
 import com.beautycenter.management.domain.model.Appointment;
 import com.beautycenter.management.domain.model.AppointmentStatus;
 
-import java.time.Instant;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -13,13 +13,17 @@ import java.util.UUID;
  */
 public class AppointmentCreatedEvent extends AbstractDomainEvent {
 
+    private static final String EVENT_TYPE = "appointment.created";
+
     private final UUID appointmentId;
+    private final UUID companyId;
     private final UUID customerId;
     private final UUID employeeId;
     private final UUID serviceId;
     private final LocalDateTime startTime;
     private final LocalDateTime endTime;
-   private final AppointmentStatus status;
+    private final AppointmentStatus status;
+    private final BigDecimal totalPrice;
 
     /**
      * Constructs a new AppointmentCreatedEvent.
@@ -27,45 +31,76 @@ public class AppointmentCreatedEvent extends AbstractDomainEvent {
      * @param appointment the appointment that was created
      */
     public AppointmentCreatedEvent(Appointment appointment) {
-        super();
+        super(EVENT_TYPE);
         this.appointmentId = appointment.getId();
+        this.companyId = appointment.getCompanyId();
         this.customerId = appointment.getCustomer() != null ? appointment.getCustomer().getId() : null;
         this.employeeId = appointment.getEmployee() != null ? appointment.getEmployee().getId() : null;
         this.serviceId = appointment.getService() != null ? appointment.getService().getId() : null;
         this.startTime = appointment.getStartTime();
         this.endTime = appointment.getEndTime();
         this.status = appointment.getStatus();
+        this.totalPrice = appointment.getTotalPrice();
     }
 
     /**
-     * Constructs a new AppointmentCreatedEvent with specified ID and timestamp.
+     * Constructs a new AppointmentCreatedEvent from its individual values.
+     *
+     * @param appointmentId the ID of the appointment that was created
+     * @param companyId    the ID of the company the appointment belongs to
+     * @param customerId   the ID of the customer for the appointment
+     * @param employeeId   the ID of the employee for the appointment (or null if not assigned)
+     * @param serviceId    the ID of the service for the appointment
+     * @param startTime    the start time of the appointment
+     * @param endTime      the end time of the appointment
+     * @param status       the status of the appointment
+     * @param totalPrice   the total price of the appointment
+     */
+    public AppointmentCreatedEvent(UUID appointmentId, UUID companyId, UUID customerId, UUID employeeId,
+                                  UUID serviceId, LocalDateTime startTime, LocalDateTime endTime, AppointmentStatus status,
+                                  BigDecimal totalPrice) {
+        this(UUID.randomUUID(), LocalDateTime.now(), appointmentId, companyId, customerId, employeeId, serviceId,
+                startTime, endTime, status, totalPrice);
+    }
+    
+    /**
+     * Recreates an AppointmentCreatedEvent recorded earlier.
      *
-     * @param eventId      the event ID
-     * @param occurredAt   the timestamp when the event occurred
+     * @param eventId      the original event ID
+     * @param timestamp    the original event timestamp
      * @param appointmentId the ID of the appointment that was created
+     * @param companyId    the ID of the company the appointment belongs to
      * @param customerId   the ID of the customer for the appointment
      * @param employeeId   the ID of the employee for the appointment (or null if not assigned)
      * @param serviceId    the ID of the service for the appointment
      * @param startTime    the start time of the appointment
      * @param endTime      the end time of the appointment
      * @param status       the status of the appointment
+     * @param totalPrice   the total price of the appointment
      */
-    public AppointmentCreatedEvent(UUID eventId, Instant occurredAt, UUID appointmentId, UUID customerId, UUID employeeId, 
-                                  UUID serviceId, LocalDateTime startTime, LocalDateTime endTime, AppointmentStatus status) {
-        super(eventId, occurredAt);
+    public AppointmentCreatedEvent(UUID eventId, LocalDateTime timestamp, UUID appointmentId, UUID companyId,
+                                  UUID customerId, UUID employeeId, UUID serviceId, LocalDateTime startTime,
+                                  LocalDateTime endTime, AppointmentStatus status, BigDecimal totalPrice) {
+        super(EVENT_TYPE, eventId, timestamp);
         this.appointmentId = appointmentId;
+        this.companyId = companyId;
         this.customerId = customerId;
         this.employeeId = employeeId;
         this.serviceId = serviceId;
         this.startTime = startTime;
         this.endTime = endTime;
         this.status = status;
+        this.totalPrice = totalPrice;
     }
 
     public UUID getAppointmentId() {
         return appointmentId;
     }
 
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
     public UUID getCustomerId() {
         return customerId;
     }
@@ -89,4 +124,8 @@ public class AppointmentCreatedEvent extends AbstractDomainEvent {
     public AppointmentStatus getStatus() {
         return status;
     }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.beautycenter.management.domain.event.appointment;
+
+import com.beautycenter.management.domain.event.AbstractDomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event that is published when an appointment is deleted.
+ */
+public class AppointmentDeletedEvent extends AbstractDomainEvent {
+    
+    private static final String EVENT_TYPE = "appointment.deleted";
+    
+    private final UUID appointmentId;
+    
+    /**
+     * Constructs a new AppointmentDeletedEvent.
+     *
+     * @param appointmentId the ID of the appointment that was deleted
+     */
+    public AppointmentDeletedEvent(UUID appointmentId) {
+        super(EVENT_TYPE);
+        this.appointmentId = appointmentId;
+    }
+    
+    /**
+     * Recreates an AppointmentDeletedEvent recorded earlier.
+     *
+     * @param eventId       the original event ID
+     * @param timestamp     the original event timestamp
+     * @param appointmentId the ID of the appointment that was deleted
+     */
+    public AppointmentDeletedEvent(UUID eventId, LocalDateTime timestamp, UUID appointmentId) {
+        super(EVENT_TYPE, eventId, timestamp);
+        this.appointmentId = appointmentId;
+    }
+    
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+}
\ No newline at end of file
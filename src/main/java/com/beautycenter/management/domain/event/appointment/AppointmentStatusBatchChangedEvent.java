@@ -0,0 +1,85 @@
+package com.beautycenter.management.domain.event.appointment;
+
+import com.beautycenter.management.domain.event.AbstractDomainEvent;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Domain event that is published once for a set-based status transition,
+ * carrying every appointment that was affected.
+ */
+public class AppointmentStatusBatchChangedEvent extends AbstractDomainEvent {
+    
+    private static final String EVENT_TYPE = "appointment.status-changed.batch";
+    
+    private final UUID companyId;
+    private final AppointmentStatus oldStatus;
+    private final AppointmentStatus newStatus;
+    private final List<AppointmentStatusChange> changes;
+    
+    /**
+     * Constructs a new AppointmentStatusBatchChangedEvent.
+     *
+     * @param companyId the ID of the company the appointments belong to
+     * @param oldStatus the status the appointments moved from
+     * @param newStatus the status the appointments moved to
+     * @param changes   the individual transitions
+     */
+    public AppointmentStatusBatchChangedEvent(UUID companyId, AppointmentStatus oldStatus,
+                                              AppointmentStatus newStatus, List<AppointmentStatusChange> changes) {
+        super(EVENT_TYPE);
+        this.companyId = companyId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.changes = List.copyOf(changes);
+    }
+    
+    /**
+     * Recreates an AppointmentStatusBatchChangedEvent recorded earlier.
+     *
+     * @param eventId   the original event ID
+     * @param timestamp the original event timestamp
+     * @param companyId the ID of the company the appointments belong to
+     * @param oldStatus the status the appointments moved from
+     * @param newStatus the status the appointments moved to
+     * @param changes   the individual transitions
+     */
+    public AppointmentStatusBatchChangedEvent(UUID eventId, LocalDateTime timestamp, UUID companyId,
+                                              AppointmentStatus oldStatus, AppointmentStatus newStatus,
+                                              List<AppointmentStatusChange> changes) {
+        super(EVENT_TYPE, eventId, timestamp);
+        this.companyId = companyId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.changes = List.copyOf(changes);
+    }
+    
+    public UUID getCompanyId() {
+        return companyId;
+    }
+    
+    public AppointmentStatus getOldStatus() {
+        return oldStatus;
+    }
+    
+    public AppointmentStatus getNewStatus() {
+        return newStatus;
+    }
+    
+    public List<AppointmentStatusChange> getChanges() {
+        return changes;
+    }
+    
+    /**
+     * Get the number of appointments affected.
+     *
+     * @return the number of changes
+     */
+    public int size() {
+        return changes.size();
+    }
+}
\ No newline at end of file
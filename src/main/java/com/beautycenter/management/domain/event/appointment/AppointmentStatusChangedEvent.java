@@ -0,0 +1,112 @@
+package com.beautycenter.management.domain.event.appointment;
+
+import com.beautycenter.management.domain.event.AbstractDomainEvent;
+import com.beautycenter.management.domain.model.Appointment;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event that is published when an appointment moves to a new status.
+ */
+public class AppointmentStatusChangedEvent extends AbstractDomainEvent {
+    
+    private static final String EVENT_TYPE = "appointment.status-changed";
+    
+    private final UUID appointmentId;
+    private final UUID companyId;
+    private final UUID employeeId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final AppointmentStatus oldStatus;
+    private final AppointmentStatus newStatus;
+    
+    /**
+     * Constructs a new AppointmentStatusChangedEvent.
+     *
+     * @param appointment the appointment after the transition
+     * @param oldStatus   the status before the transition
+     */
+    public AppointmentStatusChangedEvent(Appointment appointment, AppointmentStatus oldStatus) {
+        this(appointment.getId(),
+                appointment.getCompanyId(),
+                appointment.getEmployee() != null ? appointment.getEmployee().getId() : null,
+                appointment.getStartTime(),
+                appointment.getEndTime(),
+                oldStatus,
+                appointment.getStatus());
+    }
+    
+    /**
+     * Constructs a new AppointmentStatusChangedEvent from its individual values.
+     *
+     * @param appointmentId the ID of the appointment
+     * @param companyId     the ID of the company the appointment belongs to
+     * @param employeeId    the ID of the assigned employee (or null if not assigned)
+     * @param startTime     the start time of the appointment
+     * @param endTime       the end time of the appointment
+     * @param oldStatus     the status before the transition
+     * @param newStatus     the status after the transition
+     */
+    public AppointmentStatusChangedEvent(UUID appointmentId, UUID companyId, UUID employeeId,
+                                         LocalDateTime startTime, LocalDateTime endTime,
+                                         AppointmentStatus oldStatus, AppointmentStatus newStatus) {
+        this(UUID.randomUUID(), LocalDateTime.now(), appointmentId, companyId, employeeId, startTime, endTime,
+                oldStatus, newStatus);
+    }
+    
+    /**
+     * Recreates an AppointmentStatusChangedEvent recorded earlier.
+     *
+     * @param eventId       the original event ID
+     * @param timestamp     the original event timestamp
+     * @param appointmentId the ID of the appointment
+     * @param companyId     the ID of the company the appointment belongs to
+     * @param employeeId    the ID of the assigned employee (or null if not assigned)
+     * @param startTime     the start time of the appointment
+     * @param endTime       the end time of the appointment
+     * @param oldStatus     the status before the transition
+     * @param newStatus     the status after the transition
+     */
+    public AppointmentStatusChangedEvent(UUID eventId, LocalDateTime timestamp, UUID appointmentId, UUID companyId,
+                                         UUID employeeId, LocalDateTime startTime, LocalDateTime endTime,
+                                         AppointmentStatus oldStatus, AppointmentStatus newStatus) {
+        super(EVENT_TYPE, eventId, timestamp);
+        this.appointmentId = appointmentId;
+        this.companyId = companyId;
+        this.employeeId = employeeId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+    
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public UUID getCompanyId() {
+        return companyId;
+    }
+    
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+    
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+    
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+    
+    public AppointmentStatus getOldStatus() {
+        return oldStatus;
+    }
+    
+    public AppointmentStatus getNewStatus() {
+        return newStatus;
+    }
+}
\ No newline at end of file
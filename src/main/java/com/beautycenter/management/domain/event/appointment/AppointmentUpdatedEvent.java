@@ -0,0 +1,104 @@
+package com.beautycenter.management.domain.event.appointment;
+
+import com.beautycenter.management.domain.event.AbstractDomainEvent;
+import com.beautycenter.management.domain.model.Appointment;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event that is published when an appointment is updated as a whole,
+ * for example when it is rescheduled or reassigned to another employee.
+ */
+public class AppointmentUpdatedEvent extends AbstractDomainEvent {
+    
+    private static final String EVENT_TYPE = "appointment.updated";
+    
+    private final UUID appointmentId;
+    private final UUID companyId;
+    private final UUID employeeId;
+    private final UUID serviceId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final AppointmentStatus status;
+    private final BigDecimal totalPrice;
+    
+    /**
+     * Constructs a new AppointmentUpdatedEvent.
+     *
+     * @param appointment the appointment after the update
+     */
+    public AppointmentUpdatedEvent(Appointment appointment) {
+        super(EVENT_TYPE);
+        this.appointmentId = appointment.getId();
+        this.companyId = appointment.getCompanyId();
+        this.employeeId = appointment.getEmployee() != null ? appointment.getEmployee().getId() : null;
+        this.serviceId = appointment.getService() != null ? appointment.getService().getId() : null;
+        this.startTime = appointment.getStartTime();
+        this.endTime = appointment.getEndTime();
+        this.status = appointment.getStatus();
+        this.totalPrice = appointment.getTotalPrice();
+    }
+    
+    /**
+     * Recreates an AppointmentUpdatedEvent recorded earlier.
+     *
+     * @param eventId       the original event ID
+     * @param timestamp     the original event timestamp
+     * @param appointmentId the ID of the appointment
+     * @param companyId     the ID of the company the appointment belongs to
+     * @param employeeId    the ID of the assigned employee (or null if not assigned)
+     * @param serviceId     the ID of the service for the appointment
+     * @param startTime     the start time of the appointment
+     * @param endTime       the end time of the appointment
+     * @param status        the status of the appointment
+     * @param totalPrice    the total price of the appointment
+     */
+    public AppointmentUpdatedEvent(UUID eventId, LocalDateTime timestamp, UUID appointmentId, UUID companyId,
+                                   UUID employeeId, UUID serviceId, LocalDateTime startTime, LocalDateTime endTime,
+                                   AppointmentStatus status, BigDecimal totalPrice) {
+        super(EVENT_TYPE, eventId, timestamp);
+        this.appointmentId = appointmentId;
+        this.companyId = companyId;
+        this.employeeId = employeeId;
+        this.serviceId = serviceId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.totalPrice = totalPrice;
+    }
+    
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public UUID getCompanyId() {
+        return companyId;
+    }
+    
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+    
+    public UUID getServiceId() {
+        return serviceId;
+    }
+    
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+    
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+    
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+    
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+}
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.beautycenter.management.domain.event.user;
 
 import com.beautycenter.management.domain.model.User;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 /**
  * Event that is fired when a user is deleted.
  */
@@ -17,4 +20,15 @@ public class UserDeletedEvent extends UserEvent {
     public UserDeletedEvent(User user) {
         super(EVENT_TYPE, user);
     }
+    
+    /**
+     * Recreate a UserDeletedEvent recorded earlier.
+     *
+     * @param eventId the original event ID
+     * @param timestamp the original event timestamp
+     * @param user the user that was deleted
+     */
+    public UserDeletedEvent(UUID eventId, LocalDateTime timestamp, User user) {
+        super(EVENT_TYPE, eventId, timestamp, user);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package com.beautycenter.management.domain.event.user;
 import com.beautycenter.management.domain.event.AbstractDomainEvent;
 import com.beautycenter.management.domain.model.User;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 /**
  * Abstract base class for all user-related events.
  */
@@ -15,6 +18,11 @@ public abstract class UserEvent extends AbstractDomainEvent {
         this.user = user;
     }
     
+    protected UserEvent(String eventType, UUID eventId, LocalDateTime timestamp, User user) {
+        super(eventType, eventId, timestamp);
+        this.user = user;
+    }
+    
     /**
      * Get the user associated with this event.
      *
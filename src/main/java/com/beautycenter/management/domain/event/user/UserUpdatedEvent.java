@@ -2,6 +2,9 @@ package com.beautycenter.management.domain.event.user;
 
 import com.beautycenter.management.domain.model.User;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 /**
  * Event that is fired when a user is updated.
  */
@@ -17,4 +20,15 @@ public class UserUpdatedEvent extends UserEvent {
     public UserUpdatedEvent(User user) {
         super(EVENT_TYPE, user);
     }
+    
+    /**
+     * Recreate a UserUpdatedEvent recorded earlier.
+     *
+     * @param eventId the original event ID
+     * @param timestamp the original event timestamp
+     * @param user the user that was updated
+     */
+    public UserUpdatedEvent(UUID eventId, LocalDateTime timestamp, User user) {
+        super(EVENT_TYPE, eventId, timestamp, user);
+    }
 }
\ No newline at end of file
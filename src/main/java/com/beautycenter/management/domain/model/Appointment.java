@@ -22,6 +22,12 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Appointment {
     
+    /**
+     * Longest an appointment may run. The overlap check only looks back this far from the
+     * requested start, which keeps it within the partitions of the requested month.
+     */
+    public static final Duration MAX_DURATION = Duration.ofHours(24);
+    
     private UUID id;
     private Customer customer;
     private Employee employee;
@@ -41,6 +47,11 @@ public class Appointment {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
+    /**
+     * Optimistic locking version; incremented on every persisted change.
+     */
+    private Long version;
+    
     /**
      * Checks if the appointment is scheduled in the future.
      *
@@ -75,70 +86,97 @@ public class Appointment {
     }
     
     /**
-     * Confirms the appointment.
+     * Checks if the appointment may move to the given status.
+     *
+     * @param target the status to move to
+     * @return true if the transition is allowed, false otherwise
      */
-    public void confirm() {
-        if (status == AppointmentStatus.REQUESTED) {
-            status = AppointmentStatus.CONFIRMED;
+    public boolean canTransitionTo(AppointmentStatus target) {
+        return status != null && status.canTransitionTo(target);
+    }
+    
+    /**
+     * Moves the appointment to the given status if the transition is allowed.
+     *
+     * @param target the status to move to
+     * @return true if the status changed, false otherwise
+     */
+    public boolean transitionTo(AppointmentStatus target) {
+        if (!canTransitionTo(target)) {
+            return false;
         }
+        status = target;
+        return true;
+    }
+    
+    /**
+     * Confirms the appointment.
+     *
+     * @return true if the status changed, false otherwise
+     */
+    public boolean confirm() {
+        return transitionTo(AppointmentStatus.CONFIRMED);
     }
     
     /**
      * Cancels the appointment.
+     *
+     * @return true if the status changed, false otherwise
      */
-    public void cancel() {
-        if (status != AppointmentStatus.COMPLETED && status != AppointmentStatus.NO_SHOW) {
-            status = AppointmentStatus.CANCELLED;
-        }
+    public boolean cancel() {
+        return transitionTo(AppointmentStatus.CANCELLED);
     }
     
     /**
      * Marks the appointment as in progress.
+     *
+     * @return true if the status changed, false otherwise
      */
-    public void startAppointment() {
-        if (status == AppointmentStatus.CONFIRMED) {
-            status = AppointmentStatus.IN_PROGRESS;
-        }
+    public boolean startAppointment() {
+        return transitionTo(AppointmentStatus.IN_PROGRESS);
     }
     
     /**
      * Completes the appointment.
+     *
+     * @return true if the status changed, false otherwise
      */
-    public void completeAppointment() {
-        if (status == AppointmentStatus.IN_PROGRESS) {
-            status = AppointmentStatus.COMPLETED;
-        }
+    public boolean completeAppointment() {
+        return transitionTo(AppointmentStatus.COMPLETED);
     }
     
     /**
      * Marks the appointment as no-show.
+     *
+     * @return true if the status changed, false otherwise
      */
-    public void markNoShow() {
-        if (status == AppointmentStatus.CONFIRMED) {
-            status = AppointmentStatus.NO_SHOW;
-        }
+    public boolean markNoShow() {
+        return transitionTo(AppointmentStatus.NO_SHOW);
     }
     
     /**
      * Adds a service to the appointment.
      *
      * @param serviceId the service ID to add
+     * @return true if the service was added, false if it was already present
      */
-    public void addService(UUID serviceId) {
+    public boolean addService(UUID serviceId) {
         if (additionalServiceIds == null) {
             additionalServiceIds = new HashSet<>();
         }
-        additionalServiceIds.add(serviceId);
+        return additionalServiceIds.add(serviceId);
     }
     
     /**
      * Removes a service from the appointment.
      *
      * @param serviceId the service ID to remove
+     * @return true if the service was removed, false if it wasn't present
      */
-    public void removeService(UUID serviceId) {
+    public boolean removeService(UUID serviceId) {
         if (additionalServiceIds != null) {
-            additionalServiceIds.remove(serviceId);
+            return additionalServiceIds.remove(serviceId);
         }
+        return false;
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.beautycenter.management.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Value object describing a reminder for an upcoming appointment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentReminder {
+    
+    private UUID appointmentId;
+    private UUID companyId;
+    private UUID customerId;
+    private UUID employeeId;
+    private UUID serviceId;
+    private LocalDateTime startTime;
+    private LocalDateTime remindAt;
+}
\ No newline at end of file
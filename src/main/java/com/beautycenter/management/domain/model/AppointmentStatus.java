@@ -9,5 +9,37 @@ public enum AppointmentStatus {
     IN_PROGRESS,
     COMPLETED,
     CANCELLED,
-    NO_SHOW
+    NO_SHOW;
+    
+    /**
+     * Checks if an appointment in this status may move to the target status.
+     *
+     * @param target the status to move to
+     * @return true if the transition is allowed, false otherwise
+     */
+    public boolean canTransitionTo(AppointmentStatus target) {
+        if (target == null) {
+            return false;
+        }
+        
+        switch (this) {
+            case REQUESTED:
+                return target == CONFIRMED || target == CANCELLED;
+            case CONFIRMED:
+                return target == IN_PROGRESS || target == CANCELLED || target == NO_SHOW;
+            case IN_PROGRESS:
+                return target == COMPLETED || target == CANCELLED;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Checks if this status is final.
+     *
+     * @return true if no further transitions are possible, false otherwise
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == CANCELLED || this == NO_SHOW;
+    }
 }
\ No newline at end of file
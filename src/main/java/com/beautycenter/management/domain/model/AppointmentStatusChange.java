@@ -0,0 +1,28 @@
+package com.beautycenter.management.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Value object describing a status transition that was applied to a single appointment.
+ * Returned by set-based updates that do not load the full appointment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentStatusChange {
+    
+    private UUID appointmentId;
+    private UUID companyId;
+    private UUID employeeId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private AppointmentStatus oldStatus;
+    private AppointmentStatus newStatus;
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.beautycenter.management.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Appointment totals of one group of a report: a day, an employee or a service.
+ * Only the field the totals are grouped by is set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentTotals {
+    
+    private LocalDate day;
+    private UUID employeeId;
+    private UUID serviceId;
+    private long appointments;
+    private long completed;
+    private long cancelled;
+    private long noShows;
+    
+    /**
+     * Revenue of completed appointments.
+     */
+    private BigDecimal revenue;
+    
+    /**
+     * Minutes booked by appointments that were not cancelled or missed.
+     */
+    private long bookedMinutes;
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.beautycenter.management.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of an archival run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveReport {
+    
+    private long archived;
+    private int droppedPartitions;
+    private long durationMillis;
+    
+    /**
+     * Archive files written, one per month with archived rows.
+     */
+    @Builder.Default
+    private List<String> files = new ArrayList<>();
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.beautycenter.management.domain.model;
+
+/**
+ * Position of a durable event consumer in the event journal.
+ *
+ * @param consumer the consumer name
+ * @param position the position of the next event the consumer will receive
+ * @param journalEnd the position after the last event in the journal
+ */
+public record EventConsumerPosition(String consumer, long position, long journalEnd) {
+    
+    /**
+     * Bytes of journal the consumer still has to process.
+     *
+     * @return the lag in bytes
+     */
+    public long lagBytes() {
+        return Math.max(0, journalEnd - position);
+    }
+}
\ No newline at end of file
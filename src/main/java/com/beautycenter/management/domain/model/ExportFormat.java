@@ -0,0 +1,32 @@
+package com.beautycenter.management.domain.model;
+
+/**
+ * Formats supported for bulk data export and import.
+ */
+public enum ExportFormat {
+    /**
+     * One JSON object per line
+     */
+    NDJSON,
+    
+    /**
+     * Comma-separated values with a header row
+     */
+    CSV;
+    
+    /**
+     * Parse a format name case-insensitively.
+     *
+     * @param value the format name
+     * @return the format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromString(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + value);
+    }
+}
\ No newline at end of file
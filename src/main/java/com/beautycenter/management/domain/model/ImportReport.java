@@ -0,0 +1,34 @@
+package com.beautycenter.management.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    
+    private String entity;
+    private long processed;
+    private long inserted;
+    private long duplicates;
+    private long failed;
+    private long durationMillis;
+    
+    /**
+     * Rejected rows. Only the first errors are kept; see {@link #errorsTruncated}.
+     */
+    @Builder.Default
+    private List<ImportRowError> errors = new ArrayList<>();
+    
+    private boolean errorsTruncated;
+}
\ No newline at end of file
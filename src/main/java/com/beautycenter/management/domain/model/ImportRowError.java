@@ -0,0 +1,22 @@
+package com.beautycenter.management.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of a bulk import that was rejected, with the reason.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    
+    /**
+     * Row number in the input, starting at 1 for the first data row.
+     */
+    private long row;
+    private String message;
+}
\ No newline at end of file
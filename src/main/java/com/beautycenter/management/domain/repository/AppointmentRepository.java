@@ -1,13 +1,16 @@
 package com.beautycenter.management.domain.repository;
 
 import com.beautycenter.management.domain.model.Appointment;
+import com.beautycenter.management.domain.model.AppointmentReminder;
 import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
 import com.beautycenter.management.domain.model.Customer;
 import com.beautycenter.management.domain.model.Employee;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -40,7 +43,7 @@ public interface AppointmentRepository {
     List<Appointment> findAll();
     
     /**
-     * Find appointments by customer.
+     * Find appointments by customer, over the whole history; this visits every partition.
      *
      * @param customer the customer
      * @return list of appointments for the customer
@@ -48,7 +51,7 @@ public interface AppointmentRepository {
     List<Appointment> findByCustomer(Customer customer);
     
     /**
-     * Find appointments by employee.
+     * Find appointments by employee, over the whole history; this visits every partition.
      *
      * @param employee the employee
      * @return list of appointments for the employee
@@ -64,7 +67,7 @@ public interface AppointmentRepository {
     List<Appointment> findByCompanyId(UUID companyId);
     
     /**
-     * Find appointments by status.
+     * Find appointments by status, over the whole history; this visits every partition.
      *
      * @param status the appointment status
      * @return list of appointments with the specified status
@@ -120,6 +123,71 @@ public interface AppointmentRepository {
      */
     List<Appointment> findOverlappingAppointments(UUID companyId, UUID employeeId, LocalDateTime start, LocalDateTime end);
     
+    /**
+     * Change the status of an appointment if it still has the expected version.
+     * Only the status, version and update timestamp are written.
+     *
+     * @param id the appointment ID
+     * @param startTime the start time the caller read, which selects the partition
+     * @param expectedVersion the version the caller read
+     * @param status the new status
+     * @return true if the appointment was updated, false if it was modified concurrently or does not exist
+     */
+    boolean updateStatus(UUID id, LocalDateTime startTime, Long expectedVersion, AppointmentStatus status);
+    
+    /**
+     * Add an additional service to an appointment if it still has the expected version.
+     *
+     * @param id the appointment ID
+     * @param startTime the start time the caller read, which selects the partition
+     * @param expectedVersion the version the caller read
+     * @param serviceId the service ID to add
+     * @return true if the appointment was updated, false if it was modified concurrently or does not exist
+     */
+    boolean addAdditionalService(UUID id, LocalDateTime startTime, Long expectedVersion, UUID serviceId);
+    
+    /**
+     * Remove an additional service from an appointment if it still has the expected version.
+     *
+     * @param id the appointment ID
+     * @param startTime the start time the caller read, which selects the partition
+     * @param expectedVersion the version the caller read
+     * @param serviceId the service ID to remove
+     * @return true if the appointment was updated, false if it was modified concurrently or does not exist
+     */
+    boolean removeAdditionalService(UUID id, LocalDateTime startTime, Long expectedVersion, UUID serviceId);
+    
+    /**
+     * Move every appointment of a company that is in one status and starts within a time window
+     * to another status, as a single set-based update.
+     *
+     * @param companyId the company ID
+     * @param fromStatus the status the appointments must currently have
+     * @param toStatus the status to move them to
+     * @param windowStart the start of the window (inclusive)
+     * @param windowEnd the end of the window (exclusive)
+     * @return the transitions that were applied
+     */
+    List<AppointmentStatusChange> transitionStatus(UUID companyId, AppointmentStatus fromStatus, AppointmentStatus toStatus,
+                                                   LocalDateTime windowStart, LocalDateTime windowEnd);
+    
+    /**
+     * Mark the reminders as sent, skipping appointments whose reminder was already sent for
+     * their current start time, that were rescheduled or that are no longer remindable.
+     * Only the caller that claimed a reminder may deliver it.
+     *
+     * @param reminders the reminders that became due
+     * @return the IDs of the appointments whose reminder was claimed
+     */
+    Set<UUID> claimReminders(List<AppointmentReminder> reminders);
+    
+    /**
+     * Undo the claim of reminders that could not be delivered, so they can be claimed again.
+     *
+     * @param reminders the reminders claimed by the caller
+     */
+    void releaseReminders(List<AppointmentReminder> reminders);
+    
     /**
      * Delete an appointment by ID.
      *
@@ -0,0 +1,54 @@
+package com.beautycenter.management.domain.repository;
+
+import com.beautycenter.management.domain.model.AppointmentTotals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Repository interface for the daily appointment totals per company, employee and service.
+ * This is part of the Hexagonal Architecture's port.
+ */
+public interface AppointmentRollupRepository {
+    
+    /**
+     * Totals of a company per day in [from, to], ordered by day.
+     *
+     * @param companyId the company ID
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return one entry per day with at least one appointment
+     */
+    List<AppointmentTotals> totalsByDay(UUID companyId, LocalDate from, LocalDate to);
+    
+    /**
+     * Totals of a company per employee in [from, to].
+     *
+     * @param companyId the company ID
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return one entry per employee with at least one appointment
+     */
+    List<AppointmentTotals> totalsByEmployee(UUID companyId, LocalDate from, LocalDate to);
+    
+    /**
+     * Totals of a company per service in [from, to].
+     *
+     * @param companyId the company ID
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return one entry per service with at least one appointment
+     */
+    List<AppointmentTotals> totalsByService(UUID companyId, LocalDate from, LocalDate to);
+    
+    /**
+     * Recompute the totals of the days in [from, to) from the appointments and drop the days before from.
+     *
+     * @param from the first day to keep, inclusive
+     * @param to the end of the recomputed range, exclusive
+     * @return the number of rows written, or empty if another rebuild is running
+     */
+    OptionalInt rebuild(LocalDate from, LocalDate to);
+}
\ No newline at end of file
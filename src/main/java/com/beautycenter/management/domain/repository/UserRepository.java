@@ -6,6 +6,7 @@ import com.beautycenter.management.domain.model.User;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Repository interface for User domain entity.
@@ -106,4 +107,12 @@ public interface UserRepository {
      * @return true if exists, false otherwise
      */
     boolean existsById(Long id);
+    
+    /**
+     * Visit the username and email of every user without loading the users.
+     * Reads the primary, so every committed user is visited.
+     *
+     * @param consumer receives the username and the email, which may be null
+     */
+    void forEachIdentity(BiConsumer<String, String> consumer);
 }
\ No newline at end of file
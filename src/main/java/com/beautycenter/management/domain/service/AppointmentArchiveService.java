@@ -0,0 +1,25 @@
+package com.beautycenter.management.domain.service;
+
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.ArchiveReport;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Service interface for moving old appointments out of the live table.
+ */
+public interface AppointmentArchiveService {
+    
+    /**
+     * Archive the appointments in the given statuses that start before the cutoff.
+     * Archived appointments are removed from the live table.
+     *
+     * @param cutoff the first day that is kept; archival works in whole months, so it is rounded down to the month
+     * @param statuses the statuses to archive
+     * @return the archival report
+     * @throws IOException if an archive file cannot be written
+     */
+    ArchiveReport archiveBefore(LocalDate cutoff, Set<AppointmentStatus> statuses) throws IOException;
+}
\ No newline at end of file
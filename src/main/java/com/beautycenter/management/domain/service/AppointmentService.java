@@ -2,6 +2,7 @@ package com.beautycenter.management.domain.service;
 
 import com.beautycenter.management.domain.model.Appointment;
 import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
 import com.beautycenter.management.domain.model.Company;
 import com.beautycenter.management.domain.model.Customer;
 import com.beautycenter.management.domain.model.Employee;
@@ -70,7 +71,7 @@ public interface AppointmentService {
     List<Appointment> findAppointmentsByDate(LocalDate date);
     
     /**
-     * Update an appointment
+     * Update an appointment. The appointment must carry the version it was read at.
      */
     Appointment updateAppointment(Appointment appointment);
     
@@ -99,6 +100,22 @@ public interface AppointmentService {
      */
     Appointment removeService(UUID appointmentId, Service service);
     
+    /**
+     * Move all appointments of a company in one status, starting within a window, to another status
+     */
+    List<AppointmentStatusChange> transitionStatus(UUID companyId, AppointmentStatus fromStatus, AppointmentStatus toStatus,
+                                                   LocalDateTime windowStart, LocalDateTime windowEnd);
+    
+    /**
+     * Mark confirmed appointments of a company that never started on the given date as no-show
+     */
+    List<AppointmentStatusChange> markNoShows(UUID companyId, LocalDate date);
+    
+    /**
+     * Confirm requested appointments of a company starting within a window
+     */
+    List<AppointmentStatusChange> confirmRequested(UUID companyId, LocalDateTime windowStart, LocalDateTime windowEnd);
+    
     /**
      * Check if a time slot is available for a new appointment
      */
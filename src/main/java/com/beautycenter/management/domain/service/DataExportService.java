@@ -0,0 +1,41 @@
+package com.beautycenter.management.domain.service;
+
+import com.beautycenter.management.domain.model.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Service interface for exporting large data sets.
+ * Rows are written to the output as they are read, so memory use does not
+ * depend on the size of the result.
+ */
+public interface DataExportService {
+    
+    /**
+     * Export appointments ordered by start time.
+     *
+     * @param format the output format
+     * @param companyId the company to export, or null for all companies
+     * @param from the earliest start time (inclusive), or null for no lower bound
+     * @param to the latest start time (exclusive), or null for no upper bound
+     * @param output the stream to write to; it is flushed but not closed
+     * @return the number of rows written
+     * @throws IOException if writing fails
+     */
+    long exportAppointments(ExportFormat format, UUID companyId, LocalDateTime from, LocalDateTime to,
+                            OutputStream output) throws IOException;
+    
+    /**
+     * Export users ordered by ID. Passwords are never exported.
+     *
+     * @param format the output format
+     * @param companyId the company to export, or null for all companies
+     * @param output the stream to write to; it is flushed but not closed
+     * @return the number of rows written
+     * @throws IOException if writing fails
+     */
+    long exportUsers(ExportFormat format, Long companyId, OutputStream output) throws IOException;
+}
\ No newline at end of file
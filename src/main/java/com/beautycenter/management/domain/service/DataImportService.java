@@ -0,0 +1,48 @@
+package com.beautycenter.management.domain.service;
+
+import com.beautycenter.management.domain.model.ExportFormat;
+import com.beautycenter.management.domain.model.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Service interface for bulk loading data.
+ * Input is parsed and inserted incrementally, so memory use does not grow with the
+ * number of rows. Invalid and duplicate rows are skipped and reported.
+ */
+public interface DataImportService {
+    
+    /**
+     * Import customers. Rows are de-duplicated on email.
+     *
+     * @param format the input format
+     * @param input the input stream; it is read to the end but not closed
+     * @return the import report
+     * @throws IOException if reading fails
+     */
+    ImportReport importCustomers(ExportFormat format, InputStream input) throws IOException;
+    
+    /**
+     * Import employees. Rows are de-duplicated on email.
+     *
+     * @param format the input format
+     * @param input the input stream; it is read to the end but not closed
+     * @param companyId the company used for rows without a companyId column, may be null
+     * @return the import report
+     * @throws IOException if reading fails
+     */
+    ImportReport importEmployees(ExportFormat format, InputStream input, UUID companyId) throws IOException;
+    
+    /**
+     * Import services. Rows are de-duplicated on company and name.
+     *
+     * @param format the input format
+     * @param input the input stream; it is read to the end but not closed
+     * @param companyId the company used for rows without a companyId column, may be null
+     * @return the import report
+     * @throws IOException if reading fails
+     */
+    ImportReport importServices(ExportFormat format, InputStream input, UUID companyId) throws IOException;
+}
\ No newline at end of file
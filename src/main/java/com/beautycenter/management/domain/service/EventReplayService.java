@@ -0,0 +1,39 @@
+package com.beautycenter.management.domain.service;
+
+import com.beautycenter.management.domain.model.EventConsumerPosition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for inspecting and rewinding durable event consumers.
+ */
+public interface EventReplayService {
+    
+    /**
+     * Get the position of every durable consumer.
+     *
+     * @return the positions
+     */
+    List<EventConsumerPosition> getPositions();
+    
+    /**
+     * Move a consumer to a journal position; it receives every event from there on again.
+     *
+     * @param consumer the consumer name
+     * @param position the journal position
+     * @return the new position, clamped to the retained part of the journal
+     * @throws IllegalArgumentException if the consumer does not exist
+     */
+    EventConsumerPosition replayFrom(String consumer, long position);
+    
+    /**
+     * Move a consumer to the first event at or after a timestamp.
+     *
+     * @param consumer the consumer name
+     * @param timestamp the timestamp
+     * @return the new position
+     * @throws IllegalArgumentException if the consumer does not exist
+     */
+    EventConsumerPosition replayFrom(String consumer, LocalDateTime timestamp);
+}
\ No newline at end of file
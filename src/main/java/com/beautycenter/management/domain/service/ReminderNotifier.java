@@ -0,0 +1,20 @@
+package com.beautycenter.management.domain.service;
+
+import com.beautycenter.management.domain.model.AppointmentReminder;
+
+import java.util.List;
+
+/**
+ * Service interface for delivering appointment reminders.
+ * Implementations decide the channel (email, SMS, file, ...).
+ */
+public interface ReminderNotifier {
+    
+    /**
+     * Deliver a batch of reminders that became due.
+     *
+     * @param reminders the reminders to deliver
+     * @throws RuntimeException if the batch could not be delivered, so it can be retried
+     */
+    void sendReminders(List<AppointmentReminder> reminders);
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.beautycenter.management.domain.service.exception;
+
+/**
+ * Exception thrown when an appointment would overlap another booking for the same employee.
+ */
+public class AppointmentConflictException extends RuntimeException {
+    
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+    
+    public AppointmentConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.beautycenter.management.domain.service.exception;
+
+/**
+ * Exception thrown when a resource was modified by someone else since it was read.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+    
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+    
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.beautycenter.management.domain.service.exception;
+
+/**
+ * Exception thrown when an appointment does not end after it starts or runs longer than
+ * {@link com.beautycenter.management.domain.model.Appointment#MAX_DURATION}.
+ */
+public class InvalidAppointmentTimeException extends RuntimeException {
+    
+    public InvalidAppointmentTimeException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.beautycenter.management.domain.service.exception;
+
+/**
+ * Exception thrown when an update does not say which version of the resource it was based on.
+ */
+public class VersionRequiredException extends RuntimeException {
+    
+    public VersionRequiredException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
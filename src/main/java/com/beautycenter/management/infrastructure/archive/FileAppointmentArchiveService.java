@@ -0,0 +1,248 @@
+package com.beautycenter.management.infrastructure.archive;
+
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.ArchiveReport;
+import com.beautycenter.management.domain.model.ExportFormat;
+import com.beautycenter.management.domain.service.AppointmentArchiveService;
+import com.beautycenter.management.infrastructure.export.RowWriter;
+import com.beautycenter.management.infrastructure.persistence.lock.ClusterLock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of the AppointmentArchiveService that moves appointments into gzip-compressed NDJSON files.
+ * <p>
+ * Archival runs month by month. Each month is deleted from the database and written to its
+ * file in one transaction: the rows returned by the delete are streamed into a temporary file,
+ * which is synced to disk before the transaction commits and renamed once it has. A failure
+ * while writing rolls the delete back. Monthly partitions that are empty afterwards are dropped.
+ * </p>
+ * <p>
+ * Only one node archives at a time; the others skip the run while the cluster lock is held.
+ * Every node must therefore see the same {@code app.archive.directory}, a shared volume,
+ * so the files stay in one place whichever node wrote them.
+ * </p>
+ */
+@Service
+public class FileAppointmentArchiveService implements AppointmentArchiveService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FileAppointmentArchiveService.class);
+    
+    private static final String[] COLUMNS = {
+            "id", "companyId", "customerId", "employeeId", "serviceId", "additionalServiceIds",
+            "startTime", "endTime", "status", "totalPrice", "notes", "version", "createdAt", "updatedAt"
+    };
+    
+    private static final String OLDEST_SQL =
+            "SELECT min(start_time) FROM appointments WHERE start_time < :cutoff AND status IN (:statuses)";
+    
+    private static final String ARCHIVE_SQL =
+            "WITH archived AS (" +
+            "  DELETE FROM appointments WHERE start_time >= :from AND start_time < :to AND status IN (:statuses) " +
+            "  RETURNING id, company_id, customer_id, employee_id, service_id, start_time, end_time, status, " +
+            "  total_price, notes, version, created_at, updated_at), " +
+            "extras AS (" +
+            "  DELETE FROM appointment_additional_services s USING archived a WHERE s.appointment_id = a.id " +
+            "  RETURNING s.appointment_id, s.service_id), " +
+            "extras_by_appointment AS (" +
+            "  SELECT appointment_id, array_agg(service_id) AS service_ids FROM extras GROUP BY appointment_id) " +
+            "SELECT a.*, e.service_ids AS additional_service_ids FROM archived a " +
+            "LEFT JOIN extras_by_appointment e ON e.appointment_id = a.id ORDER BY a.start_time, a.id";
+    
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'appointments'::regclass";
+    
+    private static final Pattern PARTITION_NAME = Pattern.compile("appointments_p(\\d{4})_(\\d{2})");
+    
+    private static final String LOCK_NAME = "appointments.archive";
+    
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterLock clusterLock;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final boolean dropEmptyPartitions;
+    
+    public FileAppointmentArchiveService(NamedParameterJdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         ClusterLock clusterLock,
+                                         ObjectMapper objectMapper,
+                                         @Value("${app.archive.directory:archive}") String directory,
+                                         @Value("${app.archive.drop-empty-partitions:true}") boolean dropEmptyPartitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterLock = clusterLock;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.dropEmptyPartitions = dropEmptyPartitions;
+    }
+    
+    @Override
+    public ArchiveReport archiveBefore(LocalDate cutoff, Set<AppointmentStatus> statuses) throws IOException {
+        return clusterLock.runIfAvailable(LOCK_NAME, () -> archive(cutoff, statuses)).orElseGet(() -> {
+            logger.info("Skipping archival before {}, another node is archiving", cutoff);
+            return new ArchiveReport();
+        });
+    }
+    
+    private ArchiveReport archive(LocalDate cutoff, Set<AppointmentStatus> statuses) throws IOException {
+        long started = System.currentTimeMillis();
+        YearMonth end = YearMonth.from(cutoff);
+        ArchiveReport report = new ArchiveReport();
+        if (statuses.isEmpty()) {
+            return report;
+        }
+        Files.createDirectories(directory);
+        
+        List<String> statusNames = statuses.stream().map(Enum::name).toList();
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_SQL, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(end.atDay(1).atStartOfDay()))
+                .addValue("statuses", statusNames), Timestamp.class);
+        
+        if (oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(end); month = month.plusMonths(1)) {
+                long archived = archiveMonth(month, statusNames, report);
+                report.setArchived(report.getArchived() + archived);
+            }
+        }
+        if (dropEmptyPartitions) {
+            report.setDroppedPartitions(dropEmptyPartitions(end));
+        }
+        report.setDurationMillis(System.currentTimeMillis() - started);
+        return report;
+    }
+    
+    private long archiveMonth(YearMonth month, List<String> statusNames, ArchiveReport report) throws IOException {
+        Path target = directory.resolve(String.format("appointments-%s.%s.ndjson.gz",
+                month, LocalDateTime.now().format(FILE_TIMESTAMP)));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(month.atDay(1).atStartOfDay()))
+                .addValue("to", Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()))
+                .addValue("statuses", statusNames);
+        
+        try {
+            Long rows = transactionTemplate.execute(status -> writeMonth(params, temp));
+            if (rows == null || rows == 0) {
+                return 0;
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            report.getFiles().add(target.toString());
+            logger.info("Archived {} appointments of {} to {}", rows, month, target);
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * Delete the appointments of one month and write them to a file. Runs inside the
+     * transaction of the delete, so an exception here leaves the rows in place.
+     */
+    private long writeMonth(MapSqlParameterSource params, Path file) {
+        long[] rows = {0};
+        try (OutputStream output = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), 65536)) {
+            RowWriter writer = RowWriter.create(ExportFormat.NDJSON, COLUMNS, output, objectMapper);
+            jdbcTemplate.query(ARCHIVE_SQL, params, rs -> {
+                Array additional = rs.getArray("additional_service_ids");
+                try {
+                    writer.write(
+                            rs.getObject("id", UUID.class),
+                            rs.getObject("company_id", UUID.class),
+                            rs.getObject("customer_id", UUID.class),
+                            rs.getObject("employee_id", UUID.class),
+                            rs.getObject("service_id", UUID.class),
+                            additional != null ? additional.getArray() : new Object[0],
+                            toLocalDateTime(rs.getTimestamp("start_time")),
+                            toLocalDateTime(rs.getTimestamp("end_time")),
+                            rs.getString("status"),
+                            rs.getBigDecimal("total_price"),
+                            rs.getString("notes"),
+                            rs.getLong("version"),
+                            toLocalDateTime(rs.getTimestamp("created_at")),
+                            toLocalDateTime(rs.getTimestamp("updated_at")));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        if (rows[0] > 0) {
+            // The rows are gone once the transaction commits, so the file must be durable first
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return rows[0];
+    }
+    
+    private int dropEmptyPartitions(YearMonth end) {
+        int dropped = 0;
+        List<String> partitions = jdbcTemplate.getJdbcTemplate().queryForList(PARTITIONS_SQL, String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(end)) {
+                continue;
+            }
+            // The name was matched against the pattern above, so it is safe to inline
+            Boolean empty = jdbcTemplate.getJdbcTemplate().queryForObject(
+                    "SELECT NOT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                jdbcTemplate.getJdbcTemplate().execute("DROP TABLE " + partition);
+                logger.info("Dropped empty appointment partition {}", partition);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
\ No newline at end of file
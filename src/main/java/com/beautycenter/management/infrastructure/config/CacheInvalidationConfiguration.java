@@ -0,0 +1,66 @@
+package com.beautycenter.management.infrastructure.config;
+
+import com.beautycenter.management.infrastructure.event.invalidation.InvalidationBus;
+import com.beautycenter.management.infrastructure.event.invalidation.InvalidationTransport;
+import com.beautycenter.management.infrastructure.event.invalidation.LoopbackInvalidationTransport;
+import com.beautycenter.management.infrastructure.event.invalidation.PostgresInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration for the cache invalidation bus between application nodes.
+ */
+@Configuration
+public class CacheInvalidationConfiguration {
+    
+    /**
+     * Transport selected by {@code app.cache.invalidation.transport}: {@code postgres} to reach
+     * the other nodes through the database, {@code loopback} to stay inside this JVM.
+     *
+     * @param transport the transport name
+     * @param channel the channel name
+     * @param pollIntervalMs how long the PostgreSQL listener waits per poll
+     * @param livenessIntervalMs how often the PostgreSQL listening connection is probed
+     * @param dataSource the data source used to send notifications
+     * @param properties the data source properties, used for the listening connection
+     * @return the transport
+     */
+    @Bean
+    public InvalidationTransport invalidationTransport(
+            @Value("${app.cache.invalidation.transport:postgres}") String transport,
+            @Value("${app.cache.invalidation.channel:cache_invalidation}") String channel,
+            @Value("${app.cache.invalidation.poll-interval-ms:500}") int pollIntervalMs,
+            @Value("${app.cache.invalidation.liveness-interval-ms:10000}") long livenessIntervalMs,
+            DataSource dataSource,
+            DataSourceProperties properties) {
+        return switch (transport) {
+            case "postgres" -> new PostgresInvalidationTransport(dataSource, properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword(), channel, pollIntervalMs,
+                    livenessIntervalMs);
+            case "loopback" -> new LoopbackInvalidationTransport(channel);
+            default -> throw new IllegalArgumentException("Unknown cache invalidation transport: " + transport);
+        };
+    }
+    
+    /**
+     * The invalidation bus.
+     *
+     * @param transport the transport
+     * @param batchWindowMs how long invalidations are collected before they are sent
+     * @param maxBatch the number of pending invalidations that triggers an immediate send
+     * @param heartbeatMs how often an empty message is sent so lost messages are noticed
+     * @return the bus
+     */
+    @Bean(destroyMethod = "close")
+    public InvalidationBus invalidationBus(
+            InvalidationTransport transport,
+            @Value("${app.cache.invalidation.batch-window-ms:50}") long batchWindowMs,
+            @Value("${app.cache.invalidation.max-batch:500}") int maxBatch,
+            @Value("${app.cache.invalidation.heartbeat-ms:5000}") long heartbeatMs) {
+        return new InvalidationBus(transport, batchWindowMs, maxBatch, heartbeatMs);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.beautycenter.management.infrastructure.config;
+
+import com.beautycenter.management.application.event.codec.DomainEventCodec;
+import com.beautycenter.management.infrastructure.event.journal.JournalCursorStore;
+import com.beautycenter.management.infrastructure.event.journal.MappedEventJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuration for the durable domain event journal.
+ */
+@Configuration
+public class EventJournalConfiguration {
+    
+    /**
+     * The journal of committed domain events.
+     *
+     * @param directory the directory holding the segment files
+     * @param segmentBytes the size of each segment file
+     * @param flushIntervalMs the interval between fsyncs in milliseconds
+     * @param codec the event codec
+     * @return the journal
+     * @throws IOException if the existing segments cannot be opened
+     */
+    @Bean(destroyMethod = "close")
+    public MappedEventJournal eventJournal(
+            @Value("${app.events.journal.directory:data/events}") String directory,
+            @Value("${app.events.journal.segment-bytes:67108864}") int segmentBytes,
+            @Value("${app.events.journal.flush-interval-ms:200}") long flushIntervalMs,
+            DomainEventCodec codec) throws IOException {
+        return new MappedEventJournal(Path.of(directory), segmentBytes, flushIntervalMs, codec);
+    }
+    
+    /**
+     * Journal positions of the durable consumers.
+     *
+     * @param directory the directory holding the segment files; cursors are kept in a subdirectory
+     * @return the cursor store
+     * @throws IOException if the directory cannot be created
+     */
+    @Bean(destroyMethod = "close")
+    public JournalCursorStore journalCursorStore(
+            @Value("${app.events.journal.directory:data/events}") String directory) throws IOException {
+        return new JournalCursorStore(Path.of(directory, "cursors"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.beautycenter.management.infrastructure.config;
+
+import com.beautycenter.management.infrastructure.persistence.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for routing read-only transactions to read replicas.
+ * Only active when replica URLs are configured; otherwise the auto-configured
+ * single data source is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class ReadReplicaConfiguration {
+    
+    /**
+     * Pool for the primary database, configured from the regular spring.datasource properties.
+     * Migrations always run against it.
+     *
+     * @param properties the data source properties
+     * @return the primary pool
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    /**
+     * Data source choosing between the primary and the replicas per transaction.
+     *
+     * @param primary the primary pool
+     * @param properties the data source properties the replica pools inherit from
+     * @param urls the JDBC URLs of the replicas
+     * @param username the replica user
+     * @param password the replica password
+     * @param poolSize the maximum pool size of each replica
+     * @param maxLagMillis the largest replay lag at which a replica still gets reads
+     * @param stickyMillis how long reads of a user stay on the primary after they wrote
+     * @param lagCheckMillis how often replica lag is polled
+     * @return the routing data source
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            DataSourceProperties properties,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${app.datasource.replicas.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${app.datasource.replicas.sticky-ms:5000}") long stickyMillis,
+            @Value("${app.datasource.replicas.lag-check-ms:1000}") long lagCheckMillis) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName(name);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, maxLagMillis, stickyMillis, lagCheckMillis);
+    }
+    
+    /**
+     * The data source used by JPA and JDBC templates. Connections are fetched on first use,
+     * when the read-only flag of the transaction is known.
+     *
+     * @param routing the routing data source
+     * @return the lazy data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.beautycenter.management.infrastructure.config;
+
+import com.beautycenter.management.infrastructure.persistence.cache.CacheRegions;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuration for the Hibernate second-level cache.
+ * <p>
+ * The regions live in a local Ehcache instance accessed through JCache. Each region is
+ * bounded by entry count on the heap, optionally backed by an off-heap tier, and expires
+ * entries after the configured time to live. Regions are created here rather than in an
+ * XML file so their sizes and lifetimes come from the application properties.
+ * </p>
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+    
+    /**
+     * Cache manager holding the second-level cache regions.
+     *
+     * @param referenceTtlSeconds time to live of cached reference entities
+     * @param queryTtlSeconds time to live of cached query results
+     * @param heapEntries maximum number of entries per region on the heap
+     * @param offHeapMegabytes size of the off-heap tier per region, 0 to keep regions on the heap only
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.l2.reference-ttl-seconds:600}") long referenceTtlSeconds,
+            @Value("${app.cache.l2.query-ttl-seconds:300}") long queryTtlSeconds,
+            @Value("${app.cache.l2.heap-entries:10000}") long heapEntries,
+            @Value("${app.cache.l2.off-heap-mb:0}") long offHeapMegabytes) {
+        CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:beautycenter:hibernate"), getClass().getClassLoader());
+        
+        Duration referenceTtl = Duration.ofSeconds(referenceTtlSeconds);
+        Duration queryTtl = Duration.ofSeconds(queryTtlSeconds);
+        for (String region : new String[] {
+                CacheRegions.SERVICES, CacheRegions.COMPANIES, CacheRegions.LOCATIONS, CacheRegions.EMPLOYEES}) {
+            createRegion(cacheManager, region, heapEntries, offHeapMegabytes, referenceTtl);
+        }
+        for (String region : new String[] {
+                CacheRegions.ACTIVE_SERVICES_QUERY, CacheRegions.ACTIVE_LOCATIONS_QUERY, CacheRegions.DEFAULT_QUERY_RESULTS}) {
+            createRegion(cacheManager, region, heapEntries, offHeapMegabytes, queryTtl);
+        }
+        // One small entry per table; never expired so query results are always checked against it
+        createRegion(cacheManager, CacheRegions.UPDATE_TIMESTAMPS, heapEntries, 0, null);
+        return cacheManager;
+    }
+    
+    /**
+     * Hand the cache manager to Hibernate instead of letting it create its own.
+     *
+     * @param hibernateCacheManager the cache manager
+     * @return the customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+    
+    private static void createRegion(CacheManager cacheManager, String name, long heapEntries,
+                                     long offHeapMegabytes, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        ResourcePoolsBuilder resources = ResourcePoolsBuilder.heap(heapEntries);
+        if (offHeapMegabytes > 0) {
+            resources = resources.offheap(offHeapMegabytes, MemoryUnit.MB);
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, resources)
+                .withExpiry(ttl != null ? ExpiryPolicyBuilder.timeToLiveExpiration(ttl) : ExpiryPolicyBuilder.noExpiration());
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(builder));
+    }
+}
\ No newline at end of file
@@ -1,19 +1,20 @@
 package com.beautycenter.management.infrastructure.event;
 
+import com.beautycenter.management.domain.event.DomainEvent;
+import com.beautycenter.management.domain.event.DurableEventConsumer;
 import com.beautycenter.management.domain.event.user.*;
 import com.beautycenter.management.domain.service.AuditService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
  * Listener for user-related domain events.
  * This class handles all user events and performs necessary actions.
+ * Events arrive through the event journal, so they are delivered at least once, also across restarts.
  */
 @Component
-public class UserEventListener {
+public class UserEventListener implements DurableEventConsumer {
     
     private static final Logger logger = LoggerFactory.getLogger(UserEventListener.class);
     
@@ -23,8 +24,26 @@ public class UserEventListener {
         this.auditService = auditService;
     }
     
-    @Async
-    @EventListener
+    @Override
+    public String getConsumerName() {
+        return "user-events";
+    }
+    
+    @Override
+    public void handle(DomainEvent event) {
+        if (event instanceof UserCreatedEvent created) {
+            handleUserCreatedEvent(created);
+        } else if (event instanceof UserUpdatedEvent updated) {
+            handleUserUpdatedEvent(updated);
+        } else if (event instanceof UserDeletedEvent deleted) {
+            handleUserDeletedEvent(deleted);
+        } else if (event instanceof UserActivatedEvent activated) {
+            handleUserActivatedEvent(activated);
+        } else if (event instanceof UserDeactivatedEvent deactivated) {
+            handleUserDeactivatedEvent(deactivated);
+        }
+    }
+    
     public void handleUserCreatedEvent(UserCreatedEvent event) {
         logger.info("User created event received: User ID={}, Username={}", 
                 event.getUser().getId(), event.getUser().getUsername());
@@ -42,8 +61,6 @@ public class UserEventListener {
         // 3. Notifying other systems
     }
     
-    @Async
-    @EventListener
     public void handleUserUpdatedEvent(UserUpdatedEvent event) {
         logger.info("User updated event received: User ID={}, Username={}", 
                 event.getUser().getId(), event.getUser().getUsername());
@@ -60,8 +77,6 @@ public class UserEventListener {
         // 2. Notifying other systems
     }
     
-    @Async
-    @EventListener
     public void handleUserDeletedEvent(UserDeletedEvent event) {
         logger.info("User deleted event received: User ID={}, Username={}", 
                 event.getUser().getId(), event.getUser().getUsername());
@@ -77,8 +92,6 @@ public class UserEventListener {
         // 2. Notifying other systems
     }
     
-    @Async
-    @EventListener
     public void handleUserActivatedEvent(UserActivatedEvent event) {
         logger.info("User activated event received: User ID={}, Username={}", 
                 event.getUser().getId(), event.getUser().getUsername());
@@ -95,8 +108,6 @@ public class UserEventListener {
         // 3. Notifying other systems
     }
     
-    @Async
-    @EventListener
     public void handleUserDeactivatedEvent(UserDeactivatedEvent event) {
         logger.info("User deactivated event received: User ID={}, Username={}", 
                 event.getUser().getId(), event.getUser().getUsername());
@@ -0,0 +1,191 @@
+package com.beautycenter.management.infrastructure.event.invalidation;
+
+import com.beautycenter.management.application.cache.PrincipalCache;
+import com.beautycenter.management.application.cache.UserIdentityFilter;
+import com.beautycenter.management.application.schedule.DailyScheduleStore;
+import com.beautycenter.management.application.service.AppointmentServiceImpl;
+import com.beautycenter.management.application.service.CompanyApplicationService;
+import com.beautycenter.management.application.service.UserApplicationService;
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
+import com.beautycenter.management.domain.event.appointment.AppointmentCreatedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusBatchChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentStatusChangedEvent;
+import com.beautycenter.management.domain.event.appointment.AppointmentUpdatedEvent;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
+import com.beautycenter.management.infrastructure.persistence.cache.CacheRegions;
+import com.beautycenter.management.infrastructure.persistence.entity.CompanyEntity;
+import com.beautycenter.management.infrastructure.persistence.entity.EmployeeEntity;
+import com.beautycenter.management.infrastructure.persistence.entity.LocationEntity;
+import com.beautycenter.management.infrastructure.persistence.entity.ServiceEntity;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Connects the in-process caches to the invalidation bus.
+ * <p>
+ * Writes recorded in the {@link ResourceVersionRegistry} are broadcast as they commit and
+ * applied to the registry of the other nodes, so conditional GETs do not confirm a stale
+ * representation for longer than it takes the bus to notice a lost message and report a gap. Appointment events are turned into invalidations of the affected
+ * company day, which the other nodes drop from their {@link DailyScheduleStore}; the day
+ * is sent as an epoch day. Identities added to the {@link UserIdentityFilter} are sent
+ * as well, since a node that missed one would report a taken username as available.
+ * Committed writes to entities in the Hibernate second-level cache are sent too; the other
+ * nodes evict the entity and their cached query results instead of serving them until the
+ * region's time to live runs out. Users written on one node are dropped from the principal
+ * cache of the others.
+ * When the transport reports that messages may have been lost, the caches are cleared
+ * and the identity filter is rebuilt.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CacheInvalidationRelay {
+    
+    /**
+     * Entity type of a company's schedule for one day.
+     */
+    public static final String SCHEDULES = "schedules";
+    
+    /**
+     * Entity type of a username or email added to the identity filter.
+     */
+    public static final String USER_IDENTITIES = "user-identities";
+    
+    /**
+     * Entity type of a username whose cached principal was evicted.
+     */
+    public static final String PRINCIPALS = "principals";
+    
+    /**
+     * Entity type of the cached query results, sent when rows were written around Hibernate.
+     */
+    public static final String QUERY_RESULTS = "query-results";
+    
+    /**
+     * Entity types of the entities held in the second-level cache, named after their regions.
+     */
+    private static final Map<Class<?>, String> CACHED_ENTITIES = Map.of(
+            ServiceEntity.class, CacheRegions.SERVICES,
+            CompanyEntity.class, CacheRegions.COMPANIES,
+            LocationEntity.class, CacheRegions.LOCATIONS,
+            EmployeeEntity.class, CacheRegions.EMPLOYEES);
+    
+    private final InvalidationBus bus;
+    
+    public CacheInvalidationRelay(InvalidationBus bus, ResourceVersionRegistry resourceVersions,
+                                  DailyScheduleStore scheduleStore, UserIdentityFilter identityFilter,
+                                  EntityManagerFactory entityManagerFactory, PrincipalCache principalCache) {
+        this.bus = bus;
+        
+        resourceVersions.addChangeListener((resource, tenant, id) -> {
+            try {
+                bus.publish(new Invalidation(resource, tenant, id, System.currentTimeMillis()));
+            } catch (RuntimeException e) {
+                log.warn("Failed to queue invalidation of {} {}: {}", resource, id, e.getMessage());
+            }
+        });
+        for (String resource : new String[] {
+                CompanyApplicationService.RESOURCE, UserApplicationService.RESOURCE, AppointmentServiceImpl.RESOURCE}) {
+            bus.subscribe(resource, invalidation -> resourceVersions.applyRemoteChange(
+                    invalidation.entityType(), invalidation.tenant(), invalidation.id()));
+        }
+        
+        bus.subscribe(AppointmentServiceImpl.RESOURCE, invalidation -> {
+            if (invalidation.id() instanceof UUID appointmentId) {
+                scheduleStore.evictAppointment(appointmentId);
+            }
+        });
+        bus.subscribe(SCHEDULES, invalidation -> {
+            if (invalidation.tenant() instanceof UUID companyId && invalidation.id() instanceof Long epochDay) {
+                scheduleStore.evict(companyId, LocalDate.ofEpochDay(epochDay));
+            }
+        });
+        
+        identityFilter.addListener(key -> bus.publish(new Invalidation(USER_IDENTITIES, null, key,
+                System.currentTimeMillis())));
+        bus.subscribe(USER_IDENTITIES, invalidation -> {
+            if (invalidation.id() instanceof String key) {
+                identityFilter.applyRemoteAdd(key);
+            }
+        });
+        
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Cache secondLevelCache = sessionFactory.getCache();
+        SecondLevelCacheListener cacheListener = new SecondLevelCacheListener(CACHED_ENTITIES,
+                (entityType, id) -> bus.publish(new Invalidation(entityType, null, id, System.currentTimeMillis())));
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, cacheListener);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, cacheListener);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, cacheListener);
+        CACHED_ENTITIES.forEach((entityClass, entityType) -> bus.subscribe(entityType, invalidation -> {
+            secondLevelCache.evictEntityData(entityClass, invalidation.id());
+            secondLevelCache.evictQueryRegions();
+        }));
+        bus.subscribe(QUERY_RESULTS, invalidation -> secondLevelCache.evictQueryRegions());
+        
+        principalCache.addListener(username -> bus.publish(new Invalidation(PRINCIPALS, null, username,
+                System.currentTimeMillis())));
+        bus.subscribe(PRINCIPALS, invalidation -> {
+            if (invalidation.id() instanceof String username) {
+                principalCache.applyRemoteEvict(username);
+            }
+        });
+        
+        bus.onGap(() -> {
+            resourceVersions.invalidateAll();
+            scheduleStore.clear();
+            identityFilter.rebuild();
+            secondLevelCache.evictAllRegions();
+            principalCache.clear();
+        });
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentCreated(AppointmentCreatedEvent event) {
+        publishDay(event.getCompanyId(), event.getStartTime());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentUpdated(AppointmentUpdatedEvent event) {
+        publishDay(event.getCompanyId(), event.getStartTime());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+        publishDay(event.getCompanyId(), event.getStartTime());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentStatusBatchChanged(AppointmentStatusBatchChangedEvent event) {
+        Set<LocalDate> days = new LinkedHashSet<>();
+        for (AppointmentStatusChange change : event.getChanges()) {
+            if (change.getStartTime() != null) {
+                days.add(change.getStartTime().toLocalDate());
+            }
+        }
+        for (LocalDate day : days) {
+            publishDay(event.getCompanyId(), day.atStartOfDay());
+        }
+    }
+    
+    private void publishDay(UUID companyId, LocalDateTime startTime) {
+        if (companyId == null || startTime == null) {
+            return;
+        }
+        bus.publish(new Invalidation(SCHEDULES, companyId, startTime.toLocalDate().toEpochDay(),
+                System.currentTimeMillis()));
+    }
+}
\ No newline at end of file
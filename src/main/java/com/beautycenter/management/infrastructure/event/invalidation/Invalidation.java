@@ -0,0 +1,17 @@
+package com.beautycenter.management.infrastructure.event.invalidation;
+
+/**
+ * A change to an entity or collection that other nodes must drop from their caches.
+ * <p>
+ * Tenants and IDs keep their type across nodes and must be a {@link java.util.UUID},
+ * a {@link Long} or a {@link String}; null means the entity is unknown or the change
+ * affects every tenant.
+ * </p>
+ *
+ * @param entityType the cached resource, for example {@code companies}
+ * @param tenant the tenant, or null
+ * @param id the entity ID, or null
+ * @param version the time of the change at its origin in epoch milliseconds; coalescing keeps the newest
+ */
+public record Invalidation(String entityType, Object tenant, Object id, long version) {
+}
\ No newline at end of file
@@ -0,0 +1,290 @@
+package com.beautycenter.management.infrastructure.event.invalidation;
+
+import com.beautycenter.management.application.codec.BinaryReader;
+import com.beautycenter.management.application.codec.BinaryWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations to the other nodes and hands theirs to local subscribers.
+ * <p>
+ * Invalidations are collected for {@code batchWindowMs} and coalesced by entity, so a burst
+ * of writes to the same rows costs one message. A batch is encoded as
+ * {@code [format][node ID][sequence][entity type table][entries]}: each entry refers to its
+ * entity type by index and writes tenant and ID with a one-byte type tag. Batches larger than
+ * the transport allows are split. A node ignores its own messages, since its caches were
+ * already updated locally.
+ * </p>
+ * <p>
+ * Every message carries the next number of its node's sequence, and an empty message is sent
+ * every {@code heartbeatMs}, so a receiver that sees a number skipped knows within a heartbeat
+ * that it missed something and reports a gap. A failed send is retried a few times; a message
+ * that is finally dropped keeps its number, so the other nodes detect the loss, and the local
+ * gap listeners are told as well.
+ * </p>
+ */
+@Slf4j
+public class InvalidationBus implements AutoCloseable {
+    
+    private static final int FORMAT = 2;
+    private static final int SEND_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 200;
+    private static final int TAG_NULL = 0;
+    private static final int TAG_UUID = 1;
+    private static final int TAG_LONG = 2;
+    private static final int TAG_STRING = 3;
+    
+    private final UUID nodeId = UUID.randomUUID();
+    private final InvalidationTransport transport;
+    private final long batchWindowMs;
+    private final int maxBatch;
+    private final ScheduledExecutorService flusher;
+    private final Map<String, List<Consumer<Invalidation>>> subscribers = new HashMap<>();
+    private final List<Runnable> gapListeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Object sendLock = new Object();
+    private final Map<UUID, Long> lastSequences = new ConcurrentHashMap<>();
+    private long nextSequence;
+    private Map<Key, Invalidation> pending = new LinkedHashMap<>();
+    
+    /**
+     * Create the bus and start receiving.
+     *
+     * @param transport the transport
+     * @param batchWindowMs how long invalidations are collected before they are sent
+     * @param maxBatch the number of pending invalidations that triggers an immediate send
+     * @param heartbeatMs how often an empty message is sent so receivers notice lost ones
+     */
+    public InvalidationBus(InvalidationTransport transport, long batchWindowMs, int maxBatch, long heartbeatMs) {
+        this.transport = transport;
+        this.batchWindowMs = batchWindowMs;
+        this.maxBatch = maxBatch;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        transport.subscribe(this::receive, this::onGap);
+        flusher.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Subscribe to invalidations of an entity type received from other nodes.
+     *
+     * @param entityType the entity type
+     * @param subscriber the subscriber
+     */
+    public synchronized void subscribe(String entityType, Consumer<Invalidation> subscriber) {
+        subscribers.computeIfAbsent(entityType, t -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+    
+    /**
+     * Register a callback for when invalidations may have been lost; caches should then be cleared.
+     *
+     * @param listener the callback
+     */
+    public void onGap(Runnable listener) {
+        gapListeners.add(listener);
+    }
+    
+    /**
+     * Queue an invalidation for the next batch. Call it only once the change is committed.
+     *
+     * @param invalidation the invalidation
+     */
+    public void publish(Invalidation invalidation) {
+        int size;
+        synchronized (this) {
+            pending.merge(new Key(invalidation.entityType(), invalidation.tenant(), invalidation.id()), invalidation,
+                    (existing, added) -> added.version() >= existing.version() ? added : existing);
+            size = pending.size();
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            flusher.schedule(this::flush, size >= maxBatch ? 0 : batchWindowMs, TimeUnit.MILLISECONDS);
+        } else if (size >= maxBatch) {
+            flusher.execute(this::flush);
+        }
+    }
+    
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flush();
+        transport.close();
+    }
+    
+    private void flush() {
+        List<Invalidation> batch;
+        synchronized (this) {
+            flushScheduled.set(false);
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+        }
+        send(batch);
+    }
+    
+    private void heartbeat() {
+        send(List.of());
+    }
+    
+    private void send(List<Invalidation> batch) {
+        synchronized (sendLock) {
+            List<byte[]> messages = new ArrayList<>();
+            encodeSplit(batch, messages);
+            for (byte[] message : messages) {
+                sendWithRetry(message, batch.size());
+            }
+        }
+    }
+    
+    private void encodeSplit(List<Invalidation> batch, List<byte[]> messages) {
+        byte[] message = encode(batch, nextSequence);
+        if (message.length <= transport.maxMessageBytes() || batch.size() <= 1) {
+            nextSequence++;
+            messages.add(message);
+            return;
+        }
+        int half = batch.size() / 2;
+        encodeSplit(batch.subList(0, half), messages);
+        encodeSplit(batch.subList(half, batch.size()), messages);
+    }
+    
+    private void sendWithRetry(byte[] message, int batchSize) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transport.send(message);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= SEND_ATTEMPTS) {
+                    // The sequence number is spent, so the other nodes see the gap on the next message
+                    log.error("Dropping cache invalidations after {} failed attempts (batch of {})",
+                            attempt, batchSize, e);
+                    onGap();
+                    return;
+                }
+                log.warn("Failed to send cache invalidations, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    onGap();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void receive(byte[] message) {
+        BinaryReader in = new BinaryReader(message);
+        if (in.readByte() != FORMAT) {
+            log.warn("Ignoring cache invalidation message of unknown format");
+            return;
+        }
+        UUID sender = in.readUuid();
+        if (nodeId.equals(sender)) {
+            return;
+        }
+        long sequence = in.readVarLong();
+        Long last = lastSequences.put(sender, sequence);
+        if (last != null && sequence != last + 1) {
+            if (sequence <= last) {
+                lastSequences.put(sender, last);
+                return;
+            }
+            log.warn("Missed {} cache invalidation messages from node {}", sequence - last - 1, sender);
+            onGap();
+        }
+        String[] types = new String[(int) in.readVarLong()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = in.readNullableString();
+        }
+        int count = (int) in.readVarLong();
+        for (int i = 0; i < count; i++) {
+            String entityType = types[(int) in.readVarLong()];
+            Invalidation invalidation = new Invalidation(entityType, readKey(in), readKey(in), in.readSignedVarLong());
+            for (Consumer<Invalidation> subscriber : subscribers.getOrDefault(entityType, List.of())) {
+                try {
+                    subscriber.accept(invalidation);
+                } catch (RuntimeException e) {
+                    log.warn("Cache invalidation subscriber failed for {}: {}", invalidation, e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private void onGap() {
+        log.warn("Cache invalidations may have been missed; clearing local caches");
+        gapListeners.forEach(Runnable::run);
+    }
+    
+    private byte[] encode(List<Invalidation> batch, long sequence) {
+        Map<String, Integer> typeIndex = new LinkedHashMap<>();
+        for (Invalidation invalidation : batch) {
+            typeIndex.putIfAbsent(invalidation.entityType(), typeIndex.size());
+        }
+        BinaryWriter out = new BinaryWriter(32 + batch.size() * 24);
+        out.writeByte(FORMAT);
+        out.writeUuid(nodeId);
+        out.writeVarLong(sequence);
+        out.writeVarLong(typeIndex.size());
+        typeIndex.keySet().forEach(out::writeNullableString);
+        out.writeVarLong(batch.size());
+        for (Invalidation invalidation : batch) {
+            out.writeVarLong(typeIndex.get(invalidation.entityType()));
+            writeKey(invalidation.tenant(), out);
+            writeKey(invalidation.id(), out);
+            out.writeSignedVarLong(invalidation.version());
+        }
+        return out.toByteArray();
+    }
+    
+    private static void writeKey(Object key, BinaryWriter out) {
+        if (key == null) {
+            out.writeByte(TAG_NULL);
+        } else if (key instanceof UUID uuid) {
+            out.writeByte(TAG_UUID);
+            out.writeUuid(uuid);
+        } else if (key instanceof Long number) {
+            out.writeByte(TAG_LONG);
+            out.writeSignedVarLong(number);
+        } else if (key instanceof String string) {
+            out.writeByte(TAG_STRING);
+            out.writeNullableString(string);
+        } else {
+            throw new IllegalArgumentException("Unsupported invalidation key type: " + key.getClass().getName());
+        }
+    }
+    
+    private static Object readKey(BinaryReader in) {
+        return switch (in.readByte()) {
+            case TAG_NULL -> null;
+            case TAG_UUID -> in.readUuid();
+            case TAG_LONG -> in.readSignedVarLong();
+            case TAG_STRING -> in.readNullableString();
+            default -> throw new IllegalStateException("Unknown invalidation key tag");
+        };
+    }
+    
+    private record Key(String entityType, Object tenant, Object id) {
+        private Key {
+            Objects.requireNonNull(entityType);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.beautycenter.management.infrastructure.event.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded invalidation batches between the nodes.
+ * Messages are broadcast to every node, including the sender.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+    
+    /**
+     * Broadcast a message.
+     *
+     * @param message the encoded batch, at most {@link #maxMessageBytes()} long
+     */
+    void send(byte[] message);
+    
+    /**
+     * Start receiving messages.
+     *
+     * @param receiver called with every message received
+     * @param onGap called when messages may have been lost, for example after a reconnect
+     */
+    void subscribe(Consumer<byte[]> receiver, Runnable onGap);
+    
+    /**
+     * Largest message the transport can carry.
+     *
+     * @return the limit in bytes
+     */
+    int maxMessageBytes();
+    
+    @Override
+    void close();
+}
\ No newline at end of file
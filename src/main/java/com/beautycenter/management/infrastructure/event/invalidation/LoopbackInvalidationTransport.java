@@ -0,0 +1,53 @@
+package com.beautycenter.management.infrastructure.event.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport delivering messages synchronously to every transport on the same channel.
+ * Several application contexts in one JVM can use it to act as separate nodes in tests.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+    
+    private static final Map<String, List<LoopbackInvalidationTransport>> CHANNELS = new ConcurrentHashMap<>();
+    
+    private final String channel;
+    private volatile Consumer<byte[]> receiver;
+    
+    public LoopbackInvalidationTransport(String channel) {
+        this.channel = channel;
+        CHANNELS.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(this);
+    }
+    
+    @Override
+    public void send(byte[] message) {
+        for (LoopbackInvalidationTransport transport : CHANNELS.getOrDefault(channel, List.of())) {
+            Consumer<byte[]> target = transport.receiver;
+            if (target != null) {
+                target.accept(message.clone());
+            }
+        }
+    }
+    
+    @Override
+    public void subscribe(Consumer<byte[]> receiver, Runnable onGap) {
+        this.receiver = receiver;
+    }
+    
+    @Override
+    public int maxMessageBytes() {
+        return Integer.MAX_VALUE;
+    }
+    
+    @Override
+    public void close() {
+        receiver = null;
+        CHANNELS.computeIfPresent(channel, (c, transports) -> {
+            transports.remove(this);
+            return transports.isEmpty() ? null : transports;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.beautycenter.management.infrastructure.event.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Transport over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ * <p>
+ * Messages are sent with {@code pg_notify} on a pooled connection and received on a
+ * dedicated connection opened outside the pool, so listening never holds a pool slot.
+ * Notification payloads are text limited to 8000 bytes, so messages are Base64 encoded
+ * and limited accordingly. Notifications sent while the listening connection is down are
+ * lost; the receiver is told about the gap after every reconnect.
+ * </p>
+ * <p>
+ * A half-open listening socket would look like a quiet channel, so the listener runs a
+ * {@code SELECT 1} every {@code livenessIntervalMs} under a socket timeout and reconnects
+ * when it does not come back. A failed {@code pg_notify} is thrown to the caller.
+ * </p>
+ */
+@Slf4j
+public class PostgresInvalidationTransport implements InvalidationTransport {
+    
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int MAX_PAYLOAD_CHARS = 7900;
+    
+    private final DataSource dataSource;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final int pollIntervalMs;
+    private final long livenessIntervalMs;
+    private volatile boolean running = true;
+    private Thread listener;
+    
+    /**
+     * Create the transport.
+     *
+     * @param dataSource the pool used to send notifications; must reach the primary
+     * @param url the JDBC URL of the primary, used for the listening connection
+     * @param username the database user
+     * @param password the database password
+     * @param channel the notification channel
+     * @param pollIntervalMs how long to wait for notifications per poll
+     * @param livenessIntervalMs how often the listening connection is probed
+     */
+    public PostgresInvalidationTransport(DataSource dataSource, String url, String username, String password,
+                                         String channel, int pollIntervalMs, long livenessIntervalMs) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.pollIntervalMs = pollIntervalMs;
+        this.livenessIntervalMs = livenessIntervalMs;
+    }
+    
+    @Override
+    public void send(byte[] message) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, Base64.getEncoder().encodeToString(message));
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to send cache invalidation on channel " + channel, e);
+        }
+    }
+    
+    @Override
+    public synchronized void subscribe(Consumer<byte[]> receiver, Runnable onGap) {
+        if (listener != null) {
+            throw new IllegalStateException("Already subscribed to channel " + channel);
+        }
+        listener = new Thread(() -> listen(receiver, onGap), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+    
+    @Override
+    public int maxMessageBytes() {
+        return MAX_PAYLOAD_CHARS / 4 * 3;
+    }
+    
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+    
+    private void listen(Consumer<byte[]> receiver, Runnable onGap) {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, listenerProperties())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    log.info("Reconnected to cache invalidation channel {}", channel);
+                    onGap.run();
+                }
+                connectedBefore = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long nextProbe = System.currentTimeMillis() + livenessIntervalMs;
+                while (running) {
+                    if (System.currentTimeMillis() >= nextProbe) {
+                        probe(connection);
+                        nextProbe = System.currentTimeMillis() + livenessIntervalMs;
+                    }
+                    PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        deliver(receiver, notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener on channel {} failed, reconnecting: {}", channel, e.getMessage());
+                try {
+                    Thread.sleep(Math.max(pollIntervalMs, 1000));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private Properties listenerProperties() {
+        Properties properties = new Properties();
+        if (username != null) {
+            properties.setProperty("user", username);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        // Bounds the probe's read; getNotifications sets its own timeout per poll
+        long timeoutSeconds = Math.max(5, TimeUnit.MILLISECONDS.toSeconds(livenessIntervalMs));
+        properties.setProperty("socketTimeout", Long.toString(timeoutSeconds));
+        properties.setProperty("tcpKeepAlive", "true");
+        return properties;
+    }
+    
+    private static void probe(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+    }
+    
+    private void deliver(Consumer<byte[]> receiver, String payload) {
+        try {
+            receiver.accept(Base64.getDecoder().decode(payload));
+        } catch (RuntimeException e) {
+            log.warn("Dropping malformed cache invalidation on channel {}: {}", channel, e.getMessage());
+        }
+    }
+}
\ No newline at end of file
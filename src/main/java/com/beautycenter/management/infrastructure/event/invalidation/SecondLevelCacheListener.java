@@ -0,0 +1,75 @@
+package com.beautycenter.management.infrastructure.event.invalidation;
+
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Map;
+
+/**
+ * Hibernate listener that reports committed writes to entities held in the second-level cache.
+ * Only the mapped entity classes require post-commit handling, so other entities pay nothing.
+ */
+class SecondLevelCacheListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    
+    /**
+     * Receives the entity type and ID of each committed write.
+     */
+    @FunctionalInterface
+    interface CommitListener {
+        
+        void committed(String entityType, Object id);
+    }
+    
+    private final Map<Class<?>, String> entityTypes;
+    private final CommitListener listener;
+    
+    SecondLevelCacheListener(Map<Class<?>, String> entityTypes, CommitListener listener) {
+        this.entityTypes = entityTypes;
+        this.listener = listener;
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return entityTypes.containsKey(persister.getMappedClass());
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        committed(event.getPersister(), event.getId());
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        committed(event.getPersister(), event.getId());
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        committed(event.getPersister(), event.getId());
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+    
+    private void committed(EntityPersister persister, Object id) {
+        String entityType = entityTypes.get(persister.getMappedClass());
+        if (entityType != null && id != null) {
+            listener.committed(entityType, id);
+        }
+    }
+}
\ No newline at end of file
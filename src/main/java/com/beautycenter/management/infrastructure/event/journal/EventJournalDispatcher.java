@@ -0,0 +1,245 @@
+package com.beautycenter.management.infrastructure.event.journal;
+
+import com.beautycenter.management.domain.event.DomainEvent;
+import com.beautycenter.management.domain.event.DurableEventConsumer;
+import com.beautycenter.management.domain.model.EventConsumerPosition;
+import com.beautycenter.management.domain.service.EventReplayService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers journaled events to the durable consumers.
+ * <p>
+ * Every consumer has its own thread reading from its cursor, so a slow or failing
+ * consumer never holds back the others. The cursor only moves past an event once the
+ * consumer handled it; a failing event is retried with a growing delay and skipped after
+ * {@code maxAttempts} so one bad event cannot stall a consumer forever. New consumers
+ * start at the end of the journal rather than receiving its whole history.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EventJournalDispatcher implements EventReplayService {
+    
+    private final MappedEventJournal journal;
+    private final JournalCursorStore cursorStore;
+    private final List<DurableEventConsumer> consumers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long pollIntervalMs;
+    private final Duration retention;
+    private final Map<String, Worker> workers = new LinkedHashMap<>();
+    private final Object signal = new Object();
+    private volatile boolean running;
+    
+    public EventJournalDispatcher(
+            MappedEventJournal journal,
+            JournalCursorStore cursorStore,
+            List<DurableEventConsumer> consumers,
+            @Value("${app.events.journal.batch-size:256}") int batchSize,
+            @Value("${app.events.journal.max-attempts:5}") int maxAttempts,
+            @Value("${app.events.journal.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${app.events.journal.poll-interval-ms:1000}") long pollIntervalMs,
+            @Value("${app.events.journal.retention-hours:168}") long retentionHours) {
+        this.journal = journal;
+        this.cursorStore = cursorStore;
+        this.consumers = consumers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retention = Duration.ofHours(retentionHours);
+        journal.onAppend(() -> {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        });
+    }
+    
+    /**
+     * Start a delivery thread per consumer once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        running = true;
+        for (DurableEventConsumer consumer : consumers) {
+            JournalCursorStore.Cursor cursor = cursorStore.open(consumer.getConsumerName(), journal.endPosition());
+            Worker worker = new Worker(consumer, cursor);
+            if (workers.putIfAbsent(consumer.getConsumerName(), worker) != null) {
+                throw new IllegalStateException("Duplicate durable consumer name: " + consumer.getConsumerName());
+            }
+            worker.thread.start();
+            log.info("Started durable consumer {} at journal position {} (end {})",
+                    consumer.getConsumerName(), cursor.get(), journal.endPosition());
+        }
+    }
+    
+    /**
+     * Stop the delivery threads; events not yet handled are delivered after the restart.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        for (Worker worker : workers.values()) {
+            worker.thread.interrupt();
+        }
+        for (Worker worker : workers.values()) {
+            try {
+                worker.thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        cursorStore.flush();
+    }
+    
+    /**
+     * Force the cursors to disk at the same pace as the journal.
+     */
+    @Scheduled(fixedDelayString = "${app.events.journal.flush-interval-ms:200}")
+    public void flushCursors() {
+        cursorStore.flush();
+    }
+    
+    /**
+     * Delete journal segments older than the retention.
+     */
+    @Scheduled(cron = "${app.events.journal.retention-cron:0 30 * * * *}")
+    public void applyRetention() {
+        int deleted = journal.deleteSegmentsBefore(LocalDateTime.now().minus(retention));
+        if (deleted == 0) {
+            return;
+        }
+        long start = journal.startPosition();
+        for (Worker worker : workers.values()) {
+            if (worker.cursor.get() < start) {
+                log.warn("Durable consumer {} had not processed events removed by retention; it continues at {}",
+                        worker.consumer.getConsumerName(), start);
+            }
+        }
+    }
+    
+    @Override
+    public synchronized List<EventConsumerPosition> getPositions() {
+        List<EventConsumerPosition> positions = new ArrayList<>();
+        long end = journal.endPosition();
+        for (Worker worker : workers.values()) {
+            positions.add(new EventConsumerPosition(worker.consumer.getConsumerName(), worker.cursor.get(), end));
+        }
+        return positions;
+    }
+    
+    @Override
+    public EventConsumerPosition replayFrom(String consumer, long position) {
+        return moveCursor(consumer, journal.alignToRecord(position));
+    }
+    
+    @Override
+    public EventConsumerPosition replayFrom(String consumer, LocalDateTime timestamp) {
+        return moveCursor(consumer, journal.positionAt(timestamp));
+    }
+    
+    private synchronized EventConsumerPosition moveCursor(String consumer, long position) {
+        Worker worker = workers.get(consumer);
+        if (worker == null) {
+            throw new IllegalArgumentException("Unknown durable consumer: " + consumer);
+        }
+        worker.cursor.set(position);
+        log.info("Durable consumer {} moved to journal position {}", consumer, position);
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        return new EventConsumerPosition(consumer, position, journal.endPosition());
+    }
+    
+    private final class Worker implements Runnable {
+        private final DurableEventConsumer consumer;
+        private final JournalCursorStore.Cursor cursor;
+        private final Thread thread;
+        
+        private Worker(DurableEventConsumer consumer, JournalCursorStore.Cursor cursor) {
+            this.consumer = consumer;
+            this.cursor = cursor;
+            this.thread = new Thread(this, "event-consumer-" + consumer.getConsumerName());
+            this.thread.setDaemon(true);
+        }
+        
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    long position = cursor.get();
+                    List<JournalEntry> batch = journal.read(position, batchSize);
+                    if (batch.isEmpty()) {
+                        awaitEvents(position);
+                        continue;
+                    }
+                    for (JournalEntry entry : batch) {
+                        if (entry.event() != null && !deliver(entry)) {
+                            return;
+                        }
+                        // A replay moved the cursor meanwhile; read again from there
+                        if (!cursor.advance(position, entry.nextPosition())) {
+                            break;
+                        }
+                        position = entry.nextPosition();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        /**
+         * Hand an event to the consumer, retrying failures.
+         *
+         * @return false if the dispatcher is stopping and the event was not handled
+         */
+        private boolean deliver(JournalEntry entry) throws InterruptedException {
+            DomainEvent event = entry.event();
+            for (int attempt = 1; running; attempt++) {
+                try {
+                    consumer.handle(event);
+                    return true;
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts) {
+                        log.error("Durable consumer {} gave up on event {} ({}) at position {} after {} attempts",
+                                consumer.getConsumerName(), event.getEventType(), event.getEventId(),
+                                entry.position(), attempt, e);
+                        return true;
+                    }
+                    log.warn("Durable consumer {} failed on event {} ({}), attempt {}: {}",
+                            consumer.getConsumerName(), event.getEventType(), event.getEventId(), attempt,
+                            e.getMessage());
+                    Thread.sleep(retryBackoffMs * attempt);
+                }
+            }
+            return false;
+        }
+        
+        private void awaitEvents(long position) throws InterruptedException {
+            synchronized (signal) {
+                if (running && journal.endPosition() <= position) {
+                    signal.wait(pollIntervalMs);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.beautycenter.management.infrastructure.event.journal;
+
+import com.beautycenter.management.application.event.codec.DomainEventCodec;
+import com.beautycenter.management.domain.event.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Appends every committed domain event to the journal.
+ * Events of a rolled back transaction are never recorded.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventJournalRecorder {
+    
+    private final MappedEventJournal journal;
+    private final DomainEventCodec codec;
+    
+    /**
+     * Record a domain event.
+     *
+     * @param event the event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        if (!codec.supports(event.getClass())) {
+            return;
+        }
+        try {
+            journal.append(event);
+        } catch (RuntimeException e) {
+            log.error("Failed to journal event {} ({}); durable consumers will not receive it",
+                    event.getEventType(), event.getEventId(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.beautycenter.management.infrastructure.event.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Persistent journal positions of the durable consumers.
+ * <p>
+ * Every consumer has an eight-byte memory-mapped file, so moving a cursor is a single
+ * aligned store. Cursors are forced to disk together with the journal; after a crash a
+ * consumer may resume slightly behind where it was, which at-least-once delivery allows.
+ * </p>
+ */
+@Slf4j
+public class JournalCursorStore implements AutoCloseable {
+    
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._-]+");
+    
+    private final Path directory;
+    private final Map<String, Cursor> cursors = new ConcurrentHashMap<>();
+    
+    public JournalCursorStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+    
+    /**
+     * Get the cursor of a consumer, creating it at the given position if it does not exist yet.
+     *
+     * @param consumer the consumer name
+     * @param initialPosition the position of a new cursor
+     * @return the cursor
+     */
+    public Cursor open(String consumer, long initialPosition) {
+        if (!NAME.matcher(consumer).matches()) {
+            throw new IllegalArgumentException("Invalid consumer name: " + consumer);
+        }
+        return cursors.computeIfAbsent(consumer, name -> {
+            Path path = directory.resolve(name + ".cursor");
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                boolean created = channel.size() < Long.BYTES;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+                if (created) {
+                    buffer.putLong(0, initialPosition);
+                    buffer.force();
+                    log.info("Created event journal cursor {} at position {}", name, initialPosition);
+                }
+                return new Cursor(name, buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open event journal cursor " + name, e);
+            }
+        });
+    }
+    
+    /**
+     * Force every cursor to disk.
+     */
+    public void flush() {
+        cursors.values().forEach(cursor -> cursor.buffer.force());
+    }
+    
+    @Override
+    public void close() {
+        flush();
+    }
+    
+    /**
+     * Position of one consumer. Updates are atomic so a rewind racing with the consumer is not lost.
+     */
+    public static final class Cursor {
+        private final String consumer;
+        private final MappedByteBuffer buffer;
+        
+        private Cursor(String consumer, MappedByteBuffer buffer) {
+            this.consumer = consumer;
+            this.buffer = buffer;
+        }
+        
+        public String consumer() {
+            return consumer;
+        }
+        
+        public synchronized long get() {
+            return buffer.getLong(0);
+        }
+        
+        public synchronized void set(long position) {
+            buffer.putLong(0, position);
+        }
+        
+        /**
+         * Advance the cursor unless it was moved since it was read, for example by a replay.
+         *
+         * @param expected the position the consumer read from
+         * @param next the new position
+         * @return true if the cursor was advanced, false if it had been moved
+         */
+        public synchronized boolean advance(long expected, long next) {
+            if (buffer.getLong(0) != expected) {
+                return false;
+            }
+            buffer.putLong(0, next);
+            return true;
+        }
+    }
+}
\ No newline at end of file
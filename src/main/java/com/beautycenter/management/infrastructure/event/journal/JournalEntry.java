@@ -0,0 +1,13 @@
+package com.beautycenter.management.infrastructure.event.journal;
+
+import com.beautycenter.management.domain.event.DomainEvent;
+
+/**
+ * An event read from the journal.
+ *
+ * @param position the position of the event
+ * @param nextPosition the position of the event after it
+ * @param event the event, or null if the record could not be decoded
+ */
+public record JournalEntry(long position, long nextPosition, DomainEvent event) {
+}
\ No newline at end of file
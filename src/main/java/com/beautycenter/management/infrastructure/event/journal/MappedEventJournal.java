@@ -0,0 +1,417 @@
+package com.beautycenter.management.infrastructure.event.journal;
+
+import com.beautycenter.management.application.event.codec.DomainEventCodec;
+import com.beautycenter.management.application.event.codec.EventHeader;
+import com.beautycenter.management.domain.event.DomainEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only domain event journal stored in memory-mapped segment files.
+ * <p>
+ * Each segment is a preallocated file named after the journal position of its first byte,
+ * so a position maps to a segment and an offset without an index. Records are
+ * {@code [int length][int CRC32C][event frame]}; the length is written last, so a reader
+ * never sees a half-written record, and the checksum catches records torn by a crash.
+ * On startup the segments are scanned and the journal ends at the first invalid record.
+ * </p>
+ * <p>
+ * Appends only copy into the mapping. The mapped pages are forced to disk every
+ * {@code flushIntervalMs}, so a crash of the machine (not just the process) loses at most
+ * that window; this batches the fsyncs of many appends into one. Retention works on whole
+ * segments: sealed segments whose newest event is older than the retention are deleted.
+ * </p>
+ */
+@Slf4j
+public class MappedEventJournal implements AutoCloseable {
+    
+    private static final String SUFFIX = ".log";
+    private static final int RECORD_HEADER = 8;
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final DomainEventCodec codec;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final List<Runnable> appendListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher;
+    
+    private Segment active;
+    private volatile long endPosition;
+    private boolean dirty;
+    
+    /**
+     * Open the journal, recovering the segments already in the directory.
+     *
+     * @param directory the directory holding the segments
+     * @param segmentBytes the size of each segment file
+     * @param flushIntervalMs the interval between fsyncs in milliseconds
+     * @param codec the event codec
+     * @throws IOException if the segments cannot be opened
+     */
+    public MappedEventJournal(Path directory, int segmentBytes, long flushIntervalMs, DomainEventCodec codec)
+            throws IOException {
+        if (segmentBytes < 4096) {
+            throw new IllegalArgumentException("Segment size must be at least 4096 bytes: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.codec = codec;
+        Files.createDirectories(directory);
+        recover();
+        
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Append an event.
+     *
+     * @param event the event
+     * @return the position of the event
+     * @throws IllegalArgumentException if the event does not fit in a segment
+     */
+    public long append(DomainEvent event) {
+        byte[] frame = codec.encode(event);
+        int size = RECORD_HEADER + frame.length;
+        if (size > segmentBytes) {
+            throw new IllegalArgumentException("Event " + event.getEventType() + " of " + size
+                    + " bytes does not fit in a segment");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(frame);
+        
+        long position;
+        appendLock.lock();
+        try {
+            if (active == null || active.limit + size > segmentBytes) {
+                roll();
+            }
+            int offset = active.limit;
+            active.buffer.put(offset + RECORD_HEADER, frame);
+            active.buffer.putInt(offset + 4, (int) crc.getValue());
+            active.buffer.putInt(offset, frame.length);
+            active.limit = offset + size;
+            active.lastTimestamp = event.getTimestamp();
+            position = active.base + offset;
+            dirty = true;
+            endPosition = active.base + active.limit;
+        } finally {
+            appendLock.unlock();
+        }
+        appendListeners.forEach(Runnable::run);
+        return position;
+    }
+    
+    /**
+     * Read events starting at a position.
+     * Records that pass the checksum but cannot be decoded, for example of an event type
+     * removed since, are returned without an event so callers can step over them.
+     *
+     * @param position the position to read from; positions before the retained journal start at its beginning
+     * @param maxEvents the maximum number of events
+     * @return the events in journal order
+     */
+    public List<JournalEntry> read(long position, int maxEvents) {
+        List<JournalEntry> entries = new ArrayList<>();
+        long end = endPosition;
+        long current = Math.max(position, startPosition());
+        while (entries.size() < maxEvents && current < end) {
+            Map.Entry<Long, Segment> floor = segments.floorEntry(current);
+            if (floor == null) {
+                break;
+            }
+            Segment segment = floor.getValue();
+            int offset = (int) (current - segment.base);
+            int limit = (int) Math.min(segment.limit, end - segment.base);
+            if (offset >= limit) {
+                Long next = segments.higherKey(segment.base);
+                if (next == null) {
+                    break;
+                }
+                current = next;
+                continue;
+            }
+            int length = segment.buffer.getInt(offset);
+            long next = current + RECORD_HEADER + length;
+            DomainEvent event = null;
+            try {
+                event = codec.decode(segment.buffer, offset + RECORD_HEADER);
+            } catch (RuntimeException e) {
+                log.warn("Undecodable event at journal position {}: {}", current, e.getMessage());
+            }
+            entries.add(new JournalEntry(current, next, event));
+            current = next;
+        }
+        return entries;
+    }
+    
+    /**
+     * Find the position of the first event at or after a timestamp.
+     *
+     * @param timestamp the timestamp
+     * @return the position, or the end of the journal if every event is older
+     */
+    public long positionAt(LocalDateTime timestamp) {
+        long end = endPosition;
+        if (segments.isEmpty()) {
+            return end;
+        }
+        Long startBase = segments.firstKey();
+        // Segments are in time order, so skip those whose newest event is still older
+        for (Segment segment : segments.values()) {
+            if (segment.lastTimestamp != null && segment.lastTimestamp.isBefore(timestamp)) {
+                startBase = segments.higherKey(segment.base);
+            } else {
+                break;
+            }
+        }
+        if (startBase == null) {
+            return end;
+        }
+        for (Segment segment : segments.tailMap(startBase).values()) {
+            int limit = (int) Math.min(segment.limit, end - segment.base);
+            int offset = 0;
+            while (offset < limit) {
+                EventHeader header = codec.readHeader(segment.buffer, offset + RECORD_HEADER);
+                if (!header.timestamp().isBefore(timestamp)) {
+                    return segment.base + offset;
+                }
+                offset += RECORD_HEADER + segment.buffer.getInt(offset);
+            }
+        }
+        return end;
+    }
+    
+    /**
+     * Round a position up to the start of a record, so a cursor never points into the middle of one.
+     *
+     * @param position the position
+     * @return the first record position at or after it, clamped to the retained journal
+     */
+    public long alignToRecord(long position) {
+        long end = endPosition;
+        if (position <= startPosition()) {
+            return startPosition();
+        }
+        if (position >= end) {
+            return end;
+        }
+        Segment segment = segments.floorEntry(position).getValue();
+        int target = (int) (position - segment.base);
+        int limit = (int) Math.min(segment.limit, end - segment.base);
+        int offset = 0;
+        while (offset < target && offset < limit) {
+            offset += RECORD_HEADER + segment.buffer.getInt(offset);
+        }
+        if (offset >= limit) {
+            Long next = segments.higherKey(segment.base);
+            return next != null ? next : end;
+        }
+        return segment.base + offset;
+    }
+    
+    /**
+     * Position of the oldest retained event.
+     *
+     * @return the start position
+     */
+    public long startPosition() {
+        Map.Entry<Long, Segment> first = segments.firstEntry();
+        return first != null ? first.getKey() : endPosition;
+    }
+    
+    /**
+     * Position after the newest event.
+     *
+     * @return the end position
+     */
+    public long endPosition() {
+        return endPosition;
+    }
+    
+    /**
+     * Register a callback run after every append, for example to wake up consumers.
+     *
+     * @param listener the callback
+     */
+    public void onAppend(Runnable listener) {
+        appendListeners.add(listener);
+    }
+    
+    /**
+     * Force appended events to disk.
+     */
+    public void flush() {
+        Segment segment;
+        appendLock.lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            segment = active;
+        } finally {
+            appendLock.unlock();
+        }
+        segment.buffer.force();
+    }
+    
+    /**
+     * Delete sealed segments whose newest event is older than the cutoff.
+     *
+     * @param cutoff the cutoff
+     * @return the number of deleted segments
+     */
+    public int deleteSegmentsBefore(LocalDateTime cutoff) {
+        int deleted = 0;
+        for (Segment segment : segments.values()) {
+            if (segment == active || segment.lastTimestamp == null || !segment.lastTimestamp.isBefore(cutoff)) {
+                break;
+            }
+            segments.remove(segment.base);
+            try {
+                segment.channel.close();
+                Files.deleteIfExists(segment.path);
+                deleted++;
+                log.info("Deleted event journal segment {}", segment.path.getFileName());
+            } catch (IOException e) {
+                log.warn("Failed to delete event journal segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+    
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flush();
+        for (Segment segment : segments.values()) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close event journal segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+    
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush the event journal", e);
+        }
+    }
+    
+    /**
+     * Seal the active segment and start a new one at the current end position.
+     */
+    private void roll() {
+        long base = 0;
+        if (active != null) {
+            active.buffer.force();
+            base = active.base + active.limit;
+        }
+        try {
+            active = open(directory.resolve(String.format("%020d%s", base, SUFFIX)), base);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create event journal segment", e);
+        }
+        segments.put(base, active);
+        log.debug("Started event journal segment at position {}", base);
+    }
+    
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            Segment segment = open(file, base);
+            scan(segment);
+            segments.put(base, segment);
+            active = segment;
+        }
+        if (active != null) {
+            // Clear anything after the last valid record so a torn write cannot resurface
+            ByteBuffer zeros = ByteBuffer.allocate(Math.min(64 * 1024, segmentBytes));
+            for (int offset = active.limit; offset < segmentBytes; offset += zeros.capacity()) {
+                active.buffer.put(offset, zeros.array(), 0, Math.min(zeros.capacity(), segmentBytes - offset));
+            }
+            endPosition = active.base + active.limit;
+            log.info("Recovered event journal with {} segments, positions {} to {}",
+                    segments.size(), segments.firstKey(), endPosition);
+        }
+    }
+    
+    private void scan(Segment segment) {
+        int offset = 0;
+        while (offset + RECORD_HEADER <= segmentBytes) {
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER + length > segmentBytes) {
+                break;
+            }
+            byte[] frame = new byte[length];
+            segment.buffer.get(offset + RECORD_HEADER, frame);
+            CRC32C crc = new CRC32C();
+            crc.update(frame);
+            if ((int) crc.getValue() != segment.buffer.getInt(offset + 4)) {
+                log.warn("Event journal segment {} ends with a torn record at offset {}",
+                        segment.path.getFileName(), offset);
+                break;
+            }
+            segment.lastTimestamp = codec.readHeader(ByteBuffer.wrap(frame), 0).timestamp();
+            offset += RECORD_HEADER + length;
+        }
+        segment.limit = offset;
+    }
+    
+    private Segment open(Path path, long base) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        return new Segment(path, base, channel, buffer);
+    }
+    
+    private static final class Segment {
+        private final Path path;
+        private final long base;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private volatile int limit;
+        private volatile LocalDateTime lastTimestamp;
+        
+        private Segment(Path path, long base, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.base = base;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
\ No newline at end of file
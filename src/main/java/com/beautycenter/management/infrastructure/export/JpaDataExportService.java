@@ -0,0 +1,147 @@
+package com.beautycenter.management.infrastructure.export;
+
+import com.beautycenter.management.domain.model.ExportFormat;
+import com.beautycenter.management.domain.service.DataExportService;
+import com.beautycenter.management.infrastructure.persistence.entity.AppointmentEntity;
+import com.beautycenter.management.infrastructure.persistence.entity.UserEntity;
+import com.beautycenter.management.infrastructure.persistence.repository.JpaAppointmentRepository;
+import com.beautycenter.management.infrastructure.persistence.repository.UserJpaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the DataExportService that streams JPA entities straight to the output.
+ * Rows are read with a JDBC fetch size and the persistence context is cleared after every
+ * chunk, so neither the result set nor the loaded entities accumulate in memory.
+ */
+@Service
+public class JpaDataExportService implements DataExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JpaDataExportService.class);
+    
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
+    private static final String[] APPOINTMENT_COLUMNS = {
+            "id", "companyId", "customerId", "employeeId", "serviceId", "startTime", "endTime",
+            "status", "totalPrice", "notes", "version", "createdAt", "updatedAt"
+    };
+    
+    private static final String[] USER_COLUMNS = {
+            "id", "username", "email", "firstName", "lastName", "phoneNumber", "roles",
+            "active", "companyId", "createdAt", "updatedAt"
+    };
+    
+    private final JpaAppointmentRepository appointmentRepository;
+    private final UserJpaRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    
+    public JpaDataExportService(JpaAppointmentRepository appointmentRepository,
+                                UserJpaRepository userRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                @Value("${app.export.chunk-size:500}") int chunkSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAppointments(ExportFormat format, UUID companyId, LocalDateTime from, LocalDateTime to,
+                                   OutputStream output) throws IOException {
+        LocalDateTime start = from != null ? from : MIN_TIME;
+        LocalDateTime end = to != null ? to : MAX_TIME;
+        RowWriter writer = RowWriter.create(format, APPOINTMENT_COLUMNS, output, objectMapper);
+        
+        try (Stream<AppointmentEntity> appointments = companyId != null
+                ? appointmentRepository.streamByCompanyIdAndStartTimeRange(companyId, start, end)
+                : appointmentRepository.streamByStartTimeRange(start, end)) {
+            long rows = 0;
+            Iterator<AppointmentEntity> iterator = appointments.iterator();
+            while (iterator.hasNext()) {
+                AppointmentEntity a = iterator.next();
+                // Only the foreign keys of the lazy associations are read, which does not initialize them
+                writer.write(
+                        a.getId(),
+                        a.getCompanyId(),
+                        a.getCustomer() != null ? a.getCustomer().getId() : null,
+                        a.getEmployee() != null ? a.getEmployee().getId() : null,
+                        a.getService() != null ? a.getService().getId() : null,
+                        a.getStartTime(),
+                        a.getEndTime(),
+                        a.getStatus(),
+                        a.getTotalPrice(),
+                        a.getNotes(),
+                        a.getVersion(),
+                        a.getCreatedAt(),
+                        a.getUpdatedAt());
+                if (++rows % chunkSize == 0) {
+                    endChunk(writer);
+                }
+            }
+            writer.flush();
+            logger.debug("Exported {} appointments as {}", rows, format);
+            return rows;
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(ExportFormat format, Long companyId, OutputStream output) throws IOException {
+        RowWriter writer = RowWriter.create(format, USER_COLUMNS, output, objectMapper);
+        
+        try (Stream<UserEntity> users = companyId != null
+                ? userRepository.streamByCompanyId(companyId)
+                : userRepository.streamAll()) {
+            long rows = 0;
+            Iterator<UserEntity> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserEntity u = iterator.next();
+                writer.write(
+                        u.getId(),
+                        u.getUsername(),
+                        u.getEmail(),
+                        u.getFirstName(),
+                        u.getLastName(),
+                        u.getPhoneNumber(),
+                        u.getRoles().stream().map(Enum::name).sorted().collect(Collectors.joining(" ")),
+                        u.isActive(),
+                        u.getCompanyId(),
+                        u.getCreatedAt(),
+                        u.getUpdatedAt());
+                // The row after this user may already be read for the fetched roles,
+                // so only this user is detached instead of clearing the whole context
+                entityManager.detach(u);
+                if (++rows % chunkSize == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            logger.debug("Exported {} users as {}", rows, format);
+            return rows;
+        }
+    }
+    
+    private void endChunk(RowWriter writer) throws IOException {
+        writer.flush();
+        entityManager.clear();
+    }
+}
\ No newline at end of file
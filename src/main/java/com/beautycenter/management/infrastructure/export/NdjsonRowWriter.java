@@ -0,0 +1,40 @@
+package com.beautycenter.management.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes each row as a JSON object on its own line.
+ */
+class NdjsonRowWriter implements RowWriter {
+    
+    private final String[] columns;
+    private final JsonGenerator generator;
+    
+    NdjsonRowWriter(String[] columns, OutputStream output, ObjectMapper objectMapper) throws IOException {
+        this.columns = columns;
+        this.generator = objectMapper.getFactory().createGenerator(output);
+        // Leave the response stream open for the servlet container
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+    
+    @Override
+    public void write(Object... values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            generator.writeObject(values[i]);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.beautycenter.management.infrastructure.export;
+
+import com.beautycenter.management.domain.model.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes flat rows with a fixed set of columns to an output stream.
+ */
+public interface RowWriter {
+    
+    /**
+     * Write a single row. Values are written in column order.
+     *
+     * @param values the values of the row
+     * @throws IOException if writing fails
+     */
+    void write(Object... values) throws IOException;
+    
+    /**
+     * Flush buffered rows to the underlying stream.
+     *
+     * @throws IOException if writing fails
+     */
+    void flush() throws IOException;
+    
+    /**
+     * Create a writer for the given format.
+     *
+     * @param format the output format
+     * @param columns the column names
+     * @param output the stream to write to
+     * @param objectMapper the mapper used for JSON output
+     * @return the writer
+     * @throws IOException if the header cannot be written
+     */
+    static RowWriter create(ExportFormat format, String[] columns, OutputStream output,
+                            ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter(columns, output, objectMapper);
+            case CSV -> new CsvRowWriter(columns, output);
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.beautycenter.management.infrastructure.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 comma-separated values. The first record is the header and names the columns.
+ * Quoted fields may contain commas, quotes and line breaks.
+ */
+class CsvRowReader implements RowReader {
+    
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final StringBuilder field = new StringBuilder();
+    private long rowNumber;
+    private boolean eof;
+    
+    CsvRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            // Tolerate a byte order mark in front of the first column name
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            columns.put(name, i);
+        }
+    }
+    
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+        
+        long number = ++rowNumber;
+        if (values.size() != columns.size()) {
+            throw new MalformedRowException(number,
+                    "Expected " + columns.size() + " fields but found " + values.size());
+        }
+        return new CsvRow(number, values.toArray(new String[0]));
+    }
+    
+    /**
+     * Read one record.
+     *
+     * @return the fields, or null at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        if (eof) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean any = false;
+        
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                eof = true;
+                if (quoted) {
+                    throw new MalformedRowException(rowNumber + 1, "Unterminated quoted field");
+                }
+                if (!any) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            any = true;
+            
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+    
+    private final class CsvRow implements ImportRow {
+        
+        private final long number;
+        private final String[] values;
+        
+        private CsvRow(long number, String[] values) {
+            this.number = number;
+            this.values = values;
+        }
+        
+        @Override
+        public long number() {
+            return number;
+        }
+        
+        @Override
+        public String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null) {
+                return null;
+            }
+            String value = values[index].trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
\ No newline at end of file
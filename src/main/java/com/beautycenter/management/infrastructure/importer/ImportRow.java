@@ -0,0 +1,22 @@
+package com.beautycenter.management.infrastructure.importer;
+
+/**
+ * A parsed input row with values addressed by column name.
+ */
+public interface ImportRow {
+    
+    /**
+     * Row number in the input, starting at 1 for the first data row.
+     *
+     * @return the row number
+     */
+    long number();
+    
+    /**
+     * Get a value as text.
+     *
+     * @param column the column name
+     * @return the trimmed value, or null if the column is missing or blank
+     */
+    String get(String column);
+}
\ No newline at end of file
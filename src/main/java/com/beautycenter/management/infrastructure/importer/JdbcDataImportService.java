@@ -0,0 +1,375 @@
+package com.beautycenter.management.infrastructure.importer;
+
+import com.beautycenter.management.domain.model.ExportFormat;
+import com.beautycenter.management.domain.model.ImportReport;
+import com.beautycenter.management.domain.model.ImportRowError;
+import com.beautycenter.management.domain.service.DataImportService;
+import com.beautycenter.management.infrastructure.event.invalidation.CacheInvalidationRelay;
+import com.beautycenter.management.infrastructure.event.invalidation.Invalidation;
+import com.beautycenter.management.infrastructure.event.invalidation.InvalidationBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of the DataImportService that streams rows into the database with JDBC batches.
+ * <p>
+ * Rows are parsed one at a time, validated, de-duplicated against the natural keys already
+ * seen in the input and inserted in batches, each batch in its own transaction. Entities and
+ * their lifecycle callbacks are bypassed; ids and timestamps are assigned here. Rows that
+ * collide with existing data are skipped by the database ({@code ON CONFLICT DO NOTHING}):
+ * customers and employees by email, services by company and case-insensitive name.
+ * Emails are stored as given, matching the case-sensitive unique constraints.
+ * If a batch fails, its rows are retried one by one so the offending rows can be reported.
+ * </p>
+ */
+@Service
+public class JdbcDataImportService implements DataImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JdbcDataImportService.class);
+    
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MAX_TEXT_LENGTH = 255;
+    
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (id, first_name, last_name, email, phone_number, address, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (id, first_name, last_name, email, phone_number, role, company_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    
+    private static final String INSERT_SERVICE =
+            "INSERT INTO services (id, name, description, duration_minutes, price, company_id, category, active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (company_id, lower(name)) DO NOTHING";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final InvalidationBus invalidationBus;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final long progressInterval;
+    
+    public JdbcDataImportService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 EntityManagerFactory entityManagerFactory,
+                                 InvalidationBus invalidationBus,
+                                 @Value("${app.import.batch-size:1000}") int batchSize,
+                                 @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors,
+                                 @Value("${app.import.progress-interval:50000}") long progressInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.invalidationBus = invalidationBus;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxReportedErrors = maxReportedErrors;
+        this.progressInterval = Math.max(progressInterval, 1);
+    }
+    
+    @Override
+    public ImportReport importCustomers(ExportFormat format, InputStream input) throws IOException {
+        return run("customers", INSERT_CUSTOMER, format, input, new RowConverter() {
+            @Override
+            public Object[] convert(ImportRow row, Timestamp now) {
+                return new Object[] {
+                        UUID.randomUUID(),
+                        required(row, "firstName"),
+                        required(row, "lastName"),
+                        email(row, false),
+                        text(row, "phoneNumber"),
+                        text(row, "address"),
+                        now,
+                        now
+                };
+            }
+            
+            @Override
+            public String naturalKey(Object[] values) {
+                return (String) values[3];
+            }
+        });
+    }
+    
+    @Override
+    public ImportReport importEmployees(ExportFormat format, InputStream input, UUID companyId) throws IOException {
+        return run("employees", INSERT_EMPLOYEE, format, input, new RowConverter() {
+            @Override
+            public Object[] convert(ImportRow row, Timestamp now) {
+                return new Object[] {
+                        UUID.randomUUID(),
+                        required(row, "firstName"),
+                        required(row, "lastName"),
+                        email(row, true),
+                        text(row, "phoneNumber"),
+                        text(row, "role"),
+                        companyId(row, companyId),
+                        now,
+                        now
+                };
+            }
+            
+            @Override
+            public String naturalKey(Object[] values) {
+                return (String) values[3];
+            }
+        });
+    }
+    
+    @Override
+    public ImportReport importServices(ExportFormat format, InputStream input, UUID companyId) throws IOException {
+        return run("services", INSERT_SERVICE, format, input, new RowConverter() {
+            @Override
+            public Object[] convert(ImportRow row, Timestamp now) {
+                String active = row.get("active");
+                return new Object[] {
+                        UUID.randomUUID(),
+                        required(row, "name"),
+                        text(row, "description"),
+                        positiveLong(row, "durationMinutes"),
+                        price(row, "price"),
+                        companyId(row, companyId),
+                        text(row, "category"),
+                        active == null || Boolean.parseBoolean(active),
+                        now,
+                        now
+                };
+            }
+            
+            @Override
+            public String naturalKey(Object[] values) {
+                return values[5] + "|" + ((String) values[1]).toLowerCase(Locale.ROOT);
+            }
+        });
+    }
+    
+    private ImportReport run(String entity, String sql, ExportFormat format, InputStream input,
+                             RowConverter converter) throws IOException {
+        long started = System.currentTimeMillis();
+        ImportReport report = ImportReport.builder().entity(entity).build();
+        LongHashSet seen = new LongHashSet(1 << 16);
+        Batch batch = new Batch();
+        RowReader reader = RowReader.create(format, input, objectMapper);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        while (true) {
+            ImportRow row;
+            try {
+                row = reader.next();
+            } catch (MalformedRowException e) {
+                report.setProcessed(report.getProcessed() + 1);
+                reject(report, e.getRow(), e.getMessage());
+                continue;
+            }
+            if (row == null) {
+                break;
+            }
+            report.setProcessed(report.getProcessed() + 1);
+            
+            Object[] values;
+            try {
+                values = converter.convert(row, now);
+            } catch (IllegalArgumentException e) {
+                reject(report, row.number(), e.getMessage());
+                continue;
+            }
+            
+            String key = converter.naturalKey(values);
+            if (key != null && !seen.add(LongHashSet.hash(key))) {
+                report.setDuplicates(report.getDuplicates() + 1);
+                continue;
+            }
+            
+            batch.add(row.number(), values);
+            if (batch.size() >= batchSize) {
+                flush(sql, batch, report);
+            }
+            if (report.getProcessed() % progressInterval == 0) {
+                logger.info("Import of {}: {} rows processed, {} inserted, {} duplicates, {} failed",
+                        entity, report.getProcessed(), report.getInserted(), report.getDuplicates(), report.getFailed());
+            }
+        }
+        flush(sql, batch, report);
+        if (report.getInserted() > 0) {
+            // Rows inserted over JDBC do not invalidate cached query results, so drop them here and on the other nodes
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            invalidationBus.publish(new Invalidation(CacheInvalidationRelay.QUERY_RESULTS, null, entity,
+                    System.currentTimeMillis()));
+        }
+        
+        report.setDurationMillis(System.currentTimeMillis() - started);
+        logger.info("Import of {} finished in {} ms: {} rows processed, {} inserted, {} duplicates, {} failed",
+                entity, report.getDurationMillis(), report.getProcessed(), report.getInserted(),
+                report.getDuplicates(), report.getFailed());
+        return report;
+    }
+    
+    private void flush(String sql, Batch batch, ImportReport report) {
+        if (batch.size() == 0) {
+            return;
+        }
+        try {
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, batch.values));
+            for (int count : counts) {
+                countInsert(report, count);
+            }
+        } catch (DataAccessException e) {
+            logger.debug("Batch insert failed, retrying {} rows individually: {}", batch.size(), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                Object[] values = batch.values.get(i);
+                try {
+                    Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(sql, values));
+                    countInsert(report, count != null ? count : 0);
+                } catch (DataAccessException rowFailure) {
+                    Throwable cause = rowFailure.getMostSpecificCause();
+                    reject(report, batch.rows.get(i), cause != null ? cause.getMessage() : rowFailure.getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+    
+    private void countInsert(ImportReport report, int count) {
+        // Drivers that rewrite batches report success without a row count
+        if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+            report.setInserted(report.getInserted() + 1);
+        } else {
+            report.setDuplicates(report.getDuplicates() + 1);
+        }
+    }
+    
+    private void reject(ImportReport report, long row, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(ImportRowError.builder().row(row).message(message).build());
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+    
+    private static String required(ImportRow row, String column) {
+        String value = text(row, column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+    
+    private static String text(ImportRow row, String column) {
+        String value = row.get(column);
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(column + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+    
+    private static String email(ImportRow row, boolean required) {
+        String value = required ? required(row, "email") : text(row, "email");
+        if (value != null && !EMAIL.matcher(value).matches()) {
+            throw new IllegalArgumentException("email is not a valid address: " + value);
+        }
+        return value;
+    }
+    
+    private static UUID companyId(ImportRow row, UUID defaultCompanyId) {
+        String value = row.get("companyId");
+        if (value == null) {
+            return defaultCompanyId;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("companyId is not a valid UUID: " + value);
+        }
+    }
+    
+    private static Long positiveLong(ImportRow row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed <= 0) {
+                throw new IllegalArgumentException(column + " must be positive");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+    
+    private static BigDecimal price(ImportRow row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            BigDecimal parsed = new BigDecimal(value);
+            if (parsed.signum() < 0 || parsed.precision() - parsed.scale() > 8) {
+                throw new IllegalArgumentException(column + " is out of range: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a decimal: " + value);
+        }
+    }
+    
+    /**
+     * Converts a parsed row to insert parameters.
+     */
+    private interface RowConverter {
+        
+        /**
+         * @throws IllegalArgumentException if the row is invalid
+         */
+        Object[] convert(ImportRow row, Timestamp now);
+        
+        /**
+         * The natural key used to skip duplicates within the input, or null if the row has none.
+         */
+        String naturalKey(Object[] values);
+    }
+    
+    private static final class Batch {
+        private final List<Long> rows = new ArrayList<>();
+        private final List<Object[]> values = new ArrayList<>();
+        
+        private void add(long row, Object[] rowValues) {
+            rows.add(row);
+            values.add(rowValues);
+        }
+        
+        private int size() {
+            return values.size();
+        }
+        
+        private void clear() {
+            rows.clear();
+            values.clear();
+        }
+    }
+}
\ No newline at end of file
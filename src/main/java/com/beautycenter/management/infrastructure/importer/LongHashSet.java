@@ -0,0 +1,83 @@
+package com.beautycenter.management.infrastructure.importer;
+
+/**
+ * Open-addressing hash set of 64-bit keys.
+ * Used to remember which natural keys an import has already seen, at a fraction of
+ * the memory a {@code HashSet<String>} of the keys themselves would need.
+ */
+class LongHashSet {
+    
+    private static final long EMPTY = 0L;
+    
+    private long[] slots;
+    private int size;
+    private int mask;
+    
+    LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        this.slots = new long[capacity];
+        this.mask = capacity - 1;
+    }
+    
+    /**
+     * Add a key.
+     *
+     * @param key the key
+     * @return true if the key was not present yet
+     */
+    boolean add(long key) {
+        if (key == EMPTY) {
+            key = 1L;
+        }
+        int index = (int) mix(key) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = key;
+        if (++size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    /**
+     * 64-bit FNV-1a hash of a string, used as the key for text values.
+     *
+     * @param value the value
+     * @return the hash
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        mask = slots.length - 1;
+        size = 0;
+        for (long key : old) {
+            if (key != EMPTY) {
+                add(key);
+            }
+        }
+    }
+    
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.beautycenter.management.infrastructure.importer;
+
+/**
+ * Exception thrown when an input row cannot be parsed. The reader stays usable
+ * and continues with the next row.
+ */
+public class MalformedRowException extends RuntimeException {
+    
+    private final long row;
+    
+    public MalformedRowException(long row, String message) {
+        super(message);
+        this.row = row;
+    }
+    
+    public long getRow() {
+        return row;
+    }
+}
\ No newline at end of file
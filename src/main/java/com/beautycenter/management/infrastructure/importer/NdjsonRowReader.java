@@ -0,0 +1,59 @@
+package com.beautycenter.management.infrastructure.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads one JSON object per line. Blank lines are skipped.
+ */
+class NdjsonRowReader implements RowReader {
+    
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long rowNumber;
+    
+    NdjsonRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        
+        long number = ++rowNumber;
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new MalformedRowException(number, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new MalformedRowException(number, "Expected a JSON object");
+        }
+        return new JsonRow(number, node);
+    }
+    
+    private record JsonRow(long number, JsonNode node) implements ImportRow {
+        
+        @Override
+        public String get(String column) {
+            JsonNode value = node.get(column);
+            if (value == null || value.isNull()) {
+                return null;
+            }
+            String text = value.asText().trim();
+            return text.isEmpty() ? null : text;
+        }
+    }
+}
\ No newline at end of file
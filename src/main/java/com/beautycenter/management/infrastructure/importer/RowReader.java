@@ -0,0 +1,42 @@
+package com.beautycenter.management.infrastructure.importer;
+
+import com.beautycenter.management.domain.model.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads input rows one at a time.
+ */
+public interface RowReader {
+    
+    /**
+     * Read the next row.
+     *
+     * @return the row, or null at the end of the input
+     * @throws MalformedRowException if the row cannot be parsed; the next call continues after it
+     * @throws IOException if reading fails
+     */
+    ImportRow next() throws IOException;
+    
+    /**
+     * Create a reader for the given format.
+     *
+     * @param format the input format
+     * @param input the stream to read from
+     * @param objectMapper the mapper used for JSON input
+     * @return the reader
+     * @throws IOException if the header cannot be read
+     */
+    static RowReader create(ExportFormat format, InputStream input, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        return switch (format) {
+            case NDJSON -> new NdjsonRowReader(reader, objectMapper);
+            case CSV -> new CsvRowReader(reader);
+        };
+    }
+}
\ No newline at end of file
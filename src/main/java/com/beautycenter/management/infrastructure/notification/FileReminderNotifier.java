@@ -0,0 +1,52 @@
+package com.beautycenter.management.infrastructure.notification;
+
+import com.beautycenter.management.domain.model.AppointmentReminder;
+import com.beautycenter.management.domain.service.ReminderNotifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Implementation of the ReminderNotifier that appends reminders to a local file.
+ * Stands in for an email or SMS gateway in development and testing: each batch is
+ * written with a single open/append, one line per reminder.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "file")
+public class FileReminderNotifier implements ReminderNotifier {
+    
+    private final Path outputFile;
+    
+    public FileReminderNotifier(@Value("${app.reminders.file:reminders.log}") String outputFile) {
+        this.outputFile = Path.of(outputFile);
+    }
+    
+    @Override
+    public synchronized void sendReminders(List<AppointmentReminder> reminders) {
+        try (BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AppointmentReminder reminder : reminders) {
+                writer.write(String.format("%s\tappointment=%s\tcustomer=%s\temployee=%s\tservice=%s\tstart=%s",
+                        reminder.getRemindAt(),
+                        reminder.getAppointmentId(),
+                        reminder.getCustomerId(),
+                        reminder.getEmployeeId(),
+                        reminder.getServiceId(),
+                        reminder.getStartTime()));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            // The reminders are already claimed; failing lets the scheduler release them for a retry
+            throw new UncheckedIOException("Failed to write " + reminders.size() + " reminders to " + outputFile, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.beautycenter.management.infrastructure.notification;
+
+import com.beautycenter.management.domain.model.AppointmentReminder;
+import com.beautycenter.management.domain.service.ReminderNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of the ReminderNotifier that writes reminders to the application log.
+ * This is the default until a real delivery channel is configured.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderNotifier implements ReminderNotifier {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoggingReminderNotifier.class);
+    
+    @Override
+    public void sendReminders(List<AppointmentReminder> reminders) {
+        for (AppointmentReminder reminder : reminders) {
+            logger.info("Reminder: Appointment ID={}, Customer ID={}, Starts at={}",
+                    reminder.getAppointmentId(), reminder.getCustomerId(), reminder.getStartTime());
+        }
+    }
+}
\ No newline at end of file
@@ -1,22 +1,36 @@
 package com.beautycenter.management.infrastructure.persistence.adapter;
 
 import com.beautycenter.management.domain.model.Appointment;
+import com.beautycenter.management.domain.model.AppointmentReminder;
 import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
 import com.beautycenter.management.domain.model.Customer;
 import com.beautycenter.management.domain.model.Employee;
 import com.beautycenter.management.domain.repository.AppointmentRepository;
+import com.beautycenter.management.domain.service.exception.AppointmentConflictException;
+import com.beautycenter.management.domain.service.exception.ConcurrentUpdateException;
 import com.beautycenter.management.infrastructure.persistence.entity.CustomerEntity;
 import com.beautycenter.management.infrastructure.persistence.entity.EmployeeEntity;
 import com.beautycenter.management.infrastructure.persistence.mapper.AppointmentEntityMapper;
 import com.beautycenter.management.infrastructure.persistence.mapper.CustomerEntityMapper;
 import com.beautycenter.management.infrastructure.persistence.mapper.EmployeeEntityMapper;
 import com.beautycenter.management.infrastructure.persistence.repository.JpaAppointmentRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -31,12 +45,45 @@ public class AppointmentRepositoryAdapter implements AppointmentRepository {
     private final AppointmentEntityMapper appointmentMapper;
     private final CustomerEntityMapper customerMapper;
     private final EmployeeEntityMapper employeeMapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Name suffix of the per-partition exclusion constraints that prevent overlapping bookings per employee.
+     */
+    private static final String NO_OVERLAP_CONSTRAINT = "_employee_no_overlap";
+
+    private static final String TRANSITION_STATUS_SQL =
+            "UPDATE appointments SET status = :toStatus, version = version + 1, updated_at = :updatedAt " +
+            "WHERE company_id = :companyId AND status = :fromStatus " +
+            "AND start_time >= :windowStart AND start_time < :windowEnd " +
+            "RETURNING id, employee_id, start_time, end_time";
+
+    // Matching start_time prunes to one partition and skips appointments rescheduled since the reminder was loaded
+    private static final String CLAIM_REMINDER_SQL =
+            "UPDATE appointments SET reminder_sent_for = start_time " +
+            "WHERE id = :id AND start_time = :startTime AND status IN ('REQUESTED', 'CONFIRMED') " +
+            "AND reminder_sent_for IS DISTINCT FROM start_time";
+
+    private static final String RELEASE_REMINDER_SQL =
+            "UPDATE appointments SET reminder_sent_for = NULL " +
+            "WHERE id = :id AND start_time = :startTime AND reminder_sent_for = start_time";
 
     @Override
     public Appointment save(Appointment appointment) {
         var entity = appointmentMapper.toEntity(appointment);
-        var savedEntity = jpaRepository.save(entity);
-        return appointmentMapper.toDomain(savedEntity);
+        try {
+            // Flush so a violated booking constraint surfaces here rather than at commit
+            var savedEntity = jpaRepository.saveAndFlush(entity);
+            return appointmentMapper.toDomain(savedEntity);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new AppointmentConflictException("The selected time slot is not available", e);
+            }
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConcurrentUpdateException("Appointment was modified concurrently: " + appointment.getId(), e);
+        }
     }
 
     @Override
@@ -98,7 +145,90 @@ public class AppointmentRepositoryAdapter implements AppointmentRepository {
     @Override
     public List<Appointment> findOverlappingAppointments(UUID companyId, UUID employeeId, LocalDateTime start, LocalDateTime end) {
         return appointmentMapper.toDomainList(
-                jpaRepository.findOverlappingAppointments(companyId, employeeId, start, end));
+                jpaRepository.findOverlappingAppointments(companyId, employeeId,
+                        start.minus(Appointment.MAX_DURATION), start, end));
+    }
+
+    @Override
+    public boolean updateStatus(UUID id, LocalDateTime startTime, Long expectedVersion, AppointmentStatus status) {
+        return jpaRepository.updateStatus(id, startTime, expectedVersion, status.name(), LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    public boolean addAdditionalService(UUID id, LocalDateTime startTime, Long expectedVersion, UUID serviceId) {
+        // Claim the version first so concurrent writers are rejected before the collection changes
+        if (jpaRepository.incrementVersion(id, startTime, expectedVersion, LocalDateTime.now()) != 1) {
+            return false;
+        }
+        jpaRepository.insertAdditionalService(id, serviceId);
+        return true;
+    }
+
+    @Override
+    public boolean removeAdditionalService(UUID id, LocalDateTime startTime, Long expectedVersion, UUID serviceId) {
+        if (jpaRepository.incrementVersion(id, startTime, expectedVersion, LocalDateTime.now()) != 1) {
+            return false;
+        }
+        jpaRepository.deleteAdditionalService(id, serviceId);
+        return true;
+    }
+
+    @Override
+    public List<AppointmentStatusChange> transitionStatus(UUID companyId, AppointmentStatus fromStatus, AppointmentStatus toStatus,
+                                                          LocalDateTime windowStart, LocalDateTime windowEnd) {
+        // Push pending changes before the set-based update and drop entities it may make stale
+        entityManager.flush();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("companyId", companyId)
+                .addValue("fromStatus", fromStatus.name())
+                .addValue("toStatus", toStatus.name())
+                .addValue("windowStart", Timestamp.valueOf(windowStart))
+                .addValue("windowEnd", Timestamp.valueOf(windowEnd))
+                .addValue("updatedAt", Timestamp.valueOf(LocalDateTime.now()));
+
+        List<AppointmentStatusChange> changes = jdbcTemplate.query(TRANSITION_STATUS_SQL, params, (rs, rowNum) ->
+                AppointmentStatusChange.builder()
+                        .appointmentId(rs.getObject("id", UUID.class))
+                        .companyId(companyId)
+                        .employeeId(rs.getObject("employee_id", UUID.class))
+                        .startTime(rs.getTimestamp("start_time").toLocalDateTime())
+                        .endTime(rs.getTimestamp("end_time").toLocalDateTime())
+                        .oldStatus(fromStatus)
+                        .newStatus(toStatus)
+                        .build());
+
+        entityManager.clear();
+        return changes;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Set<UUID> claimReminders(List<AppointmentReminder> reminders) {
+        // Runs in its own read-write transaction since the scheduler tick is read-only and may be on a replica
+        int[] updated = jdbcTemplate.batchUpdate(CLAIM_REMINDER_SQL, reminderParameters(reminders));
+
+        Set<UUID> claimed = new HashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                claimed.add(reminders.get(i).getAppointmentId());
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseReminders(List<AppointmentReminder> reminders) {
+        jdbcTemplate.batchUpdate(RELEASE_REMINDER_SQL, reminderParameters(reminders));
+    }
+
+    private static MapSqlParameterSource[] reminderParameters(List<AppointmentReminder> reminders) {
+        return reminders.stream()
+                .map(reminder -> new MapSqlParameterSource()
+                        .addValue("id", reminder.getAppointmentId())
+                        .addValue("startTime", Timestamp.valueOf(reminder.getStartTime())))
+                .toArray(MapSqlParameterSource[]::new);
     }
 
     @Override
@@ -110,4 +240,10 @@ public class AppointmentRepositoryAdapter implements AppointmentRepository {
     public boolean existsById(UUID id) {
         return jpaRepository.existsById(id);
     }
+
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        Throwable cause = e.getMostSpecificCause();
+        return cause != null && cause.getMessage() != null
+                && cause.getMessage().contains(NO_OVERLAP_CONSTRAINT);
+    }
 }
\ No newline at end of file
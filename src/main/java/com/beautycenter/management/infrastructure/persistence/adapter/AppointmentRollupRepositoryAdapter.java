@@ -0,0 +1,110 @@
+package com.beautycenter.management.infrastructure.persistence.adapter;
+
+import com.beautycenter.management.domain.model.AppointmentTotals;
+import com.beautycenter.management.domain.repository.AppointmentRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Adapter implementation of the AppointmentRollupRepository interface.
+ * Reads and rebuilds the appointment_daily_rollups table, which a trigger on appointments keeps current.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentRollupRepositoryAdapter implements AppointmentRollupRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Stored in place of a missing employee or service, see the V11 migration.
+     */
+    private static final UUID NONE = new UUID(0, 0);
+
+    // %s is one of the fixed grouping columns below, never user input
+    private static final String TOTALS_SQL =
+            "SELECT %1$s AS group_key, sum(appointments) AS appointments, sum(completed) AS completed, " +
+            "sum(cancelled) AS cancelled, sum(no_shows) AS no_shows, sum(revenue_cents) AS revenue_cents, " +
+            "sum(booked_minutes) AS booked_minutes FROM appointment_daily_rollups " +
+            "WHERE company_id = :companyId AND day >= :from AND day <= :to " +
+            "GROUP BY %1$s HAVING sum(appointments) > 0 ORDER BY %1$s";
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('appointments.rollups'))";
+
+    private static final String REBUILD_SQL = "SELECT rebuild_appointment_rollups(:from, :to)";
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentTotals> totalsByDay(UUID companyId, LocalDate from, LocalDate to) {
+        return totals("day", companyId, from, to, (rs, rowNum) ->
+                totals(rs.getDate("group_key").toLocalDate(), null, null, rs));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentTotals> totalsByEmployee(UUID companyId, LocalDate from, LocalDate to) {
+        return totals("employee_id", companyId, from, to, (rs, rowNum) ->
+                totals(null, orNull(rs.getObject("group_key", UUID.class)), null, rs));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentTotals> totalsByService(UUID companyId, LocalDate from, LocalDate to) {
+        return totals("service_id", companyId, from, to, (rs, rowNum) ->
+                totals(null, null, orNull(rs.getObject("group_key", UUID.class)), rs));
+    }
+
+    @Override
+    @Transactional
+    public OptionalInt rebuild(LocalDate from, LocalDate to) {
+        // Read-write so the rebuild reads the primary; the lock is released when the transaction ends
+        Boolean acquired = jdbcTemplate.getJdbcTemplate().queryForObject(TRY_LOCK_SQL, Boolean.class);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return OptionalInt.empty();
+        }
+        Integer rows = jdbcTemplate.queryForObject(REBUILD_SQL, new MapSqlParameterSource()
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to)), Integer.class);
+        return OptionalInt.of(rows != null ? rows : 0);
+    }
+
+    private List<AppointmentTotals> totals(String column, UUID companyId, LocalDate from, LocalDate to,
+                                           RowMapper<AppointmentTotals> mapper) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("companyId", companyId)
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+        return jdbcTemplate.query(String.format(TOTALS_SQL, column), params, mapper);
+    }
+
+    private static AppointmentTotals totals(LocalDate day, UUID employeeId, UUID serviceId,
+                                            ResultSet rs) throws SQLException {
+        return AppointmentTotals.builder()
+                .day(day)
+                .employeeId(employeeId)
+                .serviceId(serviceId)
+                .appointments(rs.getLong("appointments"))
+                .completed(rs.getLong("completed"))
+                .cancelled(rs.getLong("cancelled"))
+                .noShows(rs.getLong("no_shows"))
+                .revenue(BigDecimal.valueOf(rs.getLong("revenue_cents"), 2))
+                .bookedMinutes(rs.getLong("booked_minutes"))
+                .build();
+    }
+
+    private static UUID orNull(UUID id) {
+        return NONE.equals(id) ? null : id;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.beautycenter.management.infrastructure.persistence.adapter;
 
+import com.beautycenter.management.application.cache.PrincipalCache;
+import com.beautycenter.management.application.service.UserApplicationService;
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
 import com.beautycenter.management.domain.model.Role;
 import com.beautycenter.management.domain.model.User;
 import com.beautycenter.management.domain.repository.UserRepository;
@@ -8,15 +11,21 @@ import com.beautycenter.management.infrastructure.persistence.mapper.UserMapper;
 import com.beautycenter.management.infrastructure.persistence.repository.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Adapter implementation of UserRepository.
  * Bridges the domain with the JPA infrastructure.
+ * Every save and delete is recorded in the {@link ResourceVersionRegistry}, so user ETags
+ * change whichever service wrote the user, including registration and password changes,
+ * and evicted from the {@link PrincipalCache} under its previous and its new username.
  */
 @Repository
 @RequiredArgsConstructor
@@ -24,12 +33,21 @@ public class UserRepositoryAdapter implements UserRepository {
     
     private final UserJpaRepository jpaRepository;
     private final UserMapper mapper;
+    private final ResourceVersionRegistry resourceVersions;
+    private final PrincipalCache principalCache;
     
     @Override
     public User save(User user) {
+        String previousUsername = user.getId() == null ? null
+                : jpaRepository.findById(user.getId()).map(UserEntity::getUsername).orElse(null);
         UserEntity entity = mapper.toEntity(user);
         UserEntity savedEntity = jpaRepository.save(entity);
-        return mapper.toDomain(savedEntity);
+        User saved = mapper.toDomain(savedEntity);
+        // An update may move the user to another company, so every user list is affected
+        resourceVersions.changed(UserApplicationService.RESOURCE,
+                user.getId() == null ? saved.getCompanyId() : null, saved.getId());
+        principalCache.evict(previousUsername, saved.getUsername());
+        return saved;
     }
     
     @Override
@@ -80,7 +98,9 @@ public class UserRepositoryAdapter implements UserRepository {
     
     @Override
     public void deleteById(Long id) {
+        jpaRepository.findById(id).ifPresent(entity -> principalCache.evict(entity.getUsername()));
         jpaRepository.deleteById(id);
+        resourceVersions.changed(UserApplicationService.RESOURCE, null, id);
     }
     
     @Override
@@ -97,4 +117,14 @@ public class UserRepositoryAdapter implements UserRepository {
     public boolean existsById(Long id) {
         return jpaRepository.existsById(id);
     }
+    
+    @Override
+    @Transactional
+    public void forEachIdentity(BiConsumer<String, String> consumer) {
+        // Read-write so the scan runs on the primary; a lagging replica would miss users
+        // added while the filter is rebuilt, and the filter would then report them absent
+        try (Stream<Object[]> rows = jpaRepository.streamIdentities()) {
+            rows.forEach(row -> consumer.accept((String) row[0], (String) row[1]));
+        }
+    }
 }
\ No newline at end of file
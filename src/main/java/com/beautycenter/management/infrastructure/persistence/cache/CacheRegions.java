@@ -0,0 +1,29 @@
+package com.beautycenter.management.infrastructure.persistence.cache;
+
+/**
+ * Names of the Hibernate second-level cache regions.
+ */
+public final class CacheRegions {
+    
+    public static final String SERVICES = "reference.services";
+    public static final String COMPANIES = "reference.companies";
+    public static final String LOCATIONS = "reference.locations";
+    public static final String EMPLOYEES = "reference.employees";
+    
+    public static final String ACTIVE_SERVICES_QUERY = "query.active-services";
+    public static final String ACTIVE_LOCATIONS_QUERY = "query.active-locations";
+    
+    /**
+     * Hibernate's default region for cached query results.
+     */
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    
+    /**
+     * Hibernate's region for the last update time of each table, used to invalidate query results.
+     * Entries must never expire before the query results that depend on them.
+     */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+    
+    private CacheRegions() {
+    }
+}
\ No newline at end of file
@@ -72,6 +72,10 @@ public class AppointmentEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         id = id == null ? UUID.randomUUID() : id;
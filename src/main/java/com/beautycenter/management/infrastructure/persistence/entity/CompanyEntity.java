@@ -1,10 +1,13 @@
 package com.beautycenter.management.infrastructure.persistence.entity;
 
+import com.beautycenter.management.infrastructure.persistence.cache.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +18,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "companies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COMPANIES)
 @Data
 @Builder
 @NoArgsConstructor
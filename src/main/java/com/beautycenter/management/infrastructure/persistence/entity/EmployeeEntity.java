@@ -1,10 +1,13 @@
 package com.beautycenter.management.infrastructure.persistence.entity;
 
+import com.beautycenter.management.infrastructure.persistence.cache.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 import java.time.LocalDateTime;
@@ -16,6 +19,8 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "employees")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.EMPLOYEES)
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,101 @@
+package com.beautycenter.management.infrastructure.persistence.lock;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Runs work on at most one node of the cluster at a time, using PostgreSQL session advisory locks.
+ * <p>
+ * The lock is taken with {@code pg_try_advisory_lock} on a connection that is held for the
+ * duration of the work and released on the same connection afterwards. Connections outside a
+ * transaction are routed to the primary, so every node contends on the same lock. If the
+ * connection is lost, the database ends the session and releases the lock with it.
+ * </p>
+ */
+@Component
+public class ClusterLock {
+    
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(hashtext(?))";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext(?))";
+    
+    /**
+     * Work that runs while the lock is held.
+     *
+     * @param <T> the result type
+     * @param <E> the checked exception the work may throw
+     */
+    @FunctionalInterface
+    public interface Work<T, E extends Exception> {
+        T run() throws E;
+    }
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public ClusterLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Run the work if no other node holds the named lock, without waiting for it.
+     * Must not be called inside a transaction, whose connection may be a replica's.
+     *
+     * @param name the lock name
+     * @param work the work to run
+     * @return the result of the work, or empty if another node holds the lock
+     * @throws E if the work fails
+     */
+    public <T, E extends Exception> Optional<T> runIfAvailable(String name, Work<T, E> work) throws E {
+        Object[] result = new Object[1];
+        Exception[] failure = new Exception[1];
+        Boolean acquired = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!call(connection, TRY_LOCK_SQL, name)) {
+                return false;
+            }
+            try {
+                result[0] = work.run();
+            } catch (Exception e) {
+                failure[0] = e;
+            } finally {
+                call(connection, UNLOCK_SQL, name);
+            }
+            return true;
+        });
+        if (failure[0] != null) {
+            throw this.<E>rethrow(failure[0]);
+        }
+        if (!Boolean.TRUE.equals(acquired)) {
+            return Optional.empty();
+        }
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return Optional.ofNullable(value);
+    }
+    
+    private static boolean call(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+    
+    /**
+     * Rethrow a failure of the work unchanged. Work only throws unchecked exceptions or E,
+     * so the cast cannot turn a different checked exception into E.
+     */
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> E rethrow(Exception failure) throws E {
+        if (failure instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        throw (E) failure;
+    }
+}
\ No newline at end of file
@@ -46,6 +46,7 @@ public class AppointmentEntityMapper {
                 .additionalServiceIds(appointment.getAdditionalServiceIds())
                 .createdAt(appointment.getCreatedAt())
                 .updatedAt(appointment.getUpdatedAt())
+                .version(appointment.getVersion())
                 .build();
     }
     
@@ -74,6 +75,7 @@ public class AppointmentEntityMapper {
                 .additionalServiceIds(entity.getAdditionalServiceIds())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
                 .build();
     }
     
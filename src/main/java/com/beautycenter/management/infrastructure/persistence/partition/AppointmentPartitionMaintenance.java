@@ -0,0 +1,76 @@
+package com.beautycenter.management.infrastructure.persistence.partition;
+
+import com.beautycenter.management.infrastructure.persistence.lock.ClusterLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly partitions of the appointments table available ahead of time.
+ * <p>
+ * Appointments for months without a partition land in the default partition, which has
+ * to be scanned by every query. Partitions are created by the database function
+ * {@code create_appointment_partition}, which also moves such rows into the new partition.
+ * Only one node creates partitions at a time; the others skip the run while the cluster lock is held.
+ * </p>
+ */
+@Component
+public class AppointmentPartitionMaintenance {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentPartitionMaintenance.class);
+    
+    private static final String CREATE_PARTITION_SQL = "SELECT create_appointment_partition(?)";
+    
+    private static final String LOCK_NAME = "appointments.partitions";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterLock clusterLock;
+    private final int monthsAhead;
+    
+    public AppointmentPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                           ClusterLock clusterLock,
+                                           @Value("${app.partitioning.months-ahead:12}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterLock = clusterLock;
+        this.monthsAhead = Math.max(monthsAhead, 1);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensurePartitions();
+    }
+    
+    /**
+     * Create the partitions from the current month up to the configured number of months ahead.
+     *
+     * @return the number of partitions created, 0 if another node is creating them
+     */
+    @Scheduled(cron = "${app.partitioning.cron:0 0 2 * * *}")
+    public int ensurePartitions() {
+        return clusterLock.runIfAvailable(LOCK_NAME, this::createPartitions).orElse(0);
+    }
+    
+    private int createPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            Boolean result = jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, Boolean.class,
+                    Date.valueOf(month.plusMonths(i)));
+            if (Boolean.TRUE.equals(result)) {
+                created++;
+            }
+        }
+        if (created > 0) {
+            logger.info("Created {} appointment partitions", created);
+        }
+        return created;
+    }
+}
\ No newline at end of file
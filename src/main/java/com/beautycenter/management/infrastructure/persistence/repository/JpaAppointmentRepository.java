@@ -4,16 +4,30 @@ import com.beautycenter.management.infrastructure.persistence.entity.Appointment
 import com.beautycenter.management.infrastructure.persistence.entity.CustomerEntity;
 import com.beautycenter.management.infrastructure.persistence.entity.EmployeeEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for AppointmentEntity.
+ * <p>
+ * The appointments table is partitioned by start_time month, so queries bounded by start time
+ * only visit the partitions of the months involved, and updates by ID also match the start time
+ * the caller read so they touch a single partition. {@code findByCustomer}, {@code findByEmployee},
+ * {@code findByStatus} and {@code findByCompanyId} ask for the whole history and have no time
+ * range to add; they visit every partition, each answering from its own
+ * (customer_id, start_time), (employee_id, start_time), (status, start_time) or
+ * (company_id, start_time) index. Lookups by ID alone do the same through the primary key.
+ * </p>
  */
 @Repository
 public interface JpaAppointmentRepository extends JpaRepository<AppointmentEntity, UUID> {
@@ -38,12 +52,77 @@ public interface JpaAppointmentRepository extends JpaRepository<AppointmentEntit
                                                               LocalDateTime start, 
                                                               LocalDateTime end);
     
+    /**
+     * Find appointments of an employee that overlap the half-open range [startTime, endTime).
+     * Mirrors the appointments_employee_no_overlap exclusion constraint: back-to-back
+     * bookings are allowed and cancelled or no-show appointments do not block the slot.
+     * Only appointments starting after {@code earliestStart} are considered; the extra lower
+     * bound on start_time lets the database skip the partitions of unrelated months.
+     */
     @Query("SELECT a FROM AppointmentEntity a WHERE a.companyId = :companyId " +
            "AND a.employee.id = :employeeId " +
-           "AND ((a.startTime <= :endTime AND a.endTime >= :startTime) " +
-           "OR (a.startTime >= :startTime AND a.startTime < :endTime))")
+           "AND a.startTime > :earliestStart AND a.startTime < :endTime AND a.endTime > :startTime " +
+           "AND a.status NOT IN ('CANCELLED', 'NO_SHOW')")
     List<AppointmentEntity> findOverlappingAppointments(@Param("companyId") UUID companyId,
                                                        @Param("employeeId") UUID employeeId,
+                                                       @Param("earliestStart") LocalDateTime earliestStart,
                                                        @Param("startTime") LocalDateTime startTime,
                                                        @Param("endTime") LocalDateTime endTime);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentEntity a SET a.status = :status, a.version = a.version + 1, " +
+           "a.updatedAt = :updatedAt WHERE a.id = :id AND a.startTime = :startTime AND a.version = :version")
+    int updateStatus(@Param("id") UUID id,
+                     @Param("startTime") LocalDateTime startTime,
+                     @Param("version") Long version,
+                     @Param("status") String status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentEntity a SET a.version = a.version + 1, a.updatedAt = :updatedAt " +
+           "WHERE a.id = :id AND a.startTime = :startTime AND a.version = :version")
+    int incrementVersion(@Param("id") UUID id,
+                         @Param("startTime") LocalDateTime startTime,
+                         @Param("version") Long version,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query(value = "INSERT INTO appointment_additional_services (appointment_id, service_id) " +
+                   "SELECT :id, :serviceId WHERE NOT EXISTS (" +
+                   "SELECT 1 FROM appointment_additional_services " +
+                   "WHERE appointment_id = :id AND service_id = :serviceId)",
+           nativeQuery = true)
+    int insertAdditionalService(@Param("id") UUID id, @Param("serviceId") UUID serviceId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM appointment_additional_services " +
+                   "WHERE appointment_id = :id AND service_id = :serviceId",
+           nativeQuery = true)
+    int deleteAdditionalService(@Param("id") UUID id, @Param("serviceId") UUID serviceId);
+    
+    /**
+     * Stream appointments starting in [start, end) for export, ordered by start time.
+     * Rows are fetched from the database in chunks and loaded read-only.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM AppointmentEntity a WHERE a.startTime >= :start AND a.startTime < :end " +
+           "ORDER BY a.startTime, a.id")
+    Stream<AppointmentEntity> streamByStartTimeRange(@Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
+    
+    /**
+     * Stream the appointments of a company starting in [start, end) for export, ordered by start time.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM AppointmentEntity a WHERE a.companyId = :companyId " +
+           "AND a.startTime >= :start AND a.startTime < :end ORDER BY a.startTime, a.id")
+    Stream<AppointmentEntity> streamByCompanyIdAndStartTimeRange(@Param("companyId") UUID companyId,
+                                                                 @Param("start") LocalDateTime start,
+                                                                 @Param("end") LocalDateTime end);
 }
\ No newline at end of file
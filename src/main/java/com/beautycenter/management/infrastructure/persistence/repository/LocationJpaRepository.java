@@ -1,7 +1,11 @@
 package com.beautycenter.management.infrastructure.persistence.repository;
 
+import com.beautycenter.management.infrastructure.persistence.cache.CacheRegions;
 import com.beautycenter.management.infrastructure.persistence.entity.LocationEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,10 +27,15 @@ public interface LocationJpaRepository extends JpaRepository<LocationEntity, Lon
     
     /**
      * Find active locations by company ID.
+     * Results are kept in the query cache until a write to the table invalidates them.
      *
      * @param companyId the company ID
      * @return list of active locations for the company
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.ACTIVE_LOCATIONS_QUERY)
+    })
     List<LocationEntity> findByCompanyIdAndActiveTrue(Long companyId);
     
     /**
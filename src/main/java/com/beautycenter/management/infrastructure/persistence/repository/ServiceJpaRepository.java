@@ -1,7 +1,11 @@
 package com.beautycenter.management.infrastructure.persistence.repository;
 
+import com.beautycenter.management.infrastructure.persistence.cache.CacheRegions;
 import com.beautycenter.management.infrastructure.persistence.entity.ServiceEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -31,10 +35,15 @@ public interface ServiceJpaRepository extends JpaRepository<ServiceEntity, Long>
     
     /**
      * Find active services by company ID.
+     * Results are kept in the query cache until a write to the table invalidates them.
      *
      * @param companyId the company ID
      * @return list of active services for the company
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.ACTIVE_SERVICES_QUERY)
+    })
     List<ServiceEntity> findByCompanyIdAndActiveTrue(Long companyId);
     
     /**
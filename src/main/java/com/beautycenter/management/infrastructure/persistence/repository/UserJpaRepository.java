@@ -4,11 +4,16 @@ import com.beautycenter.management.domain.model.Role;
 import com.beautycenter.management.infrastructure.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for UserEntity.
@@ -73,4 +78,42 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
      * @return true if exists, false otherwise
      */
     boolean existsByEmail(String email);
+    
+    /**
+     * Stream all users for export, ordered by ID.
+     * Roles are fetched in the same query instead of one select per user.
+     *
+     * @return stream of users; must be closed by the caller
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.roles ORDER BY u.id")
+    Stream<UserEntity> streamAll();
+    
+    /**
+     * Stream the users of a company for export, ordered by ID.
+     *
+     * @param companyId the company ID
+     * @return stream of users; must be closed by the caller
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.roles WHERE u.companyId = :companyId ORDER BY u.id")
+    Stream<UserEntity> streamByCompanyId(@Param("companyId") Long companyId);
+    
+    /**
+     * Stream the username and email of every user, without entities or roles.
+     *
+     * @return stream of [username, email] rows; must be closed by the caller
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.username, u.email FROM UserEntity u")
+    Stream<Object[]> streamIdentities();
 }
\ No newline at end of file
@@ -0,0 +1,236 @@
+package com.beautycenter.management.infrastructure.persistence.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to replica pools and everything else to the primary.
+ * <p>
+ * The routing decision is made when a connection is first used, so this data source must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; the
+ * transaction's read-only flag is not known yet when the transaction manager asks for a connection.
+ * </p>
+ * <p>
+ * The replay lag of every replica is polled in the background. Replicas that lag behind by
+ * more than the configured limit, or whose lag cannot be determined, get no traffic until
+ * they catch up; with no usable replica, reads go to the primary. After a read-write
+ * transaction commits, reads of the same user stay on the primary for a while, so they see
+ * their own writes even if the replicas have not replayed them yet. That stickiness is
+ * tracked per node.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private static final String PRIMARY = "primary";
+    
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+    
+    /**
+     * Replay lag in milliseconds; 0 when the replica has replayed everything the primary
+     * had written when it was asked, null when the instance is not a streaming replica.
+     */
+    private static final String REPLICA_LAG_SQL =
+            "SELECT CASE WHEN pg_wal_lsn_diff(CAST(? AS pg_lsn), pg_last_wal_replay_lsn()) <= 0 THEN 0 " +
+            "ELSE CAST(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END";
+    
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final long stickyMillis;
+    private final long lagCheckMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lagMonitor;
+    
+    /**
+     * Create a routing data source.
+     *
+     * @param primary the primary pool
+     * @param replicas the replica pools by name
+     * @param maxLagMillis the largest replay lag at which a replica still gets reads
+     * @param stickyMillis how long reads of a user stay on the primary after they wrote
+     * @param lagCheckMillis how often replica lag is polled
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    long maxLagMillis, long stickyMillis, long lagCheckMillis) {
+        this.primary = primary;
+        this.maxLagMillis = maxLagMillis;
+        this.stickyMillis = stickyMillis;
+        this.lagCheckMillis = Math.max(lagCheckMillis, 100);
+        
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            this.replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        
+        this.lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkLag();
+        lagMonitor.scheduleWithFixedDelay(this::checkLag, lagCheckMillis, lagCheckMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public void close() {
+        lagMonitor.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close replica pool {}", replica.name, e);
+                }
+            }
+        }
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit(user);
+            return PRIMARY;
+        }
+        if (user != null) {
+            Long lastWrite = lastWrites.get(user);
+            if (lastWrite != null && System.currentTimeMillis() - lastWrite < stickyMillis) {
+                return PRIMARY;
+            }
+        }
+        return pickReplica();
+    }
+    
+    private Object pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.usable) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+    
+    private void rememberWriteOnCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWrites.put(user, System.currentTimeMillis());
+            }
+        });
+    }
+    
+    private void checkLag() {
+        try {
+            String primaryLsn;
+            try (Connection connection = primary.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(PRIMARY_LSN_SQL)) {
+                rs.next();
+                primaryLsn = rs.getString(1);
+            }
+            for (Replica replica : replicas) {
+                replica.update(measureLag(replica, primaryLsn));
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Without the primary position no replica can be trusted
+            logger.warn("Failed to read the primary WAL position; reads go to the primary", e);
+            for (Replica replica : replicas) {
+                replica.update(null);
+            }
+        }
+        
+        long expired = System.currentTimeMillis() - stickyMillis;
+        lastWrites.values().removeIf(time -> time < expired);
+    }
+    
+    private Long measureLag(Replica replica, String primaryLsn) {
+        try (Connection connection = replica.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(REPLICA_LAG_SQL)) {
+            statement.setString(1, primaryLsn);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                long lag = rs.getLong(1);
+                return rs.wasNull() ? null : lag;
+            }
+        } catch (SQLException e) {
+            logger.debug("Failed to measure lag of replica {}", replica.name, e);
+            return null;
+        }
+    }
+    
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+    
+    private final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+        
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        private void update(Long lagMillis) {
+            boolean nowUsable = lagMillis != null && lagMillis <= maxLagMillis;
+            if (nowUsable != usable) {
+                if (nowUsable) {
+                    logger.info("Replica {} is in sync (lag {} ms), routing reads to it", name, lagMillis);
+                } else {
+                    logger.warn("Replica {} is unavailable or lagging (lag {} ms), routing its reads to the primary",
+                            name, lagMillis);
+                }
+            }
+            usable = nowUsable;
+        }
+    }
+}
\ No newline at end of file
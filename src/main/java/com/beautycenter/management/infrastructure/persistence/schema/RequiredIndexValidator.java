@@ -0,0 +1,116 @@
+package com.beautycenter.management.infrastructure.persistence.schema;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks at startup that the indexes the hot queries depend on exist.
+ * <p>
+ * Hibernate's schema validation covers tables and columns but not indexes, so a missing
+ * migration would otherwise only show up as slow queries. An index is accepted if its
+ * leading columns are the required ones, whatever it is called.
+ * </p>
+ * <p>
+ * The check runs while the context is created, after Flyway has migrated (the JdbcTemplate
+ * depends on it) and before the web server starts, so a node with missing indexes fails to
+ * start instead of taking traffic first.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.schema.validate-indexes", havingValue = "true", matchIfMissing = true)
+public class RequiredIndexValidator implements InitializingBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RequiredIndexValidator.class);
+    
+    private static final List<RequiredIndex> REQUIRED_INDEXES = List.of(
+            new RequiredIndex("appointments", "company_id", "employee_id", "start_time", "end_time"),
+            new RequiredIndex("appointments", "company_id", "start_time"),
+            new RequiredIndex("appointments", "employee_id", "start_time"),
+            new RequiredIndex("appointments", "customer_id"),
+            new RequiredIndex("appointments", "status", "start_time"),
+            new RequiredIndex("appointment_additional_services", "appointment_id"),
+            new RequiredIndex("user_roles", "user_id"),
+            new RequiredIndex("users", "company_id"),
+            new RequiredIndex("employees", "company_id"),
+            new RequiredIndex("services", "company_id"),
+            new RequiredIndex("locations", "company_id"));
+    
+    private static final String INDEX_COLUMNS_SQL =
+            "SELECT array_agg(a.attname::text ORDER BY k.ord) " +
+            "FROM pg_index i " +
+            "CROSS JOIN LATERAL unnest(i.indkey::int2[]) WITH ORDINALITY AS k(attnum, ord) " +
+            "JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = k.attnum " +
+            "WHERE i.indrelid = to_regclass(?) " +
+            "GROUP BY i.indexrelid";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean failOnMissing;
+    
+    public RequiredIndexValidator(JdbcTemplate jdbcTemplate,
+                                  @Value("${app.schema.fail-on-missing-index:true}") boolean failOnMissing) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.failOnMissing = failOnMissing;
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        List<RequiredIndex> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            logger.info("All {} required indexes are present", REQUIRED_INDEXES.size());
+            return;
+        }
+        String message = "Missing indexes: " + missing;
+        if (failOnMissing) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+    
+    /**
+     * Find the required indexes that have no matching index in the database.
+     *
+     * @return the missing indexes
+     */
+    public List<RequiredIndex> findMissingIndexes() {
+        List<RequiredIndex> missing = new ArrayList<>();
+        for (RequiredIndex required : REQUIRED_INDEXES) {
+            List<List<String>> indexes = jdbcTemplate.query(INDEX_COLUMNS_SQL,
+                    (rs, rowNum) -> toList(rs.getArray(1)), required.table());
+            if (indexes.stream().noneMatch(required::isCoveredBy)) {
+                missing.add(required);
+            }
+        }
+        return missing;
+    }
+    
+    private static List<String> toList(Array array) throws SQLException {
+        return Arrays.asList((String[]) array.getArray());
+    }
+    
+    /**
+     * An index that must exist, described by its table and leading columns.
+     */
+    public record RequiredIndex(String table, String... columns) {
+        
+        boolean isCoveredBy(List<String> indexColumns) {
+            return indexColumns.size() >= columns.length
+                    && indexColumns.subList(0, columns.length).equals(Arrays.asList(columns));
+        }
+        
+        @Override
+        public String toString() {
+            return table + " (" + String.join(", ", columns) + ")";
+        }
+    }
+}
\ No newline at end of file
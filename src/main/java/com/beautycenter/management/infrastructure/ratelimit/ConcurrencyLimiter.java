@@ -0,0 +1,105 @@
+package com.beautycenter.management.infrastructure.ratelimit;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the requests of one route class in flight and sheds load when they queue up.
+ * <p>
+ * A request waits at most {@code maxQueueMillis} for a permit. The time spent waiting is
+ * folded into a moving average; while that average is above the target latency, a share
+ * of new requests proportional to the excess is rejected immediately instead of joining the
+ * queue. Some requests always get through, so the average keeps being measured and shedding
+ * stops by itself once the queue drains.
+ * </p>
+ */
+public class ConcurrencyLimiter {
+    
+    private final Semaphore permits;
+    private final long maxQueueNanos;
+    private final long targetLatencyNanos;
+    private final AtomicLong averageWaitNanos = new AtomicLong();
+    
+    /**
+     * Create a limiter.
+     *
+     * @param maxConcurrent the number of requests allowed in flight
+     * @param maxQueueMillis the longest a request waits for a permit
+     * @param targetLatencyMillis the queueing delay above which load is shed
+     */
+    public ConcurrencyLimiter(int maxConcurrent, long maxQueueMillis, long targetLatencyMillis) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxQueueNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueMillis);
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+    }
+    
+    /**
+     * Acquire a permit, waiting in the queue if needed.
+     *
+     * @return true if acquired; the caller must then call {@link #release()}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (shouldShed()) {
+            return false;
+        }
+        if (permits.tryAcquire()) {
+            record(0);
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(maxQueueNanos, TimeUnit.NANOSECONDS);
+        record(System.nanoTime() - start);
+        return acquired;
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    /**
+     * Suggested delay before a rejected client retries.
+     *
+     * @return the delay in seconds, at least one
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(averageWaitNanos.get() * 2));
+    }
+    
+    /**
+     * Current moving average of the time spent waiting for a permit.
+     *
+     * @return the average in milliseconds
+     */
+    public long averageWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(averageWaitNanos.get());
+    }
+    
+    public int available() {
+        return permits.availablePermits();
+    }
+    
+    private boolean shouldShed() {
+        long average = averageWaitNanos.get();
+        if (average <= targetLatencyNanos) {
+            return false;
+        }
+        // Shed everything only at twice the target, and let one in ten through even then to keep measuring
+        double excess = Math.min(0.9, (double) (average - targetLatencyNanos) / targetLatencyNanos);
+        return ThreadLocalRandom.current().nextDouble() < excess;
+    }
+    
+    /**
+     * Exponentially weighted moving average with a weight of 1/8 for the new sample.
+     */
+    private void record(long waitNanos) {
+        long current;
+        long updated;
+        do {
+            current = averageWaitNanos.get();
+            updated = current + (waitNanos - current) / 8;
+        } while (!averageWaitNanos.compareAndSet(current, updated));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.beautycenter.management.infrastructure.ratelimit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filter that applies rate limits and load shedding before a request reaches a controller.
+ * Runs after authentication so limits can depend on the caller's tenant and role.
+ * Rate-limited requests get 429 and shed requests 503, both with a Retry-After header.
+ * A request that continues asynchronously, such as a streamed export, keeps its concurrency
+ * permit until the asynchronous processing completes.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final RequestRateLimiter rateLimiter;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !rateLimiter.isEnabled()
+                || path.startsWith("/actuator")
+                || path.startsWith("/swagger-ui")
+                || path.startsWith("/v3/api-docs");
+    }
+    
+    /**
+     * The permit taken on the initial dispatch is held until the async request completes,
+     * so async dispatches must not take another one.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+    
+    /**
+     * Check the rate limits and hold a concurrency permit for the rest of the chain.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param filterChain the filter chain
+     * @throws ServletException if a servlet exception occurs
+     * @throws IOException if an I/O exception occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof AnonymousAuthenticationToken || authentication != null && !authentication.isAuthenticated()) {
+            authentication = null;
+        }
+        
+        long wait = rateLimiter.acquireToken(request, authentication);
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, toSeconds(wait), "Rate limit exceeded");
+            return;
+        }
+        
+        ConcurrencyLimiter limiter = rateLimiter.limiter(RouteClass.of(request));
+        boolean acquired;
+        try {
+            acquired = limiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.debug("Shedding {} {}", request.getMethod(), request.getRequestURI());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, limiter.retryAfterSeconds(), "Server is busy");
+            return;
+        }
+        
+        PermitRelease release = new PermitRelease(limiter);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+    
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                        String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":" + status.value() + ",\"message\":\"" + message + "\"}");
+    }
+    
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    /**
+     * Releases a concurrency permit once, either when the request thread returns or when
+     * the asynchronous processing of the request ends.
+     */
+    private static final class PermitRelease implements AsyncListener, Runnable {
+        
+        private final ConcurrencyLimiter limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private PermitRelease(ConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+        
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async processing restarted; stay registered until it really ends
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.beautycenter.management.infrastructure.ratelimit;
+
+import com.beautycenter.management.auth.infrastructure.security.TenantUserDetails;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a request may proceed, per tenant, per user and per route class.
+ * <p>
+ * Every tenant shares one token bucket and every user has their own, sized by the user's role;
+ * anonymous callers are limited per client address. Only authenticated callers are charged to
+ * a tenant, so requests that will be rejected with 401 cannot drain a company's bucket. The
+ * client address is the one Tomcat resolves from {@code X-Forwarded-For} for requests that
+ * come through a trusted proxy ({@code server.tomcat.remoteip.internal-proxies}). Requests that pass the buckets still need
+ * a permit from the concurrency limiter of their route class, which sheds load when the queue
+ * for it grows. Buckets are created on first use and dropped once they are full again.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RequestRateLimiter {
+    
+    private static final String ROLE_PREFIX = "ROLE_";
+    
+    private final boolean enabled;
+    private final double tenantRate;
+    private final int tenantBurst;
+    private final Map<String, Double> roleRates;
+    private final double anonymousRate;
+    private final int burstSeconds;
+    private final long idleNanos;
+    private final Map<RouteClass, ConcurrencyLimiter> limiters = new EnumMap<>(RouteClass.class);
+    private final ConcurrentHashMap<String, TokenBucket> tenantBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    
+    public RequestRateLimiter(@Value("${app.ratelimit.enabled:true}") boolean enabled,
+                              @Value("${app.ratelimit.tenant.rate:50}") double tenantRate,
+                              @Value("${app.ratelimit.tenant.burst:100}") int tenantBurst,
+                              @Value("${app.ratelimit.user.rates:ADMIN:30,USER:5}") String userRates,
+                              @Value("${app.ratelimit.user.burst-seconds:2}") int burstSeconds,
+                              @Value("${app.ratelimit.anonymous.rate:5}") double anonymousRate,
+                              @Value("${app.ratelimit.concurrency.read:64}") int readConcurrency,
+                              @Value("${app.ratelimit.concurrency.write:32}") int writeConcurrency,
+                              @Value("${app.ratelimit.concurrency.export:4}") int exportConcurrency,
+                              @Value("${app.ratelimit.queue-timeout-ms:500}") long queueTimeoutMs,
+                              @Value("${app.ratelimit.shed.target-latency-ms:50}") long targetLatencyMs,
+                              @Value("${app.ratelimit.idle-seconds:600}") long idleSeconds) {
+        this.enabled = enabled;
+        this.tenantRate = tenantRate;
+        this.tenantBurst = tenantBurst;
+        this.roleRates = parseRates(userRates);
+        this.burstSeconds = Math.max(1, burstSeconds);
+        this.anonymousRate = anonymousRate;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        limiters.put(RouteClass.READ, new ConcurrencyLimiter(readConcurrency, queueTimeoutMs, targetLatencyMs));
+        limiters.put(RouteClass.WRITE, new ConcurrencyLimiter(writeConcurrency, queueTimeoutMs, targetLatencyMs));
+        limiters.put(RouteClass.EXPORT, new ConcurrencyLimiter(exportConcurrency, queueTimeoutMs, targetLatencyMs));
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Take a token for the caller and their tenant.
+     *
+     * @param request the request
+     * @param authentication the authenticated caller, or null if anonymous
+     * @return 0 if allowed, otherwise the nanoseconds until the caller may retry
+     */
+    public long acquireToken(HttpServletRequest request, Authentication authentication) {
+        long now = System.nanoTime();
+        
+        // User first, so a single noisy user does not drain their tenant's bucket
+        TokenBucket userBucket = userBucket(request, authentication);
+        long wait = userBucket.tryAcquire(now);
+        if (wait > 0) {
+            return wait;
+        }
+        
+        String tenant = resolveTenant(authentication);
+        if (tenant == null) {
+            return 0;
+        }
+        wait = tenantBuckets.computeIfAbsent(tenant, key -> new TokenBucket(tenantRate, tenantBurst)).tryAcquire(now);
+        if (wait > 0) {
+            // The request is rejected, so it must not count against the user either
+            userBucket.refund();
+        }
+        return wait;
+    }
+    
+    /**
+     * Get the concurrency limiter for a route class.
+     *
+     * @param routeClass the route class
+     * @return the limiter
+     */
+    public ConcurrencyLimiter limiter(RouteClass routeClass) {
+        return limiters.get(routeClass);
+    }
+    
+    /**
+     * Snapshot of the limiter state for monitoring.
+     *
+     * @return the number of tracked buckets and the average queue wait per route class
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("tenantBuckets", tenantBuckets.size());
+        stats.put("userBuckets", userBuckets.size());
+        limiters.forEach((routeClass, limiter) -> {
+            stats.put(routeClass.name().toLowerCase() + ".available", limiter.available());
+            stats.put(routeClass.name().toLowerCase() + ".averageWaitMs", limiter.averageWaitMillis());
+        });
+        return Collections.unmodifiableMap(stats);
+    }
+    
+    /**
+     * Drop buckets that have refilled and not been used since, so memory follows active callers.
+     */
+    @Scheduled(fixedDelayString = "${app.ratelimit.purge-interval-ms:60000}")
+    public void purgeIdleBuckets() {
+        long now = System.nanoTime() - idleNanos;
+        tenantBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+        userBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+    
+    private TokenBucket userBucket(HttpServletRequest request, Authentication authentication) {
+        if (authentication == null) {
+            return userBuckets.computeIfAbsent("ip:" + request.getRemoteAddr(),
+                    key -> new TokenBucket(anonymousRate, bucketBurst(anonymousRate)));
+        }
+        double rate = rateFor(authentication);
+        return userBuckets.computeIfAbsent("u:" + authentication.getName(),
+                key -> new TokenBucket(rate, bucketBurst(rate)));
+    }
+    
+    private String resolveTenant(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof TenantUserDetails user
+                && user.getCompanyId() != null) {
+            return "c:" + user.getCompanyId();
+        }
+        return null;
+    }
+    
+    private double rateFor(Authentication authentication) {
+        double rate = anonymousRate;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String role = authority.getAuthority();
+            if (role.startsWith(ROLE_PREFIX)) {
+                role = role.substring(ROLE_PREFIX.length());
+            }
+            rate = Math.max(rate, roleRates.getOrDefault(role, anonymousRate));
+        }
+        return rate;
+    }
+    
+    private int bucketBurst(double rate) {
+        return (int) Math.max(1, Math.ceil(rate * burstSeconds));
+    }
+    
+    private static Map<String, Double> parseRates(String rates) {
+        Map<String, Double> parsed = new HashMap<>();
+        for (String entry : rates.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                log.warn("Ignoring malformed rate limit entry: {}", entry);
+                continue;
+            }
+            parsed.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+        }
+        return parsed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.beautycenter.management.infrastructure.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Classes of requests that get their own concurrency limit.
+ */
+public enum RouteClass {
+    READ,
+    WRITE,
+    EXPORT;
+    
+    /**
+     * Classify a request. Exports and bulk imports hold a connection and a thread for a long
+     * time, so they are separated from ordinary reads and writes.
+     *
+     * @param request the request
+     * @return the route class
+     */
+    public static RouteClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.endsWith("/export") || path.startsWith("/api/imports")) {
+            return EXPORT;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
\ No newline at end of file
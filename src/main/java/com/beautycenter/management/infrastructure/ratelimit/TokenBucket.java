@@ -0,0 +1,80 @@
+package com.beautycenter.management.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * Implemented as the generic cell rate algorithm: instead of a token count and a refill
+ * time, the bucket keeps a single theoretical arrival time, which a request moves forward
+ * by one emission interval. A request is allowed while that time is at most a burst's
+ * worth of intervals ahead of now. Keeping one value means an update is a single
+ * compare-and-set, and an idle bucket needs no refill work.
+ * </p>
+ */
+public class TokenBucket {
+    
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+    
+    /**
+     * Create a bucket.
+     *
+     * @param ratePerSecond the sustained number of requests per second
+     * @param burst the number of requests allowed at once on an idle bucket
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+    
+    /**
+     * Take a token if one is available.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = arrival.get();
+            long base = current == Long.MIN_VALUE || current - nowNanos < 0 ? nowNanos : current;
+            long wait = base - toleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Give back a token taken by {@link #tryAcquire(long)} for a request that was rejected later on.
+     */
+    public void refund() {
+        while (true) {
+            long current = arrival.get();
+            if (current == Long.MIN_VALUE) {
+                return;
+            }
+            if (arrival.compareAndSet(current, current - intervalNanos)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Check if the bucket is full again and can be dropped without changing behaviour.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if idle
+     */
+    public boolean isIdle(long nowNanos) {
+        long current = arrival.get();
+        return current == Long.MIN_VALUE || current - nowNanos <= 0;
+    }
+}
\ No newline at end of file
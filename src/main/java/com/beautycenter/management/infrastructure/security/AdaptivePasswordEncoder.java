@@ -0,0 +1,174 @@
+package com.beautycenter.management.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt password encoder that hashes on its own bounded pool with a work factor tuned to the deployment.
+ * <p>
+ * Unless a strength is configured, the first node to start measures BCrypt and picks the highest strength
+ * whose hash still fits the target latency, within the configured bounds. The result is stored in the
+ * database and every node uses the stored strength, so all nodes hash alike. Hashes with a lower strength
+ * report that they need an upgrade, so the authentication provider re-encodes them on the next successful login.
+ * </p>
+ * <p>
+ * Hashing and verification run on a fixed number of threads with a bounded queue. When the queue is full,
+ * or a caller has waited too long, the call fails with {@link PasswordHashingBusyException} instead of
+ * piling more request threads up behind the CPU.
+ * </p>
+ */
+@Component
+@Slf4j
+public class AdaptivePasswordEncoder implements PasswordEncoder, DisposableBean {
+    
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    
+    private static final String SELECT_STRENGTH_SQL = "SELECT strength FROM password_hashing_settings WHERE id = 1";
+    // The first node to store a strength wins; the others read it back
+    private static final String INSERT_STRENGTH_SQL = "INSERT INTO password_hashing_settings (id, strength, calibrated_at) "
+            + "VALUES (1, ?, ?) ON CONFLICT (id) DO NOTHING";
+    
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long waitMillis;
+    private final int strength;
+    
+    public AdaptivePasswordEncoder(JdbcTemplate jdbcTemplate,
+                                   @Value("${app.security.password.strength:0}") int fixedStrength,
+                                   @Value("${app.security.password.min-strength:10}") int minStrength,
+                                   @Value("${app.security.password.max-strength:14}") int maxStrength,
+                                   @Value("${app.security.password.target-ms:250}") long targetMillis,
+                                   @Value("${app.security.password.threads:0}") int threads,
+                                   @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.security.password.wait-ms:5000}") long waitMillis) {
+        this.strength = fixedStrength > 0 ? fixedStrength
+                : sharedStrength(jdbcTemplate, minStrength, maxStrength, targetMillis);
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.waitMillis = waitMillis;
+        
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing uses BCrypt strength {} on {} threads", strength, poolSize);
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    /**
+     * Hashes made with a lower strength than the calibrated one are re-encoded on the next login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    /**
+     * Get the BCrypt strength in use.
+     *
+     * @return the log2 work factor
+     */
+    public int getStrength() {
+        return strength;
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+    
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Password hashing queue is full", e);
+        }
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingBusyException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    /**
+     * Use the strength stored by the node that calibrated first, calibrating and storing one if there is none.
+     */
+    private static int sharedStrength(JdbcTemplate jdbcTemplate, int minStrength, int maxStrength, long targetMillis) {
+        List<Integer> stored = jdbcTemplate.queryForList(SELECT_STRENGTH_SQL, Integer.class);
+        if (!stored.isEmpty()) {
+            return stored.get(0);
+        }
+        int calibrated = calibrate(minStrength, maxStrength, targetMillis);
+        jdbcTemplate.update(INSERT_STRENGTH_SQL, calibrated, Timestamp.valueOf(LocalDateTime.now()));
+        return jdbcTemplate.queryForObject(SELECT_STRENGTH_SQL, Integer.class);
+    }
+    
+    /**
+     * Raise the strength while one more step, which doubles the cost, still fits the target.
+     */
+    private static int calibrate(int minStrength, int maxStrength, long targetMillis) {
+        int candidate = minStrength;
+        long elapsed = measure(candidate);
+        while (candidate < maxStrength && elapsed * 2 <= targetMillis) {
+            candidate++;
+            elapsed = measure(candidate);
+        }
+        if (elapsed > targetMillis && candidate > minStrength) {
+            candidate--;
+        }
+        log.info("Calibrated BCrypt strength {} for a target of {} ms", candidate, targetMillis);
+        return candidate;
+    }
+    
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return best;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.beautycenter.management.infrastructure.security;
+
+/**
+ * Exception thrown when a password cannot be hashed or checked because the hashing pool is saturated.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+    
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -1,73 +0,0 @@
-package com.beautycenter.management.infrastructure.security;
-
-import com.beautycenter.management.domain.model.User;
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
-
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
-
-/**
- * Custom implementation of Spring Security's UserDetails.
- * Adapts our domain User model to Spring Security's authentication system.
- */
-@Data
-@AllArgsConstructor
-@Builder
-public class UserDetailsImpl implements UserDetails {
-    private static final long serialVersionUID = 1L;
-
-    private Long id;
-    private String username;
-    private String email;
-    
-    @JsonIgnore
-    private String password;
-    
-    private Collection<? extends GrantedAuthority> authorities;
-    private boolean active;
-
-    /**
-     * Builds UserDetailsImpl from a domain User object
-     */
-    public static UserDetailsImpl build(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.name()))
-                .collect(Collectors.toList());
-
-        return UserDetailsImpl.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .password(user.getPassword())
-                .authorities(authorities)
-                .active(user.isActive())
-                .build();
-    }
-
-    @Override
-    public boolean isAccountNonExpired() {
-        return true;
-    }
-
-    @Override
-    public boolean isAccountNonLocked() {
-        return true;
-    }
-
-    @Override
-    public boolean isCredentialsNonExpired() {
-        return true;
-    }
-
-    @Override
-    public boolean isEnabled() {
-        return active;
-    }
-}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.beautycenter.management.interfaces.rest;
+
+import com.beautycenter.management.application.analytics.AnalyticsGroupBy;
+import com.beautycenter.management.application.analytics.AppointmentAnalytics;
+import com.beautycenter.management.application.dto.AnalyticsRowDto;
+import com.beautycenter.management.application.dto.UtilizationDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for revenue and utilization analytics.
+ * Reports are answered from the daily rollups, not from the appointments table.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsController {
+    
+    private final AppointmentAnalytics appointmentAnalytics;
+    
+    /**
+     * Get appointment counts, revenue and booked time of a company grouped by a dimension.
+     *
+     * @param companyId the company ID
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param groupBy the dimension to group by: day, employee or service
+     * @return one row per group
+     */
+    @GetMapping("/company/{companyId}/summary")
+    public ResponseEntity<List<AnalyticsRowDto>> getSummary(
+            @PathVariable UUID companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy) {
+        AnalyticsGroupBy grouping;
+        try {
+            grouping = AnalyticsGroupBy.fromString(groupBy);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(appointmentAnalytics.summarize(companyId, from, to, grouping));
+    }
+    
+    /**
+     * Get the chair utilization of the employees of a company.
+     *
+     * @param companyId the company ID
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return the utilization per employee
+     */
+    @GetMapping("/company/{companyId}/utilization")
+    public ResponseEntity<List<UtilizationDto>> getUtilization(
+            @PathVariable UUID companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(appointmentAnalytics.utilization(companyId, from, to));
+    }
+    
+    /**
+     * Recompute the rollups from the appointments.
+     *
+     * @return 204 when rebuilt, 409 if a rebuild is already running
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        return appointmentAnalytics.rebuild()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
\ No newline at end of file
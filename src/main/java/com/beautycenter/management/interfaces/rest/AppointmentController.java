@@ -1,13 +1,29 @@
 package com.beautycenter.management.interfaces.rest;
 
 import com.beautycenter.management.application.dto.AppointmentDto;
+import com.beautycenter.management.application.dto.DailyScheduleDto;
+import com.beautycenter.management.application.schedule.DailySchedule;
 import com.beautycenter.management.application.service.AppointmentServiceImpl;
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
+import com.beautycenter.management.domain.model.ExportFormat;
+import com.beautycenter.management.domain.model.AppointmentStatusChange;
+import com.beautycenter.management.domain.service.DataExportService;
+import com.beautycenter.management.domain.service.exception.AppointmentConflictException;
+import com.beautycenter.management.domain.service.exception.ConcurrentUpdateException;
+import com.beautycenter.management.domain.service.exception.InvalidAppointmentTimeException;
+import com.beautycenter.management.domain.service.exception.VersionRequiredException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,41 +37,55 @@ import java.util.UUID;
 public class AppointmentController {
 
     private final AppointmentServiceImpl appointmentService;
+    private final ConditionalResponses conditionalResponses;
+    private final DataExportService dataExportService;
 
     /**
      * Create a new appointment.
      *
      * @param appointmentDto the appointment data
-     * @return the created appointment
+     * @return the created appointment, 400 if its times are invalid, or 409 if the time slot is already taken
      */
     @PostMapping
     public ResponseEntity<AppointmentDto> createAppointment(@RequestBody AppointmentDto appointmentDto) {
-        AppointmentDto createdAppointment = appointmentService.createAppointmentFromDto(appointmentDto);
-        return new ResponseEntity<>(createdAppointment, HttpStatus.CREATED);
+        try {
+            AppointmentDto createdAppointment = appointmentService.createAppointmentFromDto(appointmentDto);
+            return new ResponseEntity<>(createdAppointment, HttpStatus.CREATED);
+        } catch (InvalidAppointmentTimeException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (AppointmentConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     /**
      * Get an appointment by ID.
      *
      * @param id the appointment ID
-     * @return the appointment, or 404 if not found
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return the appointment, 304 if the client's copy is current, or 404 if not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AppointmentDto> getAppointment(@PathVariable UUID id) {
-        return appointmentService.findByIdAsDto(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<AppointmentDto> getAppointment(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalResponses.entity(AppointmentServiceImpl.RESOURCE, id, ifNoneMatch,
+                () -> appointmentService.findByIdAsDto(id),
+                dto -> conditionalResponses.versionTag(AppointmentServiceImpl.RESOURCE, id, dto.getVersion()),
+                dto -> dto);
     }
 
     /**
      * Get all appointments.
      *
-     * @return list of all appointments
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return list of all appointments, or 304 if the client's copy is current
      */
     @GetMapping
-    public ResponseEntity<List<AppointmentDto>> getAllAppointments() {
-        List<AppointmentDto> appointments = appointmentService.findAllAppointmentsAsDto();
-        return ResponseEntity.ok(appointments);
+    public ResponseEntity<List<AppointmentDto>> getAllAppointments(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalResponses.collection(AppointmentServiceImpl.RESOURCE, ResourceVersionRegistry.ALL_TENANTS,
+                ifNoneMatch, appointmentService::findAllAppointmentsAsDto);
     }
 
     /**
@@ -63,7 +93,8 @@ public class AppointmentController {
      *
      * @param id the appointment ID
      * @param appointmentDto the updated appointment data
-     * @return the updated appointment, or 404 if not found
+     * @return the updated appointment, 400 if its times are invalid, 404 if not found, 409 if the version
+     *         is stale or the slot is taken, or 428 if no version was sent
      */
     @PutMapping("/{id}")
     public ResponseEntity<AppointmentDto> updateAppointment(@PathVariable UUID id, 
@@ -77,6 +108,12 @@ public class AppointmentController {
             return ResponseEntity.ok(updatedAppointment);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConcurrentUpdateException | AppointmentConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (VersionRequiredException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        } catch (InvalidAppointmentTimeException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
@@ -100,7 +137,7 @@ public class AppointmentController {
      * Cancel an appointment.
      *
      * @param id the appointment ID
-     * @return the cancelled appointment, or 404 if not found
+     * @return the cancelled appointment, 404 if not found, or 409 if modified concurrently
      */
     @PostMapping("/{id}/cancel")
     public ResponseEntity<AppointmentDto> cancelAppointment(@PathVariable UUID id) {
@@ -109,6 +146,8 @@ public class AppointmentController {
             return ResponseEntity.ok(appointment);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConcurrentUpdateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
@@ -116,7 +155,7 @@ public class AppointmentController {
      * Complete an appointment.
      *
      * @param id the appointment ID
-     * @return the completed appointment, or 404 if not found
+     * @return the completed appointment, 404 if not found, or 409 if modified concurrently
      */
     @PostMapping("/{id}/complete")
     public ResponseEntity<AppointmentDto> completeAppointment(@PathVariable UUID id) {
@@ -125,28 +164,130 @@ public class AppointmentController {
             return ResponseEntity.ok(appointment);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConcurrentUpdateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Export appointments as NDJSON or CSV. Rows are streamed while they are read from
+     * the database, so the response size is not limited by memory.
+     *
+     * @param format the output format, ndjson or csv
+     * @param companyId the company to export, all companies if omitted
+     * @param from the earliest start time (inclusive), if any
+     * @param to the latest start time (exclusive), if any
+     * @return the streamed export
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) UUID companyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromString(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
+        StreamingResponseBody body = output ->
+                dataExportService.exportAppointments(exportFormat, companyId, from, to, output);
+        return ExportResponses.attachment("appointments", exportFormat, body);
     }
 
     /**
      * Get appointments for a specific date.
      *
      * @param date the date in ISO format (yyyy-MM-dd)
-     * @return list of appointments for the date
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return list of appointments for the date, or 304 if the client's copy is current
      */
     @GetMapping("/by-date/{date}")
-    public ResponseEntity<List<AppointmentDto>> getAppointmentsByDate(@PathVariable String date) {
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByDate(
+            @PathVariable String date,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDate parsedDate;
         try {
-            LocalDate parsedDate = LocalDate.parse(date);
-            List<AppointmentDto> appointments = appointmentService.findAppointmentsByDate(parsedDate)
-                    .stream()
-                    .map(appointment -> appointmentService.findByIdAsDto(appointment.getId())
-                            .orElse(null))
-                    .filter(dto -> dto != null)
-                    .toList();
-            return ResponseEntity.ok(appointments);
+            parsedDate = LocalDate.parse(date);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
+        return conditionalResponses.collection(AppointmentServiceImpl.RESOURCE, ResourceVersionRegistry.ALL_TENANTS,
+                ifNoneMatch, () -> appointmentService.findAppointmentsByDateAsDto(parsedDate));
+    }
+
+    /**
+     * Get the staff calendar of a company for a day, grouped by employee.
+     * Clients send the last received ETag in If-None-Match and get 304 while the day is unchanged.
+     *
+     * @param companyId the company ID
+     * @param date the date in ISO format (yyyy-MM-dd)
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return the day schedule, or 304 if the client's copy is current
+     */
+    @GetMapping("/company/{companyId}/schedule/{date}")
+    public ResponseEntity<DailyScheduleDto> getDailySchedule(
+            @PathVariable UUID companyId,
+            @PathVariable String date,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDate parsedDate;
+        try {
+            parsedDate = LocalDate.parse(date);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        DailySchedule schedule = appointmentService.getDailySchedule(companyId, parsedDate);
+        String eTag = schedule.getETag();
+        if (ResourceVersionRegistry.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(schedule.toDto());
+    }
+
+    /**
+     * Mark confirmed appointments of a company that were not started on a date as no-show.
+     *
+     * @param companyId the company ID
+     * @param date the date in ISO format (yyyy-MM-dd)
+     * @return the IDs of the appointments that were marked as no-show
+     */
+    @PostMapping("/company/{companyId}/no-shows")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST')")
+    public ResponseEntity<List<UUID>> markNoShows(@PathVariable UUID companyId, @RequestParam String date) {
+        LocalDate parsedDate;
+        try {
+            parsedDate = LocalDate.parse(date);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UUID> ids = appointmentService.markNoShows(companyId, parsedDate).stream()
+                .map(AppointmentStatusChange::getAppointmentId)
+                .toList();
+        return ResponseEntity.ok(ids);
+    }
+
+    /**
+     * Confirm requested appointments of a company starting within a time window.
+     *
+     * @param companyId the company ID
+     * @param start the start of the window (inclusive)
+     * @param end the end of the window (exclusive)
+     * @return the IDs of the appointments that were confirmed
+     */
+    @PostMapping("/company/{companyId}/confirmations")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST')")
+    public ResponseEntity<List<UUID>> confirmRequested(
+            @PathVariable UUID companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        List<UUID> ids = appointmentService.confirmRequested(companyId, start, end).stream()
+                .map(AppointmentStatusChange::getAppointmentId)
+                .toList();
+        return ResponseEntity.ok(ids);
     }
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ package com.beautycenter.management.interfaces.rest;
 import com.beautycenter.management.application.dto.CompanyDTO;
 import com.beautycenter.management.application.service.CompanyApplicationService;
 import com.beautycenter.management.application.mapper.CompanyMapper;
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
 import com.beautycenter.management.domain.service.exception.ResourceNotFoundException;
 import com.beautycenter.management.interfaces.rest.dto.CompanyDto;
 import com.beautycenter.management.interfaces.rest.dto.LocationDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +16,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,6 +31,7 @@ public class CompanyController {
     
     private final CompanyApplicationService companyApplicationService;
     private final CompanyMapper companyMapper;
+    private final ConditionalResponses conditionalResponses;
     
     /**
      * Create a new company.
@@ -54,29 +58,31 @@ public class CompanyController {
     /**
      * Get all companies.
      *
-     * @return list of all companies
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return list of all companies, or 304 if the client's copy is current
      */
     @GetMapping
-    public ResponseEntity<List<CompanyDto>> getAllCompanies() {
-        List<CompanyDTO> companies = companyApplicationService.getAllCompanies();
-        List<CompanyDto> companyDtos = companies.stream()
-                .map(this::convertToControllerDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(companyDtos);
+    public ResponseEntity<List<CompanyDto>> getAllCompanies(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalResponses.collection(CompanyApplicationService.RESOURCE, ResourceVersionRegistry.ALL_TENANTS,
+                ifNoneMatch, () -> companyApplicationService.getAllCompanies().stream()
+                        .map(this::convertToControllerDTO)
+                        .collect(Collectors.toList()));
     }
     
     /**
      * Get active companies.
      *
-     * @return list of active companies
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return list of active companies, or 304 if the client's copy is current
      */
     @GetMapping("/active")
-    public ResponseEntity<List<CompanyDto>> getActiveCompanies() {
-        List<CompanyDTO> companies = companyApplicationService.getActiveCompanies();
-        List<CompanyDto> companyDtos = companies.stream()
-                .map(this::convertToControllerDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(companyDtos);
+    public ResponseEntity<List<CompanyDto>> getActiveCompanies(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalResponses.collection(CompanyApplicationService.RESOURCE, ResourceVersionRegistry.ALL_TENANTS,
+                ifNoneMatch, () -> companyApplicationService.getActiveCompanies().stream()
+                        .map(this::convertToControllerDTO)
+                        .collect(Collectors.toList()));
     }
     
     /**
@@ -98,15 +104,20 @@ public class CompanyController {
      * Get a company by ID.
      *
      * @param id the company ID
-     * @return the company
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return the company, or 304 if the client's copy is current
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CompanyDto> getCompanyById(@PathVariable UUID id) {
+    public ResponseEntity<CompanyDto> getCompanyById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             // Convert UUID to Long since our application layer uses Long IDs
             Long longId = id.getMostSignificantBits();
-            CompanyDTO company = companyApplicationService.getCompanyById(longId);
-            return ResponseEntity.ok(convertToControllerDTO(company));
+            return conditionalResponses.entity(CompanyApplicationService.RESOURCE, id, ifNoneMatch,
+                    () -> Optional.of(companyApplicationService.getCompanyById(longId)),
+                    company -> conditionalResponses.timestampTag(CompanyApplicationService.RESOURCE, id, company.getUpdatedAt()),
+                    this::convertToControllerDTO);
         } catch (ResourceNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         }
@@ -116,13 +127,17 @@ public class CompanyController {
      * Get a company by ID (using Long ID).
      *
      * @param id the company ID as Long
-     * @return the company
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return the company, or 304 if the client's copy is current
      */
     @GetMapping("/id/{id}")
-    public ResponseEntity<CompanyDto> getCompanyByLongId(@PathVariable Long id) {
+    public ResponseEntity<CompanyDto> getCompanyByLongId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            CompanyDTO company = companyApplicationService.getCompanyById(id);
-            return ResponseEntity.ok(convertToControllerDTO(company));
+            // Writes are keyed by UUID, so this lookup is tagged with the company change counter
+            return conditionalResponses.collection(CompanyApplicationService.RESOURCE, ResourceVersionRegistry.ALL_TENANTS,
+                    ifNoneMatch, () -> convertToControllerDTO(companyApplicationService.getCompanyById(id)));
         } catch (ResourceNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         }
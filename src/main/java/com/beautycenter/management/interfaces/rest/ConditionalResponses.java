@@ -0,0 +1,110 @@
+package com.beautycenter.management.interfaces.rest;
+
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds responses for conditional GET requests.
+ * When the client's {@code If-None-Match} matches the current entity tag, 304 Not Modified
+ * is returned; for collections and entities whose tag is already known this happens
+ * without calling the application service at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponses {
+    
+    private final ResourceVersionRegistry resourceVersions;
+    
+    /**
+     * Respond with a collection tagged by the resource's change counter.
+     *
+     * @param resource the resource name
+     * @param tenant the tenant the collection is scoped to, or {@link ResourceVersionRegistry#ALL_TENANTS}
+     * @param ifNoneMatch the If-None-Match header, may be null
+     * @param loader loads the collection; only called if the client's copy is stale
+     * @return the response
+     */
+    public <T> ResponseEntity<T> collection(String resource, Object tenant, String ifNoneMatch, Supplier<T> loader) {
+        // Take the tag before loading so a concurrent write can only make it older, never newer
+        String eTag = resourceVersions.collectionTag(resource, tenant);
+        if (ResourceVersionRegistry.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        return ok(eTag, loader.get());
+    }
+    
+    /**
+     * Respond with a single entity tagged by its version or last update time.
+     *
+     * @param resource the resource name
+     * @param id the entity ID
+     * @param ifNoneMatch the If-None-Match header, may be null
+     * @param loader loads the entity; only called if its current tag is unknown or does not match
+     * @param tagOf computes the tag of the loaded entity, see {@link #versionTag} and {@link #timestampTag}
+     * @param toBody converts the loaded entity to the response body
+     * @return the response, or 404 if the loader finds nothing
+     */
+    public <S, T> ResponseEntity<T> entity(String resource, Object id, String ifNoneMatch,
+                                           Supplier<Optional<S>> loader,
+                                           Function<S, String> tagOf,
+                                           Function<S, T> toBody) {
+        String known = resourceVersions.knownEntityTag(resource, id);
+        if (known != null && ResourceVersionRegistry.matches(ifNoneMatch, known)) {
+            return notModified(known);
+        }
+        
+        Optional<S> loaded = loader.get();
+        if (loaded.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = tagOf.apply(loaded.get());
+        if (ResourceVersionRegistry.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        return ok(eTag, toBody.apply(loaded.get()));
+    }
+    
+    /**
+     * Tag an entity by its version column.
+     *
+     * @param resource the resource name
+     * @param id the entity ID
+     * @param version the entity version
+     * @return the quoted entity tag
+     */
+    public String versionTag(String resource, Object id, Long version) {
+        return resourceVersions.entityTag(resource, id, version);
+    }
+    
+    /**
+     * Tag an entity by its last update time.
+     *
+     * @param resource the resource name
+     * @param id the entity ID
+     * @param updatedAt the last update time
+     * @return the quoted entity tag
+     */
+    public String timestampTag(String resource, Object id, LocalDateTime updatedAt) {
+        return resourceVersions.entityTag(resource, id, updatedAt);
+    }
+    
+    private <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+    
+    private <T> ResponseEntity<T> ok(String eTag, T body) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.beautycenter.management.interfaces.rest;
+
+import com.beautycenter.management.domain.model.EventConsumerPosition;
+import com.beautycenter.management.domain.service.EventReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller for the durable event consumers of the event journal.
+ */
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class EventJournalController {
+    
+    private final EventReplayService eventReplayService;
+    
+    /**
+     * Get the journal position and lag of every durable consumer.
+     *
+     * @return the positions
+     */
+    @GetMapping("/consumers")
+    public ResponseEntity<List<EventConsumerPosition>> getConsumers() {
+        return ResponseEntity.ok(eventReplayService.getPositions());
+    }
+    
+    /**
+     * Replay events to a consumer, either from a journal position or from a point in time.
+     *
+     * @param consumer the consumer name
+     * @param position the journal position to replay from
+     * @param from the timestamp to replay from
+     * @return the new position, 400 unless exactly one of position and from is given, 404 if the consumer is unknown
+     */
+    @PostMapping("/consumers/{consumer}/replay")
+    public ResponseEntity<EventConsumerPosition> replay(
+            @PathVariable String consumer,
+            @RequestParam(required = false) Long position,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        if ((position == null) == (from == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(position != null
+                    ? eventReplayService.replayFrom(consumer, position)
+                    : eventReplayService.replayFrom(consumer, from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
\ No newline at end of file
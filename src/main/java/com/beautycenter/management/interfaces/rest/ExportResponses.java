@@ -0,0 +1,37 @@
+package com.beautycenter.management.interfaces.rest;
+
+import com.beautycenter.management.domain.model.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Helpers for building streamed export responses.
+ */
+final class ExportResponses {
+    
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    
+    private ExportResponses() {
+    }
+    
+    /**
+     * Build a download response for a streamed export.
+     *
+     * @param name the base name of the downloaded file
+     * @param format the export format
+     * @param body the streaming body
+     * @return the response
+     */
+    static ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, StreamingResponseBody body) {
+        MediaType mediaType = format == ExportFormat.CSV ? CSV : NDJSON;
+        String fileName = name + (format == ExportFormat.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.beautycenter.management.interfaces.rest;
+
+import com.beautycenter.management.domain.model.ExportFormat;
+import com.beautycenter.management.domain.model.ImportReport;
+import com.beautycenter.management.domain.service.DataImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * REST controller for bulk data imports.
+ * The request body is the raw CSV or NDJSON file; it is read as a stream and never held in memory.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ImportController {
+    
+    private final DataImportService dataImportService;
+    
+    /**
+     * Import customers.
+     *
+     * @param format the input format, csv or ndjson
+     * @param body the input file
+     * @return the import report
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping("/customers")
+    public ResponseEntity<ImportReport> importCustomers(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        ExportFormat importFormat;
+        try {
+            importFormat = ExportFormat.fromString(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dataImportService.importCustomers(importFormat, body));
+    }
+    
+    /**
+     * Import employees.
+     *
+     * @param format the input format, csv or ndjson
+     * @param companyId the company for rows without a companyId column
+     * @param body the input file
+     * @return the import report
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping("/employees")
+    public ResponseEntity<ImportReport> importEmployees(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) UUID companyId,
+            InputStream body) throws IOException {
+        ExportFormat importFormat;
+        try {
+            importFormat = ExportFormat.fromString(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dataImportService.importEmployees(importFormat, body, companyId));
+    }
+    
+    /**
+     * Import services.
+     *
+     * @param format the input format, csv or ndjson
+     * @param companyId the company for rows without a companyId column
+     * @param body the input file
+     * @return the import report
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping("/services")
+    public ResponseEntity<ImportReport> importServices(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) UUID companyId,
+            InputStream body) throws IOException {
+        ExportFormat importFormat;
+        try {
+            importFormat = ExportFormat.fromString(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dataImportService.importServices(importFormat, body, companyId));
+    }
+}
\ No newline at end of file
@@ -2,14 +2,20 @@ package com.beautycenter.management.interfaces.rest;
 
 import com.beautycenter.management.application.dto.UserDTO;
 import com.beautycenter.management.application.service.UserApplicationService;
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
+import com.beautycenter.management.domain.model.ExportFormat;
 import com.beautycenter.management.domain.model.Role;
+import com.beautycenter.management.domain.service.DataExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -22,6 +28,8 @@ import java.util.Set;
 public class UserController {
     
     private final UserApplicationService userApplicationService;
+    private final ConditionalResponses conditionalResponses;
+    private final DataExportService dataExportService;
     
     /**
      * Create a new user.
@@ -39,47 +47,86 @@ public class UserController {
      * Get user by ID.
      *
      * @param id the user ID
-     * @return the user
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return the user, or 304 if the client's copy is current
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE', 'RECEPTIONIST')")
-    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userApplicationService.getUserById(id));
+    public ResponseEntity<UserDTO> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalResponses.entity(UserApplicationService.RESOURCE, id, ifNoneMatch,
+                () -> Optional.of(userApplicationService.getUserById(id)),
+                user -> conditionalResponses.timestampTag(UserApplicationService.RESOURCE, id, user.getUpdatedAt()),
+                user -> user);
     }
     
     /**
      * Get all users.
      *
-     * @return list of all users
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return list of all users, or 304 if the client's copy is current
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE', 'RECEPTIONIST')")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        return ResponseEntity.ok(userApplicationService.getAllUsers());
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalResponses.collection(UserApplicationService.RESOURCE, ResourceVersionRegistry.ALL_TENANTS,
+                ifNoneMatch, userApplicationService::getAllUsers);
+    }
+    
+    /**
+     * Export users as NDJSON or CSV. Rows are streamed while they are read from the database.
+     *
+     * @param format the output format, ndjson or csv
+     * @param companyId the company to export, all companies if omitted
+     * @return the streamed export
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long companyId) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromString(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = output -> dataExportService.exportUsers(exportFormat, companyId, output);
+        return ExportResponses.attachment("users", exportFormat, body);
     }
     
     /**
      * Get users by company ID.
      *
      * @param companyId the company ID
-     * @return list of users for the company
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return list of users for the company, or 304 if the client's copy is current
      */
     @GetMapping("/company/{companyId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE', 'RECEPTIONIST')")
-    public ResponseEntity<List<UserDTO>> getUsersByCompanyId(@PathVariable Long companyId) {
-        return ResponseEntity.ok(userApplicationService.getUsersByCompanyId(companyId));
+    public ResponseEntity<List<UserDTO>> getUsersByCompanyId(
+            @PathVariable Long companyId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalResponses.collection(UserApplicationService.RESOURCE, companyId,
+                ifNoneMatch, () -> userApplicationService.getUsersByCompanyId(companyId));
     }
     
     /**
      * Get users by role.
      *
      * @param role the role
-     * @return list of users with the specified role
+     * @param ifNoneMatch the entity tag held by the client, if any
+     * @return list of users with the specified role, or 304 if the client's copy is current
      */
     @GetMapping("/role/{role}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-    public ResponseEntity<List<UserDTO>> getUsersByRole(@PathVariable Role role) {
-        return ResponseEntity.ok(userApplicationService.getUsersByRole(role));
+    public ResponseEntity<List<UserDTO>> getUsersByRole(
+            @PathVariable Role role,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalResponses.collection(UserApplicationService.RESOURCE, ResourceVersionRegistry.ALL_TENANTS,
+                ifNoneMatch, () -> userApplicationService.getUsersByRole(role));
     }
     
     /**
@@ -1,33 +0,0 @@
-package com.beautycenter.management.interfaces.web.dto;
-
-import com.beautycenter.management.domain.model.Role;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.util.Set;
-
-/**
- * DTO for JWT authentication response.
- */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class JwtResponse {
-    private String token;
-    private String type = "Bearer";
-    private Long id;
-    private String username;
-    private String email;
-    private Set<Role> roles;
-    
-    public JwtResponse(String token, Long id, String username, String email, Set<Role> roles) {
-        this.token = token;
-        this.id = id;
-        this.username = username;
-        this.email = email;
-        this.roles = roles;
-    }
-}
\ No newline at end of file
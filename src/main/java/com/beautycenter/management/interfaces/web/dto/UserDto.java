@@ -1,28 +0,0 @@
-package com.beautycenter.management.interfaces.web.dto;
-
-import com.beautycenter.management.domain.model.Role;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.util.Set;
-
-/**
- * Data Transfer Object for User entity.
- * Used for API input/output in the interface layer.
- */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class UserDto {
-    private Long id;
-    private String username;
-    private String email;
-    private String firstName;
-    private String lastName;
-    private String phoneNumber;
-    private boolean active;
-    private Set<Role> roles;
-}
\ No newline at end of file
@@ -0,0 +1,12 @@
+-- Change times for token revocations.
+--
+-- Revocations reach the other nodes over the best-effort invalidation bus;
+-- every node also polls both tables for rows changed since its last pass,
+-- so a lost message delays a revocation by one poll instead of until the
+-- tokens expire.
+
+ALTER TABLE revoked_tokens ADD COLUMN IF NOT EXISTS revoked_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
+CREATE INDEX IF NOT EXISTS revoked_tokens_revoked_at_idx ON revoked_tokens (revoked_at);
+
+ALTER TABLE user_token_cutoffs ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
+CREATE INDEX IF NOT EXISTS user_token_cutoffs_updated_at_idx ON user_token_cutoffs (updated_at);
@@ -0,0 +1,124 @@
+-- Daily appointment totals per company, employee and service.
+--
+-- Analytics are answered from this table, so every node reports the same
+-- totals. A row trigger on appointments applies the difference of every
+-- insert, delete and reporting-relevant update in the writing transaction;
+-- rebuild_appointment_rollups recomputes a range of days with one GROUP BY.
+-- Appointments without an employee or service are stored under the nil UUID
+-- so the columns can be part of the primary key.
+
+CREATE TABLE IF NOT EXISTS appointment_daily_rollups (
+    company_id     UUID    NOT NULL,
+    day            DATE    NOT NULL,
+    employee_id    UUID    NOT NULL,
+    service_id     UUID    NOT NULL,
+    appointments   INTEGER NOT NULL DEFAULT 0,
+    completed      INTEGER NOT NULL DEFAULT 0,
+    cancelled      INTEGER NOT NULL DEFAULT 0,
+    no_shows       INTEGER NOT NULL DEFAULT 0,
+    revenue_cents  BIGINT  NOT NULL DEFAULT 0,
+    booked_minutes BIGINT  NOT NULL DEFAULT 0,
+    PRIMARY KEY (company_id, day, employee_id, service_id)
+);
+
+-- Add (sign = 1) or remove (sign = -1) the contribution of one appointment.
+-- Revenue counts completed appointments; booked minutes skip cancelled and missed ones.
+CREATE OR REPLACE FUNCTION apply_appointment_rollup(in_company_id UUID, in_employee_id UUID, in_service_id UUID,
+                                                    in_start_time TIMESTAMP, in_end_time TIMESTAMP,
+                                                    in_status VARCHAR, in_total_price NUMERIC,
+                                                    in_sign INTEGER) RETURNS VOID AS $$
+BEGIN
+    IF in_company_id IS NULL OR in_start_time IS NULL THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO appointment_daily_rollups AS r
+        (company_id, day, employee_id, service_id,
+         appointments, completed, cancelled, no_shows, revenue_cents, booked_minutes)
+    VALUES (in_company_id,
+            in_start_time::DATE,
+            COALESCE(in_employee_id, '00000000-0000-0000-0000-000000000000'),
+            COALESCE(in_service_id, '00000000-0000-0000-0000-000000000000'),
+            in_sign,
+            CASE WHEN in_status = 'COMPLETED' THEN in_sign ELSE 0 END,
+            CASE WHEN in_status = 'CANCELLED' THEN in_sign ELSE 0 END,
+            CASE WHEN in_status = 'NO_SHOW' THEN in_sign ELSE 0 END,
+            CASE WHEN in_status = 'COMPLETED'
+                 THEN in_sign * round(COALESCE(in_total_price, 0) * 100)::BIGINT ELSE 0 END,
+            CASE WHEN in_status IN ('CANCELLED', 'NO_SHOW') OR in_end_time IS NULL THEN 0
+                 ELSE in_sign * GREATEST(floor(extract(EPOCH FROM in_end_time - in_start_time) / 60), 0)::BIGINT END)
+    ON CONFLICT (company_id, day, employee_id, service_id) DO UPDATE SET
+        appointments   = r.appointments + EXCLUDED.appointments,
+        completed      = r.completed + EXCLUDED.completed,
+        cancelled      = r.cancelled + EXCLUDED.cancelled,
+        no_shows       = r.no_shows + EXCLUDED.no_shows,
+        revenue_cents  = r.revenue_cents + EXCLUDED.revenue_cents,
+        booked_minutes = r.booked_minutes + EXCLUDED.booked_minutes;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION appointments_rollup_trigger() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM apply_appointment_rollup(OLD.company_id, OLD.employee_id, OLD.service_id, OLD.start_time,
+                                         OLD.end_time, OLD.status, OLD.total_price, -1);
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        PERFORM apply_appointment_rollup(NEW.company_id, NEW.employee_id, NEW.service_id, NEW.start_time,
+                                         NEW.end_time, NEW.status, NEW.total_price, 1);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Row triggers on the partitioned table are cloned to every partition, including ones attached later.
+-- A move to another partition runs as a delete and an insert, so it fires the first trigger.
+DROP TRIGGER IF EXISTS appointments_rollup_insert_delete ON appointments;
+CREATE TRIGGER appointments_rollup_insert_delete
+    AFTER INSERT OR DELETE ON appointments
+    FOR EACH ROW EXECUTE FUNCTION appointments_rollup_trigger();
+
+-- Version, timestamp and reminder updates leave the totals alone
+DROP TRIGGER IF EXISTS appointments_rollup_update ON appointments;
+CREATE TRIGGER appointments_rollup_update
+    AFTER UPDATE ON appointments
+    FOR EACH ROW
+    WHEN ((OLD.company_id, OLD.employee_id, OLD.service_id, OLD.start_time, OLD.end_time, OLD.status, OLD.total_price)
+          IS DISTINCT FROM
+          (NEW.company_id, NEW.employee_id, NEW.service_id, NEW.start_time, NEW.end_time, NEW.status, NEW.total_price))
+    EXECUTE FUNCTION appointments_rollup_trigger();
+
+-- Recompute the days in [from_day, to_day) from the appointments and forget the days before from_day.
+-- The table lock makes concurrent writers wait at their trigger until the rebuild commits, so their
+-- differences apply on top of the recomputed rows and none is lost or counted twice.
+CREATE OR REPLACE FUNCTION rebuild_appointment_rollups(from_day DATE, to_day DATE) RETURNS INTEGER AS $$
+DECLARE
+    rebuilt INTEGER;
+BEGIN
+    LOCK TABLE appointment_daily_rollups IN EXCLUSIVE MODE;
+    DELETE FROM appointment_daily_rollups WHERE day < to_day;
+
+    INSERT INTO appointment_daily_rollups
+        (company_id, day, employee_id, service_id,
+         appointments, completed, cancelled, no_shows, revenue_cents, booked_minutes)
+    SELECT company_id,
+           start_time::DATE,
+           COALESCE(employee_id, '00000000-0000-0000-0000-000000000000'),
+           COALESCE(service_id, '00000000-0000-0000-0000-000000000000'),
+           count(*),
+           count(*) FILTER (WHERE status = 'COMPLETED'),
+           count(*) FILTER (WHERE status = 'CANCELLED'),
+           count(*) FILTER (WHERE status = 'NO_SHOW'),
+           COALESCE(sum(round(COALESCE(total_price, 0) * 100)::BIGINT) FILTER (WHERE status = 'COMPLETED'), 0),
+           COALESCE(sum(GREATEST(floor(extract(EPOCH FROM end_time - start_time) / 60), 0)::BIGINT)
+                    FILTER (WHERE status NOT IN ('CANCELLED', 'NO_SHOW') AND end_time IS NOT NULL), 0)
+    FROM appointments
+    WHERE company_id IS NOT NULL AND start_time >= from_day AND start_time < to_day
+    GROUP BY 1, 2, 3, 4;
+
+    GET DIAGNOSTICS rebuilt = ROW_COUNT;
+    RETURN rebuilt;
+END
+$$ LANGUAGE plpgsql;
+
+SELECT rebuild_appointment_rollups('-infinity', 'infinity');
\ No newline at end of file
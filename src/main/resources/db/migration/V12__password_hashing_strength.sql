@@ -0,0 +1,12 @@
+-- BCrypt strength shared by all nodes.
+--
+-- When app.security.password.strength is not fixed, the first node to start
+-- calibrates BCrypt on its own hardware and stores the result here; every
+-- other node uses the stored value, so hashes and login latency are the same
+-- whichever node serves a request. Delete the row to calibrate again.
+
+CREATE TABLE IF NOT EXISTS password_hashing_settings (
+    id            SMALLINT  PRIMARY KEY CHECK (id = 1),
+    strength      INTEGER   NOT NULL,
+    calibrated_at TIMESTAMP NOT NULL
+);
\ No newline at end of file
@@ -0,0 +1,41 @@
+-- Database-enforced no-overlap booking for employees.
+--
+-- The application checks slot availability before inserting an appointment,
+-- but two concurrent requests can both pass that check. The exclusion
+-- constraint below makes PostgreSQL reject the second insert so an employee
+-- can never be double-booked, regardless of how many nodes are running.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE IF NOT EXISTS appointments (
+    id            UUID PRIMARY KEY,
+    customer_id   UUID,
+    employee_id   UUID,
+    service_id    UUID,
+    start_time    TIMESTAMP      NOT NULL,
+    end_time      TIMESTAMP      NOT NULL,
+    status        VARCHAR(255)   NOT NULL,
+    notes         VARCHAR(255),
+    total_price   NUMERIC(38, 2),
+    company_id    UUID,
+    created_at    TIMESTAMP,
+    updated_at    TIMESTAMP
+);
+
+-- Ranges are half-open ([start, end)), so back-to-back appointments are allowed.
+-- Cancelled and no-show appointments no longer occupy the slot.
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'appointments_employee_no_overlap'
+    ) THEN
+        ALTER TABLE appointments
+            ADD CONSTRAINT appointments_employee_no_overlap
+            EXCLUDE USING gist (
+                employee_id WITH =,
+                tsrange(start_time, end_time) WITH &&
+            )
+            WHERE (employee_id IS NOT NULL AND status NOT IN ('CANCELLED', 'NO_SHOW'));
+    END IF;
+END
+$$;
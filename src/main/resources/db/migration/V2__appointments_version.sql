@@ -0,0 +1,6 @@
+-- Optimistic locking for appointments.
+--
+-- Status transitions and service changes are written as targeted updates
+-- guarded by "WHERE id = ? AND version = ?" instead of full-entity merges.
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
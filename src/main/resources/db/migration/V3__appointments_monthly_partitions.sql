@@ -0,0 +1,139 @@
+-- Monthly range partitioning of appointments by start_time.
+--
+-- Every appointment query is bounded by start_time, so PostgreSQL only has to
+-- visit the partitions of the months involved. Old months can be archived and
+-- dropped without touching the rest of the table.
+--
+-- A partitioned table can only enforce uniqueness on keys that include the
+-- partition key, so the primary key becomes (id, start_time). Ids are random
+-- UUIDs assigned by the application.
+--
+-- The no-overlap exclusion constraint cannot be declared on the partitioned
+-- table itself; it is created on every partition instead. Two bookings of the
+-- same employee that fall into different months are only checked by the
+-- application, which is limited to appointments crossing midnight at month end.
+
+-- Move the existing table aside
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM pg_class
+        WHERE relname = 'appointments' AND relkind = 'r' AND relnamespace = current_schema()::regnamespace
+    ) THEN
+        ALTER TABLE appointments RENAME TO appointments_unpartitioned;
+        ALTER TABLE appointments_unpartitioned DROP CONSTRAINT IF EXISTS appointments_employee_no_overlap;
+        IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'appointments_pkey') THEN
+            ALTER TABLE appointments_unpartitioned RENAME CONSTRAINT appointments_pkey TO appointments_unpartitioned_pkey;
+        END IF;
+    END IF;
+END
+$$;
+
+-- Foreign keys referencing appointments(id) alone cannot point at the partitioned table
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    IF to_regclass('appointments_unpartitioned') IS NULL THEN
+        RETURN;
+    END IF;
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'appointments_unpartitioned'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END
+$$;
+
+CREATE TABLE appointments (
+    id            UUID           NOT NULL,
+    customer_id   UUID,
+    employee_id   UUID,
+    service_id    UUID,
+    start_time    TIMESTAMP      NOT NULL,
+    end_time      TIMESTAMP      NOT NULL,
+    status        VARCHAR(255)   NOT NULL,
+    notes         VARCHAR(255),
+    total_price   NUMERIC(38, 2),
+    company_id    UUID,
+    created_at    TIMESTAMP,
+    updated_at    TIMESTAMP,
+    version       BIGINT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, start_time)
+) PARTITION BY RANGE (start_time);
+
+-- Catches appointments booked beyond the months created so far
+CREATE TABLE appointments_default PARTITION OF appointments DEFAULT;
+
+ALTER TABLE appointments_default
+    ADD CONSTRAINT appointments_default_employee_no_overlap
+    EXCLUDE USING gist (
+        employee_id WITH =,
+        tsrange(start_time, end_time) WITH &&
+    )
+    WHERE (employee_id IS NOT NULL AND status NOT IN ('CANCELLED', 'NO_SHOW'));
+
+-- Partitioned indexes; every partition gets its own copy
+CREATE INDEX appointments_company_start_idx ON appointments (company_id, start_time);
+CREATE INDEX appointments_employee_start_idx ON appointments (employee_id, start_time);
+CREATE INDEX appointments_status_start_idx ON appointments (status, start_time);
+
+-- Create the partition for the month containing the given date, unless it exists.
+-- Rows that were stored in the default partition for that month are moved into
+-- the new partition before it is attached.
+CREATE OR REPLACE FUNCTION create_appointment_partition(in_month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    lower_bound    TIMESTAMP := date_trunc('month', in_month);
+    upper_bound    TIMESTAMP := date_trunc('month', in_month) + INTERVAL '1 month';
+    partition_name TEXT      := format('appointments_p%s', to_char(date_trunc('month', in_month), 'YYYY_MM'));
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE appointments INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM appointments_default WHERE start_time >= $1 AND start_time < $2 RETURNING *) '
+        'INSERT INTO %I SELECT * FROM moved', partition_name)
+        USING lower_bound, upper_bound;
+    EXECUTE format(
+        'ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist (employee_id WITH =, tsrange(start_time, end_time) WITH &&) '
+        'WHERE (employee_id IS NOT NULL AND status NOT IN (''CANCELLED'', ''NO_SHOW''))',
+        partition_name, partition_name || '_employee_no_overlap');
+    -- Matching the bounds up front lets ATTACH skip the validation scan
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (start_time >= %L AND start_time < %L)',
+        partition_name, partition_name || '_bounds', lower_bound, upper_bound);
+    EXECUTE format('ALTER TABLE appointments ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, lower_bound, upper_bound);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, partition_name || '_bounds');
+    RETURN TRUE;
+END
+$$ LANGUAGE plpgsql;
+
+-- Partitions from the oldest existing appointment up to a year ahead, then copy the data over
+DO $$
+DECLARE
+    first_start TIMESTAMP;
+    next_month  DATE;
+BEGIN
+    IF to_regclass('appointments_unpartitioned') IS NOT NULL THEN
+        EXECUTE 'SELECT min(start_time) FROM appointments_unpartitioned' INTO first_start;
+    END IF;
+
+    next_month := date_trunc('month', LEAST(COALESCE(first_start, LOCALTIMESTAMP), LOCALTIMESTAMP));
+    WHILE next_month <= date_trunc('month', LOCALTIMESTAMP + INTERVAL '12 months') LOOP
+        PERFORM create_appointment_partition(next_month);
+        next_month := next_month + INTERVAL '1 month';
+    END LOOP;
+
+    IF to_regclass('appointments_unpartitioned') IS NOT NULL THEN
+        EXECUTE 'INSERT INTO appointments (id, customer_id, employee_id, service_id, start_time, end_time, status, '
+                'notes, total_price, company_id, created_at, updated_at, version) '
+                'SELECT id, customer_id, employee_id, service_id, start_time, end_time, status, '
+                'notes, total_price, company_id, created_at, updated_at, version FROM appointments_unpartitioned';
+        DROP TABLE appointments_unpartitioned;
+    END IF;
+END
+$$;
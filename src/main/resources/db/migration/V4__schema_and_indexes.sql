@@ -0,0 +1,160 @@
+-- Schema owned by migrations.
+--
+-- These tables used to be created by Hibernate (ddl-auto=update), which is now
+-- switched to validate. Existing databases already have them, so every
+-- statement is written to be a no-op there; fresh databases get the same
+-- layout Hibernate produced.
+
+CREATE TABLE IF NOT EXISTS companies (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255) NOT NULL UNIQUE,
+    description    TEXT,
+    address        VARCHAR(255),
+    city           VARCHAR(255),
+    state          VARCHAR(255),
+    zip_code       VARCHAR(255),
+    country        VARCHAR(255),
+    phone_number   VARCHAR(255),
+    email          VARCHAR(255),
+    website        VARCHAR(255),
+    logo_url       VARCHAR(255),
+    created_at     TIMESTAMP    NOT NULL,
+    updated_at     TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS locations (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255) NOT NULL,
+    address        VARCHAR(255),
+    city           VARCHAR(255),
+    state          VARCHAR(255),
+    zip_code       VARCHAR(255),
+    country        VARCHAR(255),
+    phone_number   VARCHAR(255),
+    email          VARCHAR(255),
+    latitude       DOUBLE PRECISION,
+    longitude      DOUBLE PRECISION,
+    active         BOOLEAN      NOT NULL,
+    company_id     BIGINT       NOT NULL,
+    created_at     TIMESTAMP    NOT NULL,
+    updated_at     TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username       VARCHAR(50)  NOT NULL UNIQUE,
+    password       VARCHAR(255) NOT NULL,
+    email          VARCHAR(255) NOT NULL UNIQUE,
+    first_name     VARCHAR(255) NOT NULL,
+    last_name      VARCHAR(255) NOT NULL,
+    phone_number   VARCHAR(255),
+    active         BOOLEAN      NOT NULL,
+    created_at     TIMESTAMP    NOT NULL,
+    updated_at     TIMESTAMP,
+    company_id     BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id        BIGINT       NOT NULL REFERENCES users (id),
+    role           VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS customers (
+    id             UUID PRIMARY KEY,
+    first_name     VARCHAR(255) NOT NULL,
+    last_name      VARCHAR(255) NOT NULL,
+    email          VARCHAR(255) UNIQUE,
+    phone_number   VARCHAR(255),
+    address        VARCHAR(255),
+    created_at     TIMESTAMP,
+    updated_at     TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS employees (
+    id             UUID PRIMARY KEY,
+    first_name     VARCHAR(255) NOT NULL,
+    last_name      VARCHAR(255) NOT NULL,
+    email          VARCHAR(255) UNIQUE,
+    phone_number   VARCHAR(255),
+    role           VARCHAR(255),
+    company_id     UUID,
+    created_at     TIMESTAMP,
+    updated_at     TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS services (
+    id               UUID PRIMARY KEY,
+    name             VARCHAR(255) NOT NULL,
+    description      VARCHAR(255),
+    duration_minutes BIGINT,
+    price            NUMERIC(10, 2),
+    company_id       UUID,
+    category         VARCHAR(255),
+    active           BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_at       TIMESTAMP,
+    updated_at       TIMESTAMP
+);
+
+-- Appointment ids are only unique together with start_time on the partitioned
+-- table, so additional services cannot reference appointments with a foreign key.
+CREATE TABLE IF NOT EXISTS appointment_additional_services (
+    appointment_id UUID         NOT NULL,
+    service_id     UUID
+);
+
+-- Foreign keys of appointments; the ones Hibernate created went away with the
+-- unpartitioned table.
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'appointments'::regclass AND confrelid = 'customers'::regclass AND contype = 'f'
+    ) THEN
+        ALTER TABLE appointments ADD CONSTRAINT appointments_customer_fk
+            FOREIGN KEY (customer_id) REFERENCES customers (id);
+    END IF;
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'appointments'::regclass AND confrelid = 'employees'::regclass AND contype = 'f'
+    ) THEN
+        ALTER TABLE appointments ADD CONSTRAINT appointments_employee_fk
+            FOREIGN KEY (employee_id) REFERENCES employees (id);
+    END IF;
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'appointments'::regclass AND confrelid = 'services'::regclass AND contype = 'f'
+    ) THEN
+        ALTER TABLE appointments ADD CONSTRAINT appointments_service_fk
+            FOREIGN KEY (service_id) REFERENCES services (id);
+    END IF;
+END
+$$;
+
+-- Indexes for the hot queries. appointments_company_start_idx,
+-- appointments_employee_start_idx and appointments_status_start_idx were
+-- created together with the partitioned table.
+
+-- findOverlappingAppointments: equality on company and employee, range on start and end
+CREATE INDEX IF NOT EXISTS appointments_company_employee_time_idx
+    ON appointments (company_id, employee_id, start_time, end_time);
+
+-- findByCustomer
+CREATE INDEX IF NOT EXISTS appointments_customer_start_idx
+    ON appointments (customer_id, start_time);
+
+-- findByCompanyIdAndStatus
+CREATE INDEX IF NOT EXISTS appointments_company_status_idx
+    ON appointments (company_id, status);
+
+-- Loading and de-duplicating element collections
+CREATE UNIQUE INDEX IF NOT EXISTS appointment_additional_services_uk
+    ON appointment_additional_services (appointment_id, service_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS user_roles_uk
+    ON user_roles (user_id, role);
+
+-- Company-scoped listings
+CREATE INDEX IF NOT EXISTS users_company_idx ON users (company_id);
+CREATE INDEX IF NOT EXISTS employees_company_idx ON employees (company_id);
+CREATE INDEX IF NOT EXISTS services_company_idx ON services (company_id);
+CREATE INDEX IF NOT EXISTS locations_company_idx ON locations (company_id);
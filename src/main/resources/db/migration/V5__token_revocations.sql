@@ -0,0 +1,22 @@
+-- Revoked access tokens and per-user sign-out cutoffs.
+--
+-- The application keeps both in memory and checks them on every request;
+-- these tables only let the lists survive a restart. Rows are useless once
+-- every token they could match has expired, so both carry that time and are
+-- purged on a schedule.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti            UUID         PRIMARY KEY,
+    expires_at     TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS revoked_tokens_expires_at_idx ON revoked_tokens (expires_at);
+
+-- Tokens of the user issued at or before not_before are rejected.
+CREATE TABLE IF NOT EXISTS user_token_cutoffs (
+    username       VARCHAR(255) PRIMARY KEY,
+    not_before     TIMESTAMP    NOT NULL,
+    expires_at     TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS user_token_cutoffs_expires_at_idx ON user_token_cutoffs (expires_at);
@@ -0,0 +1,21 @@
+-- Server-side refresh tokens.
+--
+-- Each login starts a family of refresh tokens. Using a token marks it as
+-- used and issues the next one in the same family. Presenting a token that
+-- was already used means it leaked, so the whole family is revoked.
+-- Only a SHA-256 hash of the token secret is stored.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id             UUID         PRIMARY KEY,
+    family_id      UUID         NOT NULL,
+    username       VARCHAR(255) NOT NULL,
+    token_hash     VARCHAR(64)  NOT NULL,
+    created_at     TIMESTAMP    NOT NULL,
+    expires_at     TIMESTAMP    NOT NULL,
+    used_at        TIMESTAMP,
+    revoked_at     TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS refresh_tokens_family_idx ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS refresh_tokens_username_idx ON refresh_tokens (username);
+CREATE INDEX IF NOT EXISTS refresh_tokens_expires_at_idx ON refresh_tokens (expires_at);
@@ -0,0 +1,17 @@
+-- Token signing keys shared by all nodes.
+--
+-- A new key is added on every rotation and signs new tokens from then on;
+-- older keys stay until every token they signed has expired, so verification
+-- keeps working across a rotation. Private keys and HMAC secrets are stored
+-- encrypted with a key derived from jwt.secret.
+
+CREATE TABLE IF NOT EXISTS jwt_signing_keys (
+    kid            VARCHAR(64)  PRIMARY KEY,
+    algorithm      VARCHAR(16)  NOT NULL,
+    private_key    BYTEA        NOT NULL,
+    public_key     BYTEA,
+    created_at     TIMESTAMP    NOT NULL,
+    expires_at     TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS jwt_signing_keys_created_at_idx ON jwt_signing_keys (created_at);
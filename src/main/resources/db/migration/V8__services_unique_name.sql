@@ -0,0 +1,21 @@
+-- One service per name and company.
+--
+-- Bulk imports skip services that already exist. The only constraint on
+-- services used to be the generated primary key, so re-importing a file
+-- inserted every service again. Names are compared case-insensitively.
+--
+-- Existing duplicates are renamed with a numeric suffix rather than deleted,
+-- since appointments reference them.
+
+UPDATE services s
+SET name = left(s.name, 240) || ' (' || d.rn || ')'
+FROM (
+    SELECT id, row_number() OVER (
+        PARTITION BY company_id, lower(name) ORDER BY created_at NULLS FIRST, id
+    ) - 1 AS rn
+    FROM services
+) d
+WHERE s.id = d.id AND d.rn > 0;
+
+CREATE UNIQUE INDEX IF NOT EXISTS services_company_name_uidx
+    ON services (company_id, lower(name));
@@ -0,0 +1,9 @@
+-- Start time an appointment reminder was last sent for.
+--
+-- Every node runs the reminder scheduler, so a reminder is claimed with
+-- "SET reminder_sent_for = start_time WHERE reminder_sent_for IS DISTINCT FROM start_time"
+-- before it is sent and only the node whose update hit the row delivers it.
+-- Rescheduling changes start_time, which makes the appointment remindable again.
+-- Partitions are created with LIKE appointments and pick the column up as well.
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS reminder_sent_for TIMESTAMP;
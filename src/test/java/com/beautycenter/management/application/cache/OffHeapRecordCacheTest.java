@@ -0,0 +1,114 @@
+package com.beautycenter.management.application.cache;
+
+import com.beautycenter.management.application.cache.codec.KeyCodecs;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapRecordCacheTest {
+
+    /**
+     * A value that encodes to a fixed size, so the number of records per segment is known.
+     */
+    private static String value(long key) {
+        return String.format("%0100d", key);
+    }
+
+    @Test
+    void returnsStoredRecordsAsFreshInstances() {
+        OffHeapRecordCache<Long, String> cache = new OffHeapRecordCache<>(KeyCodecs.LONG_KEY, KeyCodecs.STRING_KEY, 4096, 1);
+
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.put(1L, "uno");
+
+        assertThat(cache.get(1L)).isEqualTo("uno");
+        assertThat(cache.get(2L)).isEqualTo("two");
+        assertThat(cache.get(3L)).isNull();
+        RecordCache.Stats stats = cache.stats();
+        assertThat(stats.entries()).isEqualTo(2);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void removeKeepsTheRestOfTheProbeRunReachable() {
+        // Enough keys that many share probe runs, then punch holes all over them
+        OffHeapRecordCache<Long, String> cache = new OffHeapRecordCache<>(KeyCodecs.LONG_KEY, KeyCodecs.STRING_KEY, 1 << 20, 1);
+        int keys = 2000;
+        for (long key = 0; key < keys; key++) {
+            cache.put(key, value(key));
+        }
+
+        for (long key = 0; key < keys; key += 3) {
+            cache.remove(key);
+        }
+
+        for (long key = 0; key < keys; key++) {
+            if (key % 3 == 0) {
+                assertThat(cache.get(key)).as("removed key %d", key).isNull();
+            } else {
+                assertThat(cache.get(key)).as("kept key %d", key).isEqualTo(value(key));
+            }
+        }
+        assertThat(cache.stats().entries()).isEqualTo(keys - (keys + 2) / 3);
+    }
+
+    @Test
+    void evictsUnreferencedRecordsBeforeRecentlyReadOnes() {
+        OffHeapRecordCache<Long, String> cache = new OffHeapRecordCache<>(KeyCodecs.LONG_KEY, KeyCodecs.STRING_KEY, 1024, 1);
+        cache.put(0L, value(0));
+        long recordBytes = cache.stats().usedBytes();
+        long fits = cache.stats().capacityBytes() / recordBytes;
+        for (long key = 1; key < fits; key++) {
+            cache.put(key, value(key));
+        }
+        assertThat(cache.stats().evictions()).isZero();
+
+        // Reading the first record sets its reference bit, so the clock passes over it once
+        assertThat(cache.get(0L)).isEqualTo(value(0));
+        cache.put(fits, value(fits));
+
+        RecordCache.Stats stats = cache.stats();
+        assertThat(stats.evictions()).isPositive();
+        assertThat(stats.usedBytes()).isLessThanOrEqualTo(stats.capacityBytes());
+        assertThat(cache.get(0L)).isEqualTo(value(0));
+        assertThat(cache.get(fits)).isEqualTo(value(fits));
+        for (long key = 0; key <= fits; key++) {
+            String cached = cache.get(key);
+            assertThat(cached).isIn(null, value(key));
+        }
+    }
+
+    @Test
+    void keepsEvictingAndCompactingUnderSustainedInserts() {
+        OffHeapRecordCache<Long, String> cache = new OffHeapRecordCache<>(KeyCodecs.LONG_KEY, KeyCodecs.STRING_KEY, 2048, 1);
+
+        for (long key = 0; key < 500; key++) {
+            cache.put(key, value(key));
+            assertThat(cache.get(key)).isEqualTo(value(key));
+        }
+
+        RecordCache.Stats stats = cache.stats();
+        assertThat(stats.evictions()).isEqualTo(500 - stats.entries());
+        assertThat(stats.usedBytes()).isLessThanOrEqualTo(stats.capacityBytes());
+    }
+
+    @Test
+    void doesNotCacheRecordsLargerThanASegment() {
+        OffHeapRecordCache<Long, String> cache = new OffHeapRecordCache<>(KeyCodecs.LONG_KEY, KeyCodecs.STRING_KEY, 1024, 1);
+        cache.put(1L, "small");
+
+        cache.put(1L, "x".repeat(2000));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.stats().entries()).isZero();
+    }
+
+    @Test
+    void rejectsSegmentsSmallerThanOneKilobyte() {
+        assertThatThrownBy(() -> new OffHeapRecordCache<>(KeyCodecs.LONG_KEY, KeyCodecs.STRING_KEY, 4096, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.beautycenter.management.application.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    private final HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+
+    @Test
+    void expiresTimerOnTheTickThatCoversIt() {
+        wheel.schedule("a", 25, "a");
+
+        assertThat(wheel.advanceTo(19)).isEmpty();
+        assertThat(wheel.advanceTo(20)).containsExactly("a");
+        assertThat(wheel.contains("a")).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesTimersFromOverflowLevelsDownToTheirTick() {
+        // One revolution of the lowest level is 40 ms, so 1000 ms needs three overflow levels
+        wheel.schedule("far", 1000, "far");
+        wheel.schedule("near", 35, "near");
+
+        assertThat(wheel.advanceTo(40)).containsExactly("near");
+        assertThat(wheel.advanceTo(990)).isEmpty();
+        assertThat(wheel.contains("far")).isTrue();
+        assertThat(wheel.advanceTo(1000)).containsExactly("far");
+        assertThat(wheel.currentTime()).isEqualTo(1000);
+    }
+
+    @Test
+    void expiresTimersInOrderWhenAdvancingManyTicksAtOnce() {
+        wheel.schedule("third", 500, "third");
+        wheel.schedule("first", 15, "first");
+        wheel.schedule("second", 170, "second");
+
+        assertThat(wheel.advanceTo(600)).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void returnsOverdueTimerOnNextAdvance() {
+        wheel.advanceTo(100);
+        wheel.schedule("late", 50, "late");
+
+        assertThat(wheel.advanceTo(100)).containsExactly("late");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingReplacesTheTimer() {
+        wheel.schedule("a", 30, "old");
+        wheel.schedule("a", 300, "new");
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advanceTo(100)).isEmpty();
+        assertThat(wheel.advanceTo(300)).containsExactly("new");
+    }
+
+    @Test
+    void cancelledTimerNeverExpires() {
+        wheel.schedule("a", 200, "a");
+
+        assertThat(wheel.cancel("a")).isTrue();
+        assertThat(wheel.cancel("a")).isFalse();
+        List<String> expired = wheel.advanceTo(1000);
+        assertThat(expired).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String, String>(0, 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String, String>(10, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
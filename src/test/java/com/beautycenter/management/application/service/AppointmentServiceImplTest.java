@@ -0,0 +1,154 @@
+package com.beautycenter.management.application.service;
+
+import com.beautycenter.management.application.concurrency.StripedLock;
+import com.beautycenter.management.application.mapper.AppointmentDtoMapper;
+import com.beautycenter.management.application.schedule.DailyScheduleStore;
+import com.beautycenter.management.application.versioning.ResourceVersionRegistry;
+import com.beautycenter.management.domain.event.DomainEventPublisher;
+import com.beautycenter.management.domain.event.appointment.AppointmentCreatedEvent;
+import com.beautycenter.management.domain.model.Appointment;
+import com.beautycenter.management.domain.model.AppointmentStatus;
+import com.beautycenter.management.domain.model.Employee;
+import com.beautycenter.management.domain.repository.AppointmentRepository;
+import com.beautycenter.management.domain.service.exception.AppointmentConflictException;
+import com.beautycenter.management.domain.service.exception.InvalidAppointmentTimeException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentServiceImplTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+    private static final LocalDateTime START = LocalDateTime.of(2030, 3, 4, 10, 0);
+    private static final LocalDateTime END = START.plusHours(1);
+
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final DomainEventPublisher eventPublisher = mock(DomainEventPublisher.class);
+    private final StripedLock bookingLocks = new StripedLock(4);
+    private final AppointmentServiceImpl service = new AppointmentServiceImpl(appointmentRepository, eventPublisher,
+            mock(AppointmentDtoMapper.class), bookingLocks, mock(DailyScheduleStore.class),
+            mock(ResourceVersionRegistry.class));
+
+    private final Employee employee = Employee.builder().id(UUID.randomUUID()).build();
+
+    @Test
+    void createRejectsSlotOverlappingAnotherBooking() {
+        Appointment requested = appointment(null);
+        when(appointmentRepository.findOverlappingAppointments(COMPANY_ID, employee.getId(), START, END))
+                .thenReturn(List.of(appointment(UUID.randomUUID())));
+
+        assertThatThrownBy(() -> service.createAppointment(requested))
+                .isInstanceOf(AppointmentConflictException.class);
+
+        verify(appointmentRepository, never()).save(any());
+        verify(eventPublisher, never()).publish(any());
+        assertThat(stripeOf(employee).isLocked()).isFalse();
+    }
+
+    @Test
+    void createSavesAndPublishesWhenSlotIsFree() {
+        Appointment requested = appointment(null);
+        Appointment saved = appointment(UUID.randomUUID());
+        when(appointmentRepository.findOverlappingAppointments(COMPANY_ID, employee.getId(), START, END))
+                .thenReturn(List.of());
+        when(appointmentRepository.save(requested)).thenReturn(saved);
+
+        assertThat(service.createAppointment(requested)).isSameAs(saved);
+
+        verify(eventPublisher).publish(any(AppointmentCreatedEvent.class));
+        assertThat(stripeOf(employee).isLocked()).isFalse();
+    }
+
+    @Test
+    void createDoesNotPublishWhenTheDatabaseRejectsTheOverlap() {
+        // Another node booked the slot after our check; the exclusion constraint catches it
+        Appointment requested = appointment(null);
+        when(appointmentRepository.findOverlappingAppointments(COMPANY_ID, employee.getId(), START, END))
+                .thenReturn(List.of());
+        when(appointmentRepository.save(requested))
+                .thenThrow(new AppointmentConflictException("The selected time slot is not available"));
+
+        assertThatThrownBy(() -> service.createAppointment(requested))
+                .isInstanceOf(AppointmentConflictException.class);
+
+        verify(eventPublisher, never()).publish(any());
+        assertThat(stripeOf(employee).isLocked()).isFalse();
+    }
+
+    @Test
+    void createRejectsAppointmentThatDoesNotEndAfterItStarts() {
+        Appointment requested = appointment(null);
+        requested.setEndTime(START);
+
+        assertThatThrownBy(() -> service.createAppointment(requested))
+                .isInstanceOf(InvalidAppointmentTimeException.class);
+
+        verify(appointmentRepository, never()).findOverlappingAppointments(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateDoesNotCountTheAppointmentAgainstItself() {
+        UUID id = UUID.randomUUID();
+        Appointment moved = appointment(id);
+        when(appointmentRepository.findById(id)).thenReturn(Optional.of(appointment(id)));
+        when(appointmentRepository.findOverlappingAppointments(COMPANY_ID, employee.getId(), START, END))
+                .thenReturn(List.of(appointment(id)));
+        when(appointmentRepository.save(moved)).thenReturn(moved);
+
+        assertThat(service.updateAppointment(moved)).isSameAs(moved);
+    }
+
+    @Test
+    void updateRejectsSlotOverlappingAnotherBooking() {
+        UUID id = UUID.randomUUID();
+        Appointment moved = appointment(id);
+        when(appointmentRepository.findById(id)).thenReturn(Optional.of(appointment(id)));
+        when(appointmentRepository.findOverlappingAppointments(COMPANY_ID, employee.getId(), START, END))
+                .thenReturn(List.of(appointment(id), appointment(UUID.randomUUID())));
+
+        assertThatThrownBy(() -> service.updateAppointment(moved))
+                .isInstanceOf(AppointmentConflictException.class);
+
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelledAppointmentDoesNotNeedAFreeSlot() {
+        UUID id = UUID.randomUUID();
+        Appointment cancelled = appointment(id);
+        cancelled.setStatus(AppointmentStatus.CANCELLED);
+        when(appointmentRepository.findById(id)).thenReturn(Optional.of(appointment(id)));
+        when(appointmentRepository.save(cancelled)).thenReturn(cancelled);
+
+        assertThat(service.updateAppointment(cancelled)).isSameAs(cancelled);
+
+        verify(appointmentRepository, never()).findOverlappingAppointments(any(), any(), any(), any());
+    }
+
+    private Appointment appointment(UUID id) {
+        return Appointment.builder()
+                .id(id)
+                .companyId(COMPANY_ID)
+                .employee(employee)
+                .startTime(START)
+                .endTime(END)
+                .version(id != null ? 1L : null)
+                .build();
+    }
+
+    private ReentrantLock stripeOf(Employee employee) {
+        return (ReentrantLock) bookingLocks.get(employee.getId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.beautycenter.management.auth.infrastructure.security;
+
+import com.beautycenter.management.auth.domain.model.RefreshToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JdbcRefreshTokenServiceTest {
+
+    private final InMemoryJdbcTemplate jdbcTemplate = new InMemoryJdbcTemplate();
+    private final JdbcRefreshTokenService service = new JdbcRefreshTokenService(jdbcTemplate, 60_000);
+
+    @Test
+    void rotationIssuesNextTokenOfTheSameFamily() {
+        RefreshToken issued = service.issue("alice");
+
+        Optional<RefreshToken> rotated = service.rotate(issued.getTokenValue());
+
+        assertThat(rotated).isPresent();
+        assertThat(rotated.get().getTokenValue()).isNotEqualTo(issued.getTokenValue());
+        assertThat(rotated.get().getFamilyId()).isEqualTo(issued.getFamilyId());
+        assertThat(rotated.get().getUsername()).isEqualTo("alice");
+        assertThat(service.rotate(rotated.get().getTokenValue())).isPresent();
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        RefreshToken issued = service.issue("alice");
+        RefreshToken next = service.rotate(issued.getTokenValue()).orElseThrow();
+        RefreshToken otherFamily = service.issue("alice");
+
+        assertThat(service.rotate(issued.getTokenValue())).isEmpty();
+
+        assertThat(service.rotate(next.getTokenValue())).isEmpty();
+        assertThat(service.rotate(otherFamily.getTokenValue())).isPresent();
+    }
+
+    @Test
+    void losingARaceToUseTheTokenRevokesTheWholeFamily() {
+        RefreshToken issued = service.issue("alice");
+        // Another request marks the token used between our read and our guarded update
+        jdbcTemplate.beforeMarkUsed = () -> jdbcTemplate.rows.values()
+                .forEach(row -> row.putIfAbsent("used_at", new Timestamp(System.currentTimeMillis())));
+
+        assertThat(service.rotate(issued.getTokenValue())).isEmpty();
+
+        assertThat(jdbcTemplate.rows.values()).allSatisfy(row -> assertThat(row.get("revoked_at")).isNotNull());
+    }
+
+    @Test
+    void wrongSecretIsRejectedWithoutRevoking() {
+        RefreshToken issued = service.issue("alice");
+        String id = issued.getTokenValue().substring(0, issued.getTokenValue().indexOf('.'));
+
+        assertThat(service.rotate(id + ".guessed")).isEmpty();
+        assertThat(service.rotate("not-a-token")).isEmpty();
+
+        assertThat(service.rotate(issued.getTokenValue())).isPresent();
+    }
+
+    @Test
+    void expiredTokenIsNotRotated() {
+        JdbcRefreshTokenService expired = new JdbcRefreshTokenService(jdbcTemplate, -1);
+        RefreshToken issued = expired.issue("alice");
+
+        assertThat(expired.rotate(issued.getTokenValue())).isEmpty();
+    }
+
+    @Test
+    void revokeAllRevokesEveryFamilyOfTheUser() {
+        RefreshToken first = service.issue("alice");
+        RefreshToken second = service.issue("alice");
+        RefreshToken other = service.issue("bob");
+
+        service.revokeAll("alice");
+
+        assertThat(service.rotate(first.getTokenValue())).isEmpty();
+        assertThat(service.rotate(second.getTokenValue())).isEmpty();
+        assertThat(service.rotate(other.getTokenValue())).isPresent();
+    }
+
+    /**
+     * Keeps the refresh_tokens table in a map and applies the statements of the service to it.
+     */
+    private static final class InMemoryJdbcTemplate extends JdbcTemplate {
+
+        private final Map<UUID, Map<String, Object>> rows = new HashMap<>();
+        private Runnable beforeMarkUsed = () -> { };
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("INSERT INTO refresh_tokens")) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("family_id", args[1]);
+                row.put("username", args[2]);
+                row.put("token_hash", args[3]);
+                row.put("expires_at", args[5]);
+                rows.put((UUID) args[0], row);
+                return 1;
+            }
+            if (sql.contains("SET used_at")) {
+                beforeMarkUsed.run();
+                Map<String, Object> row = rows.get((UUID) args[1]);
+                if (row == null || row.get("used_at") != null || row.get("revoked_at") != null) {
+                    return 0;
+                }
+                row.put("used_at", args[0]);
+                return 1;
+            }
+            if (sql.contains("SET revoked_at")) {
+                String column = sql.contains("WHERE family_id") ? "family_id" : "username";
+                int updated = 0;
+                for (Map<String, Object> row : rows.values()) {
+                    if (args[1].equals(row.get(column)) && row.get("revoked_at") == null) {
+                        row.put("revoked_at", args[0]);
+                        updated++;
+                    }
+                }
+                return updated;
+            }
+            throw new UnsupportedOperationException(sql);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            Map<String, Object> row = rows.get((UUID) args[0]);
+            List<T> result = new ArrayList<>();
+            if (row != null) {
+                try {
+                    result.add(rowMapper.mapRow(resultSet(row), 0));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return result;
+        }
+
+        private static ResultSet resultSet(Map<String, Object> row) throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getObject("family_id", UUID.class)).thenReturn((UUID) row.get("family_id"));
+            when(rs.getString("username")).thenReturn((String) row.get("username"));
+            when(rs.getString("token_hash")).thenReturn((String) row.get("token_hash"));
+            when(rs.getTimestamp("expires_at")).thenReturn((Timestamp) row.get("expires_at"));
+            when(rs.getTimestamp("used_at")).thenReturn((Timestamp) row.get("used_at"));
+            when(rs.getTimestamp("revoked_at")).thenReturn((Timestamp) row.get("revoked_at"));
+            return rs;
+        }
+    }
+}
\ No newline at end of file
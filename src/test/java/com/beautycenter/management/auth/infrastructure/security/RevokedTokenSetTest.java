@@ -0,0 +1,84 @@
+package com.beautycenter.management.auth.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RevokedTokenSetTest {
+
+    private final RevokedTokenSet revoked = new RevokedTokenSet(60);
+
+    @Test
+    void findsTokenOnlyInItsExpiryBucket() {
+        UUID id = UUID.randomUUID();
+
+        revoked.add(id, 1_000);
+
+        assertThat(revoked.contains(id, 1_000)).isTrue();
+        assertThat(revoked.contains(id, 1_019)).isTrue();
+        assertThat(revoked.contains(id, 1_020)).isFalse();
+        assertThat(revoked.contains(UUID.randomUUID(), 1_000)).isFalse();
+    }
+
+    @Test
+    void addingTheSameIdTwiceCountsOnce() {
+        UUID id = UUID.randomUUID();
+
+        revoked.add(id, 1_000);
+        revoked.add(id, 1_001);
+
+        assertThat(revoked.size()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsEveryIdAcrossResizes() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            revoked.add(id, 1_000);
+        }
+
+        assertThat(revoked.size()).isEqualTo(ids.size());
+        assertThat(ids).allMatch(id -> revoked.contains(id, 1_000));
+        assertThat(revoked.contains(UUID.randomUUID(), 1_000)).isFalse();
+    }
+
+    @Test
+    void expireDropsOnlyBucketsThatHavePassed() {
+        UUID expired = UUID.randomUUID();
+        UUID current = UUID.randomUUID();
+        UUID future = UUID.randomUUID();
+        revoked.add(expired, 100);
+        revoked.add(current, 130);
+        revoked.add(future, 200);
+
+        // 150 falls in the bucket [120, 180), so only [60, 120) has fully passed
+        assertThat(revoked.expire(150)).isEqualTo(1);
+
+        assertThat(revoked.contains(expired, 100)).isFalse();
+        assertThat(revoked.contains(current, 130)).isTrue();
+        assertThat(revoked.contains(future, 200)).isTrue();
+        assertThat(revoked.size()).isEqualTo(2);
+    }
+
+    @Test
+    void clearDropsEverything() {
+        revoked.add(UUID.randomUUID(), 100);
+        revoked.add(UUID.randomUUID(), 200);
+
+        revoked.clear();
+
+        assertThat(revoked.size()).isZero();
+    }
+
+    @Test
+    void rejectsNonPositiveBucketWidth() {
+        assertThatThrownBy(() -> new RevokedTokenSet(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.beautycenter.management.infrastructure.event.journal;
+
+import com.beautycenter.management.application.event.codec.DomainEventCodec;
+import com.beautycenter.management.domain.event.appointment.AppointmentDeletedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedEventJournalTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+    private static final String FIRST_SEGMENT = String.format("%020d.log", 0);
+
+    private final DomainEventCodec codec = new DomainEventCodec();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackAppendedEventsAfterReopening() throws IOException {
+        List<AppointmentDeletedEvent> events = List.of(event(), event(), event());
+        try (MappedEventJournal journal = open()) {
+            events.forEach(journal::append);
+        }
+
+        try (MappedEventJournal journal = open()) {
+            List<JournalEntry> entries = journal.read(journal.startPosition(), 10);
+
+            assertThat(entries).extracting(entry -> entry.event().getEventId())
+                    .containsExactly(events.get(0).getEventId(), events.get(1).getEventId(), events.get(2).getEventId());
+            assertThat(entries.get(2).nextPosition()).isEqualTo(journal.endPosition());
+            assertThat(((AppointmentDeletedEvent) entries.get(1).event()).getAppointmentId())
+                    .isEqualTo(events.get(1).getAppointmentId());
+        }
+    }
+
+    @Test
+    void recoveryStopsAtRecordWithBadChecksum() throws IOException {
+        long third;
+        try (MappedEventJournal journal = open()) {
+            journal.append(event());
+            journal.append(event());
+            third = journal.append(event());
+        }
+        // Flip a byte inside the frame of the last record, as a torn page would
+        overwrite(third + 8 + 2, new byte[] {(byte) 0xff});
+
+        try (MappedEventJournal journal = open()) {
+            assertThat(journal.endPosition()).isEqualTo(third);
+            assertThat(journal.read(0, 10)).hasSize(2);
+
+            AppointmentDeletedEvent next = event();
+            assertThat(journal.append(next)).isEqualTo(third);
+            assertThat(journal.read(third, 10)).extracting(entry -> entry.event().getEventId())
+                    .containsExactly(next.getEventId());
+        }
+    }
+
+    @Test
+    void recoveryIgnoresAndClearsTruncatedTail() throws IOException {
+        long end;
+        try (MappedEventJournal journal = open()) {
+            journal.append(event());
+            end = journal.endPosition();
+        }
+        // A length whose frame runs past the segment, followed by garbage
+        overwrite(end, ByteBuffer.allocate(12).putInt(SEGMENT_BYTES).putInt(42).putInt(7).array());
+
+        try (MappedEventJournal journal = open()) {
+            assertThat(journal.endPosition()).isEqualTo(end);
+            assertThat(journal.read(0, 10)).hasSize(1);
+        }
+        ByteBuffer tail = ByteBuffer.allocate(12);
+        try (FileChannel channel = FileChannel.open(directory.resolve(FIRST_SEGMENT), StandardOpenOption.READ)) {
+            channel.read(tail, end);
+        }
+        assertThat(tail.array()).containsOnly(0);
+    }
+
+    @Test
+    void rollsToNewSegmentWhenFull() throws IOException {
+        try (MappedEventJournal journal = open()) {
+            int appended = 0;
+            while (segmentCount() < 2) {
+                journal.append(event());
+                appended++;
+            }
+
+            assertThat(journal.read(0, appended + 1)).hasSize(appended);
+        }
+
+        try (MappedEventJournal journal = open()) {
+            assertThat(journal.read(0, 1000)).allSatisfy(entry -> assertThat(entry.event()).isNotNull());
+            assertThat(journal.endPosition()).isGreaterThan(SEGMENT_BYTES);
+        }
+    }
+
+    private MappedEventJournal open() throws IOException {
+        return new MappedEventJournal(directory, SEGMENT_BYTES, 60_000, codec);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private void overwrite(long position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(FIRST_SEGMENT), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    private static AppointmentDeletedEvent event() {
+        return new AppointmentDeletedEvent(UUID.randomUUID(), LocalDateTime.now().withNano(0), UUID.randomUUID());
+    }
+}
\ No newline at end of file
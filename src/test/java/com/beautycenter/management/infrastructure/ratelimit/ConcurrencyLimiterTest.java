@@ -0,0 +1,66 @@
+package com.beautycenter.management.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void rejectsOnceTheQueueTimeoutPasses() throws InterruptedException {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 20, 10_000);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.available()).isZero();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.averageWaitMillis()).isPositive();
+        assertThat(limiter.retryAfterSeconds()).isGreaterThanOrEqualTo(1);
+
+        limiter.release();
+
+        assertThat(limiter.available()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void queuedRequestGetsThePermitWhenReleased() throws InterruptedException {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 5_000, 10_000);
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            limiter.release();
+        });
+        releaser.start();
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        releaser.join();
+    }
+
+    @Test
+    void shedsLoadWhileQueueingDelayExceedsTargetAndRecovers() throws InterruptedException {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 50, 1);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release();
+        assertThat(limiter.averageWaitMillis()).isGreaterThan(2);
+
+        int shed = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (limiter.tryAcquire()) {
+                limiter.release();
+            } else {
+                shed++;
+            }
+        }
+
+        // Every admitted request waited for nothing, which pulls the average back under the target
+        assertThat(shed).isPositive().isLessThan(1000);
+        assertThat(limiter.averageWaitMillis()).isLessThanOrEqualTo(1);
+        assertThat(limiter.available()).isEqualTo(1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.beautycenter.management.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void allowsBurstThenReportsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 1_000 * MS;
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(100 * MS);
+
+        assertThat(bucket.tryAcquire(now + 99 * MS)).isEqualTo(MS);
+        assertThat(bucket.tryAcquire(now + 100 * MS)).isZero();
+        assertThat(bucket.tryAcquire(now + 100 * MS)).isPositive();
+    }
+
+    @Test
+    void sustainsTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        long now = 0;
+        int allowed = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (bucket.tryAcquire(now + i * 10 * MS) == 0) {
+                allowed++;
+            }
+        }
+
+        // Ten seconds at ten requests per second
+        assertThat(allowed).isEqualTo(100);
+    }
+
+    @Test
+    void refundReturnsTheToken() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        long now = 5_000 * MS;
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isPositive();
+
+        bucket.refund();
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+    }
+
+    @Test
+    void becomesIdleOnceRefilled() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 0;
+        assertThat(bucket.isIdle(now)).isTrue();
+
+        bucket.tryAcquire(now);
+        bucket.tryAcquire(now);
+
+        assertThat(bucket.isIdle(now + 100 * MS)).isFalse();
+        assertThat(bucket.isIdle(now + 200 * MS)).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file